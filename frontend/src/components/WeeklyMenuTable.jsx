@@ -15,6 +15,16 @@ const WeeklyMenuTable = () => {
     fetchCurrentMenu();
   }, []);
 
+  // Refresh when the active plan changes elsewhere (another tab, the plans page)
+  useEffect(() => {
+    const unsubscribe = menuService.subscribe(userId, (change) => {
+      if (change.action === 'ACTIVATED' || change.action === 'STATUS_CHANGED' || change.action === 'DELETED') {
+        fetchCurrentMenu();
+      }
+    });
+    return unsubscribe;
+  }, []);
+
   const fetchCurrentMenu = async () => {
     setLoading(true);
     setError(null);
@@ -38,6 +38,22 @@ const menuService = {
       console.error('Error generating menu:', error);
       throw error;
     }
+  },
+
+  /**
+   * Subscribe to server-pushed menu plan changes (replaces polling)
+   * @param {number} userId - The user ID
+   * @param {Function} onChange - Called with { action, menuPlanId, status }
+   * @returns {Function} Unsubscribe function that closes the stream
+   */
+  subscribe: (userId, onChange) => {
+    const source = new EventSource(`/api/events/stream?userId=${userId}`);
+    source.addEventListener('menu-plan', (event) => {
+      onChange(JSON.parse(event.data));
+    });
+    // EventSource reconnects on its own; only log so failures are visible
+    source.onerror = () => console.warn('Menu event stream interrupted, reconnecting...');
+    return () => source.close();
   }
 };
 
@@ -0,0 +1,146 @@
+package com.greenmono.mealplanner.concurrent;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through wrapper for read-only lookups that coalesces concurrent loads and serves a
+ * short stale-while-revalidate window.
+ *
+ * <ul>
+ *   <li>younger than {@code freshFor}: the last value is returned as is</li>
+ *   <li>younger than {@code freshFor + staleFor}: the last value is returned and one
+ *       background refresh is started</li>
+ *   <li>otherwise: the caller loads, and concurrent callers for the same key share that load</li>
+ * </ul>
+ *
+ * Failed loads are never stored; their exception goes to every caller that joined them.
+ * {@link #invalidate} makes loads of that key already in flight unable to store their (now
+ * outdated) result; {@link #invalidateAll} does the same for every key.
+ */
+public final class CoalescingLoader<K, V> {
+
+    private record Entry<V>(V value, long loadedAtNanos) {
+    }
+
+    private record FlightKey<K>(K key, long epoch, long keyEpoch) {
+    }
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<FlightKey<K>, V> loads = new SingleFlight<>();
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    /** Bumped by {@link #invalidateAll}, and when too many per-key epochs pile up. */
+    private final AtomicLong epoch = new AtomicLong();
+    /** Last invalidation of each key, numbered from one sequence so a key never reuses a stamp. */
+    private final ConcurrentMap<K, Long> keyEpochs = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final long freshNanos;
+    private final long staleNanos;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+
+    public CoalescingLoader(Duration freshFor, Duration staleFor, int maxEntries, Executor refreshExecutor) {
+        this(freshFor, staleFor, maxEntries, refreshExecutor, System::nanoTime);
+    }
+
+    CoalescingLoader(Duration freshFor, Duration staleFor, int maxEntries, Executor refreshExecutor,
+                     LongSupplier nanoClock) {
+        this.freshNanos = freshFor.toNanos();
+        this.staleNanos = staleFor.toNanos();
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long age = nanoClock.getAsLong() - entry.loadedAtNanos();
+            if (age < freshNanos) {
+                return entry.value();
+            }
+            if (age < freshNanos + staleNanos) {
+                refreshInBackground(key, loader);
+                return entry.value();
+            }
+        }
+        return load(key, loader);
+    }
+
+    public void invalidate(K key) {
+        keyEpochs.put(key, invalidations.incrementAndGet());
+        entries.remove(key);
+        if (keyEpochs.size() > maxEntries) {
+            // Forgetting the per-key epochs is only safe once every load in flight is outdated
+            epoch.incrementAndGet();
+            keyEpochs.clear();
+        }
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        keyEpochs.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private V load(K key, Supplier<V> loader) {
+        FlightKey<K> flight = new FlightKey<>(key, epoch.get(), keyEpoch(key));
+        return loads.execute(flight, () -> {
+            V value = loader.get();
+            store(key, value, flight);
+            return value;
+        });
+    }
+
+    private long keyEpoch(K key) {
+        return keyEpochs.getOrDefault(key, 0L);
+    }
+
+    private void store(K key, V value, FlightKey<K> flight) {
+        if (entries.size() >= maxEntries) {
+            long now = nanoClock.getAsLong();
+            entries.values().removeIf(e -> now - e.loadedAtNanos() >= freshNanos + staleNanos);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong()));
+        if (epoch.get() != flight.epoch() || keyEpoch(key) != flight.keyEpoch()) {
+            // Invalidated while loading; the value may predate the change
+            entries.remove(key);
+        }
+    }
+
+    private void refreshInBackground(K key, Supplier<V> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (RuntimeException e) {
+                    // Stop serving a value the source no longer agrees with; the next caller loads and sees the error
+                    entries.remove(key);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+}
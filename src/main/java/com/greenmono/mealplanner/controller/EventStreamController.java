@@ -0,0 +1,43 @@
+package com.greenmono.mealplanner.controller;
+
+import com.greenmono.mealplanner.service.UserEventStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Events", description = "Server-Sent Events push for menu plan and ingredient changes")
+public class EventStreamController {
+
+    private final UserEventStreamService userEventStreamService;
+
+    @Operation(
+        summary = "Subscribe to change events",
+        description = "Opens a text/event-stream that pushes 'menu-plan' and 'ingredients' events " +
+                      "for the given user, replacing client-side polling"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "User ID", required = true)
+            @RequestParam Long userId) {
+
+        log.info("Received event stream subscription - userId: {}", userId);
+        return userEventStreamService.subscribe(userId);
+    }
+}
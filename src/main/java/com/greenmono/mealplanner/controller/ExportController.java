@@ -0,0 +1,92 @@
+package com.greenmono.mealplanner.controller;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.export.ExportFormat;
+import com.greenmono.mealplanner.service.DataExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export", description = "Bulk CSV and JSON lines exports, streamed as they are read")
+public class ExportController {
+
+    private final DataExportService dataExportService;
+
+    @GetMapping("/menu-plans/user/{userId}")
+    @Operation(
+        summary = "Export a user's menu plans",
+        description = "Streams one row per plan day with its recipes and calories. Plans are filtered like the " +
+                      "date range and balanced listings; rows are written while they are read, so exports of any size " +
+                      "use the same memory"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters")
+    })
+    public ResponseEntity<StreamingResponseBody> exportMenuPlans(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Only plans starting on or after this date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Only plans ending on or before this date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Only balanced plans")
+            @RequestParam(defaultValue = "false") boolean balancedOnly,
+            @Parameter(description = "CSV or JSONL")
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+
+        log.info("Exporting menu plans for user {} between {} and {} as {}", userId, startDate, endDate, format);
+
+        return attachment("menu-plans-" + userId, format,
+            out -> dataExportService.exportMenuPlanDays(userId, startDate, endDate, balancedOnly, format, out));
+    }
+
+    @GetMapping("/recipes")
+    @Operation(
+        summary = "Export the recipe catalog",
+        description = "Streams one row per active recipe with its stored nutrition totals, ordered by ID"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters")
+    })
+    public ResponseEntity<StreamingResponseBody> exportRecipes(
+            @Parameter(description = "Only recipes of this category")
+            @RequestParam(required = false) Recipe.RecipeCategory category,
+            @Parameter(description = "CSV or JSONL")
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+
+        log.info("Exporting recipes of category {} as {}", category, format);
+
+        return attachment("recipes", format, out -> dataExportService.exportRecipes(category, format, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format,
+                                                                    StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.contentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(name + "." + format.extension()).build().toString())
+            .body(body);
+    }
+}
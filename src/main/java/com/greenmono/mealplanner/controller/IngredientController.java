@@ -70,6 +70,23 @@ public class IngredientController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Update an ingredient", description = "Replaces the details of an ingredient; its owner stays the same")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ingredient updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Ingredient not found"),
+            @ApiResponse(responseCode = "409", description = "Ingredient already exists")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<IngredientResponse> updateIngredient(
+            @Parameter(description = "Ingredient ID to update")
+            @PathVariable Long id,
+            @Valid @RequestBody IngredientRequest request) {
+        log.info("Received request to update ingredient with id: {}", id);
+        IngredientResponse response = ingredientService.updateIngredient(id, request);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Delete an ingredient", description = "Deletes an ingredient by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Ingredient deleted successfully"),
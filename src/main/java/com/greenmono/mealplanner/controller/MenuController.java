@@ -2,9 +2,12 @@ package com.greenmono.mealplanner.controller;
 
 import com.greenmono.mealplanner.dto.MenuPlanRequest;
 import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.dto.PlanGenerationJobResponse;
 import com.greenmono.mealplanner.dto.SimplifiedMenuItemResponse;
-import com.greenmono.mealplanner.service.MenuPlanService;
-import com.greenmono.mealplanner.service.MenuPlannerService;
+import com.greenmono.mealplanner.ratelimit.RateLimiter;
+import com.greenmono.mealplanner.service.CurrentMenuPlanService;
+import com.greenmono.mealplanner.service.IdempotentPlanGenerationService;
+import com.greenmono.mealplanner.service.PlanGenerationJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -20,6 +23,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
@@ -34,8 +38,10 @@ import java.util.Locale;
 @Tag(name = "Menu", description = "Simplified menu generation and viewing APIs")
 public class MenuController {
 
-    private final MenuPlannerService menuPlannerService;
-    private final MenuPlanService menuPlanService;
+    private final IdempotentPlanGenerationService planGenerationService;
+    private final CurrentMenuPlanService currentMenuPlanService;
+    private final PlanGenerationJobService planGenerationJobService;
+    private final RateLimiter rateLimiter;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final Locale TURKISH_LOCALE = new Locale("tr", "TR");
@@ -56,14 +62,19 @@ public class MenuController {
             )
         ),
         @ApiResponse(responseCode = "400", description = "Invalid request or insufficient recipes"),
-        @ApiResponse(responseCode = "404", description = "No available ingredients found")
+        @ApiResponse(responseCode = "404", description = "No available ingredients found"),
+        @ApiResponse(responseCode = "422", description = "Idempotency key was already used with a different request"),
+        @ApiResponse(responseCode = "429", description = "Too many generation requests, retry after the Retry-After delay")
     })
     public ResponseEntity<List<SimplifiedMenuItemResponse>> generateMenu(
+            @Parameter(description = "Client generated key; retries with the same key return the first plan instead of a new one")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody MenuPlanRequest request) {
         log.info("Received request to generate simplified menu for user: {}", request.getUserId());
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, request.getUserId());
 
         // Generate the full menu plan using existing service
-        MenuPlanResponse menuPlanResponse = menuPlannerService.generateBalancedMenuPlan(request);
+        MenuPlanResponse menuPlanResponse = planGenerationService.generate(request, idempotencyKey);
 
         // Convert to simplified format
         List<SimplifiedMenuItemResponse> simplifiedMenu = convertToSimplifiedFormat(menuPlanResponse);
@@ -71,6 +82,34 @@ public class MenuController {
         return ResponseEntity.status(HttpStatus.CREATED).body(simplifiedMenu);
     }
 
+    @PostMapping("/generate/async")
+    @Operation(
+        summary = "Queue a 5-day menu plan generation",
+        description = "Queues generation and returns 202 with a job ID instead of holding the request " +
+                      "while the planner runs. Poll /api/menu-plans/jobs/{jobId} for the generated menu plan ID."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Generation job queued",
+            content = @Content(schema = @Schema(implementation = PlanGenerationJobResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "429", description = "Too many generation requests, retry after the Retry-After delay"),
+        @ApiResponse(responseCode = "503", description = "Generation queue is full, retry after the Retry-After delay")
+    })
+    public ResponseEntity<PlanGenerationJobResponse> generateMenuAsync(
+            @Valid @RequestBody MenuPlanRequest request) {
+        log.info("Received request to queue simplified menu generation for user: {}", request.getUserId());
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, request.getUserId());
+
+        PlanGenerationJobResponse job = planGenerationJobService.enqueue(request);
+
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/menu-plans/jobs/" + job.getJobId()))
+            .body(job);
+    }
+
     @GetMapping("/current")
     @Operation(
         summary = "Get current weekly menu",
@@ -94,7 +133,7 @@ public class MenuController {
         log.info("Fetching current menu for user: {}", userId);
 
         // Get active menu plan
-        MenuPlanResponse menuPlanResponse = menuPlanService.getActiveMenuPlan(userId);
+        MenuPlanResponse menuPlanResponse = currentMenuPlanService.getActiveMenuPlan(userId);
 
         // Convert to simplified format
         List<SimplifiedMenuItemResponse> simplifiedMenu = convertToSimplifiedFormat(menuPlanResponse);
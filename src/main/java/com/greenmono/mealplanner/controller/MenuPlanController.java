@@ -1,11 +1,22 @@
 package com.greenmono.mealplanner.controller;
 
+import com.greenmono.mealplanner.dto.DishSwapRequest;
+import com.greenmono.mealplanner.dto.DishSwapResponse;
+import com.greenmono.mealplanner.dto.MenuPlanExtensionRequest;
+import com.greenmono.mealplanner.dto.MenuPlanExtensionResponse;
 import com.greenmono.mealplanner.dto.MenuPlanRequest;
 import com.greenmono.mealplanner.dto.MenuPlanResponse;
 import com.greenmono.mealplanner.dto.PageResponse;
+import com.greenmono.mealplanner.dto.PlanGenerationJobResponse;
+import com.greenmono.mealplanner.dto.ShoppingListResponse;
 import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.ratelimit.RateLimiter;
+import com.greenmono.mealplanner.service.IdempotentPlanGenerationService;
 import com.greenmono.mealplanner.service.MenuPlanService;
 import com.greenmono.mealplanner.service.MenuPlannerService;
+import com.greenmono.mealplanner.service.PlanGenerationJobService;
+import com.greenmono.mealplanner.service.ShoppingListService;
+import com.greenmono.mealplanner.snapshot.PlanSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,10 +28,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -31,8 +46,12 @@ import java.util.List;
 @Tag(name = "Menu Plans", description = "Menu plan management and generation APIs")
 public class MenuPlanController {
 
-    private final MenuPlannerService menuPlannerService;
+    private final IdempotentPlanGenerationService planGenerationService;
     private final MenuPlanService menuPlanService;
+    private final MenuPlannerService menuPlannerService;
+    private final PlanGenerationJobService planGenerationJobService;
+    private final ShoppingListService shoppingListService;
+    private final RateLimiter rateLimiter;
 
     @PostMapping("/generate")
     @Operation(
@@ -48,17 +67,93 @@ public class MenuPlanController {
             content = @Content(schema = @Schema(implementation = MenuPlanResponse.class))
         ),
         @ApiResponse(responseCode = "400", description = "Invalid request or insufficient recipes"),
-        @ApiResponse(responseCode = "404", description = "No available ingredients found")
+        @ApiResponse(responseCode = "404", description = "No available ingredients found"),
+        @ApiResponse(responseCode = "422", description = "Idempotency key was already used with a different request"),
+        @ApiResponse(responseCode = "429", description = "Too many generation requests, retry after the Retry-After delay")
     })
     public ResponseEntity<MenuPlanResponse> generateMenuPlan(
+            @Parameter(description = "Client generated key; retries with the same key return the first plan instead of a new one")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody MenuPlanRequest request) {
         log.info("Received request to generate menu plan for user: {}", request.getUserId());
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, request.getUserId());
 
-        MenuPlanResponse response = menuPlannerService.generateBalancedMenuPlan(request);
+        MenuPlanResponse response = planGenerationService.generate(request, idempotencyKey);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/generate/async")
+    @Operation(
+        summary = "Queue menu plan generation",
+        description = "Queues a menu plan generation job and returns immediately with its ID. " +
+                      "Poll GET /api/menu-plans/jobs/{jobId} or listen for 'plan-job' events on /api/events/stream"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Generation job queued",
+            content = @Content(schema = @Schema(implementation = PlanGenerationJobResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "429", description = "Too many generation requests, retry after the Retry-After delay"),
+        @ApiResponse(responseCode = "503", description = "Generation queue is full, retry after the Retry-After delay")
+    })
+    public ResponseEntity<PlanGenerationJobResponse> generateMenuPlanAsync(
+            @Valid @RequestBody MenuPlanRequest request) {
+        log.info("Received request to queue menu plan generation for user: {}", request.getUserId());
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, request.getUserId());
+
+        PlanGenerationJobResponse job = planGenerationJobService.enqueue(request);
+
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/menu-plans/jobs/" + job.getJobId()))
+            .body(job);
+    }
+
+    @PostMapping("/{id}/extend")
+    @Operation(
+        summary = "Extend a menu plan by whole weeks",
+        description = "Appends Mon-Fri weeks after the plan's end date in one pass. Later weeks avoid recipes " +
+                      "used in the recent days and each week is saved as soon as it is generated"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Menu plan extended successfully",
+            content = @Content(schema = @Schema(implementation = MenuPlanExtensionResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid request, insufficient recipes or meals, or the plan " +
+                                                         "was extended concurrently"),
+        @ApiResponse(responseCode = "404", description = "Menu plan not found")
+    })
+    public ResponseEntity<MenuPlanExtensionResponse> extendMenuPlan(
+            @Parameter(description = "Menu plan ID") @PathVariable Long id,
+            @Valid @RequestBody MenuPlanExtensionRequest request) {
+        log.info("Received request to extend menu plan {} by {} weeks", id, request.getWeeks());
+
+        MenuPlanExtensionResponse response = menuPlannerService.extendMenuPlan(id, request);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get generation job status", description = "Returns the status of a queued generation job and, once it succeeded, the generated menu plan ID")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job found",
+            content = @Content(schema = @Schema(implementation = PlanGenerationJobResponse.class))
+        ),
+        @ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<PlanGenerationJobResponse> getGenerationJob(
+            @Parameter(description = "Job ID") @PathVariable Long jobId) {
+        log.info("Fetching plan generation job: {}", jobId);
+
+        return ResponseEntity.ok(planGenerationJobService.getJob(jobId));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get menu plan by ID", description = "Retrieves a specific menu plan by its ID")
     @ApiResponses(value = {
@@ -78,6 +173,66 @@ public class MenuPlanController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/shopping-list")
+    @Operation(
+        summary = "Get the shopping list of a menu plan",
+        description = "Totals the required ingredients of every recipe in the plan, converted to the unit each " +
+                      "ingredient is stocked in, and subtracts what the user's pantry already holds"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Shopping list built",
+            content = @Content(schema = @Schema(implementation = ShoppingListResponse.class))
+        ),
+        @ApiResponse(responseCode = "404", description = "Menu plan not found")
+    })
+    public ResponseEntity<ShoppingListResponse> getShoppingList(
+            @Parameter(description = "Menu plan ID") @PathVariable Long id) {
+        log.info("Fetching shopping list for menu plan: {}", id);
+
+        return ResponseEntity.ok(shoppingListService.getShoppingList(id));
+    }
+
+    @GetMapping(value = "/{id}/snapshot", produces = PlanSnapshot.MEDIA_TYPE)
+    @Operation(
+        summary = "Download a menu plan as a binary snapshot",
+        description = "Encodes the plan, its days, recipes and meal slots in the compact versioned snapshot " +
+                      "format, for storing or sharing a plan and rehydrating it without the database"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Snapshot encoded"),
+        @ApiResponse(responseCode = "404", description = "Menu plan not found")
+    })
+    public ResponseEntity<byte[]> getMenuPlanSnapshot(
+            @Parameter(description = "Menu plan ID") @PathVariable Long id) {
+        log.info("Encoding snapshot of menu plan: {}", id);
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("menu-plan-" + id + ".mps").build().toString())
+            .body(menuPlanService.getMenuPlanSnapshot(id));
+    }
+
+    @PostMapping(value = "/snapshot", consumes = {PlanSnapshot.MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(
+        summary = "Read a menu plan snapshot",
+        description = "Decodes a snapshot downloaded earlier into a menu plan, without storing or looking up anything"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Snapshot decoded",
+            content = @Content(schema = @Schema(implementation = MenuPlanResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Not a complete snapshot, or of a newer version")
+    })
+    public ResponseEntity<MenuPlanResponse> decodeMenuPlanSnapshot(@RequestBody byte[] snapshot) {
+        log.info("Decoding menu plan snapshot of {} bytes", snapshot.length);
+
+        return ResponseEntity.ok(PlanSnapshot.decode(snapshot));
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get all menu plans for a user", description = "Retrieves all menu plans for a specific user with pagination")
     @ApiResponses(value = {
@@ -201,6 +356,32 @@ public class MenuPlanController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/{id}/days/{dayNumber}")
+    @Operation(
+        summary = "Swap one dish",
+        description = "Replaces the soup, main course or side dish of one day and returns the re-scored plan totals"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Dish swapped successfully",
+            content = @Content(schema = @Schema(implementation = DishSwapResponse.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid request, inactive recipe, recipe of another course, or a completed or archived plan"),
+        @ApiResponse(responseCode = "404", description = "Menu plan, day or recipe not found")
+    })
+    public ResponseEntity<DishSwapResponse> swapDish(
+            @Parameter(description = "Menu plan ID") @PathVariable Long id,
+            @Parameter(description = "Day number (1-based)") @PathVariable Integer dayNumber,
+            @Valid @RequestBody DishSwapRequest request) {
+
+        log.info("Swapping {} of day {} in menu plan {}", request.getCourse(), dayNumber, id);
+
+        DishSwapResponse response = menuPlanService.swapDish(id, dayNumber, request);
+
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{id}/activate")
     @Operation(
         summary = "Activate menu plan",
@@ -2,35 +2,51 @@ package com.greenmono.mealplanner.controller;
 
 import com.greenmono.mealplanner.dto.DailyNutritionResponse;
 import com.greenmono.mealplanner.dto.NutritionInfoResponse;
+import com.greenmono.mealplanner.dto.NutritionRecomputeResponse;
+import com.greenmono.mealplanner.dto.RecipeNutritionMatchResponse;
 import com.greenmono.mealplanner.dto.RecipeNutritionRequest;
 import com.greenmono.mealplanner.entity.NutritionalInfo;
 import com.greenmono.mealplanner.entity.Recipe;
 import com.greenmono.mealplanner.exception.RecipeNotFoundException;
+import com.greenmono.mealplanner.index.NutritionQuery;
+import com.greenmono.mealplanner.nutrition.Nutrient;
+import com.greenmono.mealplanner.ratelimit.RateLimiter;
 import com.greenmono.mealplanner.repository.RecipeRepository;
 import com.greenmono.mealplanner.service.NutritionCalculatorService;
+import com.greenmono.mealplanner.service.RecipeNutritionIndexService;
+import com.greenmono.mealplanner.service.RecipeNutritionRecomputeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/nutrition")
 @RequiredArgsConstructor
+@Validated
 @Slf4j
 @Tag(name = "Nutrition", description = "Nutrition calculation and analysis APIs")
 public class NutritionController {
 
     private final NutritionCalculatorService nutritionCalculatorService;
     private final RecipeRepository recipeRepository;
+    private final RateLimiter rateLimiter;
+    private final RecipeNutritionRecomputeService recipeNutritionRecomputeService;
+    private final RecipeNutritionIndexService recipeNutritionIndexService;
 
     @Operation(
         summary = "Get ingredient nutrition info",
@@ -91,13 +107,22 @@ public class NutritionController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Daily nutrition calculated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid request data"),
-        @ApiResponse(responseCode = "404", description = "One or more recipes not found")
+        @ApiResponse(responseCode = "404", description = "One or more recipes not found"),
+        @ApiResponse(responseCode = "429", description = "Too many requests, retry after the Retry-After delay")
     })
     @PostMapping("/daily")
     public ResponseEntity<DailyNutritionResponse> calculateDailyNutrition(
-            @Valid @RequestBody RecipeNutritionRequest request) {
+            @Parameter(description = "User ID used for rate limiting; the client address is used when omitted")
+            @RequestParam(required = false) Long userId,
+            @Valid @RequestBody RecipeNutritionRequest request,
+            HttpServletRequest httpRequest) {
 
         log.info("Calculating daily nutrition for {} recipes", request.getRecipeIds().size());
+        if (userId != null) {
+            rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, userId);
+        } else {
+            rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, "addr:" + httpRequest.getRemoteAddr());
+        }
 
         List<Recipe> recipes = request.getRecipeIds().stream()
             .map(id -> recipeRepository.findById(id)
@@ -179,6 +204,62 @@ public class NutritionController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Filter recipes by nutrition per serving",
+        description = "Finds active recipes whose per-serving calories, protein, carbohydrates, fat and fiber all fall " +
+                      "within the given inclusive ranges, optionally in one category. Results are ordered by category, " +
+                      "then calories per serving."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching recipes retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters")
+    })
+    @GetMapping("/recipes")
+    public ResponseEntity<List<RecipeNutritionMatchResponse>> filterRecipesByNutrition(
+            @Parameter(description = "Recipe category") @RequestParam(required = false) Recipe.RecipeCategory category,
+            @Parameter(description = "Minimum calories per serving") @RequestParam(required = false) BigDecimal minCalories,
+            @Parameter(description = "Maximum calories per serving") @RequestParam(required = false) BigDecimal maxCalories,
+            @Parameter(description = "Minimum protein per serving in grams") @RequestParam(required = false) BigDecimal minProtein,
+            @Parameter(description = "Maximum protein per serving in grams") @RequestParam(required = false) BigDecimal maxProtein,
+            @Parameter(description = "Minimum carbohydrates per serving in grams") @RequestParam(required = false) BigDecimal minCarbohydrates,
+            @Parameter(description = "Maximum carbohydrates per serving in grams") @RequestParam(required = false) BigDecimal maxCarbohydrates,
+            @Parameter(description = "Minimum fat per serving in grams") @RequestParam(required = false) BigDecimal minFat,
+            @Parameter(description = "Maximum fat per serving in grams") @RequestParam(required = false) BigDecimal maxFat,
+            @Parameter(description = "Minimum fiber per serving in grams") @RequestParam(required = false) BigDecimal minFiber,
+            @Parameter(description = "Maximum fiber per serving in grams") @RequestParam(required = false) BigDecimal maxFiber,
+            @Parameter(description = "Maximum number of recipes")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+
+        NutritionQuery query = NutritionQuery.builder()
+            .category(category)
+            .between(Nutrient.CALORIES, minCalories, maxCalories)
+            .between(Nutrient.PROTEIN, minProtein, maxProtein)
+            .between(Nutrient.CARBOHYDRATES, minCarbohydrates, maxCarbohydrates)
+            .between(Nutrient.FAT, minFat, maxFat)
+            .between(Nutrient.FIBER, minFiber, maxFiber)
+            .build();
+
+        List<RecipeNutritionMatchResponse> matches = recipeNutritionIndexService.filter(query, limit);
+        log.debug("Nutrition filter matched {} recipes", matches.size());
+        return ResponseEntity.ok(matches);
+    }
+
+    @Operation(
+        summary = "Recompute stored recipe nutrition",
+        description = "Recomputes every recipe's stored calories, protein, carbohydrates, fat and fiber from current ingredient nutrition and writes back the recipes that changed. Recipes with an ingredient lacking nutrition are left unchanged."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recipe nutrition recomputed successfully")
+    })
+    @PostMapping("/recipes/recompute")
+    public ResponseEntity<NutritionRecomputeResponse> recomputeRecipeNutrition(
+            @Parameter(description = "Only count the recipes that would change")
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+
+        log.info("Recomputing nutrition of all recipes (dry run: {})", dryRun);
+        return ResponseEntity.ok(recipeNutritionRecomputeService.recomputeCatalog(dryRun));
+    }
+
     private NutritionInfoResponse mapToResponse(NutritionalInfo nutritionalInfo) {
         return NutritionInfoResponse.builder()
             .calories(nutritionalInfo.getCalories())
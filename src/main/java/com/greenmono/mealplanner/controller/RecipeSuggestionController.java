@@ -0,0 +1,57 @@
+package com.greenmono.mealplanner.controller;
+
+import com.greenmono.mealplanner.dto.RecipeSuggestionResponse;
+import com.greenmono.mealplanner.service.RecipeSuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recipes")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+@Tag(name = "Recipe Suggestions", description = "Recipe suggestions based on available ingredients")
+public class RecipeSuggestionController {
+
+    private final RecipeSuggestionService recipeSuggestionService;
+
+    @Operation(
+        summary = "Suggest recipes from the user's pantry",
+        description = "Ranks active recipes by how many of the user's available ingredients they use, " +
+                      "keeping recipes that miss at most maxMissing required ingredients"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters")
+    })
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<RecipeSuggestionResponse>> suggestRecipes(
+            @Parameter(description = "User ID", required = true)
+            @RequestParam Long userId,
+            @Parameter(description = "Maximum number of missing required ingredients")
+            @RequestParam(defaultValue = "0") @Min(0) @Max(20) int maxMissing,
+            @Parameter(description = "Maximum number of suggestions")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int limit) {
+
+        log.info("Received request for recipe suggestions - userId: {}, maxMissing: {}, limit: {}",
+                userId, maxMissing, limit);
+
+        List<RecipeSuggestionResponse> suggestions = recipeSuggestionService.suggestRecipes(userId, maxMissing, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+}
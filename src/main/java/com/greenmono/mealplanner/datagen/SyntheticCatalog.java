@@ -0,0 +1,569 @@
+package com.greenmono.mealplanner.datagen;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.export.ExportWriter;
+import com.greenmono.mealplanner.nutrition.UnitConversion;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic data at catalog scale: global ingredients with nutrition, recipes
+ * with a realistic ingredient fan-out, users' pantries and weekly plan histories.
+ *
+ * Every row is a function of the seed and its index, so a run is reproducible and each table
+ * is written on its own without holding the others. Ingredient popularity is skewed like a
+ * real catalog: a few staples appear in most recipes and pantries, most ingredients in a
+ * handful. Recipe nutrition totals are summed from their lines with the same unit conversion
+ * as the nutrition calculator. IDs continue from the given bases, so the rows can be copied
+ * next to existing ones.
+ */
+public final class SyntheticCatalog {
+
+    public static final List<String> INGREDIENT_COLUMNS = List.of("id", "name", "category", "quantity", "unit",
+        "expiry_date", "available", "user_id", "created_at", "updated_at");
+    public static final List<String> NUTRITION_COLUMNS = List.of("id", "ingredient_id", "serving_size",
+        "serving_unit", "calories", "protein", "carbohydrates", "fat", "fiber", "created_at", "updated_at");
+    public static final List<String> RECIPE_COLUMNS = List.of("id", "name", "description", "category",
+        "cooking_time_minutes", "servings", "calories", "protein", "carbohydrates", "fat", "fiber", "active",
+        "created_at", "updated_at");
+    public static final List<String> RECIPE_INGREDIENT_COLUMNS = List.of("id", "recipe_id", "ingredient_id",
+        "quantity", "unit", "optional", "created_at", "updated_at");
+    public static final List<String> RECIPE_INSTRUCTION_COLUMNS = List.of("recipe_id", "instruction", "step_order");
+    public static final List<String> MENU_PLAN_COLUMNS = List.of("id", "name", "user_id", "start_date", "end_date",
+        "status", "total_calories", "average_daily_calories", "is_balanced", "balance_score", "created_at",
+        "updated_at");
+    public static final List<String> DAILY_MEAL_PLAN_COLUMNS = List.of("id", "menu_plan_id", "day_number",
+        "meal_date", "breakfast_recipe_id", "lunch_recipe_id", "dinner_recipe_id", "total_calories", "created_at",
+        "updated_at");
+
+    public static final int DAYS_PER_PLAN = 5;
+
+    /** Exponent of the popularity skew; 3 puts a fifth of all picks on the top 1% of ingredients. */
+    private static final double POPULARITY_SKEW = 3.0;
+    private static final BigDecimal SERVING_SIZE = new BigDecimal("100");
+    private static final int NUTRIENTS = 5;
+
+    private static final long INGREDIENT_STREAM = 1;
+    private static final long RECIPE_STREAM = 2;
+    private static final long PANTRY_STREAM = 3;
+    private static final long PLAN_STREAM = 4;
+
+    /**
+     * Sizes of a run; global ingredients are the shared catalog, pantries add
+     * {@code users * pantrySize} user-owned ingredient rows on top.
+     */
+    public record Sizes(int ingredients, int users, int pantrySize, int recipes,
+                        int minIngredientsPerRecipe, int maxIngredientsPerRecipe, int plansPerUser) {
+
+        public Sizes {
+            if (ingredients < 1 || users < 0 || pantrySize < 0 || recipes < 0 || plansPerUser < 0) {
+                throw new IllegalArgumentException("Sizes must not be negative and need at least one ingredient");
+            }
+            if (minIngredientsPerRecipe < 1 || maxIngredientsPerRecipe < minIngredientsPerRecipe
+                    || maxIngredientsPerRecipe > ingredients) {
+                throw new IllegalArgumentException("Ingredients per recipe must be between 1 and the catalog size, "
+                    + "with the minimum not above the maximum");
+            }
+        }
+
+        public long pantryIngredients() {
+            return (long) users * pantrySize;
+        }
+
+        public long menuPlans() {
+            return (long) users * plansPerUser;
+        }
+    }
+
+    /**
+     * The ID each table's rows continue from, usually its current maximum.
+     */
+    public record IdBases(long ingredient, long nutrition, long recipe, long recipeIngredient,
+                          long menuPlan, long dailyMealPlan) {
+
+        public static final IdBases EMPTY = new IdBases(0, 0, 0, 0, 0, 0);
+    }
+
+    private record Profile(int weight, int minKcal, int maxKcal, int proteinShare, int carbShare, int fatShare,
+                           int maxFiberTenths, Ingredient.Unit stockUnit, Ingredient.Unit recipeUnit,
+                           int minQuantity, int maxQuantity, String... names) {
+    }
+
+    private record Line(int ingredient, BigDecimal quantity, Ingredient.Unit unit, boolean optional) {
+    }
+
+    private record RecipeDraft(Recipe.RecipeCategory category, String name, String description, int cookingTime,
+                               int servings, Line[] lines, int steps, long stepSeed, int ageDays) {
+    }
+
+    private static final Profile[] PROFILES = new Profile[Ingredient.IngredientCategory.values().length];
+
+    static {
+        profile(Ingredient.IngredientCategory.VEGETABLES, new Profile(16, 15, 80, 15, 75, 10, 40,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 50, 400,
+            "Tomato", "Onion", "Carrot", "Spinach", "Zucchini", "Eggplant", "Pepper", "Leek", "Cabbage", "Broccoli"));
+        profile(Ingredient.IngredientCategory.FRUITS, new Profile(7, 30, 90, 5, 90, 5, 30,
+            Ingredient.Unit.PIECE, Ingredient.Unit.PIECE, 1, 4,
+            "Apple", "Lemon", "Orange", "Banana", "Pear", "Apricot", "Pomegranate", "Quince"));
+        profile(Ingredient.IngredientCategory.MEAT, new Profile(6, 150, 300, 45, 0, 55, 0,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 150, 600,
+            "Beef Mince", "Lamb Shoulder", "Veal Cubes", "Beef Brisket", "Lamb Chops"));
+        profile(Ingredient.IngredientCategory.POULTRY, new Profile(5, 110, 240, 65, 0, 35, 0,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 150, 600,
+            "Chicken Breast", "Chicken Thigh", "Turkey Breast", "Duck Leg"));
+        profile(Ingredient.IngredientCategory.FISH, new Profile(4, 80, 220, 60, 0, 40, 0,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 150, 500,
+            "Salmon", "Sea Bass", "Anchovy", "Trout", "Tuna"));
+        profile(Ingredient.IngredientCategory.SEAFOOD, new Profile(2, 70, 150, 70, 10, 20, 0,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 100, 400,
+            "Shrimp", "Mussels", "Squid", "Octopus"));
+        profile(Ingredient.IngredientCategory.DAIRY, new Profile(9, 40, 400, 25, 25, 50, 0,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 30, 300,
+            "Yogurt", "Feta", "Milk", "Butter", "Kashar Cheese", "Cream"));
+        profile(Ingredient.IngredientCategory.GRAINS, new Profile(8, 300, 380, 12, 83, 5, 100,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 80, 400,
+            "Rice", "Bulgur", "Flour", "Pasta", "Oats", "Couscous"));
+        profile(Ingredient.IngredientCategory.LEGUMES, new Profile(6, 80, 350, 28, 67, 5, 150,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 80, 300,
+            "Red Lentils", "Chickpeas", "Green Lentils", "White Beans", "Kidney Beans"));
+        profile(Ingredient.IngredientCategory.NUTS_SEEDS, new Profile(4, 500, 650, 15, 15, 70, 100,
+            Ingredient.Unit.GRAM, Ingredient.Unit.GRAM, 10, 80,
+            "Walnuts", "Hazelnuts", "Pistachios", "Sesame", "Almonds"));
+        profile(Ingredient.IngredientCategory.HERBS_SPICES, new Profile(12, 200, 350, 15, 65, 20, 300,
+            Ingredient.Unit.GRAM, Ingredient.Unit.TEASPOON, 1, 4,
+            "Salt", "Black Pepper", "Cumin", "Paprika", "Mint", "Parsley", "Thyme", "Sumac"));
+        profile(Ingredient.IngredientCategory.OILS_FATS, new Profile(4, 700, 900, 0, 0, 100, 0,
+            Ingredient.Unit.MILLILITER, Ingredient.Unit.TABLESPOON, 1, 4,
+            "Olive Oil", "Sunflower Oil", "Ghee"));
+        profile(Ingredient.IngredientCategory.CONDIMENTS, new Profile(8, 20, 250, 10, 70, 20, 30,
+            Ingredient.Unit.GRAM, Ingredient.Unit.TABLESPOON, 1, 3,
+            "Tomato Paste", "Pepper Paste", "Pomegranate Molasses", "Vinegar", "Tahini"));
+        profile(Ingredient.IngredientCategory.BEVERAGES, new Profile(2, 0, 60, 10, 85, 5, 0,
+            Ingredient.Unit.MILLILITER, Ingredient.Unit.MILLILITER, 100, 500,
+            "Ayran", "Apple Juice", "Vegetable Stock"));
+        profile(Ingredient.IngredientCategory.OTHER, new Profile(7, 50, 300, 30, 40, 30, 20,
+            Ingredient.Unit.PIECE, Ingredient.Unit.PIECE, 1, 4,
+            "Eggs", "Yeast", "Breadcrumbs", "Sugar"));
+    }
+
+    private static final Recipe.RecipeCategory[] RECIPE_CATEGORIES = Recipe.RecipeCategory.values();
+    private static final int[] RECIPE_CATEGORY_WEIGHTS = new int[RECIPE_CATEGORIES.length];
+
+    static {
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.MAIN_COURSE.ordinal()] = 30;
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.SOUP.ordinal()] = 20;
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.APPETIZER.ordinal()] = 5;
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.DESSERT.ordinal()] = 6;
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.SIDE_DISH.ordinal()] = 20;
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.SALAD.ordinal()] = 8;
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.BREAKFAST.ordinal()] = 6;
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.SNACK.ordinal()] = 3;
+        RECIPE_CATEGORY_WEIGHTS[Recipe.RecipeCategory.BEVERAGE.ordinal()] = 2;
+    }
+
+    private static final String[] ADJECTIVES = {"Rustic", "Smoky", "Spiced", "Herbed", "Slow-Cooked", "Roasted",
+        "Creamy", "Lemony", "Village-Style", "Grilled", "Braised", "Fresh"};
+    private static final String[] STEPS = {"Wash and chop the %s.", "Saute the %s in a little oil until soft.",
+        "Add the %s and stir for two minutes.", "Simmer the %s on low heat for %d minutes.",
+        "Season the %s and taste.", "Bake the %s for %d minutes.", "Rest the %s for %d minutes before serving."};
+
+    private final long seed;
+    private final Sizes sizes;
+    private final IdBases bases;
+    private final LocalDate anchor;
+
+    // Per global ingredient
+    private final byte[] ingredientCategory;
+    private final byte[] ingredientBaseName;
+    private final int[][] per100g;
+
+    // Per recipe
+    private final long[][] recipeTotals;
+    private final int[][] recipesByCategory;
+
+    /**
+     * @param anchor the day the data is "generated on": expiry dates and plan weeks are relative
+     *               to it, and the last plan of every user is the one of its week
+     */
+    public SyntheticCatalog(long seed, Sizes sizes, IdBases bases, LocalDate anchor) {
+        this.seed = seed;
+        this.sizes = sizes;
+        this.bases = bases;
+        this.anchor = anchor;
+
+        int ingredients = sizes.ingredients();
+        ingredientCategory = new byte[ingredients];
+        ingredientBaseName = new byte[ingredients];
+        per100g = new int[NUTRIENTS][ingredients];
+        for (int i = 0; i < ingredients; i++) {
+            SplittableRandom random = random(INGREDIENT_STREAM, i);
+            int category = pickIngredientCategory(random);
+            Profile profile = PROFILES[category];
+            ingredientCategory[i] = (byte) category;
+            ingredientBaseName[i] = (byte) random.nextInt(profile.names().length);
+
+            int kcal = profile.minKcal() * 100 + random.nextInt((profile.maxKcal() - profile.minKcal()) * 100 + 1);
+            per100g[0][i] = kcal;
+            per100g[1][i] = macroGrams(kcal, profile.proteinShare(), 4, random);
+            per100g[2][i] = macroGrams(kcal, profile.carbShare(), 4, random);
+            per100g[3][i] = macroGrams(kcal, profile.fatShare(), 9, random);
+            per100g[4][i] = profile.maxFiberTenths() > 0 ? random.nextInt(profile.maxFiberTenths() + 1) * 10 : 0;
+        }
+
+        recipeTotals = new long[NUTRIENTS][sizes.recipes()];
+        int[] categoryCounts = new int[RECIPE_CATEGORIES.length];
+        Recipe.RecipeCategory[] categories = new Recipe.RecipeCategory[sizes.recipes()];
+        for (int r = 0; r < sizes.recipes(); r++) {
+            RecipeDraft recipe = recipe(r);
+            categories[r] = recipe.category();
+            categoryCounts[recipe.category().ordinal()]++;
+            long[] totals = totals(recipe);
+            for (int n = 0; n < NUTRIENTS; n++) {
+                recipeTotals[n][r] = totals[n];
+            }
+        }
+        recipesByCategory = new int[RECIPE_CATEGORIES.length][];
+        for (int c = 0; c < RECIPE_CATEGORIES.length; c++) {
+            recipesByCategory[c] = new int[categoryCounts[c]];
+        }
+        int[] filled = new int[RECIPE_CATEGORIES.length];
+        for (int r = 0; r < categories.length; r++) {
+            int c = categories[r].ordinal();
+            recipesByCategory[c][filled[c]++] = r;
+        }
+    }
+
+    public Sizes sizes() {
+        return sizes;
+    }
+
+    /**
+     * First and last week start of the plan histories, for creating partitions up front.
+     */
+    public LocalDate firstPlanDate() {
+        return planStart(0);
+    }
+
+    public LocalDate lastPlanDate() {
+        return planStart(sizes.plansPerUser() - 1).plusDays(DAYS_PER_PLAN - 1);
+    }
+
+    /**
+     * The global catalog (no user), then every user's pantry: copies of catalog ingredients
+     * drawn by popularity, with their own quantities, expiry dates and availability.
+     */
+    public void writeIngredients(ExportWriter out) throws IOException {
+        for (int i = 0; i < sizes.ingredients(); i++) {
+            Profile profile = PROFILES[ingredientCategory[i]];
+            LocalDateTime created = anchor.atStartOfDay().minusDays(random(INGREDIENT_STREAM, i).nextInt(720));
+            out.row(ingredientId(i), ingredientName(i), category(i), stockQuantity(profile, random(INGREDIENT_STREAM, -1 - i)),
+                profile.stockUnit(), null, true, null, created, created);
+        }
+        long id = bases.ingredient() + sizes.ingredients();
+        for (int u = 0; u < sizes.users(); u++) {
+            SplittableRandom random = random(PANTRY_STREAM, u);
+            LocalDateTime created = anchor.atStartOfDay().minusDays(random.nextInt(60));
+            for (int k = 0; k < sizes.pantrySize(); k++) {
+                int i = popular(random, sizes.ingredients());
+                Profile profile = PROFILES[ingredientCategory[i]];
+                LocalDate expiry = random.nextInt(10) < 3 ? null : anchor.plusDays(random.nextInt(-3, 31));
+                out.row(++id, ingredientName(i), category(i), stockQuantity(profile, random), profile.stockUnit(),
+                    expiry, random.nextInt(100) < 92, userId(u), created, created);
+            }
+        }
+    }
+
+    /**
+     * Nutrition per 100 g of every catalog ingredient.
+     */
+    public void writeNutritionalInfo(ExportWriter out) throws IOException {
+        LocalDateTime created = anchor.atStartOfDay().minusDays(720);
+        for (int i = 0; i < sizes.ingredients(); i++) {
+            out.row(bases.nutrition() + i + 1, ingredientId(i), SERVING_SIZE, Ingredient.Unit.GRAM,
+                hundredths(per100g[0][i]), hundredths(per100g[1][i]), hundredths(per100g[2][i]),
+                hundredths(per100g[3][i]), hundredths(per100g[4][i]), created, created);
+        }
+    }
+
+    public void writeRecipes(ExportWriter out) throws IOException {
+        for (int r = 0; r < sizes.recipes(); r++) {
+            RecipeDraft recipe = recipe(r);
+            LocalDateTime created = anchor.atStartOfDay().minusDays(recipe.ageDays());
+            out.row(recipeId(r), recipe.name(), recipe.description(), recipe.category(), recipe.cookingTime(),
+                recipe.servings(), hundredths(recipeTotals[0][r]), hundredths(recipeTotals[1][r]),
+                hundredths(recipeTotals[2][r]), hundredths(recipeTotals[3][r]), hundredths(recipeTotals[4][r]),
+                true, created, created);
+        }
+    }
+
+    /**
+     * Recipe lines; IDs are consecutive in recipe order, so the line ID base only needs the
+     * total.
+     */
+    public long writeRecipeIngredients(ExportWriter out) throws IOException {
+        long id = bases.recipeIngredient();
+        for (int r = 0; r < sizes.recipes(); r++) {
+            RecipeDraft recipe = recipe(r);
+            LocalDateTime created = anchor.atStartOfDay().minusDays(recipe.ageDays());
+            for (Line line : recipe.lines()) {
+                out.row(++id, recipeId(r), ingredientId(line.ingredient()), line.quantity(), line.unit(),
+                    line.optional(), created, created);
+            }
+        }
+        return id - bases.recipeIngredient();
+    }
+
+    public void writeRecipeInstructions(ExportWriter out) throws IOException {
+        for (int r = 0; r < sizes.recipes(); r++) {
+            RecipeDraft recipe = recipe(r);
+            SplittableRandom random = new SplittableRandom(recipe.stepSeed());
+            for (int step = 0; step < recipe.steps(); step++) {
+                Line line = recipe.lines()[step % recipe.lines().length];
+                String text = String.format(Locale.ROOT, STEPS[random.nextInt(STEPS.length)],
+                    baseName(line.ingredient()).toLowerCase(Locale.ROOT), 5 + 5 * random.nextInt(8));
+                out.row(recipeId(r), text, step);
+            }
+        }
+    }
+
+    /**
+     * One weekly plan per user and week, oldest first; the last is the user's active plan for
+     * the anchor's week, the rest are completed.
+     */
+    public void writeMenuPlans(ExportWriter out) throws IOException {
+        for (int u = 0; u < sizes.users(); u++) {
+            for (int p = 0; p < sizes.plansPerUser(); p++) {
+                int plan = u * sizes.plansPerUser() + p;
+                SplittableRandom random = random(PLAN_STREAM, plan);
+                LocalDate start = planStart(p);
+                int total = 0;
+                for (int d = 0; d < DAYS_PER_PLAN; d++) {
+                    total += dayCalories(random);
+                }
+                boolean active = p == sizes.plansPerUser() - 1;
+                LocalDateTime created = start.minusDays(2).atTime(19, 30);
+                out.row(menuPlanId(plan), "Week of " + start, userId(u), start, start.plusDays(DAYS_PER_PLAN - 1),
+                    active ? MenuPlan.MenuPlanStatus.ACTIVE : MenuPlan.MenuPlanStatus.COMPLETED, total,
+                    total / DAYS_PER_PLAN, random.nextInt(100) < 85, Math.round(random.nextDouble(0.5, 1.0) * 10_000) / 10_000.0,
+                    created, active ? created : start.plusDays(DAYS_PER_PLAN).atTime(21, 0));
+            }
+        }
+    }
+
+    /**
+     * The days of {@link #writeMenuPlans}: a soup, main course and side dish each, drawn from
+     * the same random sequence so their calories add up to the plan's.
+     */
+    public void writeDailyMealPlans(ExportWriter out) throws IOException {
+        for (int u = 0; u < sizes.users(); u++) {
+            for (int p = 0; p < sizes.plansPerUser(); p++) {
+                int plan = u * sizes.plansPerUser() + p;
+                SplittableRandom random = random(PLAN_STREAM, plan);
+                LocalDate start = planStart(p);
+                LocalDateTime created = start.minusDays(2).atTime(19, 30);
+                for (int d = 0; d < DAYS_PER_PLAN; d++) {
+                    int soup = pick(random, Recipe.RecipeCategory.SOUP);
+                    int main = pick(random, Recipe.RecipeCategory.MAIN_COURSE);
+                    int side = pick(random, Recipe.RecipeCategory.SIDE_DISH);
+                    out.row(bases.dailyMealPlan() + (long) plan * DAYS_PER_PLAN + d + 1, menuPlanId(plan), d + 1,
+                        start.plusDays(d), soup >= 0 ? recipeId(soup) : null, main >= 0 ? recipeId(main) : null,
+                        side >= 0 ? recipeId(side) : null,
+                        caloriesPerServing(soup) + caloriesPerServing(main) + caloriesPerServing(side),
+                        created, created);
+                }
+            }
+        }
+    }
+
+    private int dayCalories(SplittableRandom random) {
+        return caloriesPerServing(pick(random, Recipe.RecipeCategory.SOUP))
+            + caloriesPerServing(pick(random, Recipe.RecipeCategory.MAIN_COURSE))
+            + caloriesPerServing(pick(random, Recipe.RecipeCategory.SIDE_DISH));
+    }
+
+    private int pick(SplittableRandom random, Recipe.RecipeCategory category) {
+        int[] pool = recipesByCategory[category.ordinal()];
+        return pool.length > 0 ? pool[random.nextInt(pool.length)] : -1;
+    }
+
+    private int caloriesPerServing(int recipe) {
+        return recipe >= 0 ? (int) (recipeTotals[0][recipe] / 100 / recipe(recipe).servings()) : 0;
+    }
+
+    private RecipeDraft recipe(int r) {
+        SplittableRandom random = random(RECIPE_STREAM, r);
+        Recipe.RecipeCategory category = RECIPE_CATEGORIES[weighted(random, RECIPE_CATEGORY_WEIGHTS)];
+        int span = sizes.maxIngredientsPerRecipe() - sizes.minIngredientsPerRecipe();
+        // Most recipes sit near the lower end, a long tail has many ingredients
+        int count = sizes.minIngredientsPerRecipe() + (int) Math.round(span * Math.pow(random.nextDouble(), 1.5));
+
+        Line[] lines = new Line[count];
+        int[] used = new int[count];
+        for (int k = 0; k < count; k++) {
+            int ingredient;
+            do {
+                ingredient = popular(random, sizes.ingredients());
+            } while (contains(used, k, ingredient));
+            used[k] = ingredient;
+            Profile profile = PROFILES[ingredientCategory[ingredient]];
+            int quantity = profile.minQuantity() + random.nextInt(profile.maxQuantity() - profile.minQuantity() + 1);
+            if (profile.recipeUnit() == Ingredient.Unit.GRAM || profile.recipeUnit() == Ingredient.Unit.MILLILITER) {
+                quantity = Math.max(5, quantity / 5 * 5);
+            }
+            lines[k] = new Line(ingredient, BigDecimal.valueOf(quantity * 100L, 2), profile.recipeUnit(),
+                k > 0 && random.nextInt(100) < 8);
+        }
+
+        String main = baseName(lines[0].ingredient());
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + main + " "
+            + dish(category, random) + " " + (r + 1);
+        String description = "A " + category.name().toLowerCase(Locale.ROOT).replace('_', ' ') + " of "
+            + main.toLowerCase(Locale.ROOT) + (count > 1 ? " with " + baseName(lines[1].ingredient()).toLowerCase(Locale.ROOT) : "")
+            + ", serves a family.";
+        int cookingTime = 10 + 5 * random.nextInt(23);
+        int servings = 2 + random.nextInt(5);
+        int steps = 3 + random.nextInt(6);
+        return new RecipeDraft(category, name, description, cookingTime, servings, lines, steps, random.nextLong(),
+            random.nextInt(720));
+    }
+
+    /**
+     * Totals in hundredths, summed per line as the nutrition calculator does.
+     */
+    private long[] totals(RecipeDraft recipe) {
+        BigDecimal[] sums = new BigDecimal[NUTRIENTS];
+        Arrays.fill(sums, BigDecimal.ZERO);
+        for (Line line : recipe.lines()) {
+            BigDecimal servings = UnitConversion.servings(line.quantity(), line.unit(), SERVING_SIZE, Ingredient.Unit.GRAM);
+            for (int n = 0; n < NUTRIENTS; n++) {
+                sums[n] = sums[n].add(hundredths(per100g[n][line.ingredient()]).multiply(servings));
+            }
+        }
+        long[] totals = new long[NUTRIENTS];
+        for (int n = 0; n < NUTRIENTS; n++) {
+            totals[n] = sums[n].setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+        return totals;
+    }
+
+    private static String dish(Recipe.RecipeCategory category, SplittableRandom random) {
+        String[] dishes = switch (category) {
+            case MAIN_COURSE -> new String[]{"Stew", "Casserole", "Kebab", "Bake", "Skillet"};
+            case SOUP -> new String[]{"Soup", "Broth", "Chowder"};
+            case SIDE_DISH -> new String[]{"Pilaf", "Mash", "Saute", "Gratin"};
+            case SALAD -> new String[]{"Salad", "Slaw"};
+            case BREAKFAST -> new String[]{"Omelette", "Porridge", "Scramble"};
+            case DESSERT -> new String[]{"Pudding", "Tart", "Compote"};
+            case APPETIZER -> new String[]{"Dip", "Fritters", "Rolls"};
+            case SNACK -> new String[]{"Bites", "Bar"};
+            case BEVERAGE -> new String[]{"Smoothie", "Sherbet"};
+        };
+        return dishes[random.nextInt(dishes.length)];
+    }
+
+    private LocalDate planStart(int plan) {
+        LocalDate currentWeek = anchor.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return currentWeek.minusWeeks(sizes.plansPerUser() - 1L - plan);
+    }
+
+    private BigDecimal stockQuantity(Profile profile, SplittableRandom random) {
+        return switch (profile.stockUnit()) {
+            case PIECE -> BigDecimal.valueOf(1 + random.nextInt(12)).setScale(2);
+            case MILLILITER -> BigDecimal.valueOf(250L * (1 + random.nextInt(8))).setScale(2);
+            default -> BigDecimal.valueOf(50L * (1 + random.nextInt(40))).setScale(2);
+        };
+    }
+
+    private long ingredientId(int ingredient) {
+        return bases.ingredient() + ingredient + 1;
+    }
+
+    private long recipeId(int recipe) {
+        return bases.recipe() + recipe + 1;
+    }
+
+    private long menuPlanId(int plan) {
+        return bases.menuPlan() + plan + 1;
+    }
+
+    private long userId(int user) {
+        return user + 1L;
+    }
+
+    private String ingredientName(int ingredient) {
+        return baseName(ingredient) + " " + (ingredient + 1);
+    }
+
+    private String baseName(int ingredient) {
+        return PROFILES[ingredientCategory[ingredient]].names()[ingredientBaseName[ingredient]];
+    }
+
+    private Ingredient.IngredientCategory category(int ingredient) {
+        return Ingredient.IngredientCategory.values()[ingredientCategory[ingredient]];
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(seed ^ (stream << 56) ^ (index * 0x9E3779B97F4A7C15L));
+    }
+
+    private static int popular(SplittableRandom random, int size) {
+        return (int) (size * Math.pow(random.nextDouble(), POPULARITY_SKEW));
+    }
+
+    private static int pickIngredientCategory(SplittableRandom random) {
+        int[] weights = new int[PROFILES.length];
+        for (int c = 0; c < PROFILES.length; c++) {
+            weights[c] = PROFILES[c].weight();
+        }
+        return weighted(random, weights);
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Weights must be positive");
+    }
+
+    private static int macroGrams(int kcalHundredths, int share, int kcalPerGram, SplittableRandom random) {
+        // +-20% around the category's share, in hundredths of a gram
+        return (int) (kcalHundredths * share / 100L * (80 + random.nextInt(41)) / 100 / kcalPerGram);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BigDecimal hundredths(long value) {
+        return BigDecimal.valueOf(value, 2);
+    }
+
+    private static void profile(Ingredient.IngredientCategory category, Profile profile) {
+        PROFILES[category.ordinal()] = profile;
+    }
+}
@@ -0,0 +1,163 @@
+package com.greenmono.mealplanner.datagen;
+
+import com.greenmono.mealplanner.export.ExportFormat;
+import com.greenmono.mealplanner.export.ExportWriter;
+import com.greenmono.mealplanner.service.DailyMealPlanPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fills the database with a {@link SyntheticCatalog} for load testing, run with the
+ * {@code datagen} profile: {@code mvn spring-boot:run -Dspring-boot.run.profiles=datagen}.
+ *
+ * Each table is streamed through PostgreSQL's {@code COPY ... FROM STDIN} as CSV in foreign key
+ * order, so millions of rows load in minutes without passing through Hibernate. Rows are added
+ * after the existing ones and the ID sequences are moved past them afterwards, so the
+ * application keeps working on the loaded database. With the same seed, sizes and anchor date
+ * two runs on empty databases produce the same data.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataLoader implements ApplicationRunner {
+
+    /** Tables with an ID sequence, reset the way the V14 migration does. */
+    private static final List<String> SEQUENCED_TABLES = List.of("ingredients", "nutritional_info", "recipes",
+        "recipe_ingredients", "menu_plans", "daily_meal_plans");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final DailyMealPlanPartitionService partitionService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${meal-planner.datagen.seed:42}")
+    private long seed = 42;
+
+    @Value("${meal-planner.datagen.ingredients:1000000}")
+    private int ingredients = 1_000_000;
+
+    @Value("${meal-planner.datagen.users:50000}")
+    private int users = 50_000;
+
+    @Value("${meal-planner.datagen.pantry-size:40}")
+    private int pantrySize = 40;
+
+    @Value("${meal-planner.datagen.recipes:200000}")
+    private int recipes = 200_000;
+
+    @Value("${meal-planner.datagen.min-ingredients-per-recipe:4}")
+    private int minIngredientsPerRecipe = 4;
+
+    @Value("${meal-planner.datagen.max-ingredients-per-recipe:18}")
+    private int maxIngredientsPerRecipe = 18;
+
+    @Value("${meal-planner.datagen.plans-per-user:12}")
+    private int plansPerUser = 12;
+
+    /** ISO date the data is generated relative to; empty means today. */
+    @Value("${meal-planner.datagen.anchor-date:}")
+    private String anchorDate = "";
+
+    @Value("${meal-planner.datagen.exit-when-done:true}")
+    private boolean exitWhenDone = true;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        SyntheticCatalog.Sizes sizes = new SyntheticCatalog.Sizes(ingredients, users, pantrySize, recipes,
+            minIngredientsPerRecipe, maxIngredientsPerRecipe, plansPerUser);
+        SyntheticCatalog.IdBases bases = new SyntheticCatalog.IdBases(maxId("ingredients"), maxId("nutritional_info"),
+            maxId("recipes"), maxId("recipe_ingredients"), maxId("menu_plans"), maxId("daily_meal_plans"));
+        LocalDate anchor = anchorDate.isBlank() ? LocalDate.now() : LocalDate.parse(anchorDate);
+
+        long start = System.nanoTime();
+        SyntheticCatalog catalog = new SyntheticCatalog(seed, sizes, bases, anchor);
+        log.info("Generating seed {} anchored at {}: {} ingredients, {} recipes, {} users with {} pantry items "
+                + "and {} weekly plans each", seed, anchor, ingredients, recipes, users, pantrySize, plansPerUser);
+
+        if (sizes.menuPlans() > 0) {
+            partitionService.createPartitions(catalog.firstPlanDate(), catalog.lastPlanDate());
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                // Losing the tail of a load on a crash is fine, waiting for every flush is not
+                statement.execute("SET synchronous_commit = off");
+            }
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            copy(pg, "ingredients", SyntheticCatalog.INGREDIENT_COLUMNS, catalog::writeIngredients);
+            copy(pg, "nutritional_info", SyntheticCatalog.NUTRITION_COLUMNS, catalog::writeNutritionalInfo);
+            copy(pg, "recipes", SyntheticCatalog.RECIPE_COLUMNS, catalog::writeRecipes);
+            copy(pg, "recipe_ingredients", SyntheticCatalog.RECIPE_INGREDIENT_COLUMNS, catalog::writeRecipeIngredients);
+            copy(pg, "recipe_instructions", SyntheticCatalog.RECIPE_INSTRUCTION_COLUMNS, catalog::writeRecipeInstructions);
+            copy(pg, "menu_plans", SyntheticCatalog.MENU_PLAN_COLUMNS, catalog::writeMenuPlans);
+            copy(pg, "daily_meal_plans", SyntheticCatalog.DAILY_MEAL_PLAN_COLUMNS, catalog::writeDailyMealPlans);
+        }
+
+        for (String table : SEQUENCED_TABLES) {
+            jdbcTemplate.queryForObject("SELECT setval('" + table + "_id_seq', COALESCE((SELECT MAX(id) FROM "
+                + table + "), 0) + 1, TRUE)", Long.class);
+        }
+        for (String table : SEQUENCED_TABLES) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        jdbcTemplate.execute("ANALYZE recipe_instructions");
+
+        log.info("Synthetic data loaded in {} s: ingredient IDs from {}, recipe IDs from {}, menu plan IDs from {}, "
+                + "user IDs 1 to {}", (System.nanoTime() - start) / 1_000_000_000, bases.ingredient() + 1,
+            bases.recipe() + 1, bases.menuPlan() + 1, users);
+
+        if (exitWhenDone) {
+            // The scheduler would keep the JVM alive otherwise
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private void copy(PGConnection connection, String table, List<String> columns, RowSource rows) throws Exception {
+        long start = System.nanoTime();
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv, HEADER true)";
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection, sql, 1 << 16);
+        long written;
+        try (ExportWriter out = ExportWriter.open(ExportFormat.CSV, copy, columns)) {
+            rows.write(out);
+            written = out.rows();
+        } catch (IOException | RuntimeException e) {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+            throw e;
+        }
+        copy.endCopy();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Copied {} rows into {} in {} ms ({} rows/s)", written, table, millis,
+            millis > 0 ? written * 1000 / millis : written);
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+
+        void write(ExportWriter out) throws IOException;
+    }
+}
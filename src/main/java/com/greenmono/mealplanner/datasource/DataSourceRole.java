@@ -0,0 +1,6 @@
+package com.greenmono.mealplanner.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
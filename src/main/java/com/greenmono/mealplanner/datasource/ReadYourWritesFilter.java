@@ -0,0 +1,63 @@
+package com.greenmono.mealplanner.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the user a request acts for, so {@link ReadYourWritesTracker} can keep that user's
+ * reads on the primary right after they wrote. The user is taken from the {@code userId}
+ * query parameter, the {@code X-User-Id} header, or a {@code /user/{userId}} path segment.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String USER_HEADER = "X-User-Id";
+
+    private static final Pattern USER_PATH = Pattern.compile("/user/(\\d+)(?:/|$)");
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        tracker.beginRequest(resolveUserId(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            tracker.endRequest();
+        }
+    }
+
+    static Long resolveUserId(HttpServletRequest request) {
+        Long userId = parse(request.getParameter("userId"));
+        if (userId == null) {
+            userId = parse(request.getHeader(USER_HEADER));
+        }
+        if (userId == null) {
+            Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+            if (matcher.find()) {
+                userId = parse(matcher.group(1));
+            }
+        }
+        return userId;
+    }
+
+    private static Long parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.greenmono.mealplanner.datasource;
+
+import com.greenmono.mealplanner.event.IngredientChangedEvent;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import com.greenmono.mealplanner.event.PlanGenerationJobChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when a read must go to the primary so a user sees their own writes even if the
+ * replica has not caught up yet.
+ *
+ * Two rules apply:
+ * <ul>
+ *   <li>within one HTTP request, once a read-write transaction has run, later reads stay on the primary</li>
+ *   <li>for {@code window} after a user's write commits, requests made on that user's behalf read from the primary</li>
+ * </ul>
+ * A user's writes are learned from the domain events published when they commit; the user
+ * a request acts for is bound by {@link ReadYourWritesFilter}.
+ */
+public class ReadYourWritesTracker {
+
+    private static final class RequestState {
+        private final Long userId;
+        private boolean wrote;
+
+        private RequestState(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static final ThreadLocal<RequestState> CURRENT_REQUEST = new ThreadLocal<>();
+
+    private final ConcurrentMap<Long, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final int maxTrackedUsers;
+    private final LongSupplier nanoClock;
+
+    public ReadYourWritesTracker(Duration window, int maxTrackedUsers) {
+        this(window, maxTrackedUsers, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(Duration window, int maxTrackedUsers, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.nanoClock = nanoClock;
+    }
+
+    public void beginRequest(Long userId) {
+        CURRENT_REQUEST.set(new RequestState(userId));
+    }
+
+    public void endRequest() {
+        CURRENT_REQUEST.remove();
+    }
+
+    /**
+     * Called when the current thread opens a read-write connection.
+     */
+    public void markRequestWrite() {
+        RequestState state = CURRENT_REQUEST.get();
+        if (state != null) {
+            state.wrote = true;
+        }
+    }
+
+    public boolean requiresPrimary() {
+        RequestState state = CURRENT_REQUEST.get();
+        if (state == null) {
+            return false;
+        }
+        if (state.wrote) {
+            return true;
+        }
+        if (state.userId == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(state.userId);
+        return writtenAt != null && nanoClock.getAsLong() - writtenAt < windowNanos;
+    }
+
+    public void recordWrite(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (lastWriteNanos.size() >= maxTrackedUsers) {
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+        lastWriteNanos.put(userId, now);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuPlanChanged(MenuPlanChangedEvent event) {
+        recordWrite(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientChanged(IngredientChangedEvent event) {
+        recordWrite(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanGenerationJobChanged(PlanGenerationJobChangedEvent event) {
+        recordWrite(event.getUserId());
+    }
+}
@@ -0,0 +1,65 @@
+package com.greenmono.mealplanner.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures how far the replica is behind the primary and takes it out of
+ * rotation when it lags more than {@code maxLag} or cannot be reached.
+ *
+ * A replica with nothing left to replay reports zero lag even when the primary has been
+ * idle for a while, so a quiet system does not look like a lagging one.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String LAG_QUERY = """
+        SELECT CASE
+                   WHEN NOT pg_is_in_recovery() THEN 0
+                   WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+               END
+        """;
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+
+    // Out of rotation until the first check has passed
+    private volatile boolean available;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(2);
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${meal-planner.datasource.replica.lag-check-interval-ms:2000}")
+    public void check() {
+        boolean wasAvailable = available;
+        try {
+            Double lagSeconds = replica.queryForObject(LAG_QUERY, Double.class);
+            available = lagSeconds != null && lagSeconds <= maxLag.toMillis() / 1000d;
+            if (wasAvailable && !available) {
+                log.warn("Replica is {}s behind the primary, routing reads to the primary", lagSeconds);
+            }
+        } catch (DataAccessException e) {
+            available = false;
+            if (wasAvailable) {
+                log.warn("Replica lag check failed, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+
+        if (!wasAvailable && available) {
+            log.info("Replica is in rotation");
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,40 @@
+package com.greenmono.mealplanner.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica pool and
+ * everything else to the primary.
+ *
+ * Reads fall back to the primary while the replica is lagging or unreachable, and while
+ * {@link ReadYourWritesTracker} says the caller must see its own recent writes. Must sit
+ * behind a {@code LazyConnectionDataSourceProxy}: the transaction's read-only flag is only
+ * known once the transaction has started, after a non-lazy pool would already have handed
+ * out a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.markRequestWrite();
+            }
+            return DataSourceRole.PRIMARY;
+        }
+
+        if (!lagMonitor.isAvailable() || readYourWritesTracker.requiresPrimary()) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+}
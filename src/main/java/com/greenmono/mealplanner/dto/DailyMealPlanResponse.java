@@ -19,6 +19,14 @@ public class DailyMealPlanResponse {
     private RecipeResponse soupRecipe;
     private RecipeResponse mainCourseRecipe;
     private RecipeResponse sideDishRecipe;
+
+    /**
+     * Meal slots, filled in full-day plans
+     */
+    private MealSlotResponse breakfastMeal;
+    private MealSlotResponse lunchMeal;
+    private MealSlotResponse dinnerMeal;
+    private MealSlotResponse snackMeal;
     private Integer totalCalories;
     private String notes;
 }
@@ -0,0 +1,24 @@
+package com.greenmono.mealplanner.dto;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DishSwapRequest {
+
+    /**
+     * SOUP, MAIN_COURSE or SIDE_DISH
+     */
+    @NotNull(message = "Course is required")
+    private Recipe.RecipeCategory course;
+
+    @NotNull(message = "Recipe ID is required")
+    private Long recipeId;
+}
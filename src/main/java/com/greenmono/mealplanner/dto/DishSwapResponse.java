@@ -0,0 +1,24 @@
+package com.greenmono.mealplanner.dto;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DishSwapResponse {
+
+    private Long menuPlanId;
+    private Integer dayNumber;
+    private Recipe.RecipeCategory course;
+    private RecipeResponse recipe;
+    private Integer dayTotalCalories;
+    private Integer totalCalories;
+    private Integer averageDailyCalories;
+    private Double balanceScore;
+    private Boolean isBalanced;
+}
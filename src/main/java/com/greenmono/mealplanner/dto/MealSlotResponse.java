@@ -0,0 +1,21 @@
+package com.greenmono.mealplanner.dto;
+
+import com.greenmono.mealplanner.entity.Meal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealSlotResponse {
+
+    private Long id;
+    private String name;
+    private Meal.MealType mealType;
+    private BigDecimal calories;
+}
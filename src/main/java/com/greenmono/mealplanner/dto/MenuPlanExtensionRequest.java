@@ -0,0 +1,45 @@
+package com.greenmono.mealplanner.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuPlanExtensionRequest {
+
+    @NotNull(message = "Weeks is required")
+    @Min(value = 1, message = "Weeks must be at least 1")
+    @Max(value = 12, message = "Weeks must be at most 12")
+    private Integer weeks;
+
+    /**
+     * Candidate plans to build per week; defaults to {@code meal-planner.generation.candidates}
+     */
+    @Min(value = 1, message = "Candidates must be at least 1")
+    @Max(value = 64, message = "Candidates must be at most 64")
+    private Integer candidates;
+
+    /**
+     * Time allowed for building each week's candidates; defaults to
+     * {@code meal-planner.generation.time-budget}
+     */
+    @Min(value = 1, message = "Time budget must be at least 1 ms")
+    @Max(value = 2000, message = "Time budget must be at most 2000 ms")
+    private Integer timeBudgetMs;
+
+    /**
+     * Calorie target of the added days; no dish above it is picked. Plans do not keep the
+     * target they were generated with, so without one the whole catalog is eligible and
+     * full-day plans fill their other slots towards the plan's current daily average
+     */
+    @Positive(message = "Target daily calories must be positive")
+    private Integer targetDailyCalories;
+}
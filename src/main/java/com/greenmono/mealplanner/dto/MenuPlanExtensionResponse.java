@@ -0,0 +1,25 @@
+package com.greenmono.mealplanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuPlanExtensionResponse {
+
+    private Long menuPlanId;
+    private Integer weeksAdded;
+    private LocalDate firstAddedDate;
+    private LocalDate endDate;
+    private Integer totalDays;
+    private Integer totalCalories;
+    private Integer averageDailyCalories;
+    private Double balanceScore;
+    private Boolean isBalanced;
+}
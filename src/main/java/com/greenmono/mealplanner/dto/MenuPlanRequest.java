@@ -1,5 +1,7 @@
 package com.greenmono.mealplanner.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -37,4 +39,34 @@ public class MenuPlanRequest {
     private Integer caloriesPerMealMax = 700;
 
     private String notes;
+
+    /**
+     * Also fills the breakfast, dinner and snack slots from the meal catalog so that each day
+     * lands near {@code targetDailyCalories}; the soup/main/side trio stays the lunch
+     */
+    @Builder.Default
+    private Boolean fullDay = false;
+
+    /**
+     * Makes generation deterministic: the same seed, constraints, catalog and pantry give the
+     * same plan, which is then served from the plan cache. Seeded requests build every
+     * candidate and ignore {@code timeBudgetMs}
+     */
+    private Long seed;
+
+    /**
+     * Candidate plans to build before keeping the best-balanced one; defaults to
+     * {@code meal-planner.generation.candidates}
+     */
+    @Min(value = 1, message = "Candidates must be at least 1")
+    @Max(value = 64, message = "Candidates must be at most 64")
+    private Integer candidates;
+
+    /**
+     * Time allowed for building candidates; at least one is always built. Defaults to
+     * {@code meal-planner.generation.time-budget}
+     */
+    @Min(value = 1, message = "Time budget must be at least 1 ms")
+    @Max(value = 2000, message = "Time budget must be at most 2000 ms")
+    private Integer timeBudgetMs;
 }
@@ -0,0 +1,20 @@
+package com.greenmono.mealplanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionRecomputeResponse {
+
+    private Integer recipesRecomputed;
+    private Integer recipesChanged;
+    private Integer recipesUpdated;
+    private Integer recipesIncomplete;
+    private Boolean dryRun;
+    private Long durationMs;
+}
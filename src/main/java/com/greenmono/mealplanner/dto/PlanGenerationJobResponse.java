@@ -0,0 +1,26 @@
+package com.greenmono.mealplanner.dto;
+
+import com.greenmono.mealplanner.entity.PlanGenerationJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanGenerationJobResponse {
+
+    private Long jobId;
+    private Long userId;
+    private PlanGenerationJob.JobStatus status;
+    private Integer attempts;
+    private Long menuPlanId;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,25 @@
+package com.greenmono.mealplanner.dto;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeNutritionMatchResponse {
+
+    private Long recipeId;
+    private String name;
+    private Recipe.RecipeCategory category;
+    private BigDecimal caloriesPerServing;
+    private BigDecimal proteinPerServing;
+    private BigDecimal carbohydratesPerServing;
+    private BigDecimal fatPerServing;
+    private BigDecimal fiberPerServing;
+}
@@ -0,0 +1,22 @@
+package com.greenmono.mealplanner.dto;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSuggestionResponse {
+
+    private Long recipeId;
+    private String name;
+    private Recipe.RecipeCategory category;
+    private int matchedIngredients;
+    private int requiredIngredients;
+    private int missingIngredients;
+    private double coverage;
+}
@@ -0,0 +1,24 @@
+package com.greenmono.mealplanner.dto;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShoppingListItemResponse {
+
+    private Long ingredientId;
+    private String name;
+    private Ingredient.IngredientCategory category;
+    private Ingredient.Unit unit;
+    private BigDecimal requiredQuantity;
+    private BigDecimal pantryQuantity;
+    private BigDecimal toBuyQuantity;
+}
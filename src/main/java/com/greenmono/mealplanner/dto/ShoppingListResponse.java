@@ -0,0 +1,20 @@
+package com.greenmono.mealplanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShoppingListResponse {
+
+    private Long menuPlanId;
+    private Long userId;
+    private List<ShoppingListItemResponse> items;
+    private Integer itemsToBuy;
+}
@@ -0,0 +1,28 @@
+package com.greenmono.mealplanner.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Compact change notification pushed over the per-user event stream.
+ * Clients re-fetch only what the change affects instead of polling.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserStreamEvent {
+
+    private String action;
+    private Long jobId;
+    private Long menuPlanId;
+    private MenuPlan.MenuPlanStatus status;
+    private List<Long> ingredientIds;
+}
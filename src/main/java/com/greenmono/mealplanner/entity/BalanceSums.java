@@ -0,0 +1,38 @@
+package com.greenmono.mealplanner.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running sums behind a menu plan's balance score, kept so a dish swap can re-score the plan
+ * from the swapped day alone. See {@code BalanceState} for how they are computed.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSums {
+
+    @Column(name = "balance_days")
+    private Integer days;
+
+    @Column(name = "balance_macro_sum")
+    private Double macroSum;
+
+    @Column(name = "balance_calorie_sum")
+    private Long calorieSum;
+
+    @Column(name = "balance_calorie_squares")
+    private Long calorieSquares;
+
+    @Column(name = "balance_meals")
+    private Integer meals;
+
+    @Column(name = "balance_distinct_recipes")
+    private Integer distinctRecipes;
+}
@@ -4,8 +4,6 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,7 +23,8 @@ import java.util.Set;
 public class MenuPlan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_plan_seq")
+    @SequenceGenerator(name = "menu_plan_seq", sequenceName = "menu_plans_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Menu plan name is required")
@@ -89,14 +88,29 @@ public class MenuPlan {
     @Column(name = "balance_score")
     private Double balanceScore;
 
-    @CreationTimestamp
+    /**
+     * Running sums behind the balance score; null until a dish swap first computes them
+     */
+    @Embedded
+    private BalanceSums balanceSums;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
     public enum MenuPlanStatus {
         DRAFT,
         ACTIVE,
@@ -0,0 +1,67 @@
+package com.greenmono.mealplanner.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A completed menu plan moved out of the live tables after its retention period, with its days
+ * kept as one JSON array of {@link com.greenmono.mealplanner.repository.projection.ArchivedDay}.
+ */
+@Entity
+@Table(name = "menu_plan_archive", indexes = {
+    @Index(name = "idx_menu_plan_archive_user", columnList = "user_id, start_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuPlanArchive {
+
+    /** The ID the plan had in menu_plans. */
+    @Id
+    private Long id;
+
+    @NotNull(message = "User ID is required")
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotBlank(message = "Menu plan name is required")
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    @NotNull(message = "Start date is required")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "total_calories")
+    private Integer totalCalories;
+
+    @Column(name = "average_daily_calories")
+    private Integer averageDailyCalories;
+
+    @NotNull(message = "Balanced status is required")
+    @Column(name = "is_balanced", nullable = false)
+    private Boolean isBalanced;
+
+    @Column(name = "balance_score")
+    private Double balanceScore;
+
+    @NotNull(message = "Days are required")
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String days;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,20 @@
+package com.greenmono.mealplanner.event;
+
+import lombok.Value;
+
+/**
+ * Published when another instance changed data that in-process caches may hold.
+ * A null entityId means every cached entry of the type must be evicted.
+ */
+@Value
+public class CacheInvalidationEvent {
+    EntityType entityType;
+    Long entityId;
+
+    public enum EntityType {
+        /** Keyed by recipe ID. */
+        RECIPE,
+        /** Keyed by user ID: the user's active menu plan. */
+        USER_MENU_PLAN
+    }
+}
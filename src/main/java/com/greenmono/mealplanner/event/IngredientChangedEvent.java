@@ -0,0 +1,23 @@
+package com.greenmono.mealplanner.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published when ingredients are created, updated or deleted through the API.
+ * A null userId means the owner is unknown or the ingredients were global, and the
+ * change is relevant to every user.
+ */
+@Value
+public class IngredientChangedEvent {
+    Long userId;
+    List<Long> ingredientIds;
+    Action action;
+
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,17 @@
+package com.greenmono.mealplanner.event;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published after the expiry sweep has flipped a user's ingredients to unavailable.
+ * A null userId means the ingredients were global (shared) pantry items.
+ */
+@Value
+public class IngredientsExpiredEvent {
+    Long userId;
+    List<Long> ingredientIds;
+    LocalDate sweepDate;
+}
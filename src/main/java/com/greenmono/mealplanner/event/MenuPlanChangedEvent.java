@@ -0,0 +1,25 @@
+package com.greenmono.mealplanner.event;
+
+import com.greenmono.mealplanner.entity.MenuPlan;
+import lombok.Value;
+
+/**
+ * Published when a user's menu plan is generated, extended, changes status, has a dish swapped
+ * or is deleted.
+ */
+@Value
+public class MenuPlanChangedEvent {
+    Long userId;
+    Long menuPlanId;
+    Action action;
+    MenuPlan.MenuPlanStatus status;
+
+    public enum Action {
+        GENERATED,
+        ACTIVATED,
+        STATUS_CHANGED,
+        DISH_SWAPPED,
+        EXTENDED,
+        DELETED
+    }
+}
@@ -0,0 +1,15 @@
+package com.greenmono.mealplanner.event;
+
+import com.greenmono.mealplanner.entity.PlanGenerationJob;
+import lombok.Value;
+
+/**
+ * Published when an asynchronous plan generation job finishes, successfully or not.
+ */
+@Value
+public class PlanGenerationJobChangedEvent {
+    Long userId;
+    Long jobId;
+    PlanGenerationJob.JobStatus status;
+    Long menuPlanId;
+}
@@ -0,0 +1,12 @@
+package com.greenmono.mealplanner.event;
+
+import lombok.Value;
+
+/**
+ * Published when a recipe is created, updated or deleted, so in-memory
+ * catalog structures know to rebuild.
+ */
+@Value
+public class RecipeCatalogChangedEvent {
+    Long recipeId;
+}
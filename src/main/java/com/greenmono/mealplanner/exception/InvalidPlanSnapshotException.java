@@ -0,0 +1,11 @@
+package com.greenmono.mealplanner.exception;
+
+public class InvalidPlanSnapshotException extends RuntimeException {
+    public InvalidPlanSnapshotException(String message) {
+        super(message);
+    }
+
+    public InvalidPlanSnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greenmono.mealplanner.exception;
+
+public class PlanGenerationJobNotFoundException extends RuntimeException {
+    public PlanGenerationJobNotFoundException(String message) {
+        super(message);
+    }
+}
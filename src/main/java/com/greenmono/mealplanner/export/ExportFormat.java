@@ -0,0 +1,29 @@
+package com.greenmono.mealplanner.export;
+
+/**
+ * The file formats rows can be exported in.
+ */
+public enum ExportFormat {
+
+    /** Comma-separated values with a header row, quoted per RFC 4180. */
+    CSV("text/csv", "csv"),
+
+    /** One JSON object per line, keyed by column name. */
+    JSONL("application/x-ndjson", "jsonl");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
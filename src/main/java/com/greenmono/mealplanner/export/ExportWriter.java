@@ -0,0 +1,163 @@
+package com.greenmono.mealplanner.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes rows of a fixed set of columns straight to an output stream, holding nothing but a
+ * fixed-size buffer, so an export of any length runs in constant memory.
+ *
+ * Values may be null, strings, numbers, booleans or anything whose {@code toString()} is its
+ * exported form, such as dates and enums. Closing flushes the buffer and leaves the stream open
+ * for its owner to close.
+ */
+public abstract class ExportWriter implements Closeable {
+
+    static final int BUFFER_SIZE = 8192;
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+
+    protected final List<String> columns;
+    private long rows;
+
+    private ExportWriter(List<String> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * Starts an export, writing the CSV header right away.
+     */
+    public static ExportWriter open(ExportFormat format, OutputStream out, List<String> columns) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(out, columns);
+            case JSONL -> new JsonLines(out, columns);
+        };
+    }
+
+    /**
+     * @param values one value per column, in column order
+     */
+    public void row(Object... values) throws IOException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got: " + values.length);
+        }
+        write(values);
+        rows++;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    protected abstract void write(Object[] values) throws IOException;
+
+    private static final class Csv extends ExportWriter {
+
+        private final Writer out;
+
+        Csv(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            write(columns.toArray());
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    field(text(values[i]));
+                }
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+
+        /** Quotes a field that holds a separator, quote or line break, doubling its quotes. */
+        private void field(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            out.write('"');
+        }
+    }
+
+    private static final class JsonLines extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        JsonLines(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.generator = JSON.createGenerator(out, JsonEncoding.UTF8);
+            // Lines are ended explicitly rather than separated by Jackson's default space
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.doubleValue());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static String text(Object value) {
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+}
@@ -0,0 +1,232 @@
+package com.greenmono.mealplanner.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable inverted index from ingredient ID to the recipes that require it.
+ *
+ * Only required (non-optional) recipe ingredients are indexed, matching how the
+ * planner decides whether a recipe is cookable.
+ */
+public final class IngredientRecipeIndex {
+
+    private static final IngredientRecipeIndex EMPTY =
+        new IngredientRecipeIndex(Map.of(), new int[0], new int[0]);
+
+    private final Map<Long, PostingList> postings;
+    private final int[] recipeIds;
+    private final int[] requiredCounts;
+
+    private IngredientRecipeIndex(Map<Long, PostingList> postings, int[] recipeIds, int[] requiredCounts) {
+        this.postings = postings;
+        this.recipeIds = recipeIds;
+        this.requiredCounts = requiredCounts;
+    }
+
+    public static IngredientRecipeIndex empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int recipeCount() {
+        return recipeIds.length;
+    }
+
+    public int ingredientCount() {
+        return postings.size();
+    }
+
+    public PostingList postingsFor(Long ingredientId) {
+        return postings.getOrDefault(ingredientId, PostingList.empty());
+    }
+
+    /**
+     * Number of required ingredients of a recipe, or 0 if the recipe is not indexed.
+     */
+    public int requiredCount(int recipeId) {
+        int slot = Arrays.binarySearch(recipeIds, recipeId);
+        return slot >= 0 ? requiredCounts[slot] : 0;
+    }
+
+    /**
+     * Recipes that require every one of the given ingredients (posting-list intersection).
+     */
+    public int[] recipesContainingAll(Collection<Long> ingredientIds) {
+        if (ingredientIds.isEmpty()) {
+            return new int[0];
+        }
+
+        // Intersect smallest lists first so the candidate set shrinks quickly
+        List<PostingList> lists = new ArrayList<>();
+        for (Long ingredientId : ingredientIds) {
+            lists.add(postingsFor(ingredientId));
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        int[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Ranks recipes by how many of the given pantry ingredients they use, keeping only
+     * recipes that miss at most {@code maxMissing} required ingredients. Recipes that use
+     * none of the pantry ingredients are never returned.
+     *
+     * Results are ordered by fewest missing, then most matched, then recipe ID.
+     */
+    public List<RecipeMatch> match(Collection<Long> pantryIngredientIds, int maxMissing) {
+        PriorityQueue<MergeCursor> heap = new PriorityQueue<>(Comparator.comparingInt(MergeCursor::head));
+        for (Long ingredientId : new HashSet<>(pantryIngredientIds)) {
+            PostingList list = postings.get(ingredientId);
+            if (list != null && list.size() > 0) {
+                heap.add(new MergeCursor(list.cursor()));
+            }
+        }
+
+        List<RecipeMatch> matches = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            int recipeId = heap.peek().head();
+            int matched = 0;
+
+            // Pop every cursor positioned on this recipe; each one is one matched ingredient
+            while (!heap.isEmpty() && heap.peek().head() == recipeId) {
+                MergeCursor cursor = heap.poll();
+                matched++;
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+
+            int required = requiredCount(recipeId);
+            if (required - matched <= maxMissing) {
+                matches.add(new RecipeMatch(recipeId, matched, required));
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(RecipeMatch::missing)
+            .thenComparing(Comparator.comparingInt(RecipeMatch::matched).reversed())
+            .thenComparingInt(RecipeMatch::recipeId));
+        return matches;
+    }
+
+    private static int[] intersect(int[] left, PostingList right) {
+        int[] out = new int[Math.min(left.length, right.size())];
+        int count = 0;
+        int i = 0;
+        PostingList.Cursor cursor = right.cursor();
+        while (i < left.length && cursor.hasNext()) {
+            int value = cursor.next();
+            while (i < left.length && left[i] < value) {
+                i++;
+            }
+            if (i < left.length && left[i] == value) {
+                out[count++] = value;
+                i++;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    /**
+     * A recipe and how well the pantry covers its required ingredients.
+     */
+    public record RecipeMatch(int recipeId, int matched, int required) {
+
+        public int missing() {
+            return Math.max(0, required - matched);
+        }
+
+        public double coverage() {
+            return required == 0 ? 1.0 : (double) matched / required;
+        }
+    }
+
+    private static final class MergeCursor {
+
+        private final PostingList.Cursor cursor;
+        private int head;
+
+        private MergeCursor(PostingList.Cursor cursor) {
+            this.cursor = cursor;
+            this.head = cursor.next();
+        }
+
+        int head() {
+            return head;
+        }
+
+        boolean advance() {
+            if (!cursor.hasNext()) {
+                return false;
+            }
+            head = cursor.next();
+            return true;
+        }
+    }
+
+    /**
+     * Collects (recipe, ingredient) links and freezes them into an index.
+     */
+    public static final class Builder {
+
+        private final Map<Long, IntBuffer> recipesByIngredient = new HashMap<>();
+
+        public Builder addRequired(long recipeId, long ingredientId) {
+            recipesByIngredient.computeIfAbsent(ingredientId, k -> new IntBuffer()).add(Math.toIntExact(recipeId));
+            return this;
+        }
+
+        public IngredientRecipeIndex build() {
+            Map<Long, PostingList> postings = new HashMap<>(recipesByIngredient.size() * 2);
+            Map<Integer, Integer> requiredByRecipe = new HashMap<>();
+
+            // Count from the de-duplicated postings so a repeated ingredient row counts once
+            recipesByIngredient.forEach((ingredientId, ids) -> {
+                PostingList list = PostingList.of(ids.toArray());
+                postings.put(ingredientId, list);
+                PostingList.Cursor cursor = list.cursor();
+                while (cursor.hasNext()) {
+                    requiredByRecipe.merge(cursor.next(), 1, Integer::sum);
+                }
+            });
+
+            int[] recipeIds = requiredByRecipe.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] requiredCounts = new int[recipeIds.length];
+            for (int i = 0; i < recipeIds.length; i++) {
+                requiredCounts[i] = requiredByRecipe.get(recipeIds[i]);
+            }
+            return new IngredientRecipeIndex(Map.copyOf(postings), recipeIds, requiredCounts);
+        }
+    }
+
+    private static final class IntBuffer {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.greenmono.mealplanner.index;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.nutrition.Nutrient;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Per-serving nutrient ranges and recipe categories for a {@link NutritionRangeIndex} lookup.
+ * Bounds are inclusive and either side may be open; no category means every category.
+ */
+public final class NutritionQuery {
+
+    private final Set<Recipe.RecipeCategory> categories;
+    private final long[] min;
+    private final long[] max;
+
+    private NutritionQuery(Set<Recipe.RecipeCategory> categories, long[] min, long[] max) {
+        this.categories = categories;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    Set<Recipe.RecipeCategory> categories() {
+        return categories;
+    }
+
+    /**
+     * Lowest value allowed on a dimension, in hundredths, or {@link Long#MIN_VALUE} if open.
+     */
+    long min(int dimension) {
+        return min[dimension];
+    }
+
+    /**
+     * Highest value allowed on a dimension, in hundredths, or {@link Long#MAX_VALUE} if open.
+     */
+    long max(int dimension) {
+        return max[dimension];
+    }
+
+    boolean bounds(int dimension) {
+        return min[dimension] != Long.MIN_VALUE || max[dimension] != Long.MAX_VALUE;
+    }
+
+    public static final class Builder {
+
+        private final Set<Recipe.RecipeCategory> categories = EnumSet.noneOf(Recipe.RecipeCategory.class);
+        private final long[] min = new long[NutritionRangeIndex.DIMENSIONS.size()];
+        private final long[] max = new long[NutritionRangeIndex.DIMENSIONS.size()];
+
+        private Builder() {
+            Arrays.fill(min, Long.MIN_VALUE);
+            Arrays.fill(max, Long.MAX_VALUE);
+        }
+
+        public Builder category(Recipe.RecipeCategory category) {
+            if (category != null) {
+                categories.add(category);
+            }
+            return this;
+        }
+
+        /**
+         * @param min lowest value per serving, or null for no lower bound
+         * @param max highest value per serving, or null for no upper bound
+         * @throws IllegalArgumentException if the index has no column for the nutrient
+         */
+        public Builder between(Nutrient nutrient, BigDecimal min, BigDecimal max) {
+            int dimension = NutritionRangeIndex.DIMENSIONS.indexOf(nutrient);
+            if (dimension < 0) {
+                throw new IllegalArgumentException("Recipes are not indexed by " + nutrient);
+            }
+            // Values are whole hundredths, so round bounds inwards
+            if (min != null) {
+                this.min[dimension] = min.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue();
+            }
+            if (max != null) {
+                this.max[dimension] = max.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue();
+            }
+            return this;
+        }
+
+        public NutritionQuery build() {
+            return new NutritionQuery(
+                categories.isEmpty() ? EnumSet.allOf(Recipe.RecipeCategory.class) : EnumSet.copyOf(categories),
+                min.clone(), max.clone());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.greenmono.mealplanner.index;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.nutrition.Nutrient;
+import com.greenmono.mealplanner.repository.projection.RecipeNutritionPoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable index of active recipes by per-serving nutrition, for queries that combine ranges
+ * on several nutrients with a category.
+ *
+ * Rows are sorted by category, then calories, and each nutrient is one column of hundredths.
+ * A query binary-searches the calorie range inside each category it asks for, then walks the
+ * rows in blocks of {@value #BLOCK}: every block keeps the minimum and maximum of each column,
+ * so a block that cannot hold a match on some nutrient is skipped without reading its rows.
+ *
+ * Per-serving values are rounded to two decimals like {@link Recipe#getCaloriesPerServing()}.
+ * A recipe without fat or fiber never matches a range on that nutrient.
+ */
+public final class NutritionRangeIndex {
+
+    /** Nutrients a recipe stores, in column order. */
+    public static final List<Nutrient> DIMENSIONS = List.of(
+        Nutrient.CALORIES, Nutrient.PROTEIN, Nutrient.CARBOHYDRATES, Nutrient.FAT, Nutrient.FIBER);
+
+    static final int BLOCK = 64;
+
+    private static final int CALORIES = 0;
+    private static final long MISSING = Long.MIN_VALUE;
+    private static final Recipe.RecipeCategory[] CATEGORIES = Recipe.RecipeCategory.values();
+
+    private final long[] recipeIds;
+    private final String[] names;
+    private final Recipe.RecipeCategory[] categories;
+    private final int[] categoryStarts;
+    private final long[][] columns;
+    private final long[][] blockMin;
+    private final long[][] blockMax;
+
+    private NutritionRangeIndex(long[] recipeIds, String[] names, Recipe.RecipeCategory[] categories,
+                                int[] categoryStarts, long[][] columns) {
+        this.recipeIds = recipeIds;
+        this.names = names;
+        this.categories = categories;
+        this.categoryStarts = categoryStarts;
+        this.columns = columns;
+
+        int blocks = (recipeIds.length + BLOCK - 1) / BLOCK;
+        this.blockMin = new long[columns.length][blocks];
+        this.blockMax = new long[columns.length][blocks];
+        for (int dimension = 0; dimension < columns.length; dimension++) {
+            Arrays.fill(blockMin[dimension], Long.MAX_VALUE);
+            Arrays.fill(blockMax[dimension], Long.MIN_VALUE);
+            for (int row = 0; row < recipeIds.length; row++) {
+                long value = columns[dimension][row];
+                if (value != MISSING) {
+                    int block = row / BLOCK;
+                    blockMin[dimension][block] = Math.min(blockMin[dimension][block], value);
+                    blockMax[dimension][block] = Math.max(blockMax[dimension][block], value);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param recipes active recipes, in any order; recipes without a category or calories are left out
+     */
+    public static NutritionRangeIndex of(List<RecipeNutritionPoint> recipes) {
+        RecipeNutritionPoint[] sorted = recipes.stream()
+            .filter(recipe -> recipe.category() != null && recipe.calories() != null)
+            .toArray(RecipeNutritionPoint[]::new);
+        long[] calories = new long[sorted.length];
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            calories[i] = perServing(sorted[i].calories(), sorted[i].servings());
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> sorted[i].category().ordinal())
+            .thenComparingLong(i -> calories[i])
+            .thenComparingLong(i -> sorted[i].id()));
+
+        int size = sorted.length;
+        long[] recipeIds = new long[size];
+        String[] names = new String[size];
+        Recipe.RecipeCategory[] categories = new Recipe.RecipeCategory[size];
+        int[] categoryStarts = new int[CATEGORIES.length + 1];
+        long[][] columns = new long[DIMENSIONS.size()][size];
+        for (int row = 0; row < size; row++) {
+            RecipeNutritionPoint recipe = sorted[order[row]];
+            recipeIds[row] = recipe.id();
+            names[row] = recipe.name();
+            categories[row] = recipe.category();
+            categoryStarts[recipe.category().ordinal() + 1]++;
+            columns[CALORIES][row] = calories[order[row]];
+            columns[1][row] = perServing(recipe.protein(), recipe.servings());
+            columns[2][row] = perServing(recipe.carbohydrates(), recipe.servings());
+            columns[3][row] = perServing(recipe.fat(), recipe.servings());
+            columns[4][row] = perServing(recipe.fiber(), recipe.servings());
+        }
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            categoryStarts[category + 1] += categoryStarts[category];
+        }
+        return new NutritionRangeIndex(recipeIds, names, categories, categoryStarts, columns);
+    }
+
+    public int size() {
+        return recipeIds.length;
+    }
+
+    /**
+     * Rows of the recipes matching a query, by category and then calories, at most {@code limit}.
+     */
+    public int[] query(NutritionQuery query, int limit) {
+        int[] rows = new int[Math.min(limit, recipeIds.length)];
+        int count = 0;
+        for (Recipe.RecipeCategory category : query.categories()) {
+            int from = lowerBound(categoryStarts[category.ordinal()], categoryStarts[category.ordinal() + 1],
+                query.min(CALORIES));
+            int to = query.max(CALORIES) == Long.MAX_VALUE
+                ? categoryStarts[category.ordinal() + 1]
+                : lowerBound(from, categoryStarts[category.ordinal() + 1], query.max(CALORIES) + 1);
+
+            int row = from;
+            while (row < to && count < rows.length) {
+                int block = row / BLOCK;
+                int blockEnd = Math.min(to, (block + 1) * BLOCK);
+                if (blockMayMatch(query, block)) {
+                    for (; row < blockEnd && count < rows.length; row++) {
+                        if (rowMatches(query, row)) {
+                            rows[count++] = row;
+                        }
+                    }
+                }
+                row = blockEnd;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    public long recipeId(int row) {
+        return recipeIds[row];
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public Recipe.RecipeCategory category(int row) {
+        return categories[row];
+    }
+
+    /**
+     * A nutrient per serving of a row, or null if the recipe does not record it.
+     */
+    public BigDecimal value(int row, Nutrient nutrient) {
+        long value = columns[DIMENSIONS.indexOf(nutrient)][row];
+        return value == MISSING ? null : BigDecimal.valueOf(value, 2);
+    }
+
+    private boolean blockMayMatch(NutritionQuery query, int block) {
+        for (int dimension = 1; dimension < columns.length; dimension++) {
+            if (query.bounds(dimension)
+                && (blockMax[dimension][block] < query.min(dimension) || blockMin[dimension][block] > query.max(dimension))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean rowMatches(NutritionQuery query, int row) {
+        for (int dimension = 1; dimension < columns.length; dimension++) {
+            if (query.bounds(dimension)) {
+                long value = columns[dimension][row];
+                if (value == MISSING || value < query.min(dimension) || value > query.max(dimension)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * First row in {@code [from, to)} whose calories are at least {@code key}.
+     */
+    private int lowerBound(int from, int to, long key) {
+        long[] calories = columns[CALORIES];
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (calories[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private static long perServing(BigDecimal total, Integer servings) {
+        if (total == null) {
+            return MISSING;
+        }
+        int divisor = servings != null && servings > 0 ? servings : 1;
+        return total.divide(BigDecimal.valueOf(divisor), 2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
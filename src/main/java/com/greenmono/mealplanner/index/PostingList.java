@@ -0,0 +1,106 @@
+package com.greenmono.mealplanner.index;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable sorted list of recipe IDs, stored as delta-encoded varints.
+ *
+ * Recipe IDs within one ingredient's postings are dense and increasing, so most
+ * gaps fit in a single byte instead of the four an int[] would use.
+ */
+public final class PostingList {
+
+    private static final PostingList EMPTY = new PostingList(new byte[0], 0);
+
+    private final byte[] data;
+    private final int size;
+
+    private PostingList(byte[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    public static PostingList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Encodes the given IDs; they are sorted and de-duplicated first.
+     */
+    public static PostingList of(int[] ids) {
+        if (ids.length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = Arrays.stream(ids).sorted().distinct().toArray();
+
+        byte[] buffer = new byte[sorted.length * 5];
+        int position = 0;
+        int previous = 0;
+        for (int id : sorted) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Posting IDs must be non-negative: " + id);
+            }
+            int gap = id - previous;
+            while ((gap & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            buffer[position++] = (byte) gap;
+            previous = id;
+        }
+        return new PostingList(Arrays.copyOf(buffer, position), sorted.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int sizeInBytes() {
+        return data.length;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public int[] toArray() {
+        int[] ids = new int[size];
+        Cursor cursor = cursor();
+        for (int i = 0; i < size; i++) {
+            ids[i] = cursor.next();
+        }
+        return ids;
+    }
+
+    /**
+     * Forward-only decoder over the postings.
+     */
+    public final class Cursor {
+
+        private int position;
+        private int remaining = size;
+        private int current;
+
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        public int next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            current += gap;
+            remaining--;
+            return current;
+        }
+    }
+}
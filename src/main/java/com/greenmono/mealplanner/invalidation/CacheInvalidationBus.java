@@ -0,0 +1,380 @@
+package com.greenmono.mealplanner.invalidation;
+
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.CacheInvalidationEvent.EntityType;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Keeps in-process caches consistent across instances over Postgres LISTEN/NOTIFY.
+ *
+ * A local write appends a compact entity-type/ID message to the cache_invalidations log and
+ * NOTIFYs it in the same statement, inside the writing transaction just before it commits:
+ * no second connection is taken, and Postgres only delivers the notification if the write
+ * commits. Every instance LISTENs on a dedicated connection outside the pool and republishes
+ * other instances' messages as {@link CacheInvalidationEvent}s for the caches to act on.
+ *
+ * Versions are drawn when a row is inserted but transactions commit in any order, so a
+ * version can become visible after higher ones. Each instance keeps a watermark up to which
+ * every version is applied, plus the versions it applied above it and the gaps between them.
+ * After reconnecting, and every {@code catch-up-interval}, it replays the log rows above the
+ * watermark it has not applied yet. A gap closes when its row arrives, or after
+ * {@code gap-timeout}, when it is taken for a rolled-back insert. Only when the listener was
+ * away for longer than the log's retention, so rows it never saw may have been pruned, does it
+ * evict everything.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "mealplanner_invalidation";
+    static final int MAX_CATCH_UP_ROWS = 1000;
+
+    private static final String PUBLISH_SQL = """
+        WITH logged AS (
+            INSERT INTO cache_invalidations (entity_type, entity_id, origin) VALUES (?, ?, ?)
+            RETURNING version, entity_type, entity_id, origin
+        )
+        SELECT pg_notify(?, entity_type || ':' || COALESCE(entity_id::text, '*') || ':' || version || ':' || origin)
+        FROM logged
+        """;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${meal-planner.invalidation.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${meal-planner.invalidation.poll-timeout-ms:1000}")
+    private int pollTimeoutMs = 1000;
+
+    @Value("${meal-planner.invalidation.catch-up-interval:PT30S}")
+    private Duration catchUpInterval = Duration.ofSeconds(30);
+
+    @Value("${meal-planner.invalidation.retention:PT24H}")
+    private Duration retention = Duration.ofHours(24);
+
+    @Value("${meal-planner.invalidation.gap-timeout:PT5M}")
+    private Duration gapTimeout = Duration.ofMinutes(5);
+
+    private final String origin = UUID.randomUUID().toString();
+    private Clock clock = Clock.systemDefaultZone();
+
+    /** Every version up to this one is applied; -1 until the first catch-up. */
+    private long watermark = -1;
+    /** Versions above the watermark that are applied already. */
+    private final NavigableSet<Long> applied = new TreeSet<>();
+    /** Versions above the watermark not seen yet, with when they were first missed. */
+    private final NavigableMap<Long, Instant> gaps = new TreeMap<>();
+    private Instant lastCatchUp;
+
+    private volatile boolean running;
+    private DataSource listenerDataSource;
+    private Thread listener;
+    private TransactionTemplate publishTransaction;
+
+    @PostConstruct
+    void start() {
+        // A savepoint inside the writing transaction, so a failed insert does not roll back the write
+        publishTransaction = new TransactionTemplate(transactionManager);
+        publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+
+        if (!enabled) {
+            return;
+        }
+        // LISTEN keeps its connection for good, so it is opened outside the application's pool
+        listenerDataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(SimpleDriverDataSource.class)
+            .build();
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(5000);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRecipeCatalogChanged(RecipeCatalogChangedEvent event) {
+        publish(EntityType.RECIPE, event.getRecipeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onMenuPlanChanged(MenuPlanChangedEvent event) {
+        publish(EntityType.USER_MENU_PLAN, event.getUserId());
+    }
+
+    /**
+     * Tells the other instances to evict {@code entityId} (or every entry of the type when null)
+     * once the current transaction commits, or right away outside of one.
+     */
+    public void publish(EntityType entityType, Long entityId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            publishTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query(PUBLISH_SQL, rs -> { }, entityType.name(), entityId, origin, CHANNEL));
+        } catch (DataAccessException e) {
+            // Other instances fall back to their cache TTLs for this change
+            log.warn("Could not publish {} {} invalidation: {}", entityType, entityId, e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${meal-planner.invalidation.prune-cron:0 45 * * * *}")
+    public void pruneLog() {
+        if (!enabled) {
+            return;
+        }
+        int pruned = jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?",
+            LocalDateTime.now(clock).minus(retention));
+        log.debug("Pruned {} cache invalidation log rows", pruned);
+    }
+
+    synchronized void handle(InvalidationMessage message) {
+        long version = message.version();
+        if (watermark < 0) {
+            // Before the first catch-up, the first message sets where the log is read from
+            watermark = version - 1;
+        }
+        if (version <= watermark || applied.contains(version)) {
+            // Seen as a notification and again in the log
+            return;
+        }
+        long highest = highestKnown();
+        if (version - highest > MAX_CATCH_UP_ROWS) {
+            evictAll("jumped from version " + highest + " to " + version);
+            return;
+        }
+
+        applied.add(version);
+        if (gaps.remove(version) == null) {
+            // Every version skipped on the way here is missing for now
+            Instant now = clock.instant();
+            for (long missing = highest + 1; missing < version; missing++) {
+                gaps.put(missing, now);
+            }
+        }
+        advance();
+
+        if (origin.equals(message.origin())) {
+            return;
+        }
+        log.debug("Evicting {} {} after change on another instance", message.entityType(), message.entityId());
+        eventPublisher.publishEvent(new CacheInvalidationEvent(message.entityType(), message.entityId()));
+    }
+
+    /**
+     * Applies the log rows above the watermark that were not applied yet, or evicts everything
+     * when rows that were never seen may already have been pruned.
+     */
+    synchronized void catchUp() {
+        Instant now = clock.instant();
+        if (watermark < 0) {
+            // Caches start empty, so history before startup is irrelevant
+            watermark = latestVersion();
+            lastCatchUp = now;
+            return;
+        }
+        if (lastCatchUp != null && lastCatchUp.plus(retention).isBefore(now)) {
+            evictAll("listener was away since " + lastCatchUp);
+            return;
+        }
+
+        // Anything not applied yet is either in a gap or newer than every version seen
+        long highest = highestKnown();
+        List<InvalidationMessage> newer = logRows("version > ? ORDER BY version LIMIT ?", highest, MAX_CATCH_UP_ROWS);
+        if (newer.size() >= MAX_CATCH_UP_ROWS) {
+            evictAll(newer.size() + " or more rows above version " + highest);
+            return;
+        }
+        List<InvalidationMessage> filled = List.of();
+        if (!gaps.isEmpty()) {
+            List<Long> missing = gaps.keySet().stream().limit(MAX_CATCH_UP_ROWS).toList();
+            filled = logRows("version IN (" + String.join(", ", Collections.nCopies(missing.size(), "?")) + ")",
+                missing.toArray());
+        }
+
+        if (!filled.isEmpty() || !newer.isEmpty()) {
+            log.info("Catching up on {} missed cache invalidations", filled.size() + newer.size());
+        }
+        filled.forEach(this::handle);
+        newer.forEach(this::handle);
+        lastCatchUp = now;
+        advance();
+    }
+
+    private List<InvalidationMessage> logRows(String condition, Object... args) {
+        return jdbcTemplate.query(
+            "SELECT version, entity_type, entity_id, origin FROM cache_invalidations WHERE " + condition,
+            (rs, rowNum) -> new InvalidationMessage(
+                EntityType.valueOf(rs.getString("entity_type")),
+                rs.getObject("entity_id", Long.class),
+                rs.getLong("version"),
+                rs.getString("origin")),
+            args);
+    }
+
+    private long highestKnown() {
+        long highest = watermark;
+        if (!applied.isEmpty()) {
+            highest = Math.max(highest, applied.last());
+        }
+        if (!gaps.isEmpty()) {
+            highest = Math.max(highest, gaps.lastKey());
+        }
+        return highest;
+    }
+
+    /**
+     * Moves the watermark over applied versions and over gaps open for longer than the gap timeout.
+     */
+    private void advance() {
+        Instant expired = clock.instant().minus(gapTimeout);
+        while (true) {
+            long next = watermark + 1;
+            if (applied.remove(next)) {
+                watermark = next;
+                continue;
+            }
+            Instant missedSince = gaps.get(next);
+            if (missedSince != null && !missedSince.isAfter(expired)) {
+                log.debug("Giving up on cache invalidation version {}, missing since {}", next, missedSince);
+                gaps.remove(next);
+                watermark = next;
+                continue;
+            }
+            return;
+        }
+    }
+
+    private void evictAll(String reason) {
+        long latest = latestVersion();
+        log.warn("Missed too many cache invalidations ({}), evicting all caches up to version {}", reason, latest);
+        for (EntityType type : EntityType.values()) {
+            eventPublisher.publishEvent(new CacheInvalidationEvent(type, null));
+        }
+        watermark = Math.max(watermark, latest);
+        applied.headSet(watermark, true).clear();
+        gaps.headMap(watermark, true).clear();
+        lastCatchUp = clock.instant();
+    }
+
+    private long latestVersion() {
+        Long latest = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(version), 0) FROM cache_invalidations", Long.class);
+        return latest != null ? latest : 0;
+    }
+
+    private void listen() {
+        long backoffMs = 1000;
+        while (running) {
+            try (Connection connection = listenerDataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for cache invalidations on {}", CHANNEL);
+                backoffMs = 1000;
+
+                // Subscribed first, so anything published from here on arrives as a notification
+                catchUp();
+                long nextCatchUp = System.nanoTime() + catchUpInterval.toNanos();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                    if (System.nanoTime() - nextCatchUp >= 0) {
+                        catchUp();
+                        nextCatchUp = System.nanoTime() + catchUpInterval.toNanos();
+                    }
+                }
+            } catch (SQLException | DataAccessException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30_000);
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            handle(InvalidationMessage.decode(payload));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed cache invalidation '{}'", payload);
+        }
+    }
+
+    synchronized long watermark() {
+        return watermark;
+    }
+
+    synchronized Set<Long> gaps() {
+        return Set.copyOf(gaps.keySet());
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    String origin() {
+        return origin;
+    }
+}
@@ -0,0 +1,29 @@
+package com.greenmono.mealplanner.invalidation;
+
+import com.greenmono.mealplanner.event.CacheInvalidationEvent.EntityType;
+
+/**
+ * Wire format of a cross-instance invalidation: {@code TYPE:id:version:origin}, with
+ * {@code *} as the id when every entry of the type is evicted. Kept compact because
+ * NOTIFY payloads are limited to 8000 bytes.
+ */
+record InvalidationMessage(EntityType entityType, Long entityId, long version, String origin) {
+
+    private static final String ALL = "*";
+
+    String encode() {
+        return entityType.name() + ":" + (entityId == null ? ALL : entityId) + ":" + version + ":" + origin;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is not a valid message
+     */
+    static InvalidationMessage decode(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+        }
+        Long entityId = ALL.equals(parts[1]) ? null : Long.valueOf(parts[1]);
+        return new InvalidationMessage(EntityType.valueOf(parts[0]), entityId, Long.parseLong(parts[2]), parts[3]);
+    }
+}
@@ -3,8 +3,10 @@ package com.greenmono.mealplanner.mapper;
 import com.greenmono.mealplanner.dto.IngredientRequest;
 import com.greenmono.mealplanner.dto.IngredientResponse;
 import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.repository.projection.IngredientSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface IngredientMapper {
@@ -17,5 +19,19 @@ public interface IngredientMapper {
     @Mapping(target = "available", expression = "java(request.getAvailable() != null ? request.getAvailable() : true)")
     Ingredient toEntity(IngredientRequest request);
 
+    /**
+     * Replaces the editable fields; the owner of an ingredient never changes.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "nutritionalInfo", ignore = true)
+    @Mapping(target = "meals", ignore = true)
+    @Mapping(target = "available", expression = "java(request.getAvailable() != null ? request.getAvailable() : true)")
+    void updateEntity(IngredientRequest request, @MappingTarget Ingredient ingredient);
+
     IngredientResponse toResponse(Ingredient ingredient);
+
+    IngredientResponse toSummaryResponse(IngredientSummary summary);
 }
@@ -1,14 +1,20 @@
 package com.greenmono.mealplanner.mapper;
 
 import com.greenmono.mealplanner.dto.DailyMealPlanResponse;
+import com.greenmono.mealplanner.dto.MealSlotResponse;
 import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.dto.RecipeResponse;
 import com.greenmono.mealplanner.entity.DailyMealPlan;
+import com.greenmono.mealplanner.entity.Meal;
 import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary;
+import com.greenmono.mealplanner.repository.projection.MenuPlanSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,6 +24,30 @@ public interface MenuPlanMapper {
     @Mapping(target = "dailyMealPlans", source = "dailyMealPlans", qualifiedByName = "mapDailyMealPlans")
     MenuPlanResponse toResponse(MenuPlan menuPlan);
 
+    @Mapping(target = "dailyMealPlans", ignore = true)
+    MenuPlanResponse toSummaryResponse(MenuPlanSummary summary);
+
+    /**
+     * Maps a day row, resolving its recipe and meal IDs against summaries that were loaded in one query each.
+     */
+    default DailyMealPlanResponse toSummaryResponse(DailyMealPlanSummary day, Map<Long, RecipeResponse> recipes,
+                                                    Map<Long, MealSlotResponse> meals) {
+        return DailyMealPlanResponse.builder()
+            .id(day.id())
+            .dayNumber(day.dayNumber())
+            .mealDate(day.mealDate())
+            .soupRecipe(day.soupRecipeId() != null ? recipes.get(day.soupRecipeId()) : null)
+            .mainCourseRecipe(day.mainCourseRecipeId() != null ? recipes.get(day.mainCourseRecipeId()) : null)
+            .sideDishRecipe(day.sideDishRecipeId() != null ? recipes.get(day.sideDishRecipeId()) : null)
+            .breakfastMeal(day.breakfastMealId() != null ? meals.get(day.breakfastMealId()) : null)
+            .lunchMeal(day.lunchMealId() != null ? meals.get(day.lunchMealId()) : null)
+            .dinnerMeal(day.dinnerMealId() != null ? meals.get(day.dinnerMealId()) : null)
+            .snackMeal(day.snackMealId() != null ? meals.get(day.snackMealId()) : null)
+            .totalCalories(day.totalCalories())
+            .notes(day.notes())
+            .build();
+    }
+
     @Named("mapDailyMealPlans")
     default List<DailyMealPlanResponse> mapDailyMealPlans(Set<DailyMealPlan> dailyMealPlans) {
         if (dailyMealPlans == null) {
@@ -46,11 +76,28 @@ public interface MenuPlanMapper {
             .sideDishRecipe(dailyMealPlan.getSideDishRecipe() != null
                 ? mapRecipeToResponse(dailyMealPlan.getSideDishRecipe())
                 : null)
+            .breakfastMeal(mapMealToSlotResponse(dailyMealPlan.getBreakfastMeal()))
+            .lunchMeal(mapMealToSlotResponse(dailyMealPlan.getLunchMeal()))
+            .dinnerMeal(mapMealToSlotResponse(dailyMealPlan.getDinnerMeal()))
+            .snackMeal(mapMealToSlotResponse(dailyMealPlan.getSnackMeal()))
             .totalCalories(dailyMealPlan.getTotalCalories())
             .notes(dailyMealPlan.getNotes())
             .build();
     }
 
+    default MealSlotResponse mapMealToSlotResponse(Meal meal) {
+        if (meal == null) {
+            return null;
+        }
+
+        return MealSlotResponse.builder()
+            .id(meal.getId())
+            .name(meal.getName())
+            .mealType(meal.getMealType())
+            .calories(meal.getNutritionalInfo() != null ? meal.getNutritionalInfo().getCalories() : null)
+            .build();
+    }
+
     default com.greenmono.mealplanner.dto.RecipeResponse mapRecipeToResponse(
             com.greenmono.mealplanner.entity.Recipe recipe) {
         if (recipe == null) {
@@ -5,6 +5,8 @@ import com.greenmono.mealplanner.dto.RecipeResponse;
 import com.greenmono.mealplanner.dto.RecipeIngredientResponse;
 import com.greenmono.mealplanner.entity.Recipe;
 import com.greenmono.mealplanner.entity.RecipeIngredient;
+import com.greenmono.mealplanner.repository.projection.RecipeIngredientLine;
+import com.greenmono.mealplanner.repository.projection.RecipeSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -26,6 +28,12 @@ public interface RecipeMapper {
     @Mapping(target = "ingredients", source = "recipeIngredients", qualifiedByName = "mapRecipeIngredients")
     RecipeResponse toResponse(Recipe recipe);
 
+    @Mapping(target = "ingredients", ignore = true)
+    @Mapping(target = "instructions", ignore = true)
+    RecipeResponse toSummaryResponse(RecipeSummary summary);
+
+    RecipeIngredientResponse toIngredientResponse(RecipeIngredientLine line);
+
     @Named("mapRecipeIngredients")
     default List<RecipeIngredientResponse> mapRecipeIngredients(List<RecipeIngredient> recipeIngredients) {
         if (recipeIngredients == null) {
@@ -0,0 +1,31 @@
+package com.greenmono.mealplanner.metrics;
+
+import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catalog size gauges. Values are count queries evaluated when the registry is scraped.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogMetrics implements MeterBinder {
+
+    private final RecipeRepository recipeRepository;
+    private final IngredientRepository ingredientRepository;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mealplanner.catalog.recipes.active", recipeRepository, RecipeRepository::countByActiveTrue)
+            .description("Number of active recipes")
+            .register(registry);
+        Gauge.builder("mealplanner.catalog.ingredients.available", ingredientRepository,
+                IngredientRepository::countByAvailableTrue)
+            .description("Number of available (non-expired) ingredients across all users")
+            .register(registry);
+    }
+}
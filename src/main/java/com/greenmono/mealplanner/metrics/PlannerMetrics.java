@@ -0,0 +1,129 @@
+package com.greenmono.mealplanner.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Meters for menu plan generation: one timer per planner phase, an end-to-end timer,
+ * and counters for recipes rejected while filtering for cookability.
+ */
+@Component
+public class PlannerMetrics {
+
+    public static final String PHASE_TIMER = "mealplanner.plan.phase";
+    public static final String GENERATE_TIMER = "mealplanner.plan.generate";
+    public static final String REJECTED_COUNTER = "mealplanner.plan.recipes.rejected";
+    public static final String ELIGIBLE_SUMMARY = "mealplanner.plan.recipes.eligible";
+    public static final String CANDIDATES_SUMMARY = "mealplanner.plan.candidates";
+    public static final String RESULT_CACHE_COUNTER = "mealplanner.plan.cache";
+
+    public enum Phase {
+        FETCH_RECIPES,
+        FETCH_INGREDIENTS,
+        FILTER_COOKABLE,
+        CATEGORIZE,
+        CANDIDATES,
+        BUILD_DAYS,
+        SCORE,
+        SAVE,
+        MAP
+    }
+
+    public enum RejectionReason {
+        NO_INGREDIENTS,
+        MISSING_INGREDIENT,
+        UNIT_MISMATCH,
+        INSUFFICIENT_QUANTITY
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Map<RejectionReason, Counter> rejectionCounters = new EnumMap<>(RejectionReason.class);
+    private final DistributionSummary eligibleRecipes;
+    private final DistributionSummary candidates;
+    private final Counter resultCacheHits;
+    private final Counter resultCacheMisses;
+
+    public PlannerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder(PHASE_TIMER)
+                .description("Time spent in each menu planner phase")
+                .tag("phase", tagValue(phase))
+                .publishPercentileHistogram()
+                .register(registry));
+        }
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejectionCounters.put(reason, Counter.builder(REJECTED_COUNTER)
+                .description("Recipes rejected as not cookable, by first failing reason")
+                .tag("reason", tagValue(reason))
+                .register(registry));
+        }
+        eligibleRecipes = DistributionSummary.builder(ELIGIBLE_SUMMARY)
+            .description("Cookable recipes found per plan generation")
+            .register(registry);
+        candidates = DistributionSummary.builder(CANDIDATES_SUMMARY)
+            .description("Candidate plans built and scored per plan generation")
+            .register(registry);
+        resultCacheHits = Counter.builder(RESULT_CACHE_COUNTER)
+            .description("Seeded plan generations by whether the result cache already had the plan")
+            .tag("result", "hit")
+            .register(registry);
+        resultCacheMisses = Counter.builder(RESULT_CACHE_COUNTER)
+            .description("Seeded plan generations by whether the result cache already had the plan")
+            .tag("result", "miss")
+            .register(registry);
+    }
+
+    public <T> T time(Phase phase, Supplier<T> work) {
+        return phaseTimers.get(phase).record(work);
+    }
+
+    public void time(Phase phase, Runnable work) {
+        phaseTimers.get(phase).record(work);
+    }
+
+    public Timer.Sample startGeneration() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Stops the end-to-end timer, tagged with the outcome (success or the exception type).
+     */
+    public void stopGeneration(Timer.Sample sample, Throwable failure) {
+        sample.stop(Timer.builder(GENERATE_TIMER)
+            .description("End-to-end menu plan generation time")
+            .tag("outcome", failure == null ? "success" : failure.getClass().getSimpleName())
+            .publishPercentileHistogram()
+            .register(registry));
+    }
+
+    public void recordRejection(RejectionReason reason) {
+        rejectionCounters.get(reason).increment();
+    }
+
+    public void recordEligibleRecipes(int count) {
+        eligibleRecipes.record(count);
+    }
+
+    public void recordCandidates(int count) {
+        candidates.record(count);
+    }
+
+    public void recordResultCache(boolean hit) {
+        (hit ? resultCacheHits : resultCacheMisses).increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,41 @@
+package com.greenmono.mealplanner.nutrition;
+
+import com.greenmono.mealplanner.repository.projection.IngredientNutritionRow;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * The nutrients a {@link NutrientMatrix} holds a column for, in column order.
+ */
+public enum Nutrient {
+    CALORIES(IngredientNutritionRow::calories),
+    PROTEIN(IngredientNutritionRow::protein),
+    CARBOHYDRATES(IngredientNutritionRow::carbohydrates),
+    FAT(IngredientNutritionRow::fat),
+    FIBER(IngredientNutritionRow::fiber),
+    SUGAR(IngredientNutritionRow::sugar),
+    SODIUM(IngredientNutritionRow::sodium),
+    CHOLESTEROL(IngredientNutritionRow::cholesterol),
+    SATURATED_FAT(IngredientNutritionRow::saturatedFat),
+    TRANS_FAT(IngredientNutritionRow::transFat),
+    VITAMIN_A(IngredientNutritionRow::vitaminA),
+    VITAMIN_C(IngredientNutritionRow::vitaminC),
+    VITAMIN_D(IngredientNutritionRow::vitaminD),
+    CALCIUM(IngredientNutritionRow::calcium),
+    IRON(IngredientNutritionRow::iron),
+    POTASSIUM(IngredientNutritionRow::potassium);
+
+    private final Function<IngredientNutritionRow, BigDecimal> value;
+
+    Nutrient(Function<IngredientNutritionRow, BigDecimal> value) {
+        this.value = value;
+    }
+
+    /**
+     * This nutrient per serving of an ingredient, or null if not recorded.
+     */
+    BigDecimal of(IngredientNutritionRow row) {
+        return value.apply(row);
+    }
+}
@@ -0,0 +1,135 @@
+package com.greenmono.mealplanner.nutrition;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.repository.projection.IngredientNutritionRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Every ingredient's nutrition per serving as one column of longs per {@link Nutrient}, rows
+ * ordered by ingredient ID, so a catalog recompute reads contiguous arrays instead of walking
+ * recipe, ingredient and nutrition entities.
+ *
+ * Values are fixed point: nutrients in hundredths, as stored, and servings in ten-thousandths,
+ * as {@link UnitConversion#servings} rounds them. Their products are exact millionths, so a
+ * recipe total rounds to the same two decimals as the per-recipe calculator; doubles would not.
+ * A nutrient that is not recorded counts as zero, as it does there.
+ */
+public final class NutrientMatrix {
+
+    /** Decimal places of a recipe total from {@link #multiply}. */
+    public static final int TOTAL_SCALE = 2 + UnitConversion.SERVINGS_SCALE;
+
+    private static final int VALUE_SCALE = 2;
+    private static final int NUTRIENTS = Nutrient.values().length;
+
+    private final long[] ingredientIds;
+    private final BigDecimal[] servingSizes;
+    private final Ingredient.Unit[] servingUnits;
+    private final long[][] columns;
+
+    private NutrientMatrix(long[] ingredientIds, BigDecimal[] servingSizes, Ingredient.Unit[] servingUnits,
+                           long[][] columns) {
+        this.ingredientIds = ingredientIds;
+        this.servingSizes = servingSizes;
+        this.servingUnits = servingUnits;
+        this.columns = columns;
+    }
+
+    /**
+     * @param rows one row per ingredient, in any order
+     */
+    public static NutrientMatrix of(List<IngredientNutritionRow> rows) {
+        IngredientNutritionRow[] sorted = rows.toArray(new IngredientNutritionRow[0]);
+        Arrays.sort(sorted, Comparator.comparing(IngredientNutritionRow::ingredientId));
+
+        int size = sorted.length;
+        long[] ingredientIds = new long[size];
+        BigDecimal[] servingSizes = new BigDecimal[size];
+        Ingredient.Unit[] servingUnits = new Ingredient.Unit[size];
+        long[][] columns = new long[NUTRIENTS][size];
+        for (int row = 0; row < size; row++) {
+            IngredientNutritionRow nutrition = sorted[row];
+            ingredientIds[row] = nutrition.ingredientId();
+            servingSizes[row] = nutrition.servingSize();
+            servingUnits[row] = nutrition.servingUnit();
+            for (Nutrient nutrient : Nutrient.values()) {
+                columns[nutrient.ordinal()][row] = hundredths(nutrient.of(nutrition));
+            }
+        }
+        return new NutrientMatrix(ingredientIds, servingSizes, servingUnits, columns);
+    }
+
+    public int size() {
+        return ingredientIds.length;
+    }
+
+    /**
+     * The row of an ingredient, or -1 if it has no nutrition.
+     */
+    int row(long ingredientId) {
+        int row = Arrays.binarySearch(ingredientIds, ingredientId);
+        return row >= 0 ? row : -1;
+    }
+
+    /**
+     * How many servings of a row's ingredient a recipe quantity is, in ten-thousandths.
+     *
+     * @throws ArithmeticException if the quantity does not fit
+     */
+    long servings(int row, BigDecimal quantity, Ingredient.Unit unit) {
+        return UnitConversion.servings(quantity, unit, servingSizes[row], servingUnits[row])
+            .movePointRight(UnitConversion.SERVINGS_SCALE)
+            .longValueExact();
+    }
+
+    /**
+     * Every recipe's totals of the given nutrients, one recipe per array in {@code recipes}
+     * order, in units of {@link #TOTAL_SCALE} decimals. A recipe whose totals overflow a long
+     * gets null. Recipes are summed in parallel.
+     */
+    public long[][] multiply(RecipeVectors recipes, List<Nutrient> nutrients) {
+        long[][] selected = new long[nutrients.size()][];
+        for (int k = 0; k < selected.length; k++) {
+            selected[k] = columns[nutrients.get(k).ordinal()];
+        }
+
+        long[][] totals = new long[recipes.size()][];
+        IntStream.range(0, recipes.size()).parallel().forEach(recipe -> {
+            long[] sums = new long[selected.length];
+            try {
+                for (int entry = recipes.offsets[recipe]; entry < recipes.offsets[recipe + 1]; entry++) {
+                    int row = recipes.rows[entry];
+                    long servings = recipes.servings[entry];
+                    for (int k = 0; k < selected.length; k++) {
+                        sums[k] = Math.addExact(sums[k], Math.multiplyExact(selected[k][row], servings));
+                    }
+                }
+                totals[recipe] = sums;
+            } catch (ArithmeticException e) {
+                totals[recipe] = null;
+            }
+        });
+        return totals;
+    }
+
+    /**
+     * A total from {@link #multiply} rounded to two decimals, as the calculator rounds it.
+     */
+    public static BigDecimal toBigDecimal(long total) {
+        return BigDecimal.valueOf(total, TOTAL_SCALE).setScale(VALUE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static long hundredths(BigDecimal value) {
+        if (value == null) {
+            return 0L;
+        }
+        // Stored with two decimals, so only values built elsewhere are rounded
+        return value.setScale(VALUE_SCALE, RoundingMode.HALF_UP).movePointRight(VALUE_SCALE).longValueExact();
+    }
+}
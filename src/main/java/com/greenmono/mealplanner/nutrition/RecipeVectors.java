@@ -0,0 +1,98 @@
+package com.greenmono.mealplanner.nutrition;
+
+import com.greenmono.mealplanner.repository.projection.RecipeQuantityLine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recipes as sparse vectors over the rows of one {@link NutrientMatrix}: for each recipe, the
+ * rows of its ingredients and how many servings of each it uses, packed into shared arrays
+ * with one offset per recipe.
+ *
+ * A recipe using any ingredient without nutrition is left out rather than summed without it,
+ * so its stored totals are not replaced by partial ones.
+ */
+public final class RecipeVectors {
+
+    private final long[] recipeIds;
+    final int[] offsets;
+    final int[] rows;
+    final long[] servings;
+    private final int incomplete;
+
+    private RecipeVectors(long[] recipeIds, int[] offsets, int[] rows, long[] servings, int incomplete) {
+        this.recipeIds = recipeIds;
+        this.offsets = offsets;
+        this.rows = rows;
+        this.servings = servings;
+        this.incomplete = incomplete;
+    }
+
+    /**
+     * @param lines every ingredient line, grouped by recipe
+     */
+    public static RecipeVectors of(List<RecipeQuantityLine> lines, NutrientMatrix matrix) {
+        long[] recipeIds = new long[lines.size()];
+        int[] offsets = new int[lines.size() + 1];
+        int[] rows = new int[lines.size()];
+        long[] servings = new long[lines.size()];
+        int recipes = 0;
+        int entries = 0;
+        int incomplete = 0;
+
+        int start = 0;
+        while (start < lines.size()) {
+            Long recipeId = lines.get(start).recipeId();
+            int end = start;
+            while (end < lines.size() && lines.get(end).recipeId().equals(recipeId)) {
+                end++;
+            }
+
+            int recipeStart = entries;
+            boolean complete = true;
+            for (int i = start; i < end; i++) {
+                RecipeQuantityLine line = lines.get(i);
+                int row = line.ingredientId() != null ? matrix.row(line.ingredientId()) : -1;
+                if (row < 0) {
+                    complete = false;
+                    break;
+                }
+                try {
+                    servings[entries] = matrix.servings(row, line.quantity(), line.unit());
+                } catch (ArithmeticException e) {
+                    complete = false;
+                    break;
+                }
+                rows[entries++] = row;
+            }
+
+            if (complete) {
+                recipeIds[recipes++] = recipeId;
+                offsets[recipes] = entries;
+            } else {
+                entries = recipeStart;
+                incomplete++;
+            }
+            start = end;
+        }
+
+        return new RecipeVectors(Arrays.copyOf(recipeIds, recipes), Arrays.copyOf(offsets, recipes + 1),
+            Arrays.copyOf(rows, entries), Arrays.copyOf(servings, entries), incomplete);
+    }
+
+    public int size() {
+        return recipeIds.length;
+    }
+
+    public long recipeId(int recipe) {
+        return recipeIds[recipe];
+    }
+
+    /**
+     * Recipes left out because an ingredient has no nutrition or a quantity does not fit.
+     */
+    public int incomplete() {
+        return incomplete;
+    }
+}
@@ -0,0 +1,57 @@
+package com.greenmono.mealplanner.nutrition;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Quantity conversions shared by the per-recipe nutrition calculator and the catalog-wide
+ * recompute, so both turn a recipe line into the same number of nutrition servings.
+ */
+@Slf4j
+public final class UnitConversion {
+
+    /** Decimal places of a servings ratio. */
+    public static final int SERVINGS_SCALE = 4;
+
+    private UnitConversion() {
+    }
+
+    /**
+     * How many nutrition servings a recipe quantity is, rounded to {@link #SERVINGS_SCALE}
+     * places; a zero serving size counts as one serving.
+     */
+    public static BigDecimal servings(BigDecimal quantity, Ingredient.Unit unit,
+                                      BigDecimal servingSize, Ingredient.Unit servingUnit) {
+        BigDecimal quantityInGrams = toGrams(quantity, unit);
+        BigDecimal servingInGrams = toGrams(servingSize, servingUnit);
+
+        if (servingInGrams.compareTo(BigDecimal.ZERO) == 0) {
+            log.warn("Serving size is zero, using 1:1 ratio");
+            return BigDecimal.ONE;
+        }
+
+        return quantityInGrams.divide(servingInGrams, SERVINGS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Converts various units to grams for comparison
+     * Simplified conversion - assumes standard densities
+     */
+    public static BigDecimal toGrams(BigDecimal quantity, Ingredient.Unit unit) {
+        return switch (unit) {
+            case GRAM -> quantity;
+            case KILOGRAM -> quantity.multiply(new BigDecimal("1000"));
+            case MILLILITER -> quantity;
+            case LITER -> quantity.multiply(new BigDecimal("1000"));
+            case PIECE -> quantity.multiply(new BigDecimal("100"));
+            case TABLESPOON -> quantity.multiply(new BigDecimal("15"));
+            case TEASPOON -> quantity.multiply(new BigDecimal("5"));
+            case CUP -> quantity.multiply(new BigDecimal("240"));
+            case OUNCE -> quantity.multiply(new BigDecimal("28.35"));
+            case POUND -> quantity.multiply(new BigDecimal("453.59"));
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.Recipe;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance score of a plan from 0 to 100: macro balance (40%), calorie consistency across days
+ * (30%) and recipe variety (30%).
+ *
+ * Runs once per candidate, so it works on the pool's primitive arrays and allocates nothing;
+ * the per-recipe macro score is computed once when the pool is built.
+ */
+final class BalanceScorer {
+
+    private static final BigDecimal CALORIES_PER_GRAM = new BigDecimal("4");
+
+    private BalanceScorer() {
+    }
+
+    static double score(CandidatePool pool, CandidatePlan plan) {
+        int days = plan.days();
+        if (days == 0) {
+            return 0.0;
+        }
+
+        return combine(macroBalance(pool, plan, days), calorieConsistency(plan.dayCalories), variety(plan, days));
+    }
+
+    static double combine(double macroScore, double calorieScore, double varietyScore) {
+        double totalScore = (macroScore * 0.4) + (calorieScore * 0.3) + (varietyScore * 0.3);
+
+        return Math.round(totalScore * 100.0) / 100.0;
+    }
+
+    static double recipeBalance(Recipe recipe) {
+        return recipeBalance(recipe.getCalories(), recipe.getProtein(), recipe.getCarbohydrates());
+    }
+
+    /**
+     * How close a recipe's protein (20-35%) and carbohydrate (45-65%) calorie shares are to target.
+     */
+    static double recipeBalance(BigDecimal calories, BigDecimal protein, BigDecimal carbohydrates) {
+        if (calories.compareTo(BigDecimal.ZERO) == 0) {
+            return 0.0;
+        }
+
+        double proteinCalories = protein.multiply(CALORIES_PER_GRAM).doubleValue();
+        double carbCalories = carbohydrates.multiply(CALORIES_PER_GRAM).doubleValue();
+        double totalCalories = calories.doubleValue();
+
+        double proteinRatio = proteinCalories / totalCalories;
+        double carbRatio = carbCalories / totalCalories;
+
+        double proteinScore = 100.0;
+        if (proteinRatio < 0.20) proteinScore = (proteinRatio / 0.20) * 100.0;
+        else if (proteinRatio > 0.35) proteinScore = (0.35 / proteinRatio) * 100.0;
+
+        double carbScore = 100.0;
+        if (carbRatio < 0.45) carbScore = (carbRatio / 0.45) * 100.0;
+        else if (carbRatio > 0.65) carbScore = (0.65 / carbRatio) * 100.0;
+
+        return (proteinScore + carbScore) / 2.0;
+    }
+
+    private static double macroBalance(CandidatePool pool, CandidatePlan plan, int days) {
+        double total = 0.0;
+        for (int day = 0; day < days; day++) {
+            total += (pool.soups.balance[plan.soups[day]]
+                + pool.mains.balance[plan.mains[day]]
+                + pool.sides.balance[plan.sides[day]]) / 3.0;
+        }
+        return total / days;
+    }
+
+    private static double calorieConsistency(int[] dayCalories) {
+        int days = dayCalories.length;
+        if (days < 2) return 100.0;
+
+        long sum = 0;
+        for (int calories : dayCalories) {
+            sum += calories;
+        }
+        double mean = (double) sum / days;
+
+        double squaredDeviations = 0.0;
+        for (int calories : dayCalories) {
+            squaredDeviations += (calories - mean) * (calories - mean);
+        }
+        return calorieScore(mean, squaredDeviations / days);
+    }
+
+    /**
+     * Scores day-to-day calorie spread by its coefficient of variation.
+     */
+    static double calorieScore(double mean, double variance) {
+        double stdDev = Math.sqrt(variance);
+        double cv = mean > 0 ? (stdDev / mean) * 100.0 : 0.0;
+
+        if (cv < 10.0) return 100.0;
+        else if (cv < 20.0) return 90.0;
+        else if (cv < 30.0) return 75.0;
+        else return 50.0;
+    }
+
+    /**
+     * Share of distinct recipes among all meals; a recipe belongs to one course, so distinct
+     * recipes are counted per course.
+     */
+    private static double variety(CandidatePlan plan, int days) {
+        int distinct = distinct(plan.soups) + distinct(plan.mains) + distinct(plan.sides);
+        return (double) distinct / (3 * days) * 100.0;
+    }
+
+    private static int distinct(int[] picks) {
+        int distinct = 0;
+        for (int i = 0; i < picks.length; i++) {
+            boolean seen = false;
+            for (int j = 0; j < i && !seen; j++) {
+                seen = picks[j] == picks[i];
+            }
+            if (!seen) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,213 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.BalanceSums;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.repository.projection.RecipeSummary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running sums behind a saved plan's balance score, so swapping one dish re-scores the plan
+ * in O(1) instead of walking every day again.
+ *
+ * Keeps each day's dish balance sum and dish count, the sum and sum of squares of day
+ * calories, and a count per recipe ID. The score is the same formula {@link BalanceScorer}
+ * applies to candidates; unlike candidates, a saved day may have empty courses.
+ *
+ * The plan-wide sums are stored with the plan as {@link BalanceSums}, so a later swap can
+ * be applied to them with {@link #swap} from the swapped day alone.
+ */
+public final class BalanceState {
+
+    private static final Recipe.RecipeCategory[] COURSES = {
+        Recipe.RecipeCategory.SOUP, Recipe.RecipeCategory.MAIN_COURSE, Recipe.RecipeCategory.SIDE_DISH
+    };
+
+    /**
+     * The parts of a recipe the balance score reads.
+     */
+    public record Dish(long recipeId, int calories, double balance) {
+
+        public static Dish of(RecipeSummary recipe) {
+            int caloriesPerServing = recipe.calories()
+                .divide(new BigDecimal(recipe.servings()), 2, RoundingMode.HALF_UP)
+                .intValue();
+            return new Dish(recipe.id(), caloriesPerServing,
+                BalanceScorer.recipeBalance(recipe.calories(), recipe.protein(), recipe.carbohydrates()));
+        }
+    }
+
+    private final Dish[][] dishes;
+    private final double[] dayBalance;
+    private final int[] dayDishes;
+    private final int[] dayCalories;
+    private final Map<Long, Integer> recipeCounts = new HashMap<>();
+
+    private double macroSum;
+    private long calorieSum;
+    private long calorieSquares;
+    private int meals;
+
+    public BalanceState(int days) {
+        dishes = new Dish[days][COURSES.length];
+        dayBalance = new double[days];
+        dayDishes = new int[days];
+        dayCalories = new int[days];
+    }
+
+    public static boolean isCourse(Recipe.RecipeCategory category) {
+        return courseIndex(category) >= 0;
+    }
+
+    /**
+     * Puts a dish into a day's course, replacing whatever was there; a null dish empties it.
+     */
+    public void put(int day, Recipe.RecipeCategory course, Dish dish) {
+        int courseIndex = courseIndex(course);
+        if (courseIndex < 0) {
+            throw new IllegalArgumentException("Not a plan course: " + course);
+        }
+
+        Dish previous = dishes[day][courseIndex];
+        macroSum -= dayMacro(day);
+        calorieSum -= dayCalories[day];
+        calorieSquares -= (long) dayCalories[day] * dayCalories[day];
+
+        if (previous != null) {
+            dayBalance[day] -= previous.balance();
+            dayDishes[day]--;
+            dayCalories[day] -= previous.calories();
+            recipeCounts.computeIfPresent(previous.recipeId(), (id, count) -> count > 1 ? count - 1 : null);
+            meals--;
+        }
+        if (dish != null) {
+            dayBalance[day] += dish.balance();
+            dayDishes[day]++;
+            dayCalories[day] += dish.calories();
+            recipeCounts.merge(dish.recipeId(), 1, Integer::sum);
+            meals++;
+        }
+        dishes[day][courseIndex] = dish;
+
+        macroSum += dayMacro(day);
+        calorieSum += dayCalories[day];
+        calorieSquares += (long) dayCalories[day] * dayCalories[day];
+    }
+
+    public double score() {
+        return score(dishes.length, macroSum, calorieSum, calorieSquares, meals, recipeCounts.size());
+    }
+
+    public static double score(BalanceSums sums) {
+        return score(sums.getDays(), sums.getMacroSum(), sums.getCalorieSum(), sums.getCalorieSquares(),
+            sums.getMeals(), sums.getDistinctRecipes());
+    }
+
+    /**
+     * The plan-wide sums, to be stored with the plan.
+     */
+    public BalanceSums sums() {
+        return new BalanceSums(dishes.length, macroSum, calorieSum, calorieSquares, meals, recipeCounts.size());
+    }
+
+    /**
+     * Stored sums after putting a dish into one course of one day.
+     *
+     * @param day the day's dishes before the swap, by course: soup, main course, side dish
+     * @param previousUses how often the dish being replaced occurs in the whole plan
+     * @param replacementUses how often the new dish occurs in the whole plan
+     */
+    public static BalanceSums swap(BalanceSums sums, Dish[] day, Recipe.RecipeCategory course, Dish dish,
+                                   int previousUses, int replacementUses) {
+        int courseIndex = courseIndex(course);
+        if (courseIndex < 0) {
+            throw new IllegalArgumentException("Not a plan course: " + course);
+        }
+
+        Dish previous = day[courseIndex];
+        Dish[] swapped = day.clone();
+        swapped[courseIndex] = dish;
+        int caloriesBefore = dayCalories(day);
+        int caloriesAfter = dayCalories(swapped);
+
+        int meals = sums.getMeals() - (previous != null ? 1 : 0) + 1;
+        int distinctRecipes = sums.getDistinctRecipes();
+        if (previous == null || previous.recipeId() != dish.recipeId()) {
+            if (previous != null && previousUses == 1) {
+                distinctRecipes--;
+            }
+            if (replacementUses == 0) {
+                distinctRecipes++;
+            }
+        }
+
+        return new BalanceSums(sums.getDays(),
+            sums.getMacroSum() - dayMacro(day) + dayMacro(swapped),
+            sums.getCalorieSum() - caloriesBefore + caloriesAfter,
+            sums.getCalorieSquares() - (long) caloriesBefore * caloriesBefore + (long) caloriesAfter * caloriesAfter,
+            meals, distinctRecipes);
+    }
+
+    public int dayCalories(int day) {
+        return dayCalories[day];
+    }
+
+    public long totalCalories() {
+        return calorieSum;
+    }
+
+    private double dayMacro(int day) {
+        return dayDishes[day] == 0 ? 0.0 : dayBalance[day] / dayDishes[day];
+    }
+
+    private static double dayMacro(Dish[] day) {
+        double balance = 0.0;
+        int dishes = 0;
+        for (Dish dish : day) {
+            if (dish != null) {
+                balance += dish.balance();
+                dishes++;
+            }
+        }
+        return dishes == 0 ? 0.0 : balance / dishes;
+    }
+
+    private static int dayCalories(Dish[] day) {
+        int calories = 0;
+        for (Dish dish : day) {
+            if (dish != null) {
+                calories += dish.calories();
+            }
+        }
+        return calories;
+    }
+
+    private static double score(int days, double macroSum, long calorieSum, long calorieSquares, int meals,
+                                int distinctRecipes) {
+        if (days == 0) {
+            return 0.0;
+        }
+
+        double calorieScore = 100.0;
+        if (days >= 2) {
+            double mean = (double) calorieSum / days;
+            double variance = Math.max(0.0, (double) calorieSquares / days - mean * mean);
+            calorieScore = BalanceScorer.calorieScore(mean, variance);
+        }
+        double varietyScore = meals == 0 ? 0.0 : (double) distinctRecipes / meals * 100.0;
+
+        return BalanceScorer.combine(macroSum / days, calorieScore, varietyScore);
+    }
+
+    private static int courseIndex(Recipe.RecipeCategory category) {
+        for (int i = 0; i < COURSES.length; i++) {
+            if (COURSES[i] == category) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
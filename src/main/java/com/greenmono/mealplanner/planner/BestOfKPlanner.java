@@ -0,0 +1,122 @@
+package com.greenmono.mealplanner.planner;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Builds several candidate plans in parallel from the same {@link CandidatePool} and keeps the
+ * best-scoring one, so a single request returns what users otherwise got by regenerating.
+ *
+ * The first candidate is always built; the others only while the time budget lasts. Candidate
+ * count and budget come from the request, capped by configuration.
+ *
+ * A seeded search builds every requested candidate regardless of the budget, so the same seed
+ * and pool always give the same plan.
+ */
+@Component
+@Slf4j
+public class BestOfKPlanner {
+
+    @Value("${meal-planner.generation.candidates:8}")
+    private int defaultCandidates = 8;
+
+    @Value("${meal-planner.generation.max-candidates:64}")
+    private int maxCandidates = 64;
+
+    @Value("${meal-planner.generation.time-budget:PT0.2S}")
+    private Duration defaultTimeBudget = Duration.ofMillis(200);
+
+    @Value("${meal-planner.generation.max-time-budget:PT2S}")
+    private Duration maxTimeBudget = Duration.ofSeconds(2);
+
+    /** Worker threads; 0 uses one per available processor. */
+    @Value("${meal-planner.generation.parallelism:0}")
+    private int parallelism = 0;
+
+    private ForkJoinPool pool;
+
+    public record Result(CandidatePlan best, int evaluated) {
+    }
+
+    @PostConstruct
+    public void start() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads, forkJoinPool -> {
+            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            worker.setName("plan-candidates-" + worker.getPoolIndex());
+            return worker;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @param candidates  requested candidate count, or null for the configured default
+     * @param timeBudgetMs requested time budget, or null for the configured default
+     */
+    public Result best(CandidatePool candidatePool, int days, Integer candidates, Integer timeBudgetMs) {
+        return best(candidatePool, days, candidates, timeBudgetMs, null);
+    }
+
+    /**
+     * Same as {@link #best(CandidatePool, int, Integer, Integer)} for days that follow the ones in
+     * {@code recent}, which candidates only read.
+     *
+     * @param recent recently planned days of the same pool, or null
+     */
+    public Result best(CandidatePool candidatePool, int days, Integer candidates, Integer timeBudgetMs, RecentUsage recent) {
+        return best(candidatePool, days, candidates, timeBudgetMs, recent, null);
+    }
+
+    /**
+     * Same as {@link #best(CandidatePool, int, Integer, Integer, RecentUsage)}, reproducible when
+     * seeded.
+     *
+     * @param seed root of every candidate's random stream, or null for a fresh one; a seeded
+     *             search ignores the time budget
+     */
+    public Result best(CandidatePool candidatePool, int days, Integer candidates, Integer timeBudgetMs,
+                       RecentUsage recent, Long seed) {
+        int k = Math.min(candidates != null ? candidates : defaultCandidates, maxCandidates);
+        Duration budget = timeBudgetMs != null ? Duration.ofMillis(timeBudgetMs) : defaultTimeBudget;
+        if (budget.compareTo(maxTimeBudget) > 0) {
+            budget = maxTimeBudget;
+        }
+        long deadline = System.nanoTime() + budget.toNanos();
+        boolean seeded = seed != null;
+
+        // Split up front so each candidate's random stream does not depend on scheduling
+        SplittableRandom root = seeded ? new SplittableRandom(seed) : new SplittableRandom();
+        SplittableRandom[] randoms = new SplittableRandom[Math.max(k, 1)];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = root.split();
+        }
+
+        AtomicInteger evaluated = new AtomicInteger();
+        CandidatePlan best = pool.submit(() -> IntStream.range(0, randoms.length)
+                .parallel()
+                .filter(i -> i == 0 || seeded || System.nanoTime() - deadline < 0)
+                .mapToObj(i -> {
+                    evaluated.incrementAndGet();
+                    return CandidatePlan.build(candidatePool, i, days, randoms[i], recent);
+                })
+                .reduce(CandidatePlan::better)
+                .orElseThrow())
+            .join();
+
+        log.debug("Picked candidate with balance score {} out of {} (requested {})", best.balanceScore(), evaluated.get(), k);
+        return new Result(best, evaluated.get());
+    }
+}
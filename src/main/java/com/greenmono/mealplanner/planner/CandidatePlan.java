@@ -0,0 +1,188 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.Recipe;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * One candidate plan: the chosen soup, main course and side dish of each day as indexes into a
+ * {@link CandidatePool}, with its daily calories and balance score.
+ */
+public final class CandidatePlan {
+
+    /**
+     * Random draws per pick, then neighbours probed, before settling for the cheapest recipe;
+     * together they bound the cost of a pick regardless of catalog size.
+     */
+    static final int PICK_ATTEMPTS = 8;
+    static final int PROBE_LIMIT = 64;
+
+    private static final int SOUP = 0;
+    private static final int MAIN = 1;
+    private static final int SIDE = 2;
+
+    private final CandidatePool pool;
+    private final int ordinal;
+    final int[] soups;
+    final int[] mains;
+    final int[] sides;
+    final int[] dayCalories;
+    private final double balanceScore;
+
+    private CandidatePlan(CandidatePool pool, int ordinal, int days, SplittableRandom random, RecentUsage recent) {
+        this.pool = pool;
+        this.ordinal = ordinal;
+        this.soups = new int[days];
+        this.mains = new int[days];
+        this.sides = new int[days];
+        this.dayCalories = new int[days];
+
+        // Ingredients of the previous day, kept as one bitset and cleared word by word
+        long[] yesterday = new long[pool.ingredientWords];
+        if (recent != null) {
+            recent.addLastDayTo(yesterday);
+        }
+        for (int day = 0; day < days; day++) {
+            soups[day] = pick(pool.soups, SOUP, day > 0 ? soups[day - 1] : last(recent, SOUP), yesterday, recent, random);
+            mains[day] = pick(pool.mains, MAIN, day > 0 ? mains[day - 1] : last(recent, MAIN), yesterday, recent, random);
+            sides[day] = pick(pool.sides, SIDE, day > 0 ? sides[day - 1] : last(recent, SIDE), yesterday, recent, random);
+            if (day > 0) {
+                pool.soups.ingredients[soups[day - 1]].clearFrom(yesterday);
+                pool.mains.ingredients[mains[day - 1]].clearFrom(yesterday);
+                pool.sides.ingredients[sides[day - 1]].clearFrom(yesterday);
+            } else if (recent != null) {
+                Arrays.fill(yesterday, 0L);
+            }
+            pool.soups.ingredients[soups[day]].addTo(yesterday);
+            pool.mains.ingredients[mains[day]].addTo(yesterday);
+            pool.sides.ingredients[sides[day]].addTo(yesterday);
+
+            dayCalories[day] = pool.soups.calories[soups[day]]
+                + pool.mains.calories[mains[day]]
+                + pool.sides.calories[sides[day]];
+        }
+        this.balanceScore = BalanceScorer.score(pool, this);
+    }
+
+    /**
+     * Builds a random plan in which no course repeats on consecutive days and no dish shares a
+     * required ingredient with the previous day's dishes.
+     *
+     * A course with a single recipe repeats it. When no dish free of yesterday's ingredients is
+     * found, as in a small catalog, the one sharing the fewest is used.
+     */
+    static CandidatePlan build(CandidatePool pool, int ordinal, int days, SplittableRandom random) {
+        return new CandidatePlan(pool, ordinal, days, random, null);
+    }
+
+    /**
+     * Builds a plan that continues after the days in {@code recent}: its first day follows their
+     * latest day, and recently used recipes are avoided like a shared ingredient, though with
+     * less weight.
+     */
+    static CandidatePlan build(CandidatePool pool, int ordinal, int days, SplittableRandom random, RecentUsage recent) {
+        return new CandidatePlan(pool, ordinal, days, random, recent);
+    }
+
+    /**
+     * The higher-scoring plan; ties go to the earlier candidate so the choice does not depend on
+     * which thread finished first.
+     */
+    static CandidatePlan better(CandidatePlan a, CandidatePlan b) {
+        if (a.balanceScore != b.balanceScore) {
+            return a.balanceScore > b.balanceScore ? a : b;
+        }
+        return a.ordinal <= b.ordinal ? a : b;
+    }
+
+    private static int last(RecentUsage recent, int course) {
+        return recent != null ? recent.last(course) : -1;
+    }
+
+    /**
+     * Cost of a pick: each ingredient shared with yesterday counts twice, a recently used recipe
+     * once. The first zero-cost draw wins.
+     */
+    private static int cost(CandidatePool.Course course, int courseIndex, int pick, long[] yesterday, RecentUsage recent) {
+        int cost = course.ingredients[pick].overlap(yesterday) * 2;
+        if (recent != null && recent.isRecent(courseIndex, pick)) {
+            cost++;
+        }
+        return cost;
+    }
+
+    private static int pick(CandidatePool.Course course, int courseIndex, int previous, long[] yesterday,
+                            RecentUsage recent, SplittableRandom random) {
+        int size = course.size();
+        if (size <= 1) {
+            return 0;
+        }
+
+        int best = -1;
+        int bestCost = Integer.MAX_VALUE;
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++) {
+            int pick;
+            if (previous < 0) {
+                pick = random.nextInt(size);
+            } else {
+                // Uniform over every recipe except yesterday's
+                pick = random.nextInt(size - 1);
+                if (pick >= previous) {
+                    pick++;
+                }
+            }
+            int cost = cost(course, courseIndex, pick, yesterday, recent);
+            if (cost == 0) {
+                return pick;
+            }
+            if (cost < bestCost) {
+                best = pick;
+                bestCost = cost;
+            }
+        }
+
+        // Draws kept hitting yesterday's ingredients or recent recipes; a bounded run of neighbours covers a
+        // small catalog completely
+        int start = random.nextInt(size);
+        for (int i = 0, probes = Math.min(size, PROBE_LIMIT); i < probes; i++) {
+            int pick = (start + i) % size;
+            if (pick == previous) {
+                continue;
+            }
+            int cost = cost(course, courseIndex, pick, yesterday, recent);
+            if (cost == 0) {
+                return pick;
+            }
+            if (cost < bestCost) {
+                best = pick;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    public int days() {
+        return dayCalories.length;
+    }
+
+    public Recipe soup(int day) {
+        return pool.soups.recipes[soups[day]];
+    }
+
+    public Recipe mainCourse(int day) {
+        return pool.mains.recipes[mains[day]];
+    }
+
+    public Recipe sideDish(int day) {
+        return pool.sides.recipes[sides[day]];
+    }
+
+    public int dayCalories(int day) {
+        return dayCalories[day];
+    }
+
+    public double balanceScore() {
+        return balanceScore;
+    }
+}
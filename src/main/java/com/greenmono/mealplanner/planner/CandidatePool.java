@@ -0,0 +1,101 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.entity.RecipeIngredient;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The eligible recipes of one generation request, flattened into arrays once so that every
+ * candidate plan can be built and scored from indexes without touching entities or BigDecimals.
+ */
+public final class CandidatePool {
+
+    final Course soups;
+    final Course mains;
+    final Course sides;
+    /** Length of a day's ingredient bitset in 64-bit words. */
+    final int ingredientWords;
+
+    private CandidatePool(Course soups, Course mains, Course sides, int ingredients) {
+        this.soups = soups;
+        this.mains = mains;
+        this.sides = sides;
+        this.ingredientWords = (ingredients + 63) >>> 6;
+    }
+
+    /**
+     * @throws IllegalArgumentException if any course has no recipes
+     */
+    public static CandidatePool of(List<Recipe> soups, List<Recipe> mains, List<Recipe> sides) {
+        // Dense bit positions for the ingredients these recipes require
+        Map<Long, Integer> positions = new HashMap<>();
+        Course soupCourse = Course.of(soups, positions);
+        Course mainCourse = Course.of(mains, positions);
+        Course sideCourse = Course.of(sides, positions);
+        return new CandidatePool(soupCourse, mainCourse, sideCourse, positions.size());
+    }
+
+    /**
+     * Recipes of one course with the per-recipe numbers the scorer needs.
+     */
+    static final class Course {
+        final Recipe[] recipes;
+        final int[] calories;
+        final double[] balance;
+        final IngredientBits[] ingredients;
+        private final Map<Long, Integer> indexById;
+
+        private Course(Recipe[] recipes, Map<Long, Integer> positions) {
+            this.recipes = recipes;
+            this.calories = new int[recipes.length];
+            this.balance = new double[recipes.length];
+            this.ingredients = new IngredientBits[recipes.length];
+            this.indexById = new HashMap<>();
+            for (int i = 0; i < recipes.length; i++) {
+                calories[i] = recipes[i].getCaloriesPerServing().intValue();
+                balance[i] = BalanceScorer.recipeBalance(recipes[i]);
+                ingredients[i] = IngredientBits.of(requiredPositions(recipes[i], positions));
+                indexById.putIfAbsent(recipes[i].getId(), i);
+            }
+        }
+
+        static Course of(List<Recipe> recipes, Map<Long, Integer> positions) {
+            if (recipes.isEmpty()) {
+                throw new IllegalArgumentException("Every course needs at least one recipe");
+            }
+            return new Course(recipes.toArray(new Recipe[0]), positions);
+        }
+
+        /**
+         * Required ingredients only, as the planner's cookability check treats optional ones as
+         * possibly left out.
+         */
+        private static int[] requiredPositions(Recipe recipe, Map<Long, Integer> positions) {
+            List<RecipeIngredient> lines = recipe.getRecipeIngredients();
+            int[] required = new int[lines.size()];
+            int count = 0;
+            for (RecipeIngredient line : lines) {
+                if (Boolean.TRUE.equals(line.getOptional()) || line.getIngredient() == null) {
+                    continue;
+                }
+                required[count++] = positions.computeIfAbsent(line.getIngredient().getId(), id -> positions.size());
+            }
+            return count == required.length ? required : Arrays.copyOf(required, count);
+        }
+
+        int size() {
+            return recipes.length;
+        }
+
+        /**
+         * Index of a recipe in this course, or -1 if it is not part of the pool.
+         */
+        int indexOf(Long recipeId) {
+            return recipeId == null ? -1 : indexById.getOrDefault(recipeId, -1);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.Meal;
+
+/**
+ * The breakfast, dinner and snack chosen by {@link MealSlots} for each day of a lunch plan, with
+ * each day's calories across all slots.
+ */
+public final class FullDayPlan {
+
+    private final MealSlots slots;
+    private final int[][] picks;
+    private final int[] dayCalories;
+
+    FullDayPlan(MealSlots slots, int[][] picks, int[] dayCalories) {
+        this.slots = slots;
+        this.picks = picks;
+        this.dayCalories = dayCalories;
+    }
+
+    public Meal meal(int day, Meal.MealType type) {
+        int slot = MealSlots.TYPES.indexOf(type);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Not a full-day slot: " + type);
+        }
+        return slots.meal(slot, picks[day][slot]);
+    }
+
+    /**
+     * Lunch plus every filled slot.
+     */
+    public int dayCalories(int day) {
+        return dayCalories[day];
+    }
+}
@@ -0,0 +1,72 @@
+package com.greenmono.mealplanner.planner;
+
+import java.util.Arrays;
+
+/**
+ * A recipe's ingredients as bits over the ingredient positions of one {@link CandidatePool},
+ * stored sparsely: only the non-zero 64-bit words and their indexes.
+ *
+ * Checking a recipe against a day's ingredients costs one AND per word the recipe touches,
+ * however many ingredients the catalog has.
+ */
+final class IngredientBits {
+
+    static final IngredientBits EMPTY = new IngredientBits(new int[0], new long[0]);
+
+    private final int[] wordIndexes;
+    private final long[] words;
+
+    private IngredientBits(int[] wordIndexes, long[] words) {
+        this.wordIndexes = wordIndexes;
+        this.words = words;
+    }
+
+    /**
+     * @param positions ingredient positions, in any order, possibly repeated
+     */
+    static IngredientBits of(int[] positions) {
+        if (positions.length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = positions.clone();
+        Arrays.sort(sorted);
+
+        int[] wordIndexes = new int[sorted.length];
+        long[] words = new long[sorted.length];
+        int count = 0;
+        for (int position : sorted) {
+            int wordIndex = position >>> 6;
+            if (count == 0 || wordIndexes[count - 1] != wordIndex) {
+                wordIndexes[count++] = wordIndex;
+            }
+            words[count - 1] |= 1L << position;
+        }
+        return new IngredientBits(Arrays.copyOf(wordIndexes, count), Arrays.copyOf(words, count));
+    }
+
+    /**
+     * Number of ingredients this recipe shares with a day's ingredient set.
+     */
+    int overlap(long[] day) {
+        int shared = 0;
+        for (int i = 0; i < words.length; i++) {
+            shared += Long.bitCount(words[i] & day[wordIndexes[i]]);
+        }
+        return shared;
+    }
+
+    void addTo(long[] day) {
+        for (int i = 0; i < words.length; i++) {
+            day[wordIndexes[i]] |= words[i];
+        }
+    }
+
+    /**
+     * Clears every word this recipe touches, which empties the day once done for all its dishes.
+     */
+    void clearFrom(long[] day) {
+        for (int wordIndex : wordIndexes) {
+            day[wordIndex] = 0L;
+        }
+    }
+}
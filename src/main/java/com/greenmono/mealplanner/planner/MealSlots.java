@@ -0,0 +1,132 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.Meal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The meals that can fill the non-lunch slots of a full-day plan, flattened once per request
+ * into per-slot calorie arrays and shared by every day that is filled.
+ *
+ * Slots are filled one after another against what is left of the daily calorie target once
+ * lunch is counted: each slot aims for its share of the remainder, so a meal that runs over
+ * shrinks the slots after it. Each slot's meals are sorted by calories, so a pick is a binary
+ * search plus a random choice among the few nearest meals, and a day costs time linear in its
+ * slots rather than in the combinations of their meals. The last slot takes the nearest meal,
+ * since nothing after it can make up the difference.
+ */
+public final class MealSlots {
+
+    /** Slots filled from the meal catalog, in filling order; lunch is the soup/main/side trio. */
+    public static final List<Meal.MealType> TYPES = List.of(Meal.MealType.BREAKFAST, Meal.MealType.DINNER, Meal.MealType.SNACK);
+
+    /** Relative share of the remaining calories per slot, in {@link #TYPES} order. */
+    private static final int[] WEIGHTS = {3, 5, 2};
+    private static final int TOTAL_WEIGHT = Arrays.stream(WEIGHTS).sum();
+
+    /** How many of the meals nearest a slot's target a pick chooses between, for variety. */
+    static final int NEAREST = 3;
+
+    private final Meal[][] meals;
+    private final int[][] calories;
+    private final int targetDailyCalories;
+
+    private MealSlots(Meal[][] meals, int[][] calories, int targetDailyCalories) {
+        this.meals = meals;
+        this.calories = calories;
+        this.targetDailyCalories = targetDailyCalories;
+    }
+
+    /**
+     * @param catalog meals with nutritional info; other types and meals without calories are ignored
+     * @throws IllegalArgumentException if a slot has no meal
+     */
+    public static MealSlots of(List<Meal> catalog, int targetDailyCalories) {
+        Meal[][] meals = new Meal[TYPES.size()][];
+        int[][] calories = new int[TYPES.size()][];
+        for (int slot = 0; slot < TYPES.size(); slot++) {
+            List<Meal> options = new ArrayList<>();
+            for (Meal meal : catalog) {
+                if (meal.getMealType() == TYPES.get(slot) && meal.getNutritionalInfo() != null
+                    && meal.getNutritionalInfo().getCalories() != null) {
+                    options.add(meal);
+                }
+            }
+            if (options.isEmpty()) {
+                throw new IllegalArgumentException("No " + TYPES.get(slot) + " meal with nutritional info");
+            }
+            options.sort(Comparator.comparing(meal -> meal.getNutritionalInfo().getCalories()));
+            meals[slot] = options.toArray(new Meal[0]);
+            calories[slot] = new int[options.size()];
+            for (int i = 0; i < options.size(); i++) {
+                calories[slot][i] = options.get(i).getNutritionalInfo().getCalories().intValue();
+            }
+        }
+        return new MealSlots(meals, calories, targetDailyCalories);
+    }
+
+    /**
+     * Fills every slot of every day of a lunch plan. No slot repeats yesterday's meal unless it
+     * has only one.
+     */
+    public FullDayPlan fill(CandidatePlan lunch, SplittableRandom random) {
+        int days = lunch.days();
+        int slots = TYPES.size();
+        int[][] picks = new int[days][slots];
+        int[] dayCalories = new int[days];
+
+        for (int day = 0; day < days; day++) {
+            int remaining = targetDailyCalories - lunch.dayCalories(day);
+            int weightLeft = TOTAL_WEIGHT;
+            dayCalories[day] = lunch.dayCalories(day);
+
+            for (int slot = 0; slot < slots; slot++) {
+                int slotTarget = Math.max(0, remaining) * WEIGHTS[slot] / weightLeft;
+                int previous = day > 0 ? picks[day - 1][slot] : -1;
+                int nearest = slot == slots - 1 ? 1 : NEAREST;
+                int pick = near(calories[slot], slotTarget, previous, nearest, random);
+
+                picks[day][slot] = pick;
+                remaining -= calories[slot][pick];
+                weightLeft -= WEIGHTS[slot];
+                dayCalories[day] += calories[slot][pick];
+            }
+        }
+        return new FullDayPlan(this, picks, dayCalories);
+    }
+
+    Meal meal(int slot, int index) {
+        return meals[slot][index];
+    }
+
+    /**
+     * One of the {@code nearest} meals closest to the target, skipping yesterday's, chosen at
+     * random; options are sorted by calories.
+     */
+    private static int near(int[] options, int target, int previous, int nearest, SplittableRandom random) {
+        int size = options.length;
+        if (size <= 1) {
+            return 0;
+        }
+
+        // Widen a window around the insertion point towards whichever side is closer
+        int insertion = Arrays.binarySearch(options, target);
+        int right = insertion >= 0 ? insertion : -insertion - 1;
+        int left = right - 1;
+        int[] found = new int[nearest];
+        int count = 0;
+        while (count < nearest && (left >= 0 || right < size)) {
+            boolean takeLeft = right >= size
+                || (left >= 0 && target - options[left] <= options[right] - target);
+            int index = takeLeft ? left-- : right++;
+            if (index != previous) {
+                found[count++] = index;
+            }
+        }
+        return found[random.nextInt(count)];
+    }
+}
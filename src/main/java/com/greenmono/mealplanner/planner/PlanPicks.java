@@ -0,0 +1,106 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.Meal;
+
+/**
+ * What a planning search chose, by ID: each day's soup, main course and side dish, and in
+ * full-day plans its other meals, with the day calories and balance score they were scored at.
+ *
+ * Holds no entities, so it stays small and can outlive the persistence context it was built in;
+ * a plan is rebuilt from it with entity references.
+ */
+public final class PlanPicks {
+
+    private final long[] soups;
+    private final long[] mains;
+    private final long[] sides;
+    /** Meal ID per day and {@link MealSlots#TYPES} slot, or null for lunch-only plans. */
+    private final long[][] meals;
+    private final int[] dayCalories;
+    private final double balanceScore;
+    private final int evaluated;
+
+    private PlanPicks(long[] soups, long[] mains, long[] sides, long[][] meals, int[] dayCalories,
+                      double balanceScore, int evaluated) {
+        this.soups = soups;
+        this.mains = mains;
+        this.sides = sides;
+        this.meals = meals;
+        this.dayCalories = dayCalories;
+        this.balanceScore = balanceScore;
+        this.evaluated = evaluated;
+    }
+
+    /**
+     * @param slots the other meals of a full-day plan, or null
+     * @param evaluated candidates built to find the plan
+     */
+    public static PlanPicks of(CandidatePlan plan, FullDayPlan slots, int evaluated) {
+        int days = plan.days();
+        long[] soups = new long[days];
+        long[] mains = new long[days];
+        long[] sides = new long[days];
+        long[][] meals = slots != null ? new long[days][MealSlots.TYPES.size()] : null;
+        int[] dayCalories = new int[days];
+
+        for (int day = 0; day < days; day++) {
+            soups[day] = plan.soup(day).getId();
+            mains[day] = plan.mainCourse(day).getId();
+            sides[day] = plan.sideDish(day).getId();
+            dayCalories[day] = slots != null ? slots.dayCalories(day) : plan.dayCalories(day);
+            if (slots != null) {
+                for (int slot = 0; slot < MealSlots.TYPES.size(); slot++) {
+                    meals[day][slot] = slots.meal(day, MealSlots.TYPES.get(slot)).getId();
+                }
+            }
+        }
+        return new PlanPicks(soups, mains, sides, meals, dayCalories, plan.balanceScore(), evaluated);
+    }
+
+    public int days() {
+        return soups.length;
+    }
+
+    public long soupId(int day) {
+        return soups[day];
+    }
+
+    public long mainCourseId(int day) {
+        return mains[day];
+    }
+
+    public long sideDishId(int day) {
+        return sides[day];
+    }
+
+    public boolean fullDay() {
+        return meals != null;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the type is not a full-day slot
+     * @throws IllegalStateException if the plan is lunch only
+     */
+    public long mealId(int day, Meal.MealType type) {
+        int slot = MealSlots.TYPES.indexOf(type);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Not a full-day slot: " + type);
+        }
+        if (meals == null) {
+            throw new IllegalStateException("Lunch-only plan has no " + type + " meal");
+        }
+        return meals[day][slot];
+    }
+
+    public int dayCalories(int day) {
+        return dayCalories[day];
+    }
+
+    public double balanceScore() {
+        return balanceScore;
+    }
+
+    public int evaluated() {
+        return evaluated;
+    }
+}
@@ -0,0 +1,107 @@
+package com.greenmono.mealplanner.planner;
+
+/**
+ * The recipes each course used on its most recent days, kept as a fixed-size ring per course,
+ * so a plan extended week by week keeps variety across weeks without holding the weeks it
+ * already produced.
+ *
+ * Entries are indexes into one {@link CandidatePool}; recipes outside the pool are recorded as
+ * empty slots. The latest day also seeds the next week's first day: its recipes are not
+ * repeated and its ingredients are avoided, as between any two consecutive days.
+ */
+public final class RecentUsage {
+
+    private static final int EMPTY = -1;
+
+    private final CandidatePool pool;
+    private final int[][] rings;
+    private final int[][] counts;
+    private int head;
+    private int size;
+
+    /**
+     * @param days how many recent days to remember
+     */
+    public RecentUsage(CandidatePool pool, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Recent usage needs at least one day, got: " + days);
+        }
+        this.pool = pool;
+        this.rings = new int[3][days];
+        this.counts = new int[][]{
+            new int[pool.soups.size()], new int[pool.mains.size()], new int[pool.sides.size()]
+        };
+    }
+
+    /**
+     * Records a stored day by recipe IDs; any of them may be null.
+     */
+    public void recordDay(Long soupId, Long mainCourseId, Long sideDishId) {
+        record(pool.soups.indexOf(soupId), pool.mains.indexOf(mainCourseId), pool.sides.indexOf(sideDishId));
+    }
+
+    /**
+     * Records every day of a plan built from the same pool.
+     */
+    public void recordPlan(CandidatePlan plan) {
+        for (int day = 0; day < plan.days(); day++) {
+            record(plan.soups[day], plan.mains[day], plan.sides[day]);
+        }
+    }
+
+    /**
+     * Whether a course used a recipe within the remembered days.
+     */
+    boolean isRecent(int course, int index) {
+        return counts[course][index] > 0;
+    }
+
+    /**
+     * The latest day's recipe of a course, or -1 if none was recorded.
+     */
+    int last(int course) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        int latest = (head - 1 + rings[course].length) % rings[course].length;
+        return rings[course][latest];
+    }
+
+    /**
+     * Adds the latest day's ingredients to an empty day bitset.
+     */
+    void addLastDayTo(long[] day) {
+        addIngredients(pool.soups, last(0), day);
+        addIngredients(pool.mains, last(1), day);
+        addIngredients(pool.sides, last(2), day);
+    }
+
+    private void record(int soup, int main, int side) {
+        int capacity = rings[0].length;
+        if (size == capacity) {
+            for (int course = 0; course < 3; course++) {
+                int evicted = rings[course][head];
+                if (evicted != EMPTY) {
+                    counts[course][evicted]--;
+                }
+            }
+        } else {
+            size++;
+        }
+
+        int[] picks = {soup, main, side};
+        for (int course = 0; course < 3; course++) {
+            rings[course][head] = picks[course];
+            if (picks[course] != EMPTY) {
+                counts[course][picks[course]]++;
+            }
+        }
+        head = (head + 1) % capacity;
+    }
+
+    private static void addIngredients(CandidatePool.Course course, int index, long[] day) {
+        if (index != EMPTY) {
+            course.ingredients[index].addTo(day);
+        }
+    }
+}
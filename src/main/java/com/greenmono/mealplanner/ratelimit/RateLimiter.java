@@ -0,0 +1,164 @@
+package com.greenmono.mealplanner.ratelimit;
+
+import com.greenmono.mealplanner.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory, per-client token-bucket limits for endpoints that are expensive enough for a
+ * single client to starve the connection pool.
+ *
+ * Each (endpoint class, client) pair gets its own bucket. Buckets live in a concurrent map
+ * and refill lazily, so there is no lock on the hot path and no refill thread. Limits are
+ * per instance; behind a load balancer the effective limit is multiplied by the instance count.
+ *
+ * At most {@code max-tracked-clients} buckets are kept. Once that many exist, idle buckets are
+ * swept at most once per {@code idle-sweep-interval}, and new clients are turned away until a
+ * sweep frees room, so clients rotating their key bound neither memory nor sweep CPU.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimiter {
+
+    public static final String THROTTLED_COUNTER = "mealplanner.ratelimit.throttled";
+
+    public enum Endpoint {
+        PLAN_GENERATION,
+        NUTRITION
+    }
+
+    private record Limit(int capacity, double refillPerSecond) {
+    }
+
+    private record BucketKey(Endpoint endpoint, String client) {
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${meal-planner.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${meal-planner.rate-limit.plan-generation.capacity:5}")
+    private int planGenerationCapacity = 5;
+
+    @Value("${meal-planner.rate-limit.plan-generation.refill-per-second:0.2}")
+    private double planGenerationRefillPerSecond = 0.2;
+
+    @Value("${meal-planner.rate-limit.nutrition.capacity:20}")
+    private int nutritionCapacity = 20;
+
+    @Value("${meal-planner.rate-limit.nutrition.refill-per-second:2}")
+    private double nutritionRefillPerSecond = 2;
+
+    @Value("${meal-planner.rate-limit.max-tracked-clients:100000}")
+    private int maxTrackedClients = 100_000;
+
+    @Value("${meal-planner.rate-limit.idle-sweep-interval:PT1S}")
+    private Duration idleSweepInterval = Duration.ofSeconds(1);
+
+    private final ConcurrentMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Endpoint, Limit> limits = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> throttledCounters = new EnumMap<>(Endpoint.class);
+    private final AtomicLong lastSweepNanos = new AtomicLong();
+    private LongSupplier nanoClock = System::nanoTime;
+
+    @PostConstruct
+    void init() {
+        // The first sweep may run right away
+        lastSweepNanos.set(nanoClock.getAsLong() - idleSweepInterval.toNanos());
+        limits.put(Endpoint.PLAN_GENERATION, new Limit(planGenerationCapacity, planGenerationRefillPerSecond));
+        limits.put(Endpoint.NUTRITION, new Limit(nutritionCapacity, nutritionRefillPerSecond));
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            throttledCounters.put(endpoint, Counter.builder(THROTTLED_COUNTER)
+                .description("Requests rejected with 429 by the per-client rate limiter")
+                .tag("endpoint", endpoint.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Takes one request's worth of budget for the user, or throws with the wait until the
+     * next request would be allowed.
+     */
+    public void acquire(Endpoint endpoint, Long userId) {
+        acquire(endpoint, "user:" + userId);
+    }
+
+    /**
+     * Takes one request's worth of budget for an arbitrary client key (e.g. a remote address
+     * for requests that carry no user).
+     */
+    public void acquire(Endpoint endpoint, String client) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        BucketKey key = new BucketKey(endpoint, client);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (!makeRoomForNewClient(now)) {
+                log.debug("Rate limiter is tracking {} clients, turning away new client {}", buckets.size(), client);
+                throw throttled(endpoint, client, idleSweepInterval.toNanos());
+            }
+            Limit limit = limits.get(endpoint);
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.refillPerSecond(), now));
+        }
+
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            throw throttled(endpoint, client, waitNanos);
+        }
+    }
+
+    private RateLimitExceededException throttled(Endpoint endpoint, String client, long waitNanos) {
+        throttledCounters.get(endpoint).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.warn("Rate limit exceeded for {} on {}, retry after {}s", client, endpoint, retryAfterSeconds);
+        return new RateLimitExceededException("Too many requests, please retry later", retryAfterSeconds);
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * A full bucket behaves exactly like a missing one, so dropping them bounds memory
+     * without forgiving anyone who is currently being throttled. The sweep is O(n), so only
+     * the thread that advances the last sweep time runs it; the others just see whether there
+     * is room. Clients arriving together may overshoot the bound by the number of request threads.
+     */
+    private boolean makeRoomForNewClient(long now) {
+        if (buckets.size() < maxTrackedClients) {
+            return true;
+        }
+        long lastSweep = lastSweepNanos.get();
+        if (now - lastSweep >= idleSweepInterval.toNanos() && lastSweepNanos.compareAndSet(lastSweep, now)) {
+            int before = buckets.size();
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+            log.debug("Swept {} idle rate limit buckets", before - buckets.size());
+        }
+        return buckets.size() < maxTrackedClients;
+    }
+}
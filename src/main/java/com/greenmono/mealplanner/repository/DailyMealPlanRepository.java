@@ -1,12 +1,18 @@
 package com.greenmono.mealplanner.repository;
 
 import com.greenmono.mealplanner.entity.DailyMealPlan;
+import com.greenmono.mealplanner.repository.projection.ArchivedDay;
+import com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary;
+import com.greenmono.mealplanner.repository.projection.PantryStamp;
+import com.greenmono.mealplanner.repository.projection.ShoppingListLine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +33,79 @@ public interface DailyMealPlanRepository extends JpaRepository<DailyMealPlan, Lo
 
     @Query("SELECT dmp FROM DailyMealPlan dmp WHERE dmp.menuPlan.userId = :userId AND dmp.mealDate BETWEEN :startDate AND :endDate")
     List<DailyMealPlan> findByUserIdAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary(" +
+           "dmp.menuPlan.id, dmp.id, dmp.dayNumber, dmp.mealDate, dmp.soupRecipe.id, dmp.mainCourseRecipe.id, " +
+           "dmp.sideDishRecipe.id, dmp.breakfastMeal.id, dmp.lunchMeal.id, dmp.dinnerMeal.id, dmp.snackMeal.id, " +
+           "dmp.totalCalories, dmp.notes) " +
+           "FROM DailyMealPlan dmp WHERE dmp.menuPlan.id IN :menuPlanIds ORDER BY dmp.menuPlan.id, dmp.dayNumber")
+    List<DailyMealPlanSummary> findSummariesByMenuPlanIdIn(@Param("menuPlanIds") Collection<Long> menuPlanIds);
+
+    /**
+     * Like {@link #findSummariesByMenuPlanIdIn} for plans known to lie within a date range; the
+     * meal date bounds let PostgreSQL skip the monthly partitions outside it
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary(" +
+           "dmp.menuPlan.id, dmp.id, dmp.dayNumber, dmp.mealDate, dmp.soupRecipe.id, dmp.mainCourseRecipe.id, " +
+           "dmp.sideDishRecipe.id, dmp.breakfastMeal.id, dmp.lunchMeal.id, dmp.dinnerMeal.id, dmp.snackMeal.id, " +
+           "dmp.totalCalories, dmp.notes) " +
+           "FROM DailyMealPlan dmp WHERE dmp.menuPlan.id IN :menuPlanIds " +
+           "AND dmp.mealDate BETWEEN :startDate AND :endDate ORDER BY dmp.menuPlan.id, dmp.dayNumber")
+    List<DailyMealPlanSummary> findSummariesByMenuPlanIdInAndMealDateBetween(
+            @Param("menuPlanIds") Collection<Long> menuPlanIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary(" +
+           "dmp.menuPlan.id, dmp.id, dmp.dayNumber, dmp.mealDate, dmp.soupRecipe.id, dmp.mainCourseRecipe.id, " +
+           "dmp.sideDishRecipe.id, dmp.breakfastMeal.id, dmp.lunchMeal.id, dmp.dinnerMeal.id, dmp.snackMeal.id, " +
+           "dmp.totalCalories, dmp.notes) " +
+           "FROM DailyMealPlan dmp WHERE dmp.menuPlan.id = :menuPlanId AND dmp.dayNumber = :dayNumber")
+    Optional<DailyMealPlanSummary> findSummaryByMenuPlanIdAndDayNumber(@Param("menuPlanId") Long menuPlanId,
+                                                                       @Param("dayNumber") Integer dayNumber);
+
+    /**
+     * How often a recipe occurs in a plan, over all days and courses
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN dmp.soupRecipe.id = :recipeId THEN 1 ELSE 0 END + " +
+           "CASE WHEN dmp.mainCourseRecipe.id = :recipeId THEN 1 ELSE 0 END + " +
+           "CASE WHEN dmp.sideDishRecipe.id = :recipeId THEN 1 ELSE 0 END), 0) " +
+           "FROM DailyMealPlan dmp WHERE dmp.menuPlan.id = :menuPlanId")
+    long countRecipeUses(@Param("menuPlanId") Long menuPlanId, @Param("recipeId") Long recipeId);
+
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.ArchivedDay(" +
+           "dmp.menuPlan.id, dmp.dayNumber, dmp.mealDate, dmp.soupRecipe.id, dmp.mainCourseRecipe.id, " +
+           "dmp.sideDishRecipe.id, dmp.breakfastMeal.id, dmp.lunchMeal.id, dmp.dinnerMeal.id, dmp.snackMeal.id, " +
+           "dmp.totalCalories, dmp.notes) " +
+           "FROM DailyMealPlan dmp WHERE dmp.menuPlan.id IN :menuPlanIds ORDER BY dmp.menuPlan.id, dmp.dayNumber")
+    List<ArchivedDay> findArchivedDays(@Param("menuPlanIds") Collection<Long> menuPlanIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM DailyMealPlan dmp WHERE dmp.menuPlan.id IN :menuPlanIds")
+    int deleteByMenuPlanIdIn(@Param("menuPlanIds") Collection<Long> menuPlanIds);
+
+    /**
+     * Required ingredient quantities of every recipe of a plan's days, summed per ingredient and
+     * recipe unit; a recipe used on several days counts once per day
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.ShoppingListLine(" +
+           "i.id, i.name, i.category, ri.unit, SUM(ri.quantity), i.quantity, i.unit, i.available, i.userId) " +
+           "FROM DailyMealPlan dmp JOIN RecipeIngredient ri ON ri.recipe.id = dmp.soupRecipe.id " +
+           "OR ri.recipe.id = dmp.mainCourseRecipe.id OR ri.recipe.id = dmp.sideDishRecipe.id " +
+           "JOIN ri.ingredient i " +
+           "WHERE dmp.menuPlan.id = :menuPlanId AND ri.optional = false " +
+           "GROUP BY i.id, i.name, i.category, ri.unit, i.quantity, i.unit, i.available, i.userId " +
+           "ORDER BY i.name, i.id")
+    List<ShoppingListLine> findShoppingListLines(@Param("menuPlanId") Long menuPlanId);
+
+    /**
+     * Stamp over the ingredient rows {@link #findShoppingListLines} reads for a plan; it costs as
+     * much as the plan's days however many shared ingredients exist
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.PantryStamp(COUNT(DISTINCT i.id), MAX(i.updatedAt)) " +
+           "FROM DailyMealPlan dmp JOIN RecipeIngredient ri ON ri.recipe.id = dmp.soupRecipe.id " +
+           "OR ri.recipe.id = dmp.mainCourseRecipe.id OR ri.recipe.id = dmp.sideDishRecipe.id " +
+           "JOIN ri.ingredient i " +
+           "WHERE dmp.menuPlan.id = :menuPlanId AND ri.optional = false")
+    PantryStamp findShoppingListPantryStamp(@Param("menuPlanId") Long menuPlanId);
 }
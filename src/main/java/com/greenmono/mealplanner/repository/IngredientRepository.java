@@ -1,9 +1,12 @@
 package com.greenmono.mealplanner.repository;
 
 import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.repository.projection.IngredientSummary;
+import com.greenmono.mealplanner.repository.projection.PantryStamp;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +19,14 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
 
     Page<Ingredient> findByCategory(Ingredient.IngredientCategory category, Pageable pageable);
 
+    @Query(value = IngredientSummary.SELECT + "FROM Ingredient i",
+           countQuery = "SELECT COUNT(i) FROM Ingredient i")
+    Page<IngredientSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = IngredientSummary.SELECT + "FROM Ingredient i WHERE i.category = :category",
+           countQuery = "SELECT COUNT(i) FROM Ingredient i WHERE i.category = :category")
+    Page<IngredientSummary> findSummariesByCategory(@Param("category") Ingredient.IngredientCategory category, Pageable pageable);
+
     List<Ingredient> findByUserId(Long userId);
 
     List<Ingredient> findByUserIdAndAvailableTrue(Long userId);
@@ -34,8 +45,37 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
     @Query("SELECT i FROM Ingredient i WHERE (i.userId = :userId OR i.userId IS NULL) AND i.available = true AND (i.expiryDate IS NULL OR i.expiryDate >= :currentDate)")
     List<Ingredient> findAvailableIngredientsForUserOrGlobal(@Param("userId") Long userId, @Param("currentDate") LocalDate currentDate);
 
+    /**
+     * Availability backed by the expiry sweep: expired rows are already flipped to
+     * available = false, so no per-query date comparison is needed.
+     */
+    @Query("SELECT i FROM Ingredient i WHERE i.userId = :userId AND i.available = true")
+    List<Ingredient> findAvailableIngredientsForUser(@Param("userId") Long userId);
+
+    @Query("SELECT i FROM Ingredient i WHERE (i.userId = :userId OR i.userId IS NULL) AND i.available = true")
+    List<Ingredient> findAvailableIngredientsForUserOrGlobal(@Param("userId") Long userId);
+
+    /**
+     * Stamp over every row the planner reads for the user, available or not, so availability
+     * flips and deletes show up too
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.PantryStamp(COUNT(i), MAX(i.updatedAt)) " +
+           "FROM Ingredient i WHERE i.userId = :userId OR i.userId IS NULL")
+    PantryStamp findPantryStamp(@Param("userId") Long userId);
+
+    /**
+     * Next batch of still-available ingredients that expired before the given date
+     */
+    List<Ingredient> findByAvailableTrueAndExpiryDateBeforeOrderByExpiryDateAsc(LocalDate date, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Ingredient i SET i.available = false, i.updatedAt = CURRENT_TIMESTAMP WHERE i.id IN :ids AND i.available = true")
+    int markUnavailable(@Param("ids") List<Long> ids);
+
     @Query("SELECT i FROM Ingredient i WHERE i.name LIKE %:searchTerm% OR i.notes LIKE %:searchTerm%")
     List<Ingredient> searchIngredients(@Param("searchTerm") String searchTerm);
 
     boolean existsByUserIdAndName(Long userId, String name);
+
+    long countByAvailableTrue();
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -37,4 +38,19 @@ public interface MealRepository extends JpaRepository<Meal, Long> {
     List<Meal> findByTags(@Param("tags") List<String> tags);
 
     boolean existsByUserIdAndName(Long userId, String name);
+
+    /**
+     * Active meals of the given types owned by the user or shared, with their nutritional info
+     * fetched in the same query; ordered by ID so seeded plans do not depend on row order
+     */
+    @Query("SELECT m FROM Meal m LEFT JOIN FETCH m.nutritionalInfo " +
+           "WHERE m.active = true AND (m.userId = :userId OR m.userId IS NULL) AND m.mealType IN :mealTypes ORDER BY m.id")
+    List<Meal> findPlannableMeals(@Param("userId") Long userId, @Param("mealTypes") Collection<Meal.MealType> mealTypes);
+
+    /**
+     * The given meals with their nutritional info fetched in the same query, for the meal slots
+     * of plan listings
+     */
+    @Query("SELECT m FROM Meal m LEFT JOIN FETCH m.nutritionalInfo WHERE m.id IN :ids")
+    List<Meal> findWithNutritionByIdIn(@Param("ids") Collection<Long> ids);
 }
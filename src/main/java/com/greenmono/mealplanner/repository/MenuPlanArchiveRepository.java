@@ -0,0 +1,13 @@
+package com.greenmono.mealplanner.repository;
+
+import com.greenmono.mealplanner.entity.MenuPlanArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MenuPlanArchiveRepository extends JpaRepository<MenuPlanArchive, Long> {
+
+    List<MenuPlanArchive> findByUserIdOrderByStartDateDesc(Long userId);
+}
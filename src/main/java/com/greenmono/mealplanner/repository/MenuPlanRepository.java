@@ -1,8 +1,15 @@
 package com.greenmono.mealplanner.repository;
 
 import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.repository.projection.MenuPlanSummary;
+import com.greenmono.mealplanner.repository.projection.PlanStamp;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,5 +44,46 @@ public interface MenuPlanRepository extends JpaRepository<MenuPlan, Long> {
     @Query("SELECT mp FROM MenuPlan mp WHERE mp.userId = :userId AND mp.isBalanced = true")
     List<MenuPlan> findBalancedMenuPlansByUserId(@Param("userId") Long userId);
 
+    @Query(MenuPlanSummary.SELECT + "FROM MenuPlan mp WHERE mp.id = :id")
+    Optional<MenuPlanSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(MenuPlanSummary.SELECT + "FROM MenuPlan mp WHERE mp.userId = :userId AND mp.status = :status")
+    List<MenuPlanSummary> findSummariesByUserIdAndStatus(@Param("userId") Long userId, @Param("status") MenuPlan.MenuPlanStatus status);
+
+    @Query(MenuPlanSummary.SELECT + "FROM MenuPlan mp WHERE mp.userId = :userId AND mp.isBalanced = true")
+    List<MenuPlanSummary> findBalancedSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(MenuPlanSummary.SELECT + "FROM MenuPlan mp WHERE mp.userId = :userId AND mp.startDate >= :startDate AND mp.endDate <= :endDate")
+    List<MenuPlanSummary> findSummariesBetweenDates(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Plans of a status that ended before a date, oldest first, row-locked for the calling
+     * transaction. A lock timeout of -2 is Hibernate's SKIP LOCKED: plans another instance is
+     * already archiving are skipped instead of archived twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT mp FROM MenuPlan mp WHERE mp.status = :status AND mp.endDate < :date ORDER BY mp.endDate, mp.id")
+    List<MenuPlan> findByStatusAndEndDateBeforeForUpdate(@Param("status") MenuPlan.MenuPlanStatus status, @Param("date") LocalDate date, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM MenuPlan mp WHERE mp.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
     boolean existsByUserIdAndStatus(Long userId, MenuPlan.MenuPlanStatus status);
+
+    /**
+     * A plan row-locked for the calling transaction, for changes computed from its stored totals
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT mp FROM MenuPlan mp WHERE mp.id = :id")
+    Optional<MenuPlan> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Version stamp of a plan and its days, or empty if the plan does not exist
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.PlanStamp(" +
+           "mp.userId, mp.updatedAt, COUNT(d), MAX(d.updatedAt)) " +
+           "FROM MenuPlan mp LEFT JOIN mp.dailyMealPlans d WHERE mp.id = :id GROUP BY mp.id, mp.userId, mp.updatedAt")
+    Optional<PlanStamp> findPlanStamp(@Param("id") Long id);
 }
@@ -1,6 +1,7 @@
 package com.greenmono.mealplanner.repository;
 
 import com.greenmono.mealplanner.entity.NutritionalInfo;
+import com.greenmono.mealplanner.repository.projection.IngredientNutritionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,6 +30,16 @@ public interface NutritionalInfoRepository extends JpaRepository<NutritionalInfo
     @Query("SELECT ni FROM NutritionalInfo ni WHERE ni.carbohydrates <= :maxCarbs")
     List<NutritionalInfo> findLowCarbItems(@Param("maxCarbs") BigDecimal maxCarbs);
 
+    /**
+     * Every ingredient's nutrition as plain columns, for the catalog-wide recompute
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.IngredientNutritionRow(" +
+           "ni.ingredient.id, ni.servingSize, ni.servingUnit, ni.calories, ni.protein, ni.carbohydrates, ni.fat, " +
+           "ni.fiber, ni.sugar, ni.sodium, ni.cholesterol, ni.saturatedFat, ni.transFat, ni.vitaminA, ni.vitaminC, " +
+           "ni.vitaminD, ni.calcium, ni.iron, ni.potassium) " +
+           "FROM NutritionalInfo ni WHERE ni.ingredient IS NOT NULL")
+    List<IngredientNutritionRow> findIngredientNutritionRows();
+
     boolean existsByIngredientId(Long ingredientId);
 
     boolean existsByMealId(Long mealId);
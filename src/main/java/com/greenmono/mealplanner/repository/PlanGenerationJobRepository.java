@@ -0,0 +1,66 @@
+package com.greenmono.mealplanner.repository;
+
+import com.greenmono.mealplanner.entity.PlanGenerationJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PlanGenerationJobRepository extends JpaRepository<PlanGenerationJob, Long> {
+
+    /**
+     * Oldest queued jobs, row-locked for the calling transaction.
+     * A lock timeout of -2 is Hibernate's SKIP LOCKED: rows already claimed by another
+     * worker are skipped instead of waited on.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM PlanGenerationJob j WHERE j.status = 'QUEUED' ORDER BY j.id")
+    List<PlanGenerationJob> findQueuedForUpdate(Pageable pageable);
+
+    /**
+     * Running jobs whose worker went away (e.g. the instance was restarted mid-job)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM PlanGenerationJob j WHERE j.status = 'RUNNING' AND j.startedAt < :startedBefore")
+    List<PlanGenerationJob> findStaleRunningForUpdate(@Param("startedBefore") LocalDateTime startedBefore);
+
+    /**
+     * Finishes a job only if it is still running the given attempt, so a worker whose job was
+     * recovered and claimed again cannot overwrite the newer attempt's outcome.
+     *
+     * @return 1 if the job was finished, 0 if the completion was stale
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PlanGenerationJob j SET j.status = :status, j.menuPlanId = :menuPlanId, "
+        + "j.errorMessage = :errorMessage, j.finishedAt = :now, j.updatedAt = :now "
+        + "WHERE j.id = :id AND j.status = 'RUNNING' AND j.attempts = :attempts")
+    int finishRunning(@Param("id") Long id, @Param("attempts") int attempts,
+                      @Param("status") PlanGenerationJob.JobStatus status, @Param("menuPlanId") Long menuPlanId,
+                      @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    /**
+     * Puts a job back on the queue only if it is still running the given attempt.
+     *
+     * @return 1 if the job was requeued, 0 if the failure was stale
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PlanGenerationJob j SET j.status = 'QUEUED', j.startedAt = NULL, "
+        + "j.errorMessage = :errorMessage, j.updatedAt = :now "
+        + "WHERE j.id = :id AND j.status = 'RUNNING' AND j.attempts = :attempts")
+    int requeueRunning(@Param("id") Long id, @Param("attempts") int attempts,
+                       @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    long countByStatus(PlanGenerationJob.JobStatus status);
+}
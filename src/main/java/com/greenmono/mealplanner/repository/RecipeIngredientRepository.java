@@ -0,0 +1,44 @@
+package com.greenmono.mealplanner.repository;
+
+import com.greenmono.mealplanner.entity.RecipeIngredient;
+import com.greenmono.mealplanner.repository.projection.RecipeIngredientLine;
+import com.greenmono.mealplanner.repository.projection.RecipeQuantityLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long> {
+
+    /**
+     * Required (recipe, ingredient) pairs of all active recipes, without hydrating entities
+     */
+    @Query("SELECT ri.recipe.id AS recipeId, ri.ingredient.id AS ingredientId FROM RecipeIngredient ri " +
+           "WHERE ri.recipe.active = true AND ri.optional = false")
+    List<RecipeIngredientLink> findRequiredLinksForActiveRecipes();
+
+    /**
+     * Ingredient lines of the given recipes with ingredient names, without hydrating entities
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.RecipeIngredientLine(" +
+           "ri.recipe.id, ri.id, i.id, i.name, ri.quantity, ri.unit, ri.notes, ri.optional) " +
+           "FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.recipe.id IN :recipeIds ORDER BY ri.id")
+    List<RecipeIngredientLine> findLinesByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+
+    /**
+     * Quantity of every ingredient line of every recipe, grouped by recipe
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.RecipeQuantityLine(" +
+           "ri.recipe.id, ri.ingredient.id, ri.quantity, ri.unit) FROM RecipeIngredient ri ORDER BY ri.recipe.id, ri.id")
+    List<RecipeQuantityLine> findAllQuantityLines();
+
+    interface RecipeIngredientLink {
+        Long getRecipeId();
+
+        Long getIngredientId();
+    }
+}
@@ -1,6 +1,10 @@
 package com.greenmono.mealplanner.repository;
 
 import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.repository.projection.RecipeInstructionLine;
+import com.greenmono.mealplanner.repository.projection.RecipeNutritionPoint;
+import com.greenmono.mealplanner.repository.projection.RecipeNutritionValues;
+import com.greenmono.mealplanner.repository.projection.RecipeSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +34,48 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
      */
     Page<Recipe> findByActiveTrue(Pageable pageable);
 
+    /**
+     * Active recipes as read-only summaries, for list endpoints
+     */
+    @Query(value = RecipeSummary.SELECT + "FROM Recipe r WHERE r.active = true",
+           countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.active = true")
+    Page<RecipeSummary> findActiveSummaries(Pageable pageable);
+
+    /**
+     * Active recipes of a category as read-only summaries, for list endpoints
+     */
+    @Query(value = RecipeSummary.SELECT + "FROM Recipe r WHERE r.category = :category AND r.active = true",
+           countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.category = :category AND r.active = true")
+    Page<RecipeSummary> findActiveSummariesByCategory(@Param("category") Recipe.RecipeCategory category, Pageable pageable);
+
+    /**
+     * Read-only summaries of the given recipes
+     */
+    @Query(RecipeSummary.SELECT + "FROM Recipe r WHERE r.id IN :ids")
+    List<RecipeSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stored nutrition totals of every recipe, for the catalog-wide recompute
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.RecipeNutritionValues(" +
+           "r.id, r.calories, r.protein, r.carbohydrates, r.fat, r.fiber, r.updatedAt) FROM Recipe r")
+    List<RecipeNutritionValues> findAllNutritionValues();
+
+    /**
+     * Nutrition totals of every active recipe, for the in-memory nutrition range index
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.RecipeNutritionPoint(" +
+           "r.id, r.name, r.category, r.servings, r.calories, r.protein, r.carbohydrates, r.fat, r.fiber) " +
+           "FROM Recipe r WHERE r.active = true")
+    List<RecipeNutritionPoint> findActiveNutritionPoints();
+
+    /**
+     * Instruction steps of the given recipes, in step order
+     */
+    @Query("SELECT new com.greenmono.mealplanner.repository.projection.RecipeInstructionLine(r.id, INDEX(i), i) " +
+           "FROM Recipe r JOIN r.instructions i WHERE r.id IN :ids ORDER BY r.id, INDEX(i)")
+    List<RecipeInstructionLine> findInstructionLines(@Param("ids") Collection<Long> recipeIds);
+
     /**
      * Find recipes by user ID
      */
@@ -0,0 +1,24 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+
+/**
+ * Everything a stored day holds, as written into a {@code MenuPlanArchive}; the plan ID only
+ * groups days by plan and is not serialized.
+ */
+public record ArchivedDay(
+        @JsonIgnore Long menuPlanId,
+        Integer dayNumber,
+        LocalDate mealDate,
+        Long soupRecipeId,
+        Long mainCourseRecipeId,
+        Long sideDishRecipeId,
+        Long breakfastMealId,
+        Long lunchMealId,
+        Long dinnerMealId,
+        Long snackMealId,
+        Integer totalCalories,
+        String notes) {
+}
@@ -0,0 +1,23 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * One day of a menu plan with its recipes and meal slots as foreign keys, which resolve to
+ * {@link RecipeSummary} rows and meals in one follow-up query each.
+ */
+public record DailyMealPlanSummary(
+        Long menuPlanId,
+        Long id,
+        Integer dayNumber,
+        LocalDate mealDate,
+        Long soupRecipeId,
+        Long mainCourseRecipeId,
+        Long sideDishRecipeId,
+        Long breakfastMealId,
+        Long lunchMealId,
+        Long dinnerMealId,
+        Long snackMealId,
+        Integer totalCalories,
+        String notes) {
+}
@@ -0,0 +1,30 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+
+import java.math.BigDecimal;
+
+/**
+ * An ingredient's nutrition per serving, without hydrating the nutrition or ingredient entity.
+ */
+public record IngredientNutritionRow(
+        Long ingredientId,
+        BigDecimal servingSize,
+        Ingredient.Unit servingUnit,
+        BigDecimal calories,
+        BigDecimal protein,
+        BigDecimal carbohydrates,
+        BigDecimal fat,
+        BigDecimal fiber,
+        BigDecimal sugar,
+        BigDecimal sodium,
+        BigDecimal cholesterol,
+        BigDecimal saturatedFat,
+        BigDecimal transFat,
+        BigDecimal vitaminA,
+        BigDecimal vitaminC,
+        BigDecimal vitaminD,
+        BigDecimal calcium,
+        BigDecimal iron,
+        BigDecimal potassium) {
+}
@@ -0,0 +1,31 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only ingredient columns for list responses; skips the nutritional info and meal associations.
+ */
+public record IngredientSummary(
+        Long id,
+        String name,
+        Ingredient.IngredientCategory category,
+        BigDecimal quantity,
+        Ingredient.Unit unit,
+        LocalDate expiryDate,
+        String notes,
+        Boolean available,
+        Long userId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * JPQL select list matching the constructor, for an {@code Ingredient} aliased as {@code i}.
+     */
+    public static final String SELECT = "SELECT new com.greenmono.mealplanner.repository.projection.IngredientSummary("
+            + "i.id, i.name, i.category, i.quantity, i.unit, i.expiryDate, i.notes, i.available, i.userId, "
+            + "i.createdAt, i.updatedAt) ";
+}
@@ -0,0 +1,34 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.greenmono.mealplanner.entity.MenuPlan;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only menu plan columns for list responses; days are loaded separately as
+ * {@link DailyMealPlanSummary} rows.
+ */
+public record MenuPlanSummary(
+        Long id,
+        String name,
+        String description,
+        Long userId,
+        LocalDate startDate,
+        LocalDate endDate,
+        MenuPlan.MenuPlanStatus status,
+        Integer totalCalories,
+        Integer averageDailyCalories,
+        String notes,
+        Boolean isBalanced,
+        Double balanceScore,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * JPQL select list matching the constructor, for a {@code MenuPlan} aliased as {@code mp}.
+     */
+    public static final String SELECT = "SELECT new com.greenmono.mealplanner.repository.projection.MenuPlanSummary("
+            + "mp.id, mp.name, mp.description, mp.userId, mp.startDate, mp.endDate, mp.status, mp.totalCalories, "
+            + "mp.averageDailyCalories, mp.notes, mp.isBalanced, mp.balanceScore, mp.createdAt, mp.updatedAt) ";
+}
@@ -0,0 +1,10 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version stamp of a set of ingredient rows, such as those a user plans with or those a plan's
+ * recipes need: any insert, update or delete changes the row count or the latest update time.
+ */
+public record PantryStamp(long ingredients, LocalDateTime lastUpdated) {
+}
@@ -0,0 +1,10 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version stamp of a menu plan and its days: generating, extending or swapping a dish changes
+ * the day count or one of the update times.
+ */
+public record PlanStamp(Long userId, LocalDateTime planUpdated, long days, LocalDateTime daysUpdated) {
+}
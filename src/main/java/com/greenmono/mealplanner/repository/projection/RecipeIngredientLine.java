@@ -0,0 +1,19 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+
+import java.math.BigDecimal;
+
+/**
+ * One ingredient line of a recipe, joined with the ingredient name.
+ */
+public record RecipeIngredientLine(
+        Long recipeId,
+        Long id,
+        Long ingredientId,
+        String ingredientName,
+        BigDecimal quantity,
+        Ingredient.Unit unit,
+        String notes,
+        Boolean optional) {
+}
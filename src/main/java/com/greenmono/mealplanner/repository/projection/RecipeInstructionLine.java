@@ -0,0 +1,7 @@
+package com.greenmono.mealplanner.repository.projection;
+
+/**
+ * One instruction step of a recipe.
+ */
+public record RecipeInstructionLine(Long recipeId, Integer stepOrder, String instruction) {
+}
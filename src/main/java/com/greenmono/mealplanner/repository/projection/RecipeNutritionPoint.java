@@ -0,0 +1,20 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.greenmono.mealplanner.entity.Recipe;
+
+import java.math.BigDecimal;
+
+/**
+ * A recipe's stored nutrition totals with what is needed to index them per serving.
+ */
+public record RecipeNutritionPoint(
+        Long id,
+        String name,
+        Recipe.RecipeCategory category,
+        Integer servings,
+        BigDecimal calories,
+        BigDecimal protein,
+        BigDecimal carbohydrates,
+        BigDecimal fat,
+        BigDecimal fiber) {
+}
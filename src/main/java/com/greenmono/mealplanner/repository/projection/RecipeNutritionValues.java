@@ -0,0 +1,17 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A recipe's stored nutrition totals, with the update time they were read at.
+ */
+public record RecipeNutritionValues(
+        Long id,
+        BigDecimal calories,
+        BigDecimal protein,
+        BigDecimal carbohydrates,
+        BigDecimal fat,
+        BigDecimal fiber,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,11 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+
+import java.math.BigDecimal;
+
+/**
+ * How much of an ingredient one recipe line uses.
+ */
+public record RecipeQuantityLine(Long recipeId, Long ingredientId, BigDecimal quantity, Ingredient.Unit unit) {
+}
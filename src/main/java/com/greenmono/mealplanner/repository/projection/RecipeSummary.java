@@ -0,0 +1,36 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.greenmono.mealplanner.entity.Recipe;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only recipe columns for list responses, selected with a constructor expression so
+ * no managed entity, snapshot or lazy collection proxy is created.
+ */
+public record RecipeSummary(
+        Long id,
+        String name,
+        String description,
+        Recipe.RecipeCategory category,
+        Integer cookingTimeMinutes,
+        Integer servings,
+        BigDecimal calories,
+        BigDecimal protein,
+        BigDecimal carbohydrates,
+        BigDecimal fat,
+        BigDecimal fiber,
+        String imageUrl,
+        Long userId,
+        Boolean active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * JPQL select list matching the constructor, for a {@code Recipe} aliased as {@code r}.
+     */
+    public static final String SELECT = "SELECT new com.greenmono.mealplanner.repository.projection.RecipeSummary("
+            + "r.id, r.name, r.description, r.category, r.cookingTimeMinutes, r.servings, r.calories, r.protein, "
+            + "r.carbohydrates, r.fat, r.fiber, r.imageUrl, r.userId, r.active, r.createdAt, r.updatedAt) ";
+}
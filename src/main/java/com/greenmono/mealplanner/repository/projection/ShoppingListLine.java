@@ -0,0 +1,21 @@
+package com.greenmono.mealplanner.repository.projection;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+
+import java.math.BigDecimal;
+
+/**
+ * How much of one ingredient, in one recipe unit, a plan's recipes need in total, with the
+ * ingredient row's own stock.
+ */
+public record ShoppingListLine(
+        Long ingredientId,
+        String name,
+        Ingredient.IngredientCategory category,
+        Ingredient.Unit unit,
+        BigDecimal quantity,
+        BigDecimal stockQuantity,
+        Ingredient.Unit stockUnit,
+        Boolean available,
+        Long ownerId) {
+}
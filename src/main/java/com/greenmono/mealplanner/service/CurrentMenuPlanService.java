@@ -0,0 +1,82 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.concurrent.CoalescingLoader;
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves a user's active menu plan for the "current menu" screen, which everyone opens at
+ * the same time around meals.
+ *
+ * Concurrent requests for the same user share one database read, and results are reused
+ * for a short fresh window followed by a stale-while-revalidate window. Plan changes
+ * invalidate the user's entry as soon as they commit: directly on this instance, and through
+ * the cache invalidation bus on the others. If the bus is unavailable, changes made on other
+ * instances show up within {@code fresh-for + stale-for}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentMenuPlanService {
+
+    private final MenuPlanService menuPlanService;
+
+    @Value("${meal-planner.current-menu.fresh-for:PT2S}")
+    private Duration freshFor = Duration.ofSeconds(2);
+
+    @Value("${meal-planner.current-menu.stale-for:PT10S}")
+    private Duration staleFor = Duration.ofSeconds(10);
+
+    @Value("${meal-planner.current-menu.max-entries:10000}")
+    private int maxEntries = 10_000;
+
+    private ExecutorService refreshExecutor;
+    private CoalescingLoader<Long, MenuPlanResponse> activePlans;
+
+    @PostConstruct
+    void start() {
+        refreshExecutor = Executors.newFixedThreadPool(2, new CustomizableThreadFactory("current-menu-refresh-"));
+        activePlans = new CoalescingLoader<>(freshFor, staleFor, maxEntries, refreshExecutor);
+    }
+
+    @PreDestroy
+    void stop() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public MenuPlanResponse getActiveMenuPlan(Long userId) {
+        return activePlans.get(userId, () -> menuPlanService.getActiveMenuPlan(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuPlanChanged(MenuPlanChangedEvent event) {
+        log.debug("Invalidating cached active menu plan for user {}", event.getUserId());
+        activePlans.invalidate(event.getUserId());
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getEntityType() != CacheInvalidationEvent.EntityType.USER_MENU_PLAN) {
+            return;
+        }
+        if (event.getEntityId() == null) {
+            activePlans.invalidateAll();
+        } else {
+            activePlans.invalidate(event.getEntityId());
+        }
+    }
+}
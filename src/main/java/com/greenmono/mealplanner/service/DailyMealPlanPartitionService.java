@@ -0,0 +1,102 @@
+package com.greenmono.mealplanner.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Keeps the monthly partitions of {@code daily_meal_plans} ahead of the plans being generated
+ * and drops old ones once archiving has emptied them.
+ *
+ * The partition DDL lives in the database functions of the V18 migration, serialized across
+ * instances by an advisory lock since V21; this only decides which months to ask for. Days of a month without a partition wait in the default partition
+ * and are moved when their month is created. Only PostgreSQL has the functions, so other
+ * databases run with {@code meal-planner.partitioning.enabled=false}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyMealPlanPartitionService {
+
+    static final String CREATE_SQL = "SELECT create_daily_meal_plan_partition(?)";
+    static final String DROP_EMPTY_SQL = "SELECT drop_empty_daily_meal_plan_partitions(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${meal-planner.partitioning.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${meal-planner.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Daily check; also runs once on startup so a new month never starts without its partition.
+     */
+    @Scheduled(cron = "${meal-planner.partitioning.cron:0 0 1 * * *}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduledMaintenance() {
+        if (!enabled) {
+            log.debug("Daily meal plan partitioning is disabled");
+            return;
+        }
+        createUpcomingPartitions();
+    }
+
+    /**
+     * Creates the partitions of this month and the next {@code months-ahead} months that do not
+     * exist yet.
+     *
+     * @return number of partitions created
+     */
+    public int createUpcomingPartitions() {
+        LocalDate today = LocalDate.now(clock);
+        return createPartitions(today, today.plusMonths(monthsAhead));
+    }
+
+    /**
+     * Creates the partitions of every month from the one holding {@code from} to the one holding
+     * {@code to} that do not exist yet, e.g. before loading plans dated in the past.
+     *
+     * @return number of partitions created
+     */
+    public int createPartitions(LocalDate from, LocalDate to) {
+        int created = 0;
+        for (LocalDate month = from.withDayOfMonth(1); !month.isAfter(to); month = month.plusMonths(1)) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(CREATE_SQL, Boolean.class, month))) {
+                log.info("Created daily meal plan partition for {}", month);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Drops the empty partitions of months that ended on or before a date.
+     *
+     * @return number of partitions dropped, 0 when partitioning is disabled
+     */
+    public int dropEmptyPartitionsBefore(LocalDate date) {
+        if (!enabled) {
+            return 0;
+        }
+        Integer dropped = jdbcTemplate.queryForObject(DROP_EMPTY_SQL, Integer.class, date);
+        if (dropped != null && dropped > 0) {
+            log.info("Dropped {} empty daily meal plan partitions before {}", dropped, date);
+        }
+        return dropped != null ? dropped : 0;
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+}
@@ -0,0 +1,175 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.export.ExportFormat;
+import com.greenmono.mealplanner.export.ExportWriter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exports menu plan days and recipes as CSV or JSON lines, streamed row by row from a database
+ * cursor to the caller's output stream.
+ *
+ * Each export is one forward-only, read-only query whose rows are fetched {@code fetch-size} at
+ * a time and written as they arrive, so memory stays flat however many rows match. The query
+ * runs in a read-only transaction: PostgreSQL only fetches through a cursor with autocommit off,
+ * and a read-only transaction is routed to the read replica when one is configured.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DataExportService {
+
+    static final List<String> MENU_PLAN_DAY_COLUMNS = List.of(
+        "menu_plan_id", "menu_plan_name", "status", "is_balanced", "day_number", "meal_date",
+        "soup_recipe_id", "soup_recipe_name", "main_course_recipe_id", "main_course_recipe_name",
+        "side_dish_recipe_id", "side_dish_recipe_name", "total_calories");
+
+    static final List<String> RECIPE_COLUMNS = List.of(
+        "id", "name", "category", "servings", "cooking_time_minutes",
+        "calories", "protein", "carbohydrates", "fat", "fiber", "user_id");
+
+    private static final String MENU_PLAN_DAYS_SQL = """
+        SELECT mp.id, mp.name, mp.status, mp.is_balanced, d.day_number, d.meal_date,
+               d.breakfast_recipe_id, s.name, d.lunch_recipe_id, m.name, d.dinner_recipe_id, sd.name,
+               d.total_calories
+        FROM menu_plans mp
+        JOIN daily_meal_plans d ON d.menu_plan_id = mp.id
+        LEFT JOIN recipes s ON s.id = d.breakfast_recipe_id
+        LEFT JOIN recipes m ON m.id = d.lunch_recipe_id
+        LEFT JOIN recipes sd ON sd.id = d.dinner_recipe_id
+        WHERE mp.user_id = ?
+        """;
+
+    private static final String RECIPES_SQL = """
+        SELECT id, name, category, servings, cooking_time_minutes,
+               calories, protein, carbohydrates, fat, fiber, user_id
+        FROM recipes
+        WHERE active = TRUE
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${meal-planner.export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @FunctionalInterface
+    private interface RowReader {
+        Object[] read(ResultSet rs) throws SQLException;
+    }
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes one row per day of the user's menu plans, the same plans as the date range and
+     * balanced listings select, ordered by plan start date and day.
+     *
+     * @param startDate only plans starting on or after this date, or null for no lower bound
+     * @param endDate only plans ending on or before this date, or null for no upper bound
+     * @return the number of rows written
+     */
+    public long exportMenuPlanDays(Long userId, LocalDate startDate, LocalDate endDate, boolean balancedOnly,
+                                   ExportFormat format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(MENU_PLAN_DAYS_SQL);
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        // Days of the selected plans lie within the same bounds, which prunes day partitions
+        if (startDate != null) {
+            sql.append("AND mp.start_date >= ? AND d.meal_date >= ?\n");
+            params.add(startDate);
+            params.add(startDate);
+        }
+        if (endDate != null) {
+            sql.append("AND mp.end_date <= ? AND d.meal_date <= ?\n");
+            params.add(endDate);
+            params.add(endDate);
+        }
+        if (balancedOnly) {
+            sql.append("AND mp.is_balanced = TRUE\n");
+        }
+        sql.append("ORDER BY mp.start_date, mp.id, d.day_number");
+
+        long rows = export(sql.toString(), params, MENU_PLAN_DAY_COLUMNS, format, out, rs -> new Object[]{
+            rs.getObject(1, Long.class), rs.getString(2), rs.getString(3), rs.getObject(4, Boolean.class),
+            rs.getObject(5, Integer.class), rs.getObject(6, LocalDate.class),
+            rs.getObject(7, Long.class), rs.getString(8), rs.getObject(9, Long.class), rs.getString(10),
+            rs.getObject(11, Long.class), rs.getString(12), rs.getObject(13, Integer.class)
+        });
+        log.info("Exported {} menu plan days for user {} as {}", rows, userId, format);
+        return rows;
+    }
+
+    /**
+     * Writes one row per active recipe, ordered by ID.
+     *
+     * @param category only recipes of this category, or null for all
+     * @return the number of rows written
+     */
+    public long exportRecipes(Recipe.RecipeCategory category, ExportFormat format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(RECIPES_SQL);
+        List<Object> params = new ArrayList<>();
+        if (category != null) {
+            sql.append("AND category = ?\n");
+            params.add(category.name());
+        }
+        sql.append("ORDER BY id");
+
+        long rows = export(sql.toString(), params, RECIPE_COLUMNS, format, out, rs -> new Object[]{
+            rs.getObject(1, Long.class), rs.getString(2), rs.getString(3), rs.getObject(4, Integer.class),
+            rs.getObject(5, Integer.class), rs.getBigDecimal(6), rs.getBigDecimal(7), rs.getBigDecimal(8),
+            rs.getBigDecimal(9), rs.getBigDecimal(10), rs.getObject(11, Long.class)
+        });
+        log.info("Exported {} recipes as {}", rows, format);
+        return rows;
+    }
+
+    private long export(String sql, List<Object> params, List<String> columns, ExportFormat format,
+                        OutputStream out, RowReader reader) throws IOException {
+        try (ExportWriter writer = ExportWriter.open(format, out, columns)) {
+            RowCallbackHandler handler = rs -> {
+                try {
+                    writer.row(reader.read(rs));
+                } catch (IOException e) {
+                    // Usually the client went away; failing the callback closes the cursor
+                    throw new UncheckedIOException(e);
+                }
+            };
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                return ps;
+            }, handler));
+            return writer.rows();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.greenmono.mealplanner.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenmono.mealplanner.concurrent.SingleFlight;
+import com.greenmono.mealplanner.dto.MenuPlanRequest;
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.entity.IdempotencyRecord;
+import com.greenmono.mealplanner.exception.IdempotencyKeyReuseException;
+import com.greenmono.mealplanner.exception.InvalidIdempotencyKeyException;
+import com.greenmono.mealplanner.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Front door for synchronous plan generation that makes client retries cheap.
+ *
+ * With an Idempotency-Key, the first successful attempt is recorded and later attempts
+ * with the same key replay its plan instead of generating a new one. Concurrent identical
+ * requests (same key, or same body when no key is sent) are coalesced in-process so only
+ * one generation runs and every waiter receives its result.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotentPlanGenerationService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final MenuPlannerService menuPlannerService;
+    private final MenuPlanService menuPlanService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${meal-planner.idempotency.ttl:PT24H}")
+    private Duration ttl = Duration.ofHours(24);
+
+    private final SingleFlight<String, MenuPlanResponse> singleFlight = new SingleFlight<>();
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Generates a plan, or replays the plan previously produced for the same idempotency key.
+     *
+     * @param idempotencyKey client supplied key, may be null
+     */
+    public MenuPlanResponse generate(MenuPlanRequest request, String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH)) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+
+        if (idempotencyKey == null) {
+            return singleFlight.execute("body:" + requestHash,
+                () -> menuPlannerService.generateBalancedMenuPlan(request));
+        }
+
+        // The hash is part of the flight key so a reused key with a different body is never handed another body's plan
+        String flightKey = "key:" + request.getUserId() + ":" + idempotencyKey + ":" + requestHash;
+        return singleFlight.execute(flightKey, () -> generateOnce(request, idempotencyKey, requestHash));
+    }
+
+    @Scheduled(cron = "${meal-planner.idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpiredKeys() {
+        Integer purged = transactionTemplate.execute(status ->
+            idempotencyRecordRepository.deleteExpired(LocalDateTime.now(clock)));
+        log.debug("Purged {} expired idempotency keys", purged);
+    }
+
+    private MenuPlanResponse generateOnce(MenuPlanRequest request, String idempotencyKey, String requestHash) {
+        Optional<IdempotencyRecord> existing =
+            idempotencyRecordRepository.findByUserIdAndIdempotencyKey(request.getUserId(), idempotencyKey);
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now)) {
+            return replay(existing.get(), requestHash);
+        }
+
+        try {
+            // Plan and key commit together: a crash can't leave a plan without its key
+            return transactionTemplate.execute(status -> {
+                // A bulk delete runs before the insert below; a queued entity delete would be flushed after
+                // it and trip the unique key. If another instance already replaced the record, nothing is
+                // deleted and the insert fails over to replaying its plan.
+                existing.ifPresent(record -> idempotencyRecordRepository.deleteIfExpired(record.getId(), now));
+
+                MenuPlanResponse response = menuPlannerService.generateBalancedMenuPlan(request);
+                idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .userId(request.getUserId())
+                    .idempotencyKey(idempotencyKey)
+                    .requestHash(requestHash)
+                    .menuPlanId(response.getId())
+                    .expiresAt(now.plus(ttl))
+                    .build());
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance recorded the key first; its plan wins and ours was rolled back
+            log.info("Idempotency key {} for user {} was claimed concurrently, replaying", idempotencyKey, request.getUserId());
+            return idempotencyRecordRepository.findByUserIdAndIdempotencyKey(request.getUserId(), idempotencyKey)
+                .map(record -> replay(record, requestHash))
+                .orElseThrow(() -> e);
+        }
+    }
+
+    private MenuPlanResponse replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException(
+                "Idempotency key '" + record.getIdempotencyKey() + "' was already used with a different request");
+        }
+        log.info("Replaying menu plan {} for idempotency key {}", record.getMenuPlanId(), record.getIdempotencyKey());
+        return menuPlanService.getMenuPlanById(record.getMenuPlanId());
+    }
+
+    private String hash(MenuPlanRequest request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash menu plan request", e);
+        }
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+}
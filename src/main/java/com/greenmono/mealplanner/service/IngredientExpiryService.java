@@ -0,0 +1,121 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.event.IngredientsExpiredEvent;
+import com.greenmono.mealplanner.repository.IngredientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flips expired ingredients to unavailable so availability queries only need
+ * the indexed {@code available = true} predicate.
+ *
+ * Each batch runs in its own short transaction, so a large backlog never holds
+ * row locks or a pooled connection for the whole sweep.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IngredientExpiryService {
+
+    private final IngredientRepository ingredientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${meal-planner.expiry-sweep.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${meal-planner.expiry-sweep.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${meal-planner.expiry-sweep.max-batches:1000}")
+    private int maxBatches = 1000;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Nightly sweep; also runs once on startup to catch up on a missed night.
+     */
+    @Scheduled(cron = "${meal-planner.expiry-sweep.cron:0 5 0 * * *}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduledSweep() {
+        if (!enabled) {
+            log.debug("Ingredient expiry sweep is disabled");
+            return;
+        }
+        sweepExpiredIngredients();
+    }
+
+    /**
+     * Marks every available ingredient whose expiry date is before today as unavailable.
+     *
+     * @return number of ingredients flipped
+     */
+    public int sweepExpiredIngredients() {
+        LocalDate today = LocalDate.now(clock);
+        log.info("Starting ingredient expiry sweep for date: {}", today);
+
+        int totalExpired = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer flipped = transactionTemplate.execute(status -> sweepBatch(today));
+            int count = flipped != null ? flipped : 0;
+            totalExpired += count;
+
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        log.info("Ingredient expiry sweep finished, {} ingredients marked unavailable", totalExpired);
+        return totalExpired;
+    }
+
+    private int sweepBatch(LocalDate today) {
+        // Always page 0: rows flipped by the previous batch no longer match
+        List<Ingredient> expired = ingredientRepository.findByAvailableTrueAndExpiryDateBeforeOrderByExpiryDateAsc(
+            today, PageRequest.of(0, batchSize));
+
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<Long>> expiredByUser = new HashMap<>();
+        List<Long> ids = new ArrayList<>(expired.size());
+        for (Ingredient ingredient : expired) {
+            ids.add(ingredient.getId());
+            expiredByUser.computeIfAbsent(ingredient.getUserId(), k -> new ArrayList<>()).add(ingredient.getId());
+        }
+
+        int updated = ingredientRepository.markUnavailable(ids);
+        log.debug("Expiry sweep batch marked {} ingredients unavailable across {} users", updated, expiredByUser.size());
+
+        // Listeners run inside the batch transaction; @TransactionalEventListener(AFTER_COMMIT) defers them
+        expiredByUser.forEach((userId, userIngredientIds) ->
+            eventPublisher.publishEvent(new IngredientsExpiredEvent(userId, List.copyOf(userIngredientIds), today)));
+
+        return expired.size();
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -4,17 +4,23 @@ import com.greenmono.mealplanner.dto.IngredientRequest;
 import com.greenmono.mealplanner.dto.IngredientResponse;
 import com.greenmono.mealplanner.dto.PageResponse;
 import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.event.IngredientChangedEvent;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
 import com.greenmono.mealplanner.exception.DuplicateIngredientException;
 import com.greenmono.mealplanner.exception.IngredientNotFoundException;
 import com.greenmono.mealplanner.mapper.IngredientMapper;
 import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.projection.IngredientSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +30,7 @@ public class IngredientService {
 
     private final IngredientRepository ingredientRepository;
     private final IngredientMapper ingredientMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public IngredientResponse createIngredient(IngredientRequest request) {
@@ -42,10 +49,19 @@ public class IngredientService {
         // Map request to entity
         Ingredient ingredient = ingredientMapper.toEntity(request);
 
+        // Already-expired items are stored unavailable; the nightly sweep handles the rest
+        if (ingredient.getExpiryDate() != null && ingredient.getExpiryDate().isBefore(LocalDate.now())) {
+            log.debug("Ingredient {} is already expired, storing as unavailable", request.getName());
+            ingredient.setAvailable(false);
+        }
+
         // Save to database
         Ingredient savedIngredient = ingredientRepository.save(ingredient);
         log.info("Successfully created ingredient with id: {}", savedIngredient.getId());
 
+        eventPublisher.publishEvent(new IngredientChangedEvent(
+                savedIngredient.getUserId(), List.of(savedIngredient.getId()), IngredientChangedEvent.Action.CREATED));
+
         // Map entity to response
         return ingredientMapper.toResponse(savedIngredient);
     }
@@ -55,19 +71,19 @@ public class IngredientService {
         log.info("Fetching ingredients with category: {}, page: {}, size: {}",
                 category, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Ingredient> ingredientPage;
+        Page<IngredientSummary> ingredientPage;
 
         if (category != null) {
-            ingredientPage = ingredientRepository.findByCategory(category, pageable);
+            ingredientPage = ingredientRepository.findSummariesByCategory(category, pageable);
             log.debug("Found {} ingredients for category: {}", ingredientPage.getTotalElements(), category);
         } else {
-            ingredientPage = ingredientRepository.findAll(pageable);
+            ingredientPage = ingredientRepository.findAllSummaries(pageable);
             log.debug("Found {} total ingredients", ingredientPage.getTotalElements());
         }
 
         return PageResponse.<IngredientResponse>builder()
                 .content(ingredientPage.getContent().stream()
-                        .map(ingredientMapper::toResponse)
+                        .map(ingredientMapper::toSummaryResponse)
                         .collect(Collectors.toList()))
                 .pageNumber(ingredientPage.getNumber())
                 .pageSize(ingredientPage.getSize())
@@ -79,19 +95,58 @@ public class IngredientService {
     }
 
     @Transactional
-    public void deleteIngredient(Long id) {
-        log.info("Deleting ingredient with id: {}", id);
+    public IngredientResponse updateIngredient(Long id, IngredientRequest request) {
+        log.info("Updating ingredient with id: {}", id);
+
+        Ingredient ingredient = ingredientRepository.findById(id)
+                .orElseThrow(() -> new IngredientNotFoundException(
+                        String.format("Ingredient not found with id: %d", id)));
 
-        // Check if ingredient exists
-        if (!ingredientRepository.existsById(id)) {
-            log.warn("Ingredient not found with id: {}", id);
-            throw new IngredientNotFoundException(
-                    String.format("Ingredient not found with id: %d", id)
+        // Renaming must not collide with another ingredient of the same owner
+        if (ingredient.getUserId() != null && !ingredient.getName().equals(request.getName()) &&
+            ingredientRepository.existsByUserIdAndName(ingredient.getUserId(), request.getName())) {
+            log.warn("Duplicate ingredient detected for user {} with name: {}",
+                    ingredient.getUserId(), request.getName());
+            throw new DuplicateIngredientException(
+                    String.format("Ingredient with name '%s' already exists for this user", request.getName())
             );
         }
 
+        ingredientMapper.updateEntity(request, ingredient);
+
+        if (ingredient.getExpiryDate() != null && ingredient.getExpiryDate().isBefore(LocalDate.now())) {
+            log.debug("Ingredient {} is expired, storing as unavailable", id);
+            ingredient.setAvailable(false);
+        }
+
+        Ingredient savedIngredient = ingredientRepository.save(ingredient);
+        log.info("Successfully updated ingredient with id: {}", id);
+
+        eventPublisher.publishEvent(new IngredientChangedEvent(
+                savedIngredient.getUserId(), List.of(id), IngredientChangedEvent.Action.UPDATED));
+
+        return ingredientMapper.toResponse(savedIngredient);
+    }
+
+    @Transactional
+    public void deleteIngredient(Long id) {
+        log.info("Deleting ingredient with id: {}", id);
+
+        Ingredient ingredient = ingredientRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Ingredient not found with id: {}", id);
+                    return new IngredientNotFoundException(
+                            String.format("Ingredient not found with id: %d", id)
+                    );
+                });
+
         // Delete the ingredient
-        ingredientRepository.deleteById(id);
+        ingredientRepository.delete(ingredient);
         log.info("Successfully deleted ingredient with id: {}", id);
+
+        // Recipe links to this ingredient are removed by ON DELETE CASCADE
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(null));
+        eventPublisher.publishEvent(new IngredientChangedEvent(
+                ingredient.getUserId(), List.of(id), IngredientChangedEvent.Action.DELETED));
     }
 }
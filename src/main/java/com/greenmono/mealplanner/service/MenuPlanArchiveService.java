@@ -0,0 +1,148 @@
+package com.greenmono.mealplanner.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.repository.DailyMealPlanRepository;
+import com.greenmono.mealplanner.repository.MenuPlanRepository;
+import com.greenmono.mealplanner.repository.projection.ArchivedDay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves completed menu plans that ended more than {@code retention} ago out of
+ * {@code menu_plans} and {@code daily_meal_plans} into the compact {@code menu_plan_archive}
+ * table, one row per plan with its days as JSON.
+ *
+ * Each batch claims, copies and deletes its plans in one short transaction, so a plan is never in
+ * both places or neither, and instances running the job at the same time archive disjoint plans.
+ * Once the backlog is archived, monthly day partitions left empty are dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuPlanArchiveService {
+
+    static final String INSERT_SQL = "INSERT INTO menu_plan_archive (id, user_id, name, start_date, end_date, " +
+        "total_calories, average_daily_calories, is_balanced, balance_score, days, created_at, archived_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final MenuPlanRepository menuPlanRepository;
+    private final DailyMealPlanRepository dailyMealPlanRepository;
+    private final DailyMealPlanPartitionService partitionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${meal-planner.archive.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${meal-planner.archive.retention:P180D}")
+    private Duration retention = Duration.ofDays(180);
+
+    @Value("${meal-planner.archive.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${meal-planner.archive.max-batches:1000}")
+    private int maxBatches = 1000;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    @Scheduled(cron = "${meal-planner.archive.cron:0 30 1 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            log.debug("Menu plan archiving is disabled");
+            return;
+        }
+        archiveCompletedPlans();
+    }
+
+    /**
+     * Archives every completed plan that ended before today minus the retention period.
+     *
+     * @return number of plans archived
+     */
+    public int archiveCompletedPlans() {
+        LocalDate cutoff = LocalDate.now(clock).minusDays(retention.toDays());
+        log.info("Starting menu plan archiving for plans completed before {}", cutoff);
+
+        int totalArchived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            int count = archived != null ? archived : 0;
+            totalArchived += count;
+
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        int dropped = partitionService.dropEmptyPartitionsBefore(cutoff);
+        log.info("Menu plan archiving finished, {} plans archived, {} partitions dropped", totalArchived, dropped);
+        return totalArchived;
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        // Always page 0: plans archived by the previous batch are gone, those claimed elsewhere skipped
+        List<MenuPlan> plans = menuPlanRepository.findByStatusAndEndDateBeforeForUpdate(
+            MenuPlan.MenuPlanStatus.COMPLETED, cutoff, PageRequest.of(0, batchSize));
+
+        if (plans.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = plans.stream().map(MenuPlan::getId).toList();
+        Map<Long, List<ArchivedDay>> daysByPlan = dailyMealPlanRepository.findArchivedDays(ids).stream()
+            .collect(Collectors.groupingBy(ArchivedDay::menuPlanId));
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now(clock));
+
+        List<Object[]> rows = new ArrayList<>(plans.size());
+        for (MenuPlan plan : plans) {
+            rows.add(new Object[]{
+                plan.getId(), plan.getUserId(), plan.getName(), plan.getStartDate(), plan.getEndDate(),
+                plan.getTotalCalories(), plan.getAverageDailyCalories(), plan.getIsBalanced(), plan.getBalanceScore(),
+                writeDays(daysByPlan.getOrDefault(plan.getId(), List.of())),
+                Timestamp.valueOf(plan.getCreatedAt()), archivedAt
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        int days = dailyMealPlanRepository.deleteByMenuPlanIdIn(ids);
+        menuPlanRepository.deleteByIdIn(ids);
+        log.debug("Archive batch moved {} plans with {} days", plans.size(), days);
+
+        return plans.size();
+    }
+
+    private String writeDays(List<ArchivedDay> days) {
+        try {
+            return objectMapper.writeValueAsString(days);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize archived days", e);
+        }
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
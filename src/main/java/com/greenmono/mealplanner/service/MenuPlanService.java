@@ -1,15 +1,34 @@
 package com.greenmono.mealplanner.service;
 
 import com.greenmono.mealplanner.dto.DailyMealPlanResponse;
+import com.greenmono.mealplanner.dto.DishSwapRequest;
+import com.greenmono.mealplanner.dto.DishSwapResponse;
+import com.greenmono.mealplanner.dto.MealSlotResponse;
 import com.greenmono.mealplanner.dto.MenuPlanResponse;
 import com.greenmono.mealplanner.dto.PageResponse;
+import com.greenmono.mealplanner.dto.RecipeResponse;
+import com.greenmono.mealplanner.entity.BalanceSums;
 import com.greenmono.mealplanner.entity.DailyMealPlan;
+import com.greenmono.mealplanner.entity.Meal;
 import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
 import com.greenmono.mealplanner.exception.MenuPlanNotFoundException;
+import com.greenmono.mealplanner.exception.RecipeNotFoundException;
 import com.greenmono.mealplanner.mapper.MenuPlanMapper;
+import com.greenmono.mealplanner.mapper.RecipeMapper;
+import com.greenmono.mealplanner.planner.BalanceState;
+import com.greenmono.mealplanner.repository.DailyMealPlanRepository;
+import com.greenmono.mealplanner.repository.MealRepository;
 import com.greenmono.mealplanner.repository.MenuPlanRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary;
+import com.greenmono.mealplanner.repository.projection.MenuPlanSummary;
+import com.greenmono.mealplanner.repository.projection.RecipeSummary;
+import com.greenmono.mealplanner.snapshot.PlanSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,16 +38,32 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MenuPlanService {
 
+    /** Plans whose dishes may still be swapped; completed and archived plans are history */
+    private static final Set<MenuPlan.MenuPlanStatus> EDITABLE_STATUSES =
+        EnumSet.of(MenuPlan.MenuPlanStatus.DRAFT, MenuPlan.MenuPlanStatus.ACTIVE);
+
     private final MenuPlanRepository menuPlanRepository;
+    private final DailyMealPlanRepository dailyMealPlanRepository;
+    private final RecipeRepository recipeRepository;
+    private final MealRepository mealRepository;
     private final MenuPlanMapper menuPlanMapper;
+    private final RecipeMapper recipeMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves a menu plan by ID
@@ -42,6 +77,14 @@ public class MenuPlanService {
         return convertToResponse(menuPlan);
     }
 
+    /**
+     * Retrieves a menu plan encoded as a binary snapshot
+     */
+    @Transactional(readOnly = true)
+    public byte[] getMenuPlanSnapshot(Long id) {
+        return PlanSnapshot.encode(getMenuPlanById(id));
+    }
+
     /**
      * Retrieves all menu plans for a user with pagination
      */
@@ -85,11 +128,7 @@ public class MenuPlanService {
     public List<MenuPlanResponse> getMenuPlansByStatus(Long userId, MenuPlan.MenuPlanStatus status) {
         log.info("Fetching menu plans for user {} with status: {}", userId, status);
 
-        List<MenuPlan> menuPlans = menuPlanRepository.findByUserIdAndStatus(userId, status);
-
-        return menuPlans.stream()
-            .map(this::convertToResponse)
-            .collect(Collectors.toList());
+        return toSummaryResponses(menuPlanRepository.findSummariesByUserIdAndStatus(userId, status));
     }
 
     /**
@@ -112,11 +151,7 @@ public class MenuPlanService {
     public List<MenuPlanResponse> getBalancedMenuPlans(Long userId) {
         log.info("Fetching balanced menu plans for user: {}", userId);
 
-        List<MenuPlan> menuPlans = menuPlanRepository.findBalancedMenuPlansByUserId(userId);
-
-        return menuPlans.stream()
-            .map(this::convertToResponse)
-            .collect(Collectors.toList());
+        return toSummaryResponses(menuPlanRepository.findBalancedSummariesByUserId(userId));
     }
 
     /**
@@ -131,6 +166,8 @@ public class MenuPlanService {
 
         menuPlan.setStatus(status);
         MenuPlan savedPlan = menuPlanRepository.save(menuPlan);
+        eventPublisher.publishEvent(new MenuPlanChangedEvent(
+            savedPlan.getUserId(), savedPlan.getId(), MenuPlanChangedEvent.Action.STATUS_CHANGED, status));
 
         return convertToResponse(savedPlan);
     }
@@ -155,10 +192,110 @@ public class MenuPlanService {
         // Activate the selected plan
         menuPlan.setStatus(MenuPlan.MenuPlanStatus.ACTIVE);
         MenuPlan savedPlan = menuPlanRepository.save(menuPlan);
+        eventPublisher.publishEvent(new MenuPlanChangedEvent(
+            savedPlan.getUserId(), savedPlan.getId(), MenuPlanChangedEvent.Action.ACTIVATED, savedPlan.getStatus()));
 
         return convertToResponse(savedPlan);
     }
 
+    /**
+     * Replaces one course of one day and re-scores the plan from the running sums stored with
+     * it, reading and writing only the swapped day and the plan. Plans whose sums are not
+     * stored yet are read in full once to compute them.
+     */
+    @Transactional
+    public DishSwapResponse swapDish(Long id, Integer dayNumber, DishSwapRequest request) {
+        log.info("Swapping {} of day {} in menu plan {} for recipe {}", request.getCourse(), dayNumber, id, request.getRecipeId());
+
+        Recipe.RecipeCategory course = request.getCourse();
+        if (!BalanceState.isCourse(course)) {
+            throw new IllegalStateException("Only SOUP, MAIN_COURSE and SIDE_DISH can be swapped, got: " + course);
+        }
+
+        // Locked so concurrent swaps on the plan apply their changes to the sums one after another
+        MenuPlan menuPlan = menuPlanRepository.findByIdForUpdate(id)
+            .orElseThrow(() -> new MenuPlanNotFoundException("Menu plan not found with id: " + id));
+        if (!EDITABLE_STATUSES.contains(menuPlan.getStatus())) {
+            throw new IllegalStateException(String.format(
+                "Menu plan %d is %s and can no longer be changed", id, menuPlan.getStatus()));
+        }
+
+        DailyMealPlanSummary swappedDay = dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(id, dayNumber)
+            .orElseThrow(() -> new MenuPlanNotFoundException(String.format("Day %d not found in menu plan %d", dayNumber, id)));
+
+        Set<Long> recipeIds = Stream.of(swappedDay.soupRecipeId(), swappedDay.mainCourseRecipeId(), swappedDay.sideDishRecipeId())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(HashSet::new));
+        recipeIds.add(request.getRecipeId());
+        Map<Long, RecipeSummary> recipes = recipeRepository.findSummariesByIdIn(recipeIds).stream()
+            .collect(Collectors.toMap(RecipeSummary::id, recipe -> recipe));
+
+        RecipeSummary replacement = recipes.get(request.getRecipeId());
+        if (replacement == null) {
+            throw new RecipeNotFoundException("Recipe not found with id: " + request.getRecipeId());
+        }
+        if (!Boolean.TRUE.equals(replacement.active())) {
+            throw new IllegalStateException("Recipe " + replacement.id() + " is not active");
+        }
+        if (replacement.category() != course) {
+            throw new IllegalStateException(String.format(
+                "Recipe %d is a %s and cannot replace a %s", replacement.id(), replacement.category(), course));
+        }
+
+        BalanceState.Dish[] dishes = {
+            dish(recipes, swappedDay.soupRecipeId()),
+            dish(recipes, swappedDay.mainCourseRecipeId()),
+            dish(recipes, swappedDay.sideDishRecipeId())
+        };
+        BalanceState.Dish previous = switch (course) {
+            case SOUP -> dishes[0];
+            case MAIN_COURSE -> dishes[1];
+            default -> dishes[2];
+        };
+        BalanceState.Dish next = BalanceState.Dish.of(replacement);
+
+        BalanceSums sums = menuPlan.getBalanceSums() != null ? menuPlan.getBalanceSums() : balanceSums(id);
+        int previousUses = previous != null ? (int) dailyMealPlanRepository.countRecipeUses(id, previous.recipeId()) : 0;
+        int replacementUses = (int) dailyMealPlanRepository.countRecipeUses(id, next.recipeId());
+        sums = BalanceState.swap(sums, dishes, course, next, previousUses, replacementUses);
+        double balanceScore = BalanceState.score(sums);
+
+        // Stored totals also count the breakfast, dinner and snack of full-day plans, which the
+        // balance state never sees, so only the difference between the two dishes is applied
+        int calorieChange = next.calories() - (previous != null ? previous.calories() : 0);
+
+        DailyMealPlan day = dailyMealPlanRepository.getReferenceById(swappedDay.id());
+        Recipe recipe = recipeRepository.getReferenceById(replacement.id());
+        switch (course) {
+            case SOUP -> day.setSoupRecipe(recipe);
+            case MAIN_COURSE -> day.setMainCourseRecipe(recipe);
+            default -> day.setSideDishRecipe(recipe);
+        }
+        day.setTotalCalories((swappedDay.totalCalories() != null ? swappedDay.totalCalories() : 0) + calorieChange);
+
+        int totalCalories = (menuPlan.getTotalCalories() != null ? menuPlan.getTotalCalories() : 0) + calorieChange;
+        menuPlan.setTotalCalories(totalCalories);
+        menuPlan.setAverageDailyCalories(totalCalories / sums.getDays());
+        menuPlan.setBalanceSums(sums);
+        menuPlan.setBalanceScore(balanceScore);
+        menuPlan.setIsBalanced(balanceScore >= 70.0);
+
+        eventPublisher.publishEvent(new MenuPlanChangedEvent(
+            menuPlan.getUserId(), menuPlan.getId(), MenuPlanChangedEvent.Action.DISH_SWAPPED, menuPlan.getStatus()));
+
+        return DishSwapResponse.builder()
+            .menuPlanId(menuPlan.getId())
+            .dayNumber(dayNumber)
+            .course(course)
+            .recipe(recipeMapper.toSummaryResponse(replacement))
+            .dayTotalCalories(day.getTotalCalories())
+            .totalCalories(menuPlan.getTotalCalories())
+            .averageDailyCalories(menuPlan.getAverageDailyCalories())
+            .balanceScore(menuPlan.getBalanceScore())
+            .isBalanced(menuPlan.getIsBalanced())
+            .build();
+    }
+
     /**
      * Deletes a menu plan
      */
@@ -166,12 +303,14 @@ public class MenuPlanService {
     public void deleteMenuPlan(Long id) {
         log.info("Deleting menu plan: {}", id);
 
-        if (!menuPlanRepository.existsById(id)) {
-            throw new MenuPlanNotFoundException("Menu plan not found with id: " + id);
-        }
+        // Read the owner first, for the cache invalidations the event triggers
+        MenuPlanSummary plan = menuPlanRepository.findSummaryById(id)
+            .orElseThrow(() -> new MenuPlanNotFoundException("Menu plan not found with id: " + id));
 
         menuPlanRepository.deleteById(id);
         log.info("Menu plan deleted successfully: {}", id);
+        eventPublisher.publishEvent(new MenuPlanChangedEvent(
+            plan.userId(), id, MenuPlanChangedEvent.Action.DELETED, plan.status()));
     }
 
     /**
@@ -185,10 +324,82 @@ public class MenuPlanService {
 
         log.info("Fetching menu plans for user {} between {} and {}", userId, startDate, endDate);
 
-        List<MenuPlan> menuPlans = menuPlanRepository.findMenuPlansBetweenDates(userId, startDate, endDate);
+        // Days of plans within the range lie within it too; bounding them prunes day partitions
+        return toSummaryResponses(menuPlanRepository.findSummariesBetweenDates(userId, startDate, endDate),
+            ids -> dailyMealPlanRepository.findSummariesByMenuPlanIdInAndMealDateBetween(ids, startDate, endDate));
+    }
+
+    /**
+     * Balance sums of a plan computed from all of its days, for plans that have none stored
+     */
+    private BalanceSums balanceSums(Long id) {
+        List<DailyMealPlanSummary> days = dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(id));
+        Set<Long> recipeIds = days.stream()
+            .flatMap(day -> Stream.of(day.soupRecipeId(), day.mainCourseRecipeId(), day.sideDishRecipeId()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, RecipeSummary> recipes = recipeRepository.findSummariesByIdIn(recipeIds).stream()
+            .collect(Collectors.toMap(RecipeSummary::id, recipe -> recipe));
+
+        BalanceState balance = new BalanceState(days.size());
+        for (int i = 0; i < days.size(); i++) {
+            DailyMealPlanSummary day = days.get(i);
+            balance.put(i, Recipe.RecipeCategory.SOUP, dish(recipes, day.soupRecipeId()));
+            balance.put(i, Recipe.RecipeCategory.MAIN_COURSE, dish(recipes, day.mainCourseRecipeId()));
+            balance.put(i, Recipe.RecipeCategory.SIDE_DISH, dish(recipes, day.sideDishRecipeId()));
+        }
+        return balance.sums();
+    }
+
+    private static BalanceState.Dish dish(Map<Long, RecipeSummary> recipes, Long recipeId) {
+        return recipeId == null ? null : BalanceState.Dish.of(recipes.get(recipeId));
+    }
+
+    /**
+     * Builds list responses from read-only rows: one query for the days of all plans and one
+     * for the recipes they reference, with nothing attached to the persistence context.
+     */
+    private List<MenuPlanResponse> toSummaryResponses(List<MenuPlanSummary> menuPlans) {
+        return toSummaryResponses(menuPlans, dailyMealPlanRepository::findSummariesByMenuPlanIdIn);
+    }
+
+    private List<MenuPlanResponse> toSummaryResponses(List<MenuPlanSummary> menuPlans,
+                                                      Function<List<Long>, List<DailyMealPlanSummary>> loadDays) {
+        if (menuPlans.isEmpty()) {
+            return List.of();
+        }
+        List<Long> menuPlanIds = menuPlans.stream().map(MenuPlanSummary::id).toList();
+        List<DailyMealPlanSummary> days = loadDays.apply(menuPlanIds);
+
+        Set<Long> recipeIds = days.stream()
+            .flatMap(day -> Stream.of(day.soupRecipeId(), day.mainCourseRecipeId(), day.sideDishRecipeId()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, RecipeResponse> recipes = recipeIds.isEmpty()
+            ? Map.of()
+            : recipeRepository.findSummariesByIdIn(recipeIds).stream()
+                .collect(Collectors.toMap(RecipeSummary::id, recipeMapper::toSummaryResponse));
+
+        Set<Long> mealIds = days.stream()
+            .flatMap(day -> Stream.of(day.breakfastMealId(), day.lunchMealId(), day.dinnerMealId(), day.snackMealId()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, MealSlotResponse> meals = mealIds.isEmpty()
+            ? Map.of()
+            : mealRepository.findWithNutritionByIdIn(mealIds).stream()
+                .collect(Collectors.toMap(Meal::getId, menuPlanMapper::mapMealToSlotResponse));
+
+        // Days arrive ordered by plan and day number
+        Map<Long, List<DailyMealPlanResponse>> daysByPlan = days.stream()
+            .collect(Collectors.groupingBy(DailyMealPlanSummary::menuPlanId,
+                Collectors.mapping(day -> menuPlanMapper.toSummaryResponse(day, recipes, meals), Collectors.toList())));
 
         return menuPlans.stream()
-            .map(this::convertToResponse)
+            .map(plan -> {
+                MenuPlanResponse response = menuPlanMapper.toSummaryResponse(plan);
+                response.setDailyMealPlans(daysByPlan.getOrDefault(plan.id(), List.of()));
+                return response;
+            })
             .collect(Collectors.toList());
     }
 
@@ -1,15 +1,36 @@
 package com.greenmono.mealplanner.service;
 
+import com.greenmono.mealplanner.dto.MenuPlanExtensionRequest;
+import com.greenmono.mealplanner.dto.MenuPlanExtensionResponse;
 import com.greenmono.mealplanner.dto.MenuPlanRequest;
 import com.greenmono.mealplanner.dto.MenuPlanResponse;
 import com.greenmono.mealplanner.entity.*;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import com.greenmono.mealplanner.exception.MenuPlanNotFoundException;
+import com.greenmono.mealplanner.metrics.PlannerMetrics;
+import com.greenmono.mealplanner.metrics.PlannerMetrics.Phase;
+import com.greenmono.mealplanner.metrics.PlannerMetrics.RejectionReason;
+import com.greenmono.mealplanner.planner.BestOfKPlanner;
+import com.greenmono.mealplanner.planner.CandidatePlan;
+import com.greenmono.mealplanner.planner.CandidatePool;
+import com.greenmono.mealplanner.planner.FullDayPlan;
+import com.greenmono.mealplanner.planner.MealSlots;
+import com.greenmono.mealplanner.planner.PlanPicks;
+import com.greenmono.mealplanner.planner.RecentUsage;
+import com.greenmono.mealplanner.repository.DailyMealPlanRepository;
 import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.MealRepository;
 import com.greenmono.mealplanner.repository.MenuPlanRepository;
 import com.greenmono.mealplanner.repository.RecipeRepository;
+import com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -24,12 +45,24 @@ public class MenuPlannerService {
 
     private final RecipeRepository recipeRepository;
     private final IngredientRepository ingredientRepository;
+    private final MealRepository mealRepository;
     private final MenuPlanRepository menuPlanRepository;
+    private final DailyMealPlanRepository dailyMealPlanRepository;
     private final MenuPlanService menuPlanService;
     private final NutritionCalculatorService nutritionCalculatorService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlannerMetrics plannerMetrics;
+    private final BestOfKPlanner bestOfKPlanner;
+    private final PlanResultCache planResultCache;
+    private final RecipeNutritionIndexService recipeNutritionIndexService;
+    private final TransactionTemplate transactionTemplate;
 
     private static final int PLANNING_DAYS = 5;
 
+    /** Days per course whose recipes later weeks of an extended plan try not to repeat. */
+    @Value("${meal-planner.generation.recent-days:10}")
+    private int recentDays = 10;
+
     /**
      * Generates a 5-day (Mon-Fri) menu plan with 3-component lunches:
      * soup + main course + side dish.
@@ -41,63 +74,45 @@ public class MenuPlannerService {
      * 4. For 5 days (Mon-Fri): select 1 soup + 1 main course + 1 side dish
      * 5. No same recipe on consecutive days (per category)
      * 6. Total daily calories = sum of 3 components
-     * 7. Uses Collections.shuffle() for randomized selection
+     * 7. Builds several random candidates in parallel and keeps the one with the best balance score
+     *
+     * In full-day mode the lunch trio is chosen the same way, then the breakfast, dinner and
+     * snack slots of the winning plan are filled from the meal catalog towards the daily
+     * calorie target.
+     *
+     * A seeded request always chooses the same days for the same catalog and pantry, and is
+     * replayed from {@link PlanResultCache} while neither has changed.
      */
     @Transactional
     public MenuPlanResponse generateBalancedMenuPlan(MenuPlanRequest request) {
-        log.info("Generating 3-component menu plan for user {}", request.getUserId());
-
-        // Step 1: Find all active recipes
-        List<Recipe> allRecipes = recipeRepository.findByActiveTrue(
-            org.springframework.data.domain.Pageable.unpaged()
-        ).getContent();
-
-        if (allRecipes.isEmpty()) {
-            throw new IllegalStateException("No active recipes found");
-        }
-
-        // Step 2: Fetch available ingredients (user-specific or global)
-        List<Ingredient> availableIngredients = ingredientRepository
-            .findAvailableIngredientsForUserOrGlobal(request.getUserId(), LocalDate.now());
-
-        if (availableIngredients.isEmpty()) {
-            throw new IllegalStateException("No available ingredients found");
-        }
-
-        Map<Long, Ingredient> availableById = availableIngredients.stream()
-            .filter(i -> i.getId() != null)
-            .collect(Collectors.toMap(Ingredient::getId, i -> i, (a, b) -> a));
-
-        // Step 3: Filter recipes by available ingredients
-        List<Recipe> eligibleRecipes = allRecipes.stream()
-            .filter(recipe -> isRecipeCookable(recipe, availableById))
-            .collect(Collectors.toList());
-
-        if (eligibleRecipes.isEmpty()) {
-            throw new IllegalStateException("No recipes match available ingredients");
+        Timer.Sample sample = plannerMetrics.startGeneration();
+        try {
+            MenuPlanResponse response = doGenerateBalancedMenuPlan(request);
+            plannerMetrics.stopGeneration(sample, null);
+            return response;
+        } catch (RuntimeException e) {
+            plannerMetrics.stopGeneration(sample, e);
+            throw e;
         }
+    }
 
-        // Step 4: Categorize recipes
-        List<Recipe> soups = filterRecipesByCategory(eligibleRecipes, Recipe.RecipeCategory.SOUP);
-        List<Recipe> mainCourses = filterRecipesByCategory(eligibleRecipes, Recipe.RecipeCategory.MAIN_COURSE);
-        List<Recipe> sideDishes = filterRecipesByCategory(eligibleRecipes, Recipe.RecipeCategory.SIDE_DISH);
-
-        log.info("Found {} soups, {} main courses, {} side dishes", soups.size(), mainCourses.size(), sideDishes.size());
+    private MenuPlanResponse doGenerateBalancedMenuPlan(MenuPlanRequest request) {
+        log.info("Generating 3-component menu plan for user {}", request.getUserId());
 
-        if (soups.isEmpty() || mainCourses.isEmpty() || sideDishes.isEmpty()) {
-            throw new IllegalStateException(
-                String.format("Insufficient recipes. Need at least 1 soup, 1 main course, 1 side dish. Found: %d soups, %d main courses, %d side dishes",
-                    soups.size(), mainCourses.size(), sideDishes.size())
-            );
-        }
+        boolean fullDay = Boolean.TRUE.equals(request.getFullDay());
+        PlanPicks picks = request.getSeed() != null
+            ? planResultCache.get(request, () -> planDays(request))
+            : planDays(request);
 
         // Step 5: Snap start date to Monday
         LocalDate startDate = snapToMonday(request.getStartDate());
 
         // Step 6: Create menu plan entity
         MenuPlan menuPlan = MenuPlan.builder()
-            .name("5-Day Balanced Menu Plan")
-            .description("Automatically generated 3-component lunch menu (soup + main course + side dish)")
+            .name(fullDay ? "5-Day Full-Day Menu Plan" : "5-Day Balanced Menu Plan")
+            .description(fullDay
+                ? "Automatically generated full-day menu (breakfast, 3-component lunch, dinner and snack)"
+                : "Automatically generated 3-component lunch menu (soup + main course + side dish)")
             .userId(request.getUserId())
             .startDate(startDate)
             .endDate(startDate.plusDays(PLANNING_DAYS - 1))
@@ -106,234 +121,306 @@ public class MenuPlannerService {
             .isBalanced(false)
             .build();
 
-        // Step 7: Generate daily meal plans
-        List<DailyMealPlan> dailyPlans = generateDailyMealPlans(menuPlan, soups, mainCourses, sideDishes, startDate);
-        menuPlan.setDailyMealPlans(new HashSet<>(dailyPlans));
+        plannerMetrics.time(Phase.BUILD_DAYS, () -> {
+            List<DailyMealPlan> dailyPlans = toDailyMealPlans(menuPlan, picks, startDate, 1);
+            menuPlan.setDailyMealPlans(new HashSet<>(dailyPlans));
+        });
 
         // Step 8: Calculate nutrition metrics
-        calculateNutritionMetrics(menuPlan);
-        double balanceScore = calculateBalanceScore(menuPlan);
+        double balanceScore = picks.balanceScore();
+        plannerMetrics.time(Phase.SCORE, () -> calculateNutritionMetrics(menuPlan));
         menuPlan.setBalanceScore(balanceScore);
         menuPlan.setIsBalanced(balanceScore >= 70.0);
 
         // Step 9: Save and return
-        MenuPlan savedPlan = menuPlanRepository.save(menuPlan);
+        MenuPlan savedPlan = plannerMetrics.time(Phase.SAVE, () -> menuPlanRepository.save(menuPlan));
         log.info("Menu plan created with balance score: {}", balanceScore);
+        eventPublisher.publishEvent(new MenuPlanChangedEvent(
+            savedPlan.getUserId(), savedPlan.getId(), MenuPlanChangedEvent.Action.GENERATED, savedPlan.getStatus()));
 
-        return menuPlanService.convertToResponse(savedPlan);
+        return plannerMetrics.time(Phase.MAP, () -> menuPlanService.convertToResponse(savedPlan));
     }
 
     /**
-     * Snaps a date to Monday. If the date is Saturday or Sunday, moves to next Monday.
-     * Otherwise returns the Monday of the same week.
+     * Steps 1-4 and 7 of generation: the days of the best of several random candidate plans,
+     * reproducible when the request is seeded.
      */
-    LocalDate snapToMonday(LocalDate date) {
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
-            return date.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
-        }
-        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    private PlanPicks planDays(MenuPlanRequest request) {
+        // No single dish may exceed the whole day's calories
+        CandidatePool candidatePool = loadCandidatePool(request.getUserId(), request.getTargetDailyCalories());
+        MealSlots mealSlots = Boolean.TRUE.equals(request.getFullDay())
+            ? loadMealSlots(request.getUserId(), request.getTargetDailyCalories())
+            : null;
+        Long seed = request.getSeed();
+
+        // Step 7: Pick the best of several random candidate plans; other slots are filled for the winner only
+        PlanPicks picks = plannerMetrics.time(Phase.CANDIDATES, () -> {
+            BestOfKPlanner.Result search = bestOfKPlanner.best(
+                candidatePool, PLANNING_DAYS, request.getCandidates(), request.getTimeBudgetMs(), null, seed);
+            FullDayPlan slots = mealSlots != null
+                ? mealSlots.fill(search.best(), seed != null ? new SplittableRandom(seed) : new SplittableRandom())
+                : null;
+            return PlanPicks.of(search.best(), slots, search.evaluated());
+        });
+        plannerMetrics.recordCandidates(picks.evaluated());
+        return picks;
     }
 
     /**
-     * Generates daily meal plans for 5 days with no consecutive-day repetition per category.
+     * Steps 1-4 of generation: the active recipes cookable from the user's pantry, by course.
+     *
+     * @param maxCaloriesPerServing recipes above this are never candidates; null for no limit
      */
-    private List<DailyMealPlan> generateDailyMealPlans(
-            MenuPlan menuPlan,
-            List<Recipe> soups,
-            List<Recipe> mainCourses,
-            List<Recipe> sideDishes,
-            LocalDate startDate) {
-
-        List<DailyMealPlan> dailyPlans = new ArrayList<>();
-
-        // Shuffle for randomness
-        List<Recipe> shuffledSoups = new ArrayList<>(soups);
-        List<Recipe> shuffledMains = new ArrayList<>(mainCourses);
-        List<Recipe> shuffledSides = new ArrayList<>(sideDishes);
-        Collections.shuffle(shuffledSoups);
-        Collections.shuffle(shuffledMains);
-        Collections.shuffle(shuffledSides);
+    private CandidatePool loadCandidatePool(Long userId, Integer maxCaloriesPerServing) {
+        // Step 1: Find all active recipes
+        List<Recipe> allRecipes = plannerMetrics.time(Phase.FETCH_RECIPES, () -> recipeRepository.findByActiveTrue(
+            org.springframework.data.domain.Pageable.unpaged()
+        ).getContent());
 
-        Recipe previousSoup = null;
-        Recipe previousMain = null;
-        Recipe previousSide = null;
+        if (allRecipes.isEmpty()) {
+            throw new IllegalStateException("No active recipes found");
+        }
 
-        for (int day = 1; day <= PLANNING_DAYS; day++) {
-            LocalDate mealDate = startDate.plusDays(day - 1);
+        // Step 2: Fetch available ingredients (user-specific or global); expired rows are swept nightly
+        List<Ingredient> availableIngredients = plannerMetrics.time(Phase.FETCH_INGREDIENTS, () -> ingredientRepository
+            .findAvailableIngredientsForUserOrGlobal(userId));
 
-            Recipe soup = selectRecipeAvoidingPrevious(shuffledSoups, previousSoup);
-            Recipe main = selectRecipeAvoidingPrevious(shuffledMains, previousMain);
-            Recipe side = selectRecipeAvoidingPrevious(shuffledSides, previousSide);
+        if (availableIngredients.isEmpty()) {
+            throw new IllegalStateException("No available ingredients found");
+        }
 
-            int totalCalories = soup.getCaloriesPerServing().intValue()
-                + main.getCaloriesPerServing().intValue()
-                + side.getCaloriesPerServing().intValue();
+        // Step 3: Filter recipes by available ingredients, in ID order so seeded plans do not depend on row order
+        List<Recipe> eligibleRecipes = plannerMetrics.time(Phase.FILTER_COOKABLE, () -> {
+            // Prune from the nutrition index first, so recipes that can never be a course skip the ingredient walk
+            Set<Long> plannable = recipeNutritionIndexService.plannableRecipeIds(maxCaloriesPerServing);
+            Map<Long, Ingredient> availableById = availableIngredients.stream()
+                .filter(i -> i.getId() != null)
+                .collect(Collectors.toMap(Ingredient::getId, i -> i, (a, b) -> a));
+
+            return allRecipes.stream()
+                .filter(recipe -> plannable.contains(recipe.getId()))
+                .filter(recipe -> isRecipeCookable(recipe, availableById))
+                .sorted(Comparator.comparing(Recipe::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        });
+        plannerMetrics.recordEligibleRecipes(eligibleRecipes.size());
 
-            DailyMealPlan dailyPlan = DailyMealPlan.builder()
-                .menuPlan(menuPlan)
-                .dayNumber(day)
-                .mealDate(mealDate)
-                .soupRecipe(soup)
-                .mainCourseRecipe(main)
-                .sideDishRecipe(side)
-                .totalCalories(totalCalories)
-                .build();
+        if (eligibleRecipes.isEmpty()) {
+            throw new IllegalStateException("No recipes match available ingredients");
+        }
 
-            dailyPlans.add(dailyPlan);
+        // Step 4: Categorize recipes
+        Map<Recipe.RecipeCategory, List<Recipe>> byCategory = plannerMetrics.time(Phase.CATEGORIZE, () -> Map.of(
+            Recipe.RecipeCategory.SOUP, filterRecipesByCategory(eligibleRecipes, Recipe.RecipeCategory.SOUP),
+            Recipe.RecipeCategory.MAIN_COURSE, filterRecipesByCategory(eligibleRecipes, Recipe.RecipeCategory.MAIN_COURSE),
+            Recipe.RecipeCategory.SIDE_DISH, filterRecipesByCategory(eligibleRecipes, Recipe.RecipeCategory.SIDE_DISH)
+        ));
+        List<Recipe> soups = byCategory.get(Recipe.RecipeCategory.SOUP);
+        List<Recipe> mainCourses = byCategory.get(Recipe.RecipeCategory.MAIN_COURSE);
+        List<Recipe> sideDishes = byCategory.get(Recipe.RecipeCategory.SIDE_DISH);
 
-            previousSoup = soup;
-            previousMain = main;
-            previousSide = side;
+        log.info("Found {} soups, {} main courses, {} side dishes", soups.size(), mainCourses.size(), sideDishes.size());
 
-            log.debug("Day {}: Soup={}, Main={}, Side={}, Calories={}",
-                day, soup.getName(), main.getName(), side.getName(), totalCalories);
+        if (soups.isEmpty() || mainCourses.isEmpty() || sideDishes.isEmpty()) {
+            throw new IllegalStateException(
+                String.format("Insufficient recipes. Need at least 1 soup, 1 main course, 1 side dish. Found: %d soups, %d main courses, %d side dishes",
+                    soups.size(), mainCourses.size(), sideDishes.size())
+            );
         }
 
-        return dailyPlans;
+        return CandidatePool.of(soups, mainCourses, sideDishes);
     }
 
     /**
-     * Selects a recipe from the list, avoiding the previous day's recipe.
-     * Falls back to allowing repetition if only 1 recipe is available.
+     * The breakfast, dinner and snack meals a full-day plan can use, loaded once per request.
      */
-    private Recipe selectRecipeAvoidingPrevious(List<Recipe> recipes, Recipe previous) {
-        if (previous == null || recipes.size() <= 1) {
-            return recipes.get(0);
+    private MealSlots loadMealSlots(Long userId, int targetDailyCalories) {
+        List<Meal> meals = plannerMetrics.time(Phase.FETCH_RECIPES, () -> mealRepository
+            .findPlannableMeals(userId, MealSlots.TYPES));
+        try {
+            return MealSlots.of(meals, targetDailyCalories);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(
+                "Full-day planning needs at least one active BREAKFAST, DINNER and SNACK meal with nutritional info", e);
         }
+    }
 
-        List<Recipe> candidates = recipes.stream()
-            .filter(r -> !r.getId().equals(previous.getId()))
-            .collect(Collectors.toList());
-
-        if (candidates.isEmpty()) {
-            return recipes.get(0);
+    /**
+     * Extends a plan by whole Mon-Fri weeks in one pass, starting the Monday after its end date.
+     *
+     * Each week is the best of several candidates, built to avoid the recipes of the recent days
+     * and the ingredients of the day before it, and is saved in its own transaction as soon as
+     * it is chosen. Only the recent-usage window is carried between weeks, so memory does not
+     * grow with the horizon; if a later week fails, the weeks before it stay saved.
+     *
+     * The plan's balance score becomes the day-weighted mean of its weeks' scores. Full-day
+     * plans get their breakfast, dinner and snack slots filled in the added weeks too. Each week
+     * is saved only if the plan still ends where the extension expects it to, so a concurrent
+     * extension of the same plan fails instead of adding overlapping days.
+     */
+    public MenuPlanExtensionResponse extendMenuPlan(Long menuPlanId, MenuPlanExtensionRequest request) {
+        log.info("Extending menu plan {} by {} weeks", menuPlanId, request.getWeeks());
+
+        Extension start = transactionTemplate.execute(status -> startExtension(menuPlanId, request.getTargetDailyCalories()));
+        LocalDate endDate = start.endDate();
+        int nextDayNumber = start.nextDayNumber();
+        MenuPlan plan = null;
+
+        for (int week = 0; week < request.getWeeks(); week++) {
+            BestOfKPlanner.Result search = plannerMetrics.time(Phase.CANDIDATES, () -> bestOfKPlanner.best(
+                start.pool(), PLANNING_DAYS, request.getCandidates(), request.getTimeBudgetMs(), start.recent()));
+            plannerMetrics.recordCandidates(search.evaluated());
+            CandidatePlan best = search.best();
+            FullDayPlan slots = start.mealSlots() != null ? start.mealSlots().fill(best, new SplittableRandom()) : null;
+            PlanPicks picks = PlanPicks.of(best, slots, search.evaluated());
+
+            LocalDate previousEndDate = endDate;
+            LocalDate weekStart = endDate.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            int firstDayNumber = nextDayNumber;
+            plan = plannerMetrics.time(Phase.SAVE, () -> transactionTemplate.execute(status ->
+                saveWeek(menuPlanId, picks, previousEndDate, weekStart, firstDayNumber)));
+
+            start.recent().recordPlan(best);
+            endDate = plan.getEndDate();
+            nextDayNumber += best.days();
+            log.debug("Added week of {} to menu plan {} with balance score {}", weekStart, menuPlanId, best.balanceScore());
         }
 
-        Collections.shuffle(candidates);
-        return candidates.get(0);
+        return MenuPlanExtensionResponse.builder()
+            .menuPlanId(menuPlanId)
+            .weeksAdded(request.getWeeks())
+            .firstAddedDate(start.endDate().with(TemporalAdjusters.next(DayOfWeek.MONDAY)))
+            .endDate(plan.getEndDate())
+            .totalDays(nextDayNumber - 1)
+            .totalCalories(plan.getTotalCalories())
+            .averageDailyCalories(plan.getAverageDailyCalories())
+            .balanceScore(plan.getBalanceScore())
+            .isBalanced(plan.getIsBalanced())
+            .build();
     }
 
-    private void calculateNutritionMetrics(MenuPlan menuPlan) {
-        int totalCalories = menuPlan.getDailyMealPlans().stream()
-            .mapToInt(dmp -> dmp.getTotalCalories() != null ? dmp.getTotalCalories() : 0)
-            .sum();
-
-        int days = menuPlan.getDailyMealPlans().size();
-        int averageDailyCalories = days > 0 ? totalCalories / days : 0;
-
-        menuPlan.setTotalCalories(totalCalories);
-        menuPlan.setAverageDailyCalories(averageDailyCalories);
+    /**
+     * Where an extension starts: the recipe pool, the meals for the other slots of a full-day
+     * plan (null otherwise), the recent days of the existing plan, and its last date and day number.
+     */
+    private record Extension(CandidatePool pool, MealSlots mealSlots, RecentUsage recent, LocalDate endDate,
+                             int nextDayNumber) {
     }
 
-    private double calculateBalanceScore(MenuPlan menuPlan) {
-        List<DailyMealPlan> dailyPlans = new ArrayList<>(menuPlan.getDailyMealPlans());
-
-        if (dailyPlans.isEmpty()) {
-            return 0.0;
+    private Extension startExtension(Long menuPlanId, Integer targetDailyCalories) {
+        // Locked so the end date read here cannot move until this snapshot is taken
+        MenuPlan plan = menuPlanRepository.findByIdForUpdate(menuPlanId)
+            .orElseThrow(() -> new MenuPlanNotFoundException("Menu plan not found with id: " + menuPlanId));
+        CandidatePool pool = loadCandidatePool(plan.getUserId(), targetDailyCalories);
+
+        // Days arrive ordered by day number; only the most recent ones matter
+        List<DailyMealPlanSummary> days = dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(menuPlanId));
+        RecentUsage recent = new RecentUsage(pool, recentDays);
+        for (DailyMealPlanSummary day : days.subList(Math.max(0, days.size() - recentDays), days.size())) {
+            recent.recordDay(day.soupRecipeId(), day.mainCourseRecipeId(), day.sideDishRecipeId());
         }
 
-        // Macro balance score (40%)
-        double macroScore = calculateMacroBalanceScore(dailyPlans);
+        // Full-day plans fill their other slots towards the requested target, else the plan's current average
+        boolean fullDay = !days.isEmpty() && days.get(days.size() - 1).breakfastMealId() != null;
+        MealSlots mealSlots = fullDay
+            ? loadMealSlots(plan.getUserId(), targetDailyCalories != null ? targetDailyCalories : plan.getAverageDailyCalories())
+            : null;
 
-        // Calorie consistency score (30%)
-        double calorieScore = calculateCalorieConsistencyScore(dailyPlans);
-
-        // Variety score (30%)
-        double varietyScore = calculateVarietyScore(dailyPlans);
-
-        double totalScore = (macroScore * 0.4) + (calorieScore * 0.3) + (varietyScore * 0.3);
-
-        return Math.round(totalScore * 100.0) / 100.0;
+        int lastDayNumber = days.stream().mapToInt(DailyMealPlanSummary::dayNumber).max().orElse(0);
+        return new Extension(pool, mealSlots, recent, plan.getEndDate(), lastDayNumber + 1);
     }
 
-    private double calculateMacroBalanceScore(List<DailyMealPlan> dailyPlans) {
-        double totalScore = 0.0;
-        int count = 0;
-
-        for (DailyMealPlan dailyPlan : dailyPlans) {
-            List<Recipe> recipes = new ArrayList<>();
-            if (dailyPlan.getSoupRecipe() != null) recipes.add(dailyPlan.getSoupRecipe());
-            if (dailyPlan.getMainCourseRecipe() != null) recipes.add(dailyPlan.getMainCourseRecipe());
-            if (dailyPlan.getSideDishRecipe() != null) recipes.add(dailyPlan.getSideDishRecipe());
-
-            double dayScore = recipes.stream()
-                .mapToDouble(this::calculateRecipeBalanceScore)
-                .average()
-                .orElse(0.0);
-
-            totalScore += dayScore;
-            count++;
+    private MenuPlan saveWeek(Long menuPlanId, PlanPicks week, LocalDate previousEndDate, LocalDate weekStart,
+                              int firstDayNumber) {
+        MenuPlan plan = menuPlanRepository.findByIdForUpdate(menuPlanId)
+            .orElseThrow(() -> new MenuPlanNotFoundException("Menu plan not found with id: " + menuPlanId));
+        if (!previousEndDate.equals(plan.getEndDate())) {
+            throw new IllegalStateException(String.format(
+                "Menu plan %d was changed while it was being extended, it now ends on %s", menuPlanId, plan.getEndDate()));
         }
 
-        return count > 0 ? totalScore / count : 0.0;
+        // Saved through the repository so the plan's existing days are never loaded
+        List<DailyMealPlan> days = toDailyMealPlans(plan, week, weekStart, firstDayNumber);
+        dailyMealPlanRepository.saveAll(days);
+
+        int previousDays = firstDayNumber - 1;
+        int totalDays = previousDays + week.days();
+        int weekCalories = days.stream().mapToInt(DailyMealPlan::getTotalCalories).sum();
+        int totalCalories = (plan.getTotalCalories() != null ? plan.getTotalCalories() : 0) + weekCalories;
+        double balanceScore = plan.getBalanceScore() != null && previousDays > 0
+            ? (plan.getBalanceScore() * previousDays + week.balanceScore() * week.days()) / totalDays
+            : week.balanceScore();
+        balanceScore = Math.round(balanceScore * 100.0) / 100.0;
+
+        plan.setEndDate(weekStart.plusDays(week.days() - 1));
+        plan.setTotalCalories(totalCalories);
+        plan.setAverageDailyCalories(totalCalories / totalDays);
+        plan.setBalanceScore(balanceScore);
+        plan.setIsBalanced(balanceScore >= 70.0);
+        // The next dish swap recomputes them over all days, old and new
+        plan.setBalanceSums(null);
+
+        eventPublisher.publishEvent(new MenuPlanChangedEvent(
+            plan.getUserId(), plan.getId(), MenuPlanChangedEvent.Action.EXTENDED, plan.getStatus()));
+        return plan;
     }
 
-    private double calculateRecipeBalanceScore(Recipe recipe) {
-        if (recipe.getCalories().compareTo(java.math.BigDecimal.ZERO) == 0) {
-            return 0.0;
+    /**
+     * Snaps a date to Monday. If the date is Saturday or Sunday, moves to next Monday.
+     * Otherwise returns the Monday of the same week.
+     */
+    LocalDate snapToMonday(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            return date.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
         }
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
 
-        double proteinCalories = recipe.getProtein().multiply(new java.math.BigDecimal("4")).doubleValue();
-        double carbCalories = recipe.getCarbohydrates().multiply(new java.math.BigDecimal("4")).doubleValue();
-        double totalCalories = recipe.getCalories().doubleValue();
-
-        double proteinRatio = proteinCalories / totalCalories;
-        double carbRatio = carbCalories / totalCalories;
-
-        double proteinScore = 100.0;
-        if (proteinRatio < 0.20) proteinScore = (proteinRatio / 0.20) * 100.0;
-        else if (proteinRatio > 0.35) proteinScore = (0.35 / proteinRatio) * 100.0;
-
-        double carbScore = 100.0;
-        if (carbRatio < 0.45) carbScore = (carbRatio / 0.45) * 100.0;
-        else if (carbRatio > 0.65) carbScore = (0.65 / carbRatio) * 100.0;
+    /**
+     * Turns the chosen days into daily meal plan entities. Recipes and meals are set as
+     * references: the ones a search just loaded are already managed, and replayed plans need
+     * no reads before saving.
+     */
+    private List<DailyMealPlan> toDailyMealPlans(MenuPlan menuPlan, PlanPicks picks, LocalDate startDate, int firstDayNumber) {
+        List<DailyMealPlan> dailyPlans = new ArrayList<>();
 
-        return (proteinScore + carbScore) / 2.0;
-    }
+        for (int day = 0; day < picks.days(); day++) {
+            DailyMealPlan dailyPlan = DailyMealPlan.builder()
+                .menuPlan(menuPlan)
+                .dayNumber(firstDayNumber + day)
+                .mealDate(startDate.plusDays(day))
+                .soupRecipe(recipeRepository.getReferenceById(picks.soupId(day)))
+                .mainCourseRecipe(recipeRepository.getReferenceById(picks.mainCourseId(day)))
+                .sideDishRecipe(recipeRepository.getReferenceById(picks.sideDishId(day)))
+                .totalCalories(picks.dayCalories(day))
+                .build();
 
-    private double calculateCalorieConsistencyScore(List<DailyMealPlan> dailyPlans) {
-        List<Integer> dailyCalories = dailyPlans.stream()
-            .map(DailyMealPlan::getTotalCalories)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+            if (picks.fullDay()) {
+                dailyPlan.setBreakfastMeal(mealRepository.getReferenceById(picks.mealId(day, Meal.MealType.BREAKFAST)));
+                dailyPlan.setDinnerMeal(mealRepository.getReferenceById(picks.mealId(day, Meal.MealType.DINNER)));
+                dailyPlan.setSnackMeal(mealRepository.getReferenceById(picks.mealId(day, Meal.MealType.SNACK)));
+            }
 
-        if (dailyCalories.size() < 2) return 100.0;
+            dailyPlans.add(dailyPlan);
 
-        double mean = dailyCalories.stream().mapToInt(Integer::intValue).average().orElse(0.0);
-        double variance = dailyCalories.stream().mapToDouble(cal -> Math.pow(cal - mean, 2)).average().orElse(0.0);
-        double stdDev = Math.sqrt(variance);
-        double cv = mean > 0 ? (stdDev / mean) * 100.0 : 0.0;
+            log.debug("Day {}: Soup={}, Main={}, Side={}, Calories={}", firstDayNumber + day,
+                picks.soupId(day), picks.mainCourseId(day), picks.sideDishId(day), picks.dayCalories(day));
+        }
 
-        if (cv < 10.0) return 100.0;
-        else if (cv < 20.0) return 90.0;
-        else if (cv < 30.0) return 75.0;
-        else return 50.0;
+        return dailyPlans;
     }
 
-    private double calculateVarietyScore(List<DailyMealPlan> dailyPlans) {
-        Set<Long> allRecipeIds = new HashSet<>();
-        int totalMeals = 0;
-
-        for (DailyMealPlan dailyPlan : dailyPlans) {
-            if (dailyPlan.getSoupRecipe() != null) {
-                allRecipeIds.add(dailyPlan.getSoupRecipe().getId());
-                totalMeals++;
-            }
-            if (dailyPlan.getMainCourseRecipe() != null) {
-                allRecipeIds.add(dailyPlan.getMainCourseRecipe().getId());
-                totalMeals++;
-            }
-            if (dailyPlan.getSideDishRecipe() != null) {
-                allRecipeIds.add(dailyPlan.getSideDishRecipe().getId());
-                totalMeals++;
-            }
-        }
+    private void calculateNutritionMetrics(MenuPlan menuPlan) {
+        int totalCalories = menuPlan.getDailyMealPlans().stream()
+            .mapToInt(dmp -> dmp.getTotalCalories() != null ? dmp.getTotalCalories() : 0)
+            .sum();
 
-        if (totalMeals == 0) return 0.0;
+        int days = menuPlan.getDailyMealPlans().size();
+        int averageDailyCalories = days > 0 ? totalCalories / days : 0;
 
-        double varietyRatio = (double) allRecipeIds.size() / totalMeals;
-        return varietyRatio * 100.0;
+        menuPlan.setTotalCalories(totalCalories);
+        menuPlan.setAverageDailyCalories(averageDailyCalories);
     }
 
     private List<Recipe> filterRecipesByCategory(List<Recipe> recipes, Recipe.RecipeCategory category) {
@@ -343,9 +430,21 @@ public class MenuPlannerService {
     }
 
     private boolean isRecipeCookable(Recipe recipe, Map<Long, Ingredient> availableById) {
-        if (recipe.getRecipeIngredients() == null || recipe.getRecipeIngredients().isEmpty()) {
+        RejectionReason reason = findRejectionReason(recipe, availableById);
+        if (reason != null) {
+            plannerMetrics.recordRejection(reason);
             return false;
         }
+        return true;
+    }
+
+    /**
+     * Returns why a recipe cannot be cooked from the available ingredients, or null if it can.
+     */
+    private RejectionReason findRejectionReason(Recipe recipe, Map<Long, Ingredient> availableById) {
+        if (recipe.getRecipeIngredients() == null || recipe.getRecipeIngredients().isEmpty()) {
+            return RejectionReason.NO_INGREDIENTS;
+        }
 
         for (RecipeIngredient ri : recipe.getRecipeIngredients()) {
             Ingredient ingredient = ri.getIngredient() != null ? availableById.get(ri.getIngredient().getId()) : null;
@@ -354,7 +453,7 @@ public class MenuPlannerService {
                 if (Boolean.TRUE.equals(ri.getOptional())) {
                     continue;
                 }
-                return false;
+                return RejectionReason.MISSING_INGREDIENT;
             }
 
             if (ingredient.getUnit() != null && ri.getUnit() != null
@@ -362,7 +461,7 @@ public class MenuPlannerService {
                 if (Boolean.TRUE.equals(ri.getOptional())) {
                     continue;
                 }
-                return false;
+                return RejectionReason.UNIT_MISMATCH;
             }
 
             if (ingredient.getQuantity() != null && ri.getQuantity() != null
@@ -370,10 +469,10 @@ public class MenuPlannerService {
                 if (Boolean.TRUE.equals(ri.getOptional())) {
                     continue;
                 }
-                return false;
+                return RejectionReason.INSUFFICIENT_QUANTITY;
             }
         }
 
-        return true;
+        return null;
     }
 }
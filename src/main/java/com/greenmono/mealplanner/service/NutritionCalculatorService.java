@@ -1,6 +1,7 @@
 package com.greenmono.mealplanner.service;
 
 import com.greenmono.mealplanner.entity.*;
+import com.greenmono.mealplanner.nutrition.UnitConversion;
 import com.greenmono.mealplanner.repository.NutritionalInfoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -61,7 +62,7 @@ public class NutritionCalculatorService {
                 continue;
             }
 
-            BigDecimal quantityRatio = calculateQuantityRatio(
+            BigDecimal quantityRatio = UnitConversion.servings(
                 recipeIngredient.getQuantity(),
                 recipeIngredient.getUnit(),
                 ingredientNutrition.getServingSize(),
@@ -257,46 +258,6 @@ public class NutritionCalculatorService {
         }
     }
 
-    /**
-     * Calculates the ratio between recipe quantity and serving size
-     * Handles unit conversions
-     */
-    private BigDecimal calculateQuantityRatio(
-            BigDecimal recipeQuantity,
-            Ingredient.Unit recipeUnit,
-            BigDecimal servingSize,
-            Ingredient.Unit servingUnit) {
-
-        BigDecimal recipeInGrams = convertToGrams(recipeQuantity, recipeUnit);
-        BigDecimal servingInGrams = convertToGrams(servingSize, servingUnit);
-
-        if (servingInGrams.compareTo(BigDecimal.ZERO) == 0) {
-            log.warn("Serving size is zero, using 1:1 ratio");
-            return BigDecimal.ONE;
-        }
-
-        return recipeInGrams.divide(servingInGrams, 4, RoundingMode.HALF_UP);
-    }
-
-    /**
-     * Converts various units to grams for comparison
-     * Simplified conversion - assumes standard densities
-     */
-    private BigDecimal convertToGrams(BigDecimal quantity, Ingredient.Unit unit) {
-        return switch (unit) {
-            case GRAM -> quantity;
-            case KILOGRAM -> quantity.multiply(new BigDecimal("1000"));
-            case MILLILITER -> quantity;
-            case LITER -> quantity.multiply(new BigDecimal("1000"));
-            case PIECE -> quantity.multiply(new BigDecimal("100"));
-            case TABLESPOON -> quantity.multiply(new BigDecimal("15"));
-            case TEASPOON -> quantity.multiply(new BigDecimal("5"));
-            case CUP -> quantity.multiply(new BigDecimal("240"));
-            case OUNCE -> quantity.multiply(new BigDecimal("28.35"));
-            case POUND -> quantity.multiply(new BigDecimal("453.59"));
-        };
-    }
-
     /**
      * Calculates calories from macronutrients
      *
@@ -0,0 +1,224 @@
+package com.greenmono.mealplanner.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenmono.mealplanner.dto.MenuPlanRequest;
+import com.greenmono.mealplanner.dto.PlanGenerationJobResponse;
+import com.greenmono.mealplanner.entity.PlanGenerationJob;
+import com.greenmono.mealplanner.entity.PlanGenerationJob.JobStatus;
+import com.greenmono.mealplanner.event.PlanGenerationJobChangedEvent;
+import com.greenmono.mealplanner.exception.JobQueueFullException;
+import com.greenmono.mealplanner.exception.PlanGenerationJobNotFoundException;
+import com.greenmono.mealplanner.repository.PlanGenerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * State transitions of the asynchronous plan generation queue.
+ *
+ * Every method is its own short transaction; the plan itself is generated by
+ * {@link PlanGenerationWorker} outside of these, so a claimed job never holds a row
+ * lock or a pooled connection while the planner runs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlanGenerationJobService {
+
+    private final PlanGenerationJobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${meal-planner.jobs.max-queued:1000}")
+    private long maxQueued = 1000;
+
+    @Value("${meal-planner.jobs.retry-after-seconds:5}")
+    private long retryAfterSeconds = 5;
+
+    @Value("${meal-planner.jobs.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    /**
+     * A claimed job together with its decoded request. The attempt number identifies this
+     * claim when the outcome is reported.
+     */
+    public record ClaimedJob(Long jobId, int attempt, MenuPlanRequest request) {
+    }
+
+    /**
+     * Queues a generation request. Rejects new work once the backlog is full so a burst
+     * turns into fast 503s instead of an ever-growing queue.
+     */
+    @Transactional
+    public PlanGenerationJobResponse enqueue(MenuPlanRequest request) {
+        log.info("Queueing menu plan generation for user {}", request.getUserId());
+
+        long queued = jobRepository.countByStatus(JobStatus.QUEUED);
+        if (queued >= maxQueued) {
+            log.warn("Plan generation queue is full ({} queued), rejecting request for user {}",
+                queued, request.getUserId());
+            throw new JobQueueFullException(
+                "Menu plan generation queue is full, please retry later", retryAfterSeconds);
+        }
+
+        PlanGenerationJob job = PlanGenerationJob.builder()
+            .userId(request.getUserId())
+            .requestPayload(writePayload(request))
+            .status(JobStatus.QUEUED)
+            .build();
+
+        PlanGenerationJob savedJob = jobRepository.save(job);
+        log.info("Queued plan generation job {}", savedJob.getId());
+
+        return toResponse(savedJob);
+    }
+
+    @Transactional(readOnly = true)
+    public PlanGenerationJobResponse getJob(Long id) {
+        log.info("Fetching plan generation job: {}", id);
+
+        return jobRepository.findById(id)
+            .map(this::toResponse)
+            .orElseThrow(() -> new PlanGenerationJobNotFoundException("Plan generation job not found with id: " + id));
+    }
+
+    /**
+     * Claims up to {@code limit} queued jobs (FOR UPDATE SKIP LOCKED) and marks them running.
+     */
+    @Transactional
+    public List<ClaimedJob> claimJobs(int limit) {
+        List<PlanGenerationJob> jobs = jobRepository.findQueuedForUpdate(PageRequest.of(0, limit));
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedJob> claimed = new ArrayList<>(jobs.size());
+        for (PlanGenerationJob job : jobs) {
+            job.setAttempts(job.getAttempts() + 1);
+            try {
+                MenuPlanRequest request = objectMapper.readValue(job.getRequestPayload(), MenuPlanRequest.class);
+                job.setStatus(JobStatus.RUNNING);
+                job.setStartedAt(now);
+                claimed.add(new ClaimedJob(job.getId(), job.getAttempts(), request));
+            } catch (JsonProcessingException e) {
+                log.error("Plan generation job {} has an unreadable payload", job.getId(), e);
+                finish(job, JobStatus.FAILED, null, "Unreadable request payload");
+            }
+        }
+
+        log.debug("Claimed {} plan generation jobs", claimed.size());
+        return claimed;
+    }
+
+    /**
+     * Records the plan produced by a claimed attempt. Ignored if the job is no longer running
+     * that attempt, e.g. because it was recovered as stale and claimed again meanwhile.
+     */
+    @Transactional
+    public void markSucceeded(Long jobId, int attempt, Long menuPlanId) {
+        if (jobRepository.finishRunning(jobId, attempt, JobStatus.SUCCEEDED, menuPlanId, null, LocalDateTime.now()) == 0) {
+            log.warn("Dropping stale completion of plan generation job {} attempt {} (menu plan {})",
+                jobId, attempt, menuPlanId);
+            return;
+        }
+        log.info("Plan generation job {} produced menu plan {}", jobId, menuPlanId);
+        publishChange(jobId, JobStatus.SUCCEEDED, menuPlanId);
+    }
+
+    /**
+     * Records a failed attempt. Transient failures go back on the queue until the job has used
+     * up its attempts; stale reports, for an attempt the job is no longer running, are ignored.
+     */
+    @Transactional
+    public void markFailed(Long jobId, int attempt, String errorMessage, boolean transientFailure) {
+        String message = truncate(errorMessage);
+        LocalDateTime now = LocalDateTime.now();
+        if (transientFailure && attempt < maxAttempts) {
+            if (jobRepository.requeueRunning(jobId, attempt, message, now) == 0) {
+                log.warn("Dropping stale failure of plan generation job {} attempt {}", jobId, attempt);
+                return;
+            }
+            log.warn("Plan generation job {} attempt {} failed transiently, requeued: {}", jobId, attempt, errorMessage);
+            return;
+        }
+        if (jobRepository.finishRunning(jobId, attempt, JobStatus.FAILED, null, message, now) == 0) {
+            log.warn("Dropping stale failure of plan generation job {} attempt {}", jobId, attempt);
+            return;
+        }
+        log.warn("Plan generation job {} failed: {}", jobId, errorMessage);
+        publishChange(jobId, JobStatus.FAILED, null);
+    }
+
+    /**
+     * Puts jobs whose worker disappeared back on the queue, or fails them once they
+     * have used up their attempts.
+     *
+     * @return number of jobs requeued or failed
+     */
+    @Transactional
+    public int recoverStaleJobs(LocalDateTime startedBefore) {
+        List<PlanGenerationJob> stale = jobRepository.findStaleRunningForUpdate(startedBefore);
+        for (PlanGenerationJob job : stale) {
+            if (job.getAttempts() >= maxAttempts) {
+                finish(job, JobStatus.FAILED, null, "Gave up after " + job.getAttempts() + " attempts");
+            } else {
+                job.setStatus(JobStatus.QUEUED);
+                job.setStartedAt(null);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            log.warn("Recovered {} stale plan generation jobs", stale.size());
+        }
+        return stale.size();
+    }
+
+    private void finish(PlanGenerationJob job, JobStatus status, Long menuPlanId, String errorMessage) {
+        job.setStatus(status);
+        job.setMenuPlanId(menuPlanId);
+        job.setErrorMessage(truncate(errorMessage));
+        job.setFinishedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(new PlanGenerationJobChangedEvent(job.getUserId(), job.getId(), status, menuPlanId));
+    }
+
+    private void publishChange(Long jobId, JobStatus status, Long menuPlanId) {
+        jobRepository.findById(jobId).ifPresent(job ->
+            eventPublisher.publishEvent(new PlanGenerationJobChangedEvent(job.getUserId(), jobId, status, menuPlanId)));
+    }
+
+    private static String truncate(String errorMessage) {
+        return errorMessage != null && errorMessage.length() > 1000 ? errorMessage.substring(0, 1000) : errorMessage;
+    }
+
+    private String writePayload(MenuPlanRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu plan request", e);
+        }
+    }
+
+    private PlanGenerationJobResponse toResponse(PlanGenerationJob job) {
+        return PlanGenerationJobResponse.builder()
+            .jobId(job.getId())
+            .userId(job.getUserId())
+            .status(job.getStatus())
+            .attempts(job.getAttempts())
+            .menuPlanId(job.getMenuPlanId())
+            .errorMessage(job.getErrorMessage())
+            .createdAt(job.getCreatedAt())
+            .startedAt(job.getStartedAt())
+            .finishedAt(job.getFinishedAt())
+            .build();
+    }
+}
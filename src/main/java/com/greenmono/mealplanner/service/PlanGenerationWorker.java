@@ -0,0 +1,116 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the plan generation queue with a fixed number of worker threads.
+ *
+ * Each poll claims at most as many jobs as there are idle workers, so jobs wait in the
+ * database rather than in memory and the planner never uses more than {@code workers}
+ * pooled connections at once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlanGenerationWorker {
+
+    private final PlanGenerationJobService jobService;
+    private final MenuPlannerService menuPlannerService;
+
+    @Value("${meal-planner.jobs.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${meal-planner.jobs.workers:4}")
+    private int workers = 4;
+
+    @Value("${meal-planner.jobs.stale-after:PT10M}")
+    private Duration staleAfter = Duration.ofMinutes(10);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("plan-worker-"));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Unfinished jobs stay RUNNING and are requeued by recoverStaleJobs on another instance
+            executor.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${meal-planner.jobs.poll-interval-ms:500}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+
+        int idle = workers - inFlight.get();
+        if (idle <= 0) {
+            return;
+        }
+
+        List<PlanGenerationJobService.ClaimedJob> claimed = jobService.claimJobs(idle);
+        for (PlanGenerationJobService.ClaimedJob job : claimed) {
+            inFlight.incrementAndGet();
+            executor.execute(() -> run(job));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${meal-planner.jobs.stale-check-interval-ms:60000}")
+    public void recoverStaleJobs() {
+        if (!enabled) {
+            return;
+        }
+        jobService.recoverStaleJobs(LocalDateTime.now().minus(staleAfter));
+    }
+
+    void run(PlanGenerationJobService.ClaimedJob job) {
+        try {
+            MenuPlanResponse menuPlan = menuPlannerService.generateBalancedMenuPlan(job.request());
+            jobService.markSucceeded(job.jobId(), job.attempt(), menuPlan.getId());
+        } catch (RuntimeException e) {
+            jobService.markFailed(job.jobId(), job.attempt(),
+                e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), isTransient(e));
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Failures worth another attempt: lock timeouts, deadlocks, dropped connections and an
+     * exhausted pool. Anything else, like too few recipes, fails the same way on every retry.
+     */
+    static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof CannotCreateTransactionException;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
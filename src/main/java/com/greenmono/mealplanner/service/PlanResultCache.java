@@ -0,0 +1,101 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.concurrent.CoalescingLoader;
+import com.greenmono.mealplanner.dto.MenuPlanRequest;
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.metrics.PlannerMetrics;
+import com.greenmono.mealplanner.planner.PlanPicks;
+import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.projection.PantryStamp;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Replays seeded plan generations whose inputs have not changed, without loading the catalog
+ * or searching again.
+ *
+ * A result is keyed on the seed, the constraints that shape the plan, and two version stamps:
+ * the recipe catalog version, bumped when a catalog change commits here or arrives through the
+ * cache invalidation bus, and the user's pantry stamp, read from the database on every lookup
+ * because pantry changes are not broadcast. Entries under an old version are never hit again
+ * and age out after {@code ttl}. Concurrent identical requests share one search.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlanResultCache {
+
+    private final IngredientRepository ingredientRepository;
+    private final PlannerMetrics plannerMetrics;
+
+    @Value("${meal-planner.generation.result-cache.ttl:PT10M}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    @Value("${meal-planner.generation.result-cache.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private CoalescingLoader<Key, PlanPicks> results;
+
+    /**
+     * Everything a seeded plan depends on. Start date and notes only label the plan, so
+     * requests that differ in them share an entry. The calorie target is part of every key:
+     * it prunes the candidate pool even when no meal slots are filled.
+     */
+    record Key(long seed, Long userId, long catalogVersion, PantryStamp pantry,
+               Integer candidates, boolean fullDay, Integer targetDailyCalories) {
+    }
+
+    @PostConstruct
+    void start() {
+        // Nothing is served stale, so refreshes never run
+        results = new CoalescingLoader<>(ttl, Duration.ZERO, maxEntries, Runnable::run);
+    }
+
+    /**
+     * The cached plan for a seeded request, or the one {@code planner} builds and caches.
+     */
+    public PlanPicks get(MenuPlanRequest request, Supplier<PlanPicks> planner) {
+        Key key = new Key(request.getSeed(), request.getUserId(), catalogVersion.get(),
+            ingredientRepository.findPantryStamp(request.getUserId()), request.getCandidates(),
+            Boolean.TRUE.equals(request.getFullDay()), request.getTargetDailyCalories());
+
+        AtomicBoolean planned = new AtomicBoolean();
+        PlanPicks picks = results.get(key, () -> {
+            planned.set(true);
+            return planner.get();
+        });
+        plannerMetrics.recordResultCache(!planned.get());
+        log.debug("Seeded plan for user {} with seed {} {}", request.getUserId(), request.getSeed(),
+            planned.get() ? "planned" : "served from cache");
+        return picks;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeCatalogChanged(RecipeCatalogChangedEvent event) {
+        bumpCatalogVersion();
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getEntityType() == CacheInvalidationEvent.EntityType.RECIPE) {
+            bumpCatalogVersion();
+        }
+    }
+
+    private void bumpCatalogVersion() {
+        catalogVersion.incrementAndGet();
+        results.invalidateAll();
+    }
+}
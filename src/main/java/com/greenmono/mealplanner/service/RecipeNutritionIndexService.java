@@ -0,0 +1,132 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.RecipeNutritionMatchResponse;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.index.NutritionQuery;
+import com.greenmono.mealplanner.index.NutritionRangeIndex;
+import com.greenmono.mealplanner.nutrition.Nutrient;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers combined per-serving nutrition range queries from an in-memory index of the active
+ * recipes, and tells the planner which recipes can be a course at all.
+ *
+ * The index is rebuilt lazily on the first query after a catalog change on this or another
+ * instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeNutritionIndexService {
+
+    private final RecipeRepository recipeRepository;
+
+    /** Bumped on every catalog change; an index is current while it was built at the latest value */
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile Indexed index;
+
+    private record Indexed(NutritionRangeIndex index, long version) {
+    }
+
+    /**
+     * Active recipes matching every range of a query, by category and then calories per serving.
+     */
+    public List<RecipeNutritionMatchResponse> filter(NutritionQuery query, int limit) {
+        NutritionRangeIndex current = getIndex();
+        int[] rows = current.query(query, limit);
+
+        List<RecipeNutritionMatchResponse> matches = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            matches.add(RecipeNutritionMatchResponse.builder()
+                .recipeId(current.recipeId(row))
+                .name(current.name(row))
+                .category(current.category(row))
+                .caloriesPerServing(current.value(row, Nutrient.CALORIES))
+                .proteinPerServing(current.value(row, Nutrient.PROTEIN))
+                .carbohydratesPerServing(current.value(row, Nutrient.CARBOHYDRATES))
+                .fatPerServing(current.value(row, Nutrient.FAT))
+                .fiberPerServing(current.value(row, Nutrient.FIBER))
+                .build());
+        }
+        return matches;
+    }
+
+    /**
+     * Active soups, main courses and side dishes, optionally only those with at most
+     * {@code maxCaloriesPerServing}; other recipes can never fill a plan day.
+     */
+    public Set<Long> plannableRecipeIds(Integer maxCaloriesPerServing) {
+        NutritionQuery query = NutritionQuery.builder()
+            .category(Recipe.RecipeCategory.SOUP)
+            .category(Recipe.RecipeCategory.MAIN_COURSE)
+            .category(Recipe.RecipeCategory.SIDE_DISH)
+            .between(Nutrient.CALORIES, null,
+                maxCaloriesPerServing != null ? BigDecimal.valueOf(maxCaloriesPerServing) : null)
+            .build();
+
+        NutritionRangeIndex current = getIndex();
+        int[] rows = current.query(query, Integer.MAX_VALUE);
+        Set<Long> ids = new HashSet<>(rows.length * 2);
+        for (int row : rows) {
+            ids.add(current.recipeId(row));
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the current index, rebuilding it first if the catalog changed.
+     */
+    public NutritionRangeIndex getIndex() {
+        Indexed current = index;
+        if (current != null && current.version() == catalogVersion.get()) {
+            return current.index();
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || current.version() != catalogVersion.get()) {
+                // Read the version first: a change landing during the rebuild leaves the result stale,
+                // and a failed rebuild leaves the previous index stale too
+                long version = catalogVersion.get();
+                current = new Indexed(buildIndex(), version);
+                index = current;
+            }
+            return current.index();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeCatalogChanged(RecipeCatalogChangedEvent event) {
+        log.debug("Recipe catalog changed (recipe {}), marking nutrition index stale", event.getRecipeId());
+        catalogVersion.incrementAndGet();
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getEntityType() == CacheInvalidationEvent.EntityType.RECIPE) {
+            catalogVersion.incrementAndGet();
+        }
+    }
+
+    private NutritionRangeIndex buildIndex() {
+        long start = System.nanoTime();
+        NutritionRangeIndex built = NutritionRangeIndex.of(recipeRepository.findActiveNutritionPoints());
+
+        log.info("Built nutrition range index: {} recipes in {} ms",
+            built.size(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+}
@@ -0,0 +1,174 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.concurrent.SingleFlight;
+import com.greenmono.mealplanner.dto.NutritionRecomputeResponse;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.nutrition.Nutrient;
+import com.greenmono.mealplanner.nutrition.NutrientMatrix;
+import com.greenmono.mealplanner.nutrition.RecipeVectors;
+import com.greenmono.mealplanner.repository.NutritionalInfoRepository;
+import com.greenmono.mealplanner.repository.RecipeIngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import com.greenmono.mealplanner.repository.projection.RecipeNutritionValues;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes every recipe's stored nutrition totals from its ingredients in one pass, after
+ * ingredient nutrition has been corrected.
+ *
+ * Nutrition, ingredient lines and stored totals are read as flat projections, the totals are
+ * one sparse product of {@link RecipeVectors} and a {@link NutrientMatrix}, and only recipes
+ * whose totals changed are written back, in batches that each run in their own short
+ * transaction. A recipe edited after the totals were read keeps its edit: the write matches on
+ * the update time that was read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeNutritionRecomputeService {
+
+    /** The totals a recipe stores, in the order of {@link #UPDATE_SQL}'s first parameters. */
+    static final List<Nutrient> STORED = List.of(
+        Nutrient.CALORIES, Nutrient.PROTEIN, Nutrient.CARBOHYDRATES, Nutrient.FAT, Nutrient.FIBER);
+
+    static final String UPDATE_SQL = "UPDATE recipes SET calories = ?, protein = ?, carbohydrates = ?, fat = ?, " +
+        "fiber = ?, updated_at = ? WHERE id = ? AND updated_at = ?";
+
+    private final NutritionalInfoRepository nutritionalInfoRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final RecipeRepository recipeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${meal-planner.nutrition-recompute.batch-size:500}")
+    private int batchSize = 500;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final SingleFlight<Boolean, NutritionRecomputeResponse> recomputes = new SingleFlight<>();
+
+    private record Change(RecipeNutritionValues stored, BigDecimal[] totals) {
+    }
+
+    /**
+     * Recomputes every recipe with ingredients; concurrent calls share one run.
+     *
+     * @param dryRun count the recipes that would change without writing them
+     */
+    public NutritionRecomputeResponse recomputeCatalog(boolean dryRun) {
+        return recomputes.execute(dryRun, () -> recompute(dryRun));
+    }
+
+    private NutritionRecomputeResponse recompute(boolean dryRun) {
+        long started = System.nanoTime();
+
+        NutrientMatrix matrix = NutrientMatrix.of(nutritionalInfoRepository.findIngredientNutritionRows());
+        RecipeVectors recipes = RecipeVectors.of(recipeIngredientRepository.findAllQuantityLines(), matrix);
+        long[][] totals = matrix.multiply(recipes, STORED);
+        Map<Long, RecipeNutritionValues> stored = recipeRepository.findAllNutritionValues().stream()
+            .collect(Collectors.toMap(RecipeNutritionValues::id, Function.identity()));
+
+        int incomplete = recipes.incomplete();
+        List<Change> changes = new ArrayList<>();
+        for (int recipe = 0; recipe < recipes.size(); recipe++) {
+            RecipeNutritionValues current = stored.get(recipes.recipeId(recipe));
+            if (current == null) {
+                continue;
+            }
+            if (totals[recipe] == null) {
+                log.warn("Nutrition totals of recipe {} overflow, leaving them unchanged", current.id());
+                incomplete++;
+                continue;
+            }
+            BigDecimal[] computed = new BigDecimal[STORED.size()];
+            for (int k = 0; k < computed.length; k++) {
+                computed[k] = NutrientMatrix.toBigDecimal(totals[recipe][k]);
+            }
+            if (!matches(current, computed)) {
+                changes.add(new Change(current, computed));
+            }
+        }
+
+        int updated = 0;
+        if (!dryRun) {
+            for (int from = 0; from < changes.size(); from += batchSize) {
+                List<Change> batch = changes.subList(from, Math.min(from + batchSize, changes.size()));
+                Integer written = transactionTemplate.execute(status -> writeBatch(batch));
+                updated += written != null ? written : 0;
+            }
+            if (updated > 0) {
+                eventPublisher.publishEvent(new RecipeCatalogChangedEvent(null));
+            }
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Recomputed nutrition of {} recipes over {} ingredients in {} ms: {} changed, {} updated, {} incomplete{}",
+            recipes.size(), matrix.size(), durationMs, changes.size(), updated, incomplete, dryRun ? " (dry run)" : "");
+
+        return NutritionRecomputeResponse.builder()
+            .recipesRecomputed(recipes.size())
+            .recipesChanged(changes.size())
+            .recipesUpdated(updated)
+            .recipesIncomplete(incomplete)
+            .dryRun(dryRun)
+            .durationMs(durationMs)
+            .build();
+    }
+
+    private int writeBatch(List<Change> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Change change : batch) {
+            BigDecimal[] totals = change.totals();
+            args.add(new Object[]{totals[0], totals[1], totals[2], totals[3], totals[4], now,
+                change.stored().id(), Timestamp.valueOf(change.stored().updatedAt())});
+        }
+
+        int written = 0;
+        for (int rows : jdbcTemplate.batchUpdate(UPDATE_SQL, args)) {
+            if (rows > 0 || rows == Statement.SUCCESS_NO_INFO) {
+                written++;
+            }
+        }
+        if (written < batch.size()) {
+            log.debug("{} recipes changed while recomputing nutrition and were left as edited", batch.size() - written);
+        }
+        return written;
+    }
+
+    private static boolean matches(RecipeNutritionValues stored, BigDecimal[] computed) {
+        BigDecimal[] current = {stored.calories(), stored.protein(), stored.carbohydrates(), stored.fat(), stored.fiber()};
+        for (int k = 0; k < current.length; k++) {
+            if (current[k] == null || current[k].compareTo(computed[k]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
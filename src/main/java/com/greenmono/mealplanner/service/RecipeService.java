@@ -1,25 +1,33 @@
 package com.greenmono.mealplanner.service;
 
 import com.greenmono.mealplanner.dto.PageResponse;
+import com.greenmono.mealplanner.dto.RecipeIngredientResponse;
 import com.greenmono.mealplanner.dto.RecipeRequest;
 import com.greenmono.mealplanner.dto.RecipeResponse;
 import com.greenmono.mealplanner.entity.Ingredient;
 import com.greenmono.mealplanner.entity.Recipe;
 import com.greenmono.mealplanner.entity.RecipeIngredient;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
 import com.greenmono.mealplanner.exception.DuplicateRecipeException;
 import com.greenmono.mealplanner.exception.IngredientNotFoundException;
 import com.greenmono.mealplanner.exception.RecipeNotFoundException;
 import com.greenmono.mealplanner.mapper.RecipeMapper;
 import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeIngredientRepository;
 import com.greenmono.mealplanner.repository.RecipeRepository;
+import com.greenmono.mealplanner.repository.projection.RecipeIngredientLine;
+import com.greenmono.mealplanner.repository.projection.RecipeInstructionLine;
+import com.greenmono.mealplanner.repository.projection.RecipeSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,8 +37,10 @@ public class RecipeService {
 
     private final RecipeRepository recipeRepository;
     private final IngredientRepository ingredientRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
     private final RecipeMapper recipeMapper;
     private final NutritionCalculatorService nutritionCalculatorService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RecipeResponse createRecipe(RecipeRequest request) {
@@ -98,6 +108,7 @@ public class RecipeService {
         // Save to database
         Recipe savedRecipe = recipeRepository.save(recipe);
         log.info("Successfully created recipe with id: {}", savedRecipe.getId());
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(savedRecipe.getId()));
 
         // Map entity to response
         return recipeMapper.toResponse(savedRecipe);
@@ -123,20 +134,18 @@ public class RecipeService {
         log.info("Fetching recipes with category: {}, page: {}, size: {}",
                 category, pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Recipe> recipePage;
+        Page<RecipeSummary> recipePage;
 
         if (category != null) {
-            recipePage = recipeRepository.findByCategoryAndActiveTrue(category, pageable);
+            recipePage = recipeRepository.findActiveSummariesByCategory(category, pageable);
             log.debug("Found {} recipes for category: {}", recipePage.getTotalElements(), category);
         } else {
-            recipePage = recipeRepository.findByActiveTrue(pageable);
+            recipePage = recipeRepository.findActiveSummaries(pageable);
             log.debug("Found {} total active recipes", recipePage.getTotalElements());
         }
 
         return PageResponse.<RecipeResponse>builder()
-                .content(recipePage.getContent().stream()
-                        .map(recipeMapper::toResponse)
-                        .collect(Collectors.toList()))
+                .content(toResponses(recipePage.getContent()))
                 .pageNumber(recipePage.getNumber())
                 .pageSize(recipePage.getSize())
                 .totalElements(recipePage.getTotalElements())
@@ -146,6 +155,33 @@ public class RecipeService {
                 .build();
     }
 
+    /**
+     * Assembles full responses for a page of summaries with one query each for ingredient
+     * lines and instructions, instead of initializing lazy collections recipe by recipe.
+     */
+    private List<RecipeResponse> toResponses(List<RecipeSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = summaries.stream().map(RecipeSummary::id).toList();
+
+        Map<Long, List<RecipeIngredientResponse>> ingredients = recipeIngredientRepository.findLinesByRecipeIdIn(ids).stream()
+                .collect(Collectors.groupingBy(RecipeIngredientLine::recipeId,
+                        Collectors.mapping(recipeMapper::toIngredientResponse, Collectors.toList())));
+        Map<Long, List<String>> instructions = recipeRepository.findInstructionLines(ids).stream()
+                .collect(Collectors.groupingBy(RecipeInstructionLine::recipeId,
+                        Collectors.mapping(RecipeInstructionLine::instruction, Collectors.toList())));
+
+        return summaries.stream()
+                .map(summary -> {
+                    RecipeResponse response = recipeMapper.toSummaryResponse(summary);
+                    response.setIngredients(ingredients.getOrDefault(summary.id(), List.of()));
+                    response.setInstructions(instructions.getOrDefault(summary.id(), List.of()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<RecipeResponse> getRecipesByIngredient(Long ingredientId) {
         log.info("Fetching recipes containing ingredient with id: {}", ingredientId);
@@ -264,6 +300,7 @@ public class RecipeService {
 
         Recipe updatedRecipe = recipeRepository.save(recipe);
         log.info("Successfully updated recipe with id: {}", id);
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(id));
 
         return recipeMapper.toResponse(updatedRecipe);
     }
@@ -281,6 +318,7 @@ public class RecipeService {
 
         recipeRepository.deleteById(id);
         log.info("Successfully deleted recipe with id: {}", id);
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(id));
     }
 
     @Transactional(readOnly = true)
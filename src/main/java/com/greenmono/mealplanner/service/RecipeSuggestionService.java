@@ -0,0 +1,132 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.RecipeSuggestionResponse;
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.index.IngredientRecipeIndex;
+import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeIngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "what can I cook" queries from an in-memory ingredient → recipe index.
+ *
+ * The index is rebuilt lazily on the first query after a catalog change on this or
+ * another instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeSuggestionService {
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final RecipeRepository recipeRepository;
+    private final IngredientRepository ingredientRepository;
+
+    /** Bumped on every catalog change; an index is current while it was built at the latest value */
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile Indexed index;
+
+    private record Indexed(IngredientRecipeIndex index, long version) {
+    }
+
+    /**
+     * Suggests active recipes the user can (almost) cook with their available ingredients.
+     *
+     * @param userId     user whose pantry (plus global ingredients) is used
+     * @param maxMissing maximum number of required ingredients a recipe may lack
+     * @param limit      maximum number of suggestions
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeSuggestionResponse> suggestRecipes(Long userId, int maxMissing, int limit) {
+        log.info("Suggesting recipes for user {} with at most {} missing ingredients", userId, maxMissing);
+
+        List<Long> pantryIds = ingredientRepository.findAvailableIngredientsForUserOrGlobal(userId).stream()
+            .map(Ingredient::getId)
+            .collect(Collectors.toList());
+
+        List<IngredientRecipeIndex.RecipeMatch> matches = getIndex().match(pantryIds, maxMissing);
+        List<IngredientRecipeIndex.RecipeMatch> top = matches.subList(0, Math.min(limit, matches.size()));
+        log.debug("Index matched {} recipes for {} pantry ingredients", matches.size(), pantryIds.size());
+
+        Map<Long, Recipe> recipesById = recipeRepository.findAllById(
+                top.stream().map(m -> (long) m.recipeId()).collect(Collectors.toList())).stream()
+            .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        return top.stream()
+            .filter(m -> recipesById.containsKey((long) m.recipeId()))
+            .map(m -> {
+                Recipe recipe = recipesById.get((long) m.recipeId());
+                return RecipeSuggestionResponse.builder()
+                    .recipeId(recipe.getId())
+                    .name(recipe.getName())
+                    .category(recipe.getCategory())
+                    .matchedIngredients(m.matched())
+                    .requiredIngredients(m.required())
+                    .missingIngredients(m.missing())
+                    .coverage(Math.round(m.coverage() * 10000.0) / 10000.0)
+                    .build();
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the current index, rebuilding it first if the catalog changed.
+     */
+    public IngredientRecipeIndex getIndex() {
+        Indexed current = index;
+        if (current != null && current.version() == catalogVersion.get()) {
+            return current.index();
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || current.version() != catalogVersion.get()) {
+                // Read the version first: a change landing during the rebuild leaves the result stale,
+                // and a failed rebuild leaves the previous index stale too
+                long version = catalogVersion.get();
+                current = new Indexed(buildIndex(), version);
+                index = current;
+            }
+            return current.index();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeCatalogChanged(RecipeCatalogChangedEvent event) {
+        log.debug("Recipe catalog changed (recipe {}), marking ingredient index stale", event.getRecipeId());
+        catalogVersion.incrementAndGet();
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getEntityType() == CacheInvalidationEvent.EntityType.RECIPE) {
+            catalogVersion.incrementAndGet();
+        }
+    }
+
+    private IngredientRecipeIndex buildIndex() {
+        long start = System.nanoTime();
+        IngredientRecipeIndex.Builder builder = IngredientRecipeIndex.builder();
+        recipeIngredientRepository.findRequiredLinksForActiveRecipes()
+            .forEach(link -> builder.addRequired(link.getRecipeId(), link.getIngredientId()));
+        IngredientRecipeIndex built = builder.build();
+
+        log.info("Built ingredient index: {} ingredients, {} recipes in {} ms",
+            built.ingredientCount(), built.recipeCount(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+}
@@ -0,0 +1,152 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.concurrent.CoalescingLoader;
+import com.greenmono.mealplanner.dto.ShoppingListItemResponse;
+import com.greenmono.mealplanner.dto.ShoppingListResponse;
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.exception.MenuPlanNotFoundException;
+import com.greenmono.mealplanner.nutrition.UnitConversion;
+import com.greenmono.mealplanner.repository.DailyMealPlanRepository;
+import com.greenmono.mealplanner.repository.MenuPlanRepository;
+import com.greenmono.mealplanner.repository.projection.PantryStamp;
+import com.greenmono.mealplanner.repository.projection.PlanStamp;
+import com.greenmono.mealplanner.repository.projection.ShoppingListLine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totals the ingredients a menu plan's recipes need, less what the user already has.
+ *
+ * Quantities are summed per ingredient and unit by one aggregate query, converted to grams with
+ * the nutrition calculator's table so different units of one ingredient add up, and reported in
+ * the unit the ingredient is stocked in. Only required recipe ingredients are listed, and stock
+ * counts when it is available and the user's own or shared, as when the planner checks whether a
+ * recipe is cookable.
+ *
+ * Lists are cached under version stamps of the plan and of the ingredient rows its recipes need,
+ * read on every request, and of the recipe catalog, bumped when a catalog change commits here or
+ * arrives through the cache invalidation bus. A changed plan or pantry therefore never serves an
+ * old list; entries under old stamps age out after {@code ttl}. The pantry stamp only covers the
+ * plan's ingredients, so its cost does not grow with the shared catalog.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShoppingListService {
+
+    private static final int QUANTITY_SCALE = 2;
+
+    private final MenuPlanRepository menuPlanRepository;
+    private final DailyMealPlanRepository dailyMealPlanRepository;
+
+    @Value("${meal-planner.shopping-list.cache.ttl:PT30M}")
+    private Duration ttl = Duration.ofMinutes(30);
+
+    @Value("${meal-planner.shopping-list.cache.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private CoalescingLoader<Key, ShoppingListResponse> lists;
+
+    record Key(Long menuPlanId, PlanStamp plan, PantryStamp pantry, long catalogVersion) {
+    }
+
+    @PostConstruct
+    void start() {
+        // Nothing is served stale, so refreshes never run
+        lists = new CoalescingLoader<>(ttl, Duration.ZERO, maxEntries, Runnable::run);
+    }
+
+    /**
+     * The shopping list of a plan, from cache while neither the plan nor the pantry changed.
+     */
+    public ShoppingListResponse getShoppingList(Long menuPlanId) {
+        PlanStamp plan = menuPlanRepository.findPlanStamp(menuPlanId)
+            .orElseThrow(() -> new MenuPlanNotFoundException("Menu plan not found with id: " + menuPlanId));
+        Key key = new Key(menuPlanId, plan, dailyMealPlanRepository.findShoppingListPantryStamp(menuPlanId), catalogVersion.get());
+
+        return lists.get(key, () -> buildShoppingList(menuPlanId, plan.userId()));
+    }
+
+    private ShoppingListResponse buildShoppingList(Long menuPlanId, Long userId) {
+        List<ShoppingListLine> lines = dailyMealPlanRepository.findShoppingListLines(menuPlanId);
+
+        // Lines come one per recipe unit; add them up per ingredient in grams
+        Map<Long, ShoppingListLine> stock = new LinkedHashMap<>();
+        Map<Long, BigDecimal> requiredGrams = new LinkedHashMap<>();
+        for (ShoppingListLine line : lines) {
+            stock.putIfAbsent(line.ingredientId(), line);
+            requiredGrams.merge(line.ingredientId(), UnitConversion.toGrams(line.quantity(), line.unit()), BigDecimal::add);
+        }
+
+        List<ShoppingListItemResponse> items = new ArrayList<>(stock.size());
+        int itemsToBuy = 0;
+        for (ShoppingListLine ingredient : stock.values()) {
+            BigDecimal required = requiredGrams.get(ingredient.ingredientId());
+            BigDecimal pantry = inPantry(ingredient, userId)
+                ? UnitConversion.toGrams(ingredient.stockQuantity(), ingredient.stockUnit())
+                : BigDecimal.ZERO;
+            BigDecimal toBuy = required.subtract(pantry).max(BigDecimal.ZERO);
+            BigDecimal gramsPerUnit = UnitConversion.toGrams(BigDecimal.ONE, ingredient.stockUnit());
+
+            items.add(ShoppingListItemResponse.builder()
+                .ingredientId(ingredient.ingredientId())
+                .name(ingredient.name())
+                .category(ingredient.category())
+                .unit(ingredient.stockUnit())
+                .requiredQuantity(required.divide(gramsPerUnit, QUANTITY_SCALE, RoundingMode.HALF_UP))
+                .pantryQuantity(pantry.divide(gramsPerUnit, QUANTITY_SCALE, RoundingMode.HALF_UP))
+                // Round up so the list never falls short
+                .toBuyQuantity(toBuy.divide(gramsPerUnit, QUANTITY_SCALE, RoundingMode.UP))
+                .build());
+            if (toBuy.signum() > 0) {
+                itemsToBuy++;
+            }
+        }
+
+        log.debug("Built shopping list for menu plan {}: {} ingredients, {} to buy", menuPlanId, items.size(), itemsToBuy);
+        return ShoppingListResponse.builder()
+            .menuPlanId(menuPlanId)
+            .userId(userId)
+            .items(List.copyOf(items))
+            .itemsToBuy(itemsToBuy)
+            .build();
+    }
+
+    private static boolean inPantry(ShoppingListLine ingredient, Long userId) {
+        return Boolean.TRUE.equals(ingredient.available())
+            && (ingredient.ownerId() == null || ingredient.ownerId().equals(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeCatalogChanged(RecipeCatalogChangedEvent event) {
+        bumpCatalogVersion();
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.getEntityType() == CacheInvalidationEvent.EntityType.RECIPE) {
+            bumpCatalogVersion();
+        }
+    }
+
+    private void bumpCatalogVersion() {
+        catalogVersion.incrementAndGet();
+        lists.invalidateAll();
+    }
+}
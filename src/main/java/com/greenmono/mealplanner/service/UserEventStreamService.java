@@ -0,0 +1,163 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.UserStreamEvent;
+import com.greenmono.mealplanner.event.IngredientChangedEvent;
+import com.greenmono.mealplanner.event.IngredientsExpiredEvent;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import com.greenmono.mealplanner.event.PlanGenerationJobChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Per-user Server-Sent Events push channel.
+ *
+ * Emitters are parked on async servlet requests, so an idle connection costs a socket
+ * and a small map entry but no request thread. Events are pushed only after the
+ * originating transaction commits.
+ */
+@Service
+@Slf4j
+public class UserEventStreamService {
+
+    static final String MENU_PLAN_EVENT = "menu-plan";
+    static final String INGREDIENTS_EVENT = "ingredients";
+    static final String PLAN_JOB_EVENT = "plan-job";
+
+    private final Map<Long, List<SseEmitter>> emittersByUser = new ConcurrentHashMap<>();
+
+    @Value("${meal-planner.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs = 1_800_000L;
+
+    @Value("${meal-planner.events.max-connections-per-user:5}")
+    private int maxConnectionsPerUser = 5;
+
+    /**
+     * Opens a new stream for the user. The oldest stream is closed once the
+     * per-user connection limit is reached.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        List<SseEmitter> evicted = new ArrayList<>();
+
+        // Added inside compute so a concurrent remove() cannot drop the list this emitter joins
+        List<SseEmitter> emitters = emittersByUser.compute(userId, (id, current) -> {
+            List<SseEmitter> list = current != null ? current : new CopyOnWriteArrayList<>();
+            while (list.size() >= maxConnectionsPerUser) {
+                evicted.add(list.remove(0));
+            }
+            list.add(emitter);
+            return list;
+        });
+        // Completing runs remove(), which must not happen inside compute
+        evicted.forEach(SseEmitter::complete);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        log.debug("User {} subscribed to event stream ({} open)", userId, emitters.size());
+        return emitter;
+    }
+
+    public int connectionCount() {
+        return emittersByUser.values().stream().mapToInt(List::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuPlanChanged(MenuPlanChangedEvent event) {
+        send(event.getUserId(), MENU_PLAN_EVENT, UserStreamEvent.builder()
+            .action(event.getAction().name())
+            .menuPlanId(event.getMenuPlanId())
+            .status(event.getStatus())
+            .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanGenerationJobChanged(PlanGenerationJobChangedEvent event) {
+        send(event.getUserId(), PLAN_JOB_EVENT, UserStreamEvent.builder()
+            .action(event.getStatus().name())
+            .jobId(event.getJobId())
+            .menuPlanId(event.getMenuPlanId())
+            .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientChanged(IngredientChangedEvent event) {
+        send(event.getUserId(), INGREDIENTS_EVENT, UserStreamEvent.builder()
+            .action(event.getAction().name())
+            .ingredientIds(event.getIngredientIds())
+            .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientsExpired(IngredientsExpiredEvent event) {
+        send(event.getUserId(), INGREDIENTS_EVENT, UserStreamEvent.builder()
+            .action("EXPIRED")
+            .ingredientIds(event.getIngredientIds())
+            .build());
+    }
+
+    /**
+     * Sends a comment line to every open stream so proxies keep idle connections
+     * open and dead clients are detected and dropped.
+     */
+    @Scheduled(fixedRateString = "${meal-planner.events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        emittersByUser.forEach((userId, emitters) -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                remove(userId, emitter);
+            }
+        }));
+    }
+
+    /**
+     * Pushes to one user, or to everyone when userId is null (global ingredients).
+     */
+    private void send(Long userId, String eventName, UserStreamEvent payload) {
+        if (userId == null) {
+            emittersByUser.keySet().forEach(id -> sendToUser(id, eventName, payload));
+        } else {
+            sendToUser(userId, eventName, payload);
+        }
+    }
+
+    private void sendToUser(Long userId, String eventName, UserStreamEvent payload) {
+        List<SseEmitter> emitters = emittersByUser.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(payload, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping event stream for user {}: {}", userId, e.getMessage());
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emittersByUser.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    void setMaxConnectionsPerUser(int maxConnectionsPerUser) {
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+}
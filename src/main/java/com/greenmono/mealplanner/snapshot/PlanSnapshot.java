@@ -0,0 +1,555 @@
+package com.greenmono.mealplanner.snapshot;
+
+import com.greenmono.mealplanner.dto.DailyMealPlanResponse;
+import com.greenmono.mealplanner.dto.MealSlotResponse;
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.dto.RecipeResponse;
+import com.greenmono.mealplanner.entity.Meal;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.exception.InvalidPlanSnapshotException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, versioned binary encoding of a {@link MenuPlanResponse}, for storing or handing out
+ * a plan without its rows and for rehydrating it without the database.
+ *
+ * Layout of version 1, after the magic bytes {@code MPS} and the version byte:
+ * <ul>
+ *   <li>a dictionary of every distinct string: names, descriptions, notes, image URLs and enum
+ *       names; everything else refers to strings by index</li>
+ *   <li>the plan's start date and creation time, which other dates and timestamps are
+ *       relative to</li>
+ *   <li>a table of the distinct recipes and one of the distinct meal slots; days refer to them
+ *       by index, so a recipe served on several days is stored once</li>
+ *   <li>the rest of the plan fields, then its days in list order</li>
+ * </ul>
+ * Integers are unsigned LEB128 varints, signed ones zigzag-encoded first, and a nullable value
+ * is stored plus one so that 0 means null. Dates are days from the plan's start date, day IDs
+ * are deltas from the previous day's, timestamps are seconds from the plan's creation plus
+ * nanoseconds, and nutrition values are fixed-point hundredths, the precision of their columns.
+ *
+ * A recipe's ingredients and instructions are not part of a plan response and are not stored.
+ * Decoded days share the recipe and meal instances of the tables, as summary responses do.
+ * A format change gets a new version; decoding keeps reading every older one.
+ */
+public final class PlanSnapshot {
+
+    public static final String MEDIA_TYPE = "application/vnd.mealplanner.plan-snapshot";
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'M', 'P', 'S'};
+    private static final int NUTRITION_SCALE = 2;
+
+    private PlanSnapshot() {
+    }
+
+    /**
+     * Encodes a plan.
+     *
+     * @throws IllegalArgumentException when a nutrition value has more decimals than its column
+     */
+    public static byte[] encode(MenuPlanResponse plan) {
+        return new Encoder().encode(plan);
+    }
+
+    /**
+     * Decodes a snapshot written by {@link #encode} of this or an older version.
+     *
+     * @throws InvalidPlanSnapshotException when the bytes are not a complete snapshot
+     */
+    public static MenuPlanResponse decode(byte[] snapshot) {
+        return new Decoder(snapshot).decode();
+    }
+
+    private static final class Encoder {
+
+        private final Buffer body = new Buffer(256);
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<String> stringTable = new ArrayList<>();
+        private final Map<RecipeResponse, Integer> recipes = new HashMap<>();
+        private final List<RecipeResponse> recipeTable = new ArrayList<>();
+        private final Map<MealSlotResponse, Integer> meals = new HashMap<>();
+        private final List<MealSlotResponse> mealTable = new ArrayList<>();
+
+        byte[] encode(MenuPlanResponse plan) {
+            List<DailyMealPlanResponse> days = plan.getDailyMealPlans() != null ? plan.getDailyMealPlans() : List.of();
+            for (DailyMealPlanResponse day : days) {
+                index(day.getSoupRecipe(), recipes, recipeTable);
+                index(day.getMainCourseRecipe(), recipes, recipeTable);
+                index(day.getSideDishRecipe(), recipes, recipeTable);
+                index(day.getBreakfastMeal(), meals, mealTable);
+                index(day.getLunchMeal(), meals, mealTable);
+                index(day.getDinnerMeal(), meals, mealTable);
+                index(day.getSnackMeal(), meals, mealTable);
+            }
+
+            long baseSecond = plan.getCreatedAt() != null ? plan.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : 0;
+            long baseDay = plan.getStartDate() != null ? plan.getStartDate().toEpochDay() : 0;
+
+            nullableLong(plan.getStartDate() != null ? baseDay : null);
+            timestamp(plan.getCreatedAt(), 0);
+
+            body.varLong(recipeTable.size());
+            for (RecipeResponse recipe : recipeTable) {
+                writeRecipe(recipe, baseSecond);
+            }
+            body.varLong(mealTable.size());
+            for (MealSlotResponse meal : mealTable) {
+                nullableLong(meal.getId());
+                string(meal.getName());
+                string(meal.getMealType() != null ? meal.getMealType().name() : null);
+                fixed(meal.getCalories());
+            }
+
+            nullableLong(plan.getId());
+            string(plan.getName());
+            string(plan.getDescription());
+            nullableLong(plan.getUserId());
+            date(plan.getEndDate(), baseDay);
+            string(plan.getStatus() != null ? plan.getStatus().name() : null);
+            nullableLong(plan.getTotalCalories());
+            nullableLong(plan.getAverageDailyCalories());
+            string(plan.getNotes());
+            bool(plan.getIsBalanced());
+            if (plan.getBalanceScore() == null) {
+                body.varLong(0);
+            } else {
+                body.varLong(1);
+                body.fixedLong(Double.doubleToRawLongBits(plan.getBalanceScore()));
+            }
+            timestamp(plan.getUpdatedAt(), baseSecond);
+
+            body.varLong(days.size());
+            long previousId = 0;
+            for (DailyMealPlanResponse day : days) {
+                nullableLong(day.getId() != null ? day.getId() - previousId : null);
+                previousId = day.getId() != null ? day.getId() : previousId;
+                nullableLong(day.getDayNumber());
+                date(day.getMealDate(), baseDay);
+                body.varLong(reference(day.getSoupRecipe(), recipes));
+                body.varLong(reference(day.getMainCourseRecipe(), recipes));
+                body.varLong(reference(day.getSideDishRecipe(), recipes));
+                body.varLong(reference(day.getBreakfastMeal(), meals));
+                body.varLong(reference(day.getLunchMeal(), meals));
+                body.varLong(reference(day.getDinnerMeal(), meals));
+                body.varLong(reference(day.getSnackMeal(), meals));
+                nullableLong(day.getTotalCalories());
+                string(day.getNotes());
+            }
+
+            Buffer out = new Buffer(body.size + 16 * stringTable.size() + 8);
+            out.bytes(MAGIC, 0, MAGIC.length);
+            out.varLong(VERSION);
+            out.varLong(stringTable.size());
+            for (String value : stringTable) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                out.varLong(utf8.length);
+                out.bytes(utf8, 0, utf8.length);
+            }
+            out.bytes(body.data, 0, body.size);
+            return out.toByteArray();
+        }
+
+        private void writeRecipe(RecipeResponse recipe, long baseSecond) {
+            nullableLong(recipe.getId());
+            string(recipe.getName());
+            string(recipe.getDescription());
+            string(recipe.getCategory() != null ? recipe.getCategory().name() : null);
+            nullableLong(recipe.getCookingTimeMinutes());
+            nullableLong(recipe.getServings());
+            fixed(recipe.getCalories());
+            fixed(recipe.getProtein());
+            fixed(recipe.getCarbohydrates());
+            fixed(recipe.getFat());
+            fixed(recipe.getFiber());
+            string(recipe.getImageUrl());
+            nullableLong(recipe.getUserId());
+            bool(recipe.getActive());
+            timestamp(recipe.getCreatedAt(), baseSecond);
+            timestamp(recipe.getUpdatedAt(), baseSecond);
+        }
+
+        private static <T> void index(T value, Map<T, Integer> indexes, List<T> table) {
+            if (value != null && !indexes.containsKey(value)) {
+                indexes.put(value, table.size());
+                table.add(value);
+            }
+        }
+
+        private static <T> long reference(T value, Map<T, Integer> indexes) {
+            return value != null ? indexes.get(value) + 1 : 0;
+        }
+
+        private void string(String value) {
+            if (value == null) {
+                body.varLong(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = stringTable.size();
+                strings.put(value, index);
+                stringTable.add(value);
+            }
+            body.varLong(index + 1);
+        }
+
+        private void nullableLong(Number value) {
+            if (value == null) {
+                body.varLong(0);
+                return;
+            }
+            long zigzag = zigzag(value.longValue());
+            if (zigzag == -1) {
+                throw new IllegalArgumentException("Value " + value + " is out of the snapshot range");
+            }
+            body.varLong(zigzag + 1);
+        }
+
+        private void fixed(BigDecimal value) {
+            if (value == null) {
+                body.varLong(0);
+                return;
+            }
+            try {
+                nullableLong(value.movePointRight(NUTRITION_SCALE).longValueExact());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException(
+                    "Nutrition value " + value + " has more than " + NUTRITION_SCALE + " decimals", e);
+            }
+        }
+
+        private void date(LocalDate value, long baseDay) {
+            nullableLong(value != null ? value.toEpochDay() - baseDay : null);
+        }
+
+        private void timestamp(LocalDateTime value, long baseSecond) {
+            if (value == null) {
+                body.varLong(0);
+                return;
+            }
+            nullableLong(value.toEpochSecond(ZoneOffset.UTC) - baseSecond);
+            body.varLong(value.getNano());
+        }
+
+        private void bool(Boolean value) {
+            body.varLong(value == null ? 0 : value ? 2 : 1);
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Decoder {
+
+        private final byte[] data;
+        private int position;
+        private String[] strings;
+        private Long startDay;
+        private LocalDateTime createdAt;
+        private long baseDay;
+        private long baseSecond;
+        private RecipeResponse[] recipes;
+        private MealSlotResponse[] meals;
+
+        Decoder(byte[] data) {
+            this.data = data;
+        }
+
+        MenuPlanResponse decode() {
+            if (data.length < MAGIC.length || !Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+                throw new InvalidPlanSnapshotException("Not a plan snapshot");
+            }
+            position = MAGIC.length;
+            long version = varLong();
+            if (version < 1 || version > VERSION) {
+                throw new InvalidPlanSnapshotException("Unsupported plan snapshot version " + version);
+            }
+
+            strings = new String[count()];
+            for (int i = 0; i < strings.length; i++) {
+                int length = count();
+                strings[i] = new String(data, position, length, StandardCharsets.UTF_8);
+                position += length;
+            }
+            startDay = nullableLong();
+            baseDay = startDay != null ? startDay : 0;
+            createdAt = timestamp(0);
+            baseSecond = createdAt != null ? createdAt.toEpochSecond(ZoneOffset.UTC) : 0;
+
+            recipes = new RecipeResponse[count()];
+            for (int i = 0; i < recipes.length; i++) {
+                recipes[i] = readRecipe();
+            }
+            meals = new MealSlotResponse[count()];
+            for (int i = 0; i < meals.length; i++) {
+                meals[i] = MealSlotResponse.builder()
+                    .id(nullableLong())
+                    .name(string())
+                    .mealType(enumValue(Meal.MealType.class, string()))
+                    .calories(fixed())
+                    .build();
+            }
+
+            MenuPlanResponse plan = readPlan();
+            if (position != data.length) {
+                throw new InvalidPlanSnapshotException("Plan snapshot has trailing bytes");
+            }
+            return plan;
+        }
+
+        private RecipeResponse readRecipe() {
+            return RecipeResponse.builder()
+                .id(nullableLong())
+                .name(string())
+                .description(string())
+                .category(enumValue(Recipe.RecipeCategory.class, string()))
+                .cookingTimeMinutes(nullableInt())
+                .servings(nullableInt())
+                .calories(fixed())
+                .protein(fixed())
+                .carbohydrates(fixed())
+                .fat(fixed())
+                .fiber(fixed())
+                .imageUrl(string())
+                .userId(nullableLong())
+                .active(bool())
+                .createdAt(timestamp(baseSecond))
+                .updatedAt(timestamp(baseSecond))
+                .build();
+        }
+
+        private MenuPlanResponse readPlan() {
+            Long id = nullableLong();
+            String name = string();
+            String description = string();
+            Long userId = nullableLong();
+            LocalDate endDate = date();
+            String status = string();
+            Integer totalCalories = nullableInt();
+            Integer averageDailyCalories = nullableInt();
+            String notes = string();
+            Boolean isBalanced = bool();
+            Double balanceScore = varLong() != 0 ? Double.longBitsToDouble(fixedLong()) : null;
+            LocalDateTime updatedAt = timestamp(baseSecond);
+
+            int dayCount = count();
+            List<DailyMealPlanResponse> days = new ArrayList<>(dayCount);
+            long previousId = 0;
+            for (int i = 0; i < dayCount; i++) {
+                Long delta = nullableLong();
+                Long dayId = delta != null ? previousId + delta : null;
+                previousId = dayId != null ? dayId : previousId;
+                days.add(DailyMealPlanResponse.builder()
+                    .id(dayId)
+                    .dayNumber(nullableInt())
+                    .mealDate(date())
+                    .soupRecipe(reference(recipes))
+                    .mainCourseRecipe(reference(recipes))
+                    .sideDishRecipe(reference(recipes))
+                    .breakfastMeal(reference(meals))
+                    .lunchMeal(reference(meals))
+                    .dinnerMeal(reference(meals))
+                    .snackMeal(reference(meals))
+                    .totalCalories(nullableInt())
+                    .notes(string())
+                    .build());
+            }
+
+            return MenuPlanResponse.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .userId(userId)
+                .startDate(startDay != null ? epochDay(startDay, 0) : null)
+                .endDate(endDate)
+                .dailyMealPlans(days)
+                .status(enumValue(MenuPlan.MenuPlanStatus.class, status))
+                .totalCalories(totalCalories)
+                .averageDailyCalories(averageDailyCalories)
+                .notes(notes)
+                .isBalanced(isBalanced)
+                .balanceScore(balanceScore)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+        }
+
+        private <T> T reference(T[] table) {
+            long index = varLong();
+            // Ten-byte varints can set the sign bit
+            if (index < 0 || index > table.length) {
+                throw new InvalidPlanSnapshotException("Plan snapshot refers to a missing table entry");
+            }
+            return index == 0 ? null : table[(int) index - 1];
+        }
+
+        private String string() {
+            return reference(strings);
+        }
+
+        private Long nullableLong() {
+            long stored = varLong();
+            return stored == 0 ? null : unzigzag(stored - 1);
+        }
+
+        private Integer nullableInt() {
+            Long value = nullableLong();
+            if (value != null && (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)) {
+                throw new InvalidPlanSnapshotException("Plan snapshot value " + value + " is out of range");
+            }
+            return value != null ? value.intValue() : null;
+        }
+
+        private BigDecimal fixed() {
+            Long value = nullableLong();
+            return value != null ? BigDecimal.valueOf(value, NUTRITION_SCALE) : null;
+        }
+
+        private LocalDate date() {
+            Long value = nullableLong();
+            return value != null ? epochDay(baseDay, value) : null;
+        }
+
+        private LocalDateTime timestamp(long baseSecond) {
+            Long seconds = nullableLong();
+            if (seconds == null) {
+                return null;
+            }
+            long nanos = varLong();
+            if (nanos < 0 || nanos >= 1_000_000_000) {
+                throw new InvalidPlanSnapshotException("Plan snapshot has a malformed timestamp");
+            }
+            try {
+                return LocalDateTime.ofEpochSecond(Math.addExact(baseSecond, seconds), (int) nanos, ZoneOffset.UTC);
+            } catch (ArithmeticException | DateTimeException e) {
+                throw new InvalidPlanSnapshotException("Plan snapshot has a timestamp out of range", e);
+            }
+        }
+
+        private static LocalDate epochDay(long baseDay, long days) {
+            try {
+                return LocalDate.ofEpochDay(Math.addExact(baseDay, days));
+            } catch (ArithmeticException | DateTimeException e) {
+                throw new InvalidPlanSnapshotException("Plan snapshot has a date out of range", e);
+            }
+        }
+
+        /**
+         * Enum constants travel by name, so a snapshot can name one this build does not have.
+         */
+        private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+            if (name == null) {
+                return null;
+            }
+            try {
+                return Enum.valueOf(type, name);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidPlanSnapshotException(
+                    "Plan snapshot has an unknown " + type.getSimpleName() + " " + name, e);
+            }
+        }
+
+        private Boolean bool() {
+            long value = varLong();
+            return value == 0 ? null : value == 2;
+        }
+
+        /**
+         * A table or string length, at most the bytes left, so corrupt input cannot allocate
+         * more than its own size.
+         */
+        private int count() {
+            long count = varLong();
+            if (count < 0 || count > data.length - position) {
+                throw new InvalidPlanSnapshotException("Plan snapshot is truncated");
+            }
+            return (int) count;
+        }
+
+        private long varLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= data.length) {
+                    throw new InvalidPlanSnapshotException("Plan snapshot is truncated");
+                }
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new InvalidPlanSnapshotException("Plan snapshot has a malformed number");
+        }
+
+        private long fixedLong() {
+            if (data.length - position < Long.BYTES) {
+                throw new InvalidPlanSnapshotException("Plan snapshot is truncated");
+            }
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private static final class Buffer {
+
+        private byte[] data;
+        private int size;
+
+        Buffer(int capacity) {
+            data = new byte[capacity];
+        }
+
+        void varLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        void fixedLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                data[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void bytes(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, data, size, length);
+            size += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        private void ensure(int length) {
+            if (size + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+            }
+        }
+    }
+}
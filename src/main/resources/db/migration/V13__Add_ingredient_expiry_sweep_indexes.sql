@@ -0,0 +1,19 @@
+-- Support the nightly ingredient expiry sweep.
+-- The sweep only ever looks at rows that are still available and carry an expiry date,
+-- so a partial index keeps it small no matter how many expired rows accumulate.
+CREATE INDEX idx_ingredient_expiry_available ON ingredients(expiry_date)
+    WHERE available = TRUE AND expiry_date IS NOT NULL;
+
+-- Availability lookups now rely on the plain available flag
+CREATE INDEX idx_ingredient_user_available ON ingredients(user_id)
+    WHERE available = TRUE;
+
+-- Catch up rows that expired before the sweep existed
+UPDATE ingredients
+SET available = FALSE,
+    updated_at = CURRENT_TIMESTAMP
+WHERE available = TRUE
+  AND expiry_date < CURRENT_DATE;
+
+COMMENT ON INDEX idx_ingredient_expiry_available IS 'Partial index used by the nightly expiry sweep';
+COMMENT ON INDEX idx_ingredient_user_available IS 'Partial index for per-user availability queries';
@@ -0,0 +1,28 @@
+-- Switch ID generation from IDENTITY to pooled sequences so Hibernate can batch inserts.
+-- Hibernate reserves a block of 50 IDs per nextval call (pooled optimizer: the value
+-- returned is the top of the block), so each BIGSERIAL sequence now steps by 50.
+-- Column defaults are kept, so plain SQL inserts still work and simply consume a block.
+--
+-- setval(max + 1) makes the next nextval return max + 51, i.e. Hibernate's first block
+-- starts at max + 2 and can never overlap an existing row.
+
+ALTER SEQUENCE ingredients_id_seq INCREMENT BY 50;
+SELECT setval('ingredients_id_seq', COALESCE((SELECT MAX(id) FROM ingredients), 0) + 1, TRUE);
+
+ALTER SEQUENCE meals_id_seq INCREMENT BY 50;
+SELECT setval('meals_id_seq', COALESCE((SELECT MAX(id) FROM meals), 0) + 1, TRUE);
+
+ALTER SEQUENCE nutritional_info_id_seq INCREMENT BY 50;
+SELECT setval('nutritional_info_id_seq', COALESCE((SELECT MAX(id) FROM nutritional_info), 0) + 1, TRUE);
+
+ALTER SEQUENCE menu_plans_id_seq INCREMENT BY 50;
+SELECT setval('menu_plans_id_seq', COALESCE((SELECT MAX(id) FROM menu_plans), 0) + 1, TRUE);
+
+ALTER SEQUENCE daily_meal_plans_id_seq INCREMENT BY 50;
+SELECT setval('daily_meal_plans_id_seq', COALESCE((SELECT MAX(id) FROM daily_meal_plans), 0) + 1, TRUE);
+
+ALTER SEQUENCE recipes_id_seq INCREMENT BY 50;
+SELECT setval('recipes_id_seq', COALESCE((SELECT MAX(id) FROM recipes), 0) + 1, TRUE);
+
+ALTER SEQUENCE recipe_ingredients_id_seq INCREMENT BY 50;
+SELECT setval('recipe_ingredients_id_seq', COALESCE((SELECT MAX(id) FROM recipe_ingredients), 0) + 1, TRUE);
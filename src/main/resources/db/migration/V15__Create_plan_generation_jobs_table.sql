@@ -0,0 +1,32 @@
+-- Durable queue for asynchronous menu plan generation.
+-- Workers claim rows with SELECT ... FOR UPDATE SKIP LOCKED, so several application
+-- instances can drain the same queue without handing the same job out twice.
+CREATE TABLE plan_generation_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    request_payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    menu_plan_id BIGINT,
+    error_message VARCHAR(1000),
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_plan_job_menu_plan FOREIGN KEY (menu_plan_id) REFERENCES menu_plans(id) ON DELETE SET NULL
+);
+
+-- Matches the pooled allocation used by the entity mapping
+ALTER SEQUENCE plan_generation_jobs_id_seq INCREMENT BY 50;
+
+CREATE INDEX idx_plan_job_user ON plan_generation_jobs(user_id);
+
+-- Only pending and in-flight rows are ever scanned by the workers
+CREATE INDEX idx_plan_job_queued ON plan_generation_jobs(id) WHERE status = 'QUEUED';
+CREATE INDEX idx_plan_job_running ON plan_generation_jobs(started_at) WHERE status = 'RUNNING';
+
+COMMENT ON TABLE plan_generation_jobs IS 'Queue of asynchronous menu plan generation requests';
+COMMENT ON COLUMN plan_generation_jobs.request_payload IS 'Original MenuPlanRequest serialized as JSON';
+COMMENT ON COLUMN plan_generation_jobs.status IS 'QUEUED, RUNNING, SUCCEEDED or FAILED';
+COMMENT ON COLUMN plan_generation_jobs.attempts IS 'Number of times a worker has claimed the job';
+COMMENT ON COLUMN plan_generation_jobs.menu_plan_id IS 'Generated menu plan, set when the job succeeds';
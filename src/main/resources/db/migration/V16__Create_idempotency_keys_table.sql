@@ -0,0 +1,21 @@
+-- Idempotency-Key support for menu plan generation.
+-- A retried request with the same key replays the plan produced by the first attempt.
+CREATE TABLE idempotency_keys (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    menu_plan_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_idempotency_user_key UNIQUE (user_id, idempotency_key),
+    CONSTRAINT fk_idempotency_menu_plan FOREIGN KEY (menu_plan_id) REFERENCES menu_plans(id) ON DELETE CASCADE
+);
+
+ALTER SEQUENCE idempotency_keys_id_seq INCREMENT BY 50;
+
+CREATE INDEX idx_idempotency_expires_at ON idempotency_keys(expires_at);
+
+COMMENT ON TABLE idempotency_keys IS 'Client idempotency keys mapped to the menu plan they produced';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 of the request body; a reused key with a different body is rejected';
+COMMENT ON COLUMN idempotency_keys.expires_at IS 'Keys are purged after this time';
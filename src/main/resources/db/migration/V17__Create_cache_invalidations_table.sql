@@ -0,0 +1,17 @@
+-- Log of cross-instance cache invalidations.
+-- Every row is also sent on the mealplanner_invalidation NOTIFY channel; the log lets an
+-- instance that missed notifications (reconnect, restart of the listener) catch up by version.
+CREATE TABLE cache_invalidations (
+    version BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(30) NOT NULL,
+    entity_id BIGINT,
+    origin VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations(created_at);
+
+COMMENT ON TABLE cache_invalidations IS 'Cross-instance cache invalidation log, pruned after a retention period';
+COMMENT ON COLUMN cache_invalidations.version IS 'Monotonic version; instances track the highest version they have applied';
+COMMENT ON COLUMN cache_invalidations.entity_id IS 'Key to evict; NULL evicts every entry of the type';
+COMMENT ON COLUMN cache_invalidations.origin IS 'Instance that published the invalidation; it ignores its own messages';
@@ -0,0 +1,141 @@
+-- Range-partition daily_meal_plans by meal_date, one partition per month.
+-- Queries that bound meal_date only touch the months they ask for, and once completed plans are
+-- archived their old months can be dropped whole instead of leaving dead index entries behind.
+--
+-- A partitioned table's primary key and unique constraints must include the partition key, so
+-- the key becomes (id, meal_date) and UNIQUE (menu_plan_id, day_number) is dropped: a plan
+-- extended week by week can cross months, and its day numbers are assigned by the application.
+-- IDs still come from daily_meal_plans_id_seq, so id alone stays unique.
+--
+-- Days whose month has no partition yet land in daily_meal_plans_default; the partition
+-- maintenance job creates upcoming months ahead of time and moves such rows across.
+
+ALTER SEQUENCE daily_meal_plans_id_seq OWNED BY NONE;
+ALTER TABLE daily_meal_plans RENAME TO daily_meal_plans_unpartitioned;
+
+CREATE TABLE daily_meal_plans (
+    id BIGINT NOT NULL DEFAULT nextval('daily_meal_plans_id_seq'),
+    menu_plan_id BIGINT NOT NULL,
+    day_number INTEGER NOT NULL,
+    meal_date DATE NOT NULL,
+    breakfast_meal_id BIGINT,
+    lunch_meal_id BIGINT,
+    dinner_meal_id BIGINT,
+    snack_meal_id BIGINT,
+    total_calories INTEGER,
+    notes VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    breakfast_recipe_id BIGINT,
+    lunch_recipe_id BIGINT,
+    dinner_recipe_id BIGINT
+) PARTITION BY RANGE (meal_date);
+
+CREATE TABLE daily_meal_plans_default PARTITION OF daily_meal_plans DEFAULT;
+
+-- Creates the partition holding the month of the given date, moving any of its rows out of the
+-- default partition first (attaching would fail while they are there). Returns FALSE if the
+-- partition already exists.
+CREATE OR REPLACE FUNCTION create_daily_meal_plan_partition(for_month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    lower_bound DATE := date_trunc('month', for_month)::DATE;
+    upper_bound DATE := (date_trunc('month', for_month) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'daily_meal_plans_' || to_char(lower_bound, '"y"YYYY"m"MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE daily_meal_plans INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM daily_meal_plans_default WHERE meal_date >= %L AND meal_date < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE daily_meal_plans ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops monthly partitions that ended on or before the given date and hold no rows, typically
+-- after their plans were archived. Returns the number dropped.
+CREATE OR REPLACE FUNCTION drop_empty_daily_meal_plan_partitions(before DATE) RETURNS INTEGER AS $$
+DECLARE
+    partition_name TEXT;
+    has_rows BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'daily_meal_plans'::regclass
+          AND c.relname ~ '^daily_meal_plans_y[0-9]{4}m[0-9]{2}$'
+    LOOP
+        IF to_date(substring(partition_name FROM 18), '"y"YYYY"m"MM') + INTERVAL '1 month' > before THEN
+            CONTINUE;
+        END IF;
+        -- Block writers between the emptiness check and the drop
+        EXECUTE format('LOCK TABLE %I IN ACCESS EXCLUSIVE MODE', partition_name);
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', partition_name) INTO has_rows;
+        IF NOT has_rows THEN
+            EXECUTE format('DROP TABLE %I', partition_name);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for every month with existing days, through three months from now
+DO $$
+DECLARE
+    next_month DATE := date_trunc('month', LEAST(
+        COALESCE((SELECT MIN(meal_date) FROM daily_meal_plans_unpartitioned), CURRENT_DATE), CURRENT_DATE))::DATE;
+    last_month DATE := date_trunc('month', GREATEST(
+        COALESCE((SELECT MAX(meal_date) FROM daily_meal_plans_unpartitioned), CURRENT_DATE),
+        CURRENT_DATE + INTERVAL '3 months'))::DATE;
+BEGIN
+    WHILE next_month <= last_month LOOP
+        PERFORM create_daily_meal_plan_partition(next_month);
+        next_month := (next_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO daily_meal_plans (id, menu_plan_id, day_number, meal_date, breakfast_meal_id, lunch_meal_id,
+                              dinner_meal_id, snack_meal_id, total_calories, notes, created_at, updated_at,
+                              breakfast_recipe_id, lunch_recipe_id, dinner_recipe_id)
+SELECT id, menu_plan_id, day_number, meal_date, breakfast_meal_id, lunch_meal_id,
+       dinner_meal_id, snack_meal_id, total_calories, notes, created_at, updated_at,
+       breakfast_recipe_id, lunch_recipe_id, dinner_recipe_id
+FROM daily_meal_plans_unpartitioned;
+
+DROP TABLE daily_meal_plans_unpartitioned;
+
+-- Keys and indexes are added after the copy, under the names the old table used
+ALTER TABLE daily_meal_plans ADD PRIMARY KEY (id, meal_date);
+ALTER TABLE daily_meal_plans ADD UNIQUE (menu_plan_id, meal_date);
+
+ALTER TABLE daily_meal_plans ADD FOREIGN KEY (menu_plan_id) REFERENCES menu_plans(id) ON DELETE CASCADE;
+ALTER TABLE daily_meal_plans ADD FOREIGN KEY (breakfast_meal_id) REFERENCES meals(id) ON DELETE SET NULL;
+ALTER TABLE daily_meal_plans ADD FOREIGN KEY (lunch_meal_id) REFERENCES meals(id) ON DELETE SET NULL;
+ALTER TABLE daily_meal_plans ADD FOREIGN KEY (dinner_meal_id) REFERENCES meals(id) ON DELETE SET NULL;
+ALTER TABLE daily_meal_plans ADD FOREIGN KEY (snack_meal_id) REFERENCES meals(id) ON DELETE SET NULL;
+ALTER TABLE daily_meal_plans ADD CONSTRAINT fk_breakfast_recipe
+    FOREIGN KEY (breakfast_recipe_id) REFERENCES recipes(id) ON DELETE SET NULL;
+ALTER TABLE daily_meal_plans ADD CONSTRAINT fk_lunch_recipe
+    FOREIGN KEY (lunch_recipe_id) REFERENCES recipes(id) ON DELETE SET NULL;
+ALTER TABLE daily_meal_plans ADD CONSTRAINT fk_dinner_recipe
+    FOREIGN KEY (dinner_recipe_id) REFERENCES recipes(id) ON DELETE SET NULL;
+
+CREATE INDEX idx_daily_meal_plan_menu ON daily_meal_plans(menu_plan_id);
+CREATE INDEX idx_daily_meal_plan_date ON daily_meal_plans(meal_date);
+CREATE INDEX idx_daily_meal_plan_day ON daily_meal_plans(day_number);
+CREATE INDEX idx_daily_meal_plan_breakfast_recipe ON daily_meal_plans(breakfast_recipe_id);
+CREATE INDEX idx_daily_meal_plan_lunch_recipe ON daily_meal_plans(lunch_recipe_id);
+CREATE INDEX idx_daily_meal_plan_dinner_recipe ON daily_meal_plans(dinner_recipe_id);
+
+ALTER SEQUENCE daily_meal_plans_id_seq OWNED BY daily_meal_plans.id;
+
+COMMENT ON TABLE daily_meal_plans IS 'Stores daily meal assignments within a menu plan, partitioned by month of meal_date';
+COMMENT ON COLUMN daily_meal_plans.day_number IS 'Day number within the menu plan (1-5 for 5-day plan)';
+COMMENT ON COLUMN daily_meal_plans.meal_date IS 'Actual date for this daily plan; the partition key';
+COMMENT ON TABLE daily_meal_plans_default IS 'Days whose month has no partition yet; moved out when it is created';
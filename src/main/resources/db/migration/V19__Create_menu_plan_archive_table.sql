@@ -0,0 +1,28 @@
+-- Compact archive for completed menu plans past their retention period.
+-- One row per plan, with its days serialized into a single column, replaces a menu_plans row
+-- plus one daily_meal_plans row and its index entries per day. The low TOAST target makes
+-- PostgreSQL compress the days of even short plans.
+CREATE TABLE menu_plan_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    name VARCHAR(200) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    total_calories INTEGER,
+    average_daily_calories INTEGER,
+    is_balanced BOOLEAN NOT NULL,
+    balance_score DOUBLE PRECISION,
+    days TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) WITH (toast_tuple_target = 128);
+
+CREATE INDEX idx_menu_plan_archive_user ON menu_plan_archive(user_id, start_date);
+
+-- The archiver only looks at completed plans, oldest first
+CREATE INDEX idx_menu_plan_completed_end_date ON menu_plans(end_date)
+    WHERE status = 'COMPLETED';
+
+COMMENT ON TABLE menu_plan_archive IS 'Completed menu plans moved out of menu_plans and daily_meal_plans after a retention period';
+COMMENT ON COLUMN menu_plan_archive.id IS 'ID the plan had in menu_plans';
+COMMENT ON COLUMN menu_plan_archive.days IS 'JSON array of the plan''s days with their recipe and meal IDs';
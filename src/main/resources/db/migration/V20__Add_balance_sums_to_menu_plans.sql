@@ -0,0 +1,14 @@
+-- Running sums behind a menu plan's balance score.
+-- A dish swap applies the change of one day to them instead of re-reading every day of the
+-- plan. They stay null until the first swap computes them, and are reset to null whenever
+-- days are added to the plan.
+ALTER TABLE menu_plans
+    ADD COLUMN balance_days INTEGER,
+    ADD COLUMN balance_macro_sum DOUBLE PRECISION,
+    ADD COLUMN balance_calorie_sum BIGINT,
+    ADD COLUMN balance_calorie_squares BIGINT,
+    ADD COLUMN balance_meals INTEGER,
+    ADD COLUMN balance_distinct_recipes INTEGER;
+
+COMMENT ON COLUMN menu_plans.balance_macro_sum IS 'Sum over days of the mean macro balance of the day''s dishes';
+COMMENT ON COLUMN menu_plans.balance_calorie_squares IS 'Sum over days of the squared dish calories of the day';
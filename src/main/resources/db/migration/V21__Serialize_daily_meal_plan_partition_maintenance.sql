@@ -0,0 +1,55 @@
+-- Every instance runs partition maintenance at startup and on the same schedule. Without
+-- coordination two callers can both find a month missing and one fails with "relation already
+-- exists", or both pick the same empty partition and one fails dropping it. A transaction-scoped
+-- advisory lock makes them take turns; each re-checks the catalog once it holds the lock.
+
+CREATE OR REPLACE FUNCTION create_daily_meal_plan_partition(for_month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    lower_bound DATE := date_trunc('month', for_month)::DATE;
+    upper_bound DATE := (date_trunc('month', for_month) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'daily_meal_plans_' || to_char(lower_bound, '"y"YYYY"m"MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('daily_meal_plans_partitions'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE daily_meal_plans INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM daily_meal_plans_default WHERE meal_date >= %L AND meal_date < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE daily_meal_plans ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION drop_empty_daily_meal_plan_partitions(before DATE) RETURNS INTEGER AS $$
+DECLARE
+    partition_name TEXT;
+    has_rows BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('daily_meal_plans_partitions'));
+
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'daily_meal_plans'::regclass
+          AND c.relname ~ '^daily_meal_plans_y[0-9]{4}m[0-9]{2}$'
+    LOOP
+        IF to_date(substring(partition_name FROM 18), '"y"YYYY"m"MM') + INTERVAL '1 month' > before THEN
+            CONTINUE;
+        END IF;
+        -- Block writers between the emptiness check and the drop
+        EXECUTE format('LOCK TABLE %I IN ACCESS EXCLUSIVE MODE', partition_name);
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', partition_name) INTO has_rows;
+        IF NOT has_rows THEN
+            EXECUTE format('DROP TABLE %I', partition_name);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
@@ -49,6 +49,9 @@ function initializeApp() {
     // Load ingredients on page load
     loadIngredients();
 
+    // Reload when ingredients change elsewhere (other tabs, nightly expiry sweep)
+    subscribeToIngredientEvents();
+
     // Setup form submission
     const form = document.getElementById('ingredientForm');
     form.addEventListener('submit', handleFormSubmit);
@@ -291,6 +294,20 @@ async function confirmDelete() {
     }
 }
 
+// Server-Sent Events: reload the list when the server reports ingredient changes
+let ingredientReloadTimer = null;
+
+function subscribeToIngredientEvents() {
+    if (!window.EventSource) return;
+
+    const source = new EventSource('/api/events/stream?userId=1');
+    source.addEventListener('ingredients', () => {
+        // Debounce bursts (e.g. an expiry sweep batch) into a single reload
+        clearTimeout(ingredientReloadTimer);
+        ingredientReloadTimer = setTimeout(() => loadIngredients(currentPage, currentFilter), 300);
+    });
+}
+
 // Refresh ingredients
 function refreshIngredients() {
     loadIngredients(currentPage, currentFilter);
@@ -0,0 +1,133 @@
+package com.greenmono.mealplanner.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CoalescingLoader Unit Tests")
+class CoalescingLoaderTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final CoalescingLoader<Long, Integer> loader = new CoalescingLoader<>(
+        Duration.ofSeconds(2), Duration.ofSeconds(10), 100, refreshes::add, nanos::get);
+
+    @Test
+    @DisplayName("Should reuse the value inside the fresh window")
+    void shouldServeFreshValue() {
+        assertThat(loader.get(1L, loads::incrementAndGet)).isEqualTo(1);
+        advanceSeconds(1);
+
+        assertThat(loader.get(1L, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve the stale value and refresh once in the background")
+    void shouldRevalidateStaleValue() {
+        loader.get(1L, loads::incrementAndGet);
+        advanceSeconds(5);
+
+        assertThat(loader.get(1L, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(loader.get(1L, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.get(0).run();
+
+        assertThat(loader.get(1L, loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should load again once the stale window has passed")
+    void shouldReloadExpiredValue() {
+        loader.get(1L, loads::incrementAndGet);
+        advanceSeconds(13);
+
+        assertThat(loader.get(1L, loads::incrementAndGet)).isEqualTo(2);
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not store failed loads")
+    void shouldNotCacheFailures() {
+        assertThatThrownBy(() -> loader.get(1L, () -> {
+            throw new IllegalStateException("No active menu plan");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(loader.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop the value on invalidation")
+    void shouldInvalidate() {
+        loader.get(1L, loads::incrementAndGet);
+        loader.invalidate(1L);
+
+        assertThat(loader.get(1L, loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not store a value whose load was overtaken by an invalidation")
+    void shouldDiscardLoadRacingInvalidation() {
+        int value = loader.get(1L, () -> {
+            loader.invalidate(1L);
+            return 42;
+        });
+
+        assertThat(value).isEqualTo(42);
+        assertThat(loader.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep storing loads of other keys while one key is invalidated")
+    void shouldInvalidateOnlyThatKey() {
+        int value = loader.get(1L, () -> {
+            loader.invalidate(2L);
+            return 42;
+        });
+
+        assertThat(value).isEqualTo(42);
+        assertThat(loader.get(1L, loads::incrementAndGet)).isEqualTo(42);
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not store any load overtaken by invalidating everything")
+    void shouldDiscardLoadRacingInvalidateAll() {
+        loader.get(1L, () -> {
+            loader.invalidateAll();
+            return 42;
+        });
+
+        assertThat(loader.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should still discard racing loads after forgetting per-key epochs")
+    void shouldDiscardLoadWhenKeyEpochsOverflow() {
+        loader.get(1L, () -> {
+            for (long key = 2; key <= 102; key++) {
+                loader.invalidate(key);
+            }
+            return 42;
+        });
+
+        assertThat(loader.size()).isZero();
+    }
+
+    private void advanceSeconds(long seconds) {
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
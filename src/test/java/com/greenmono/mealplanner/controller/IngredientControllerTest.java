@@ -570,6 +570,37 @@ class IngredientControllerTest {
                 .andExpect(jsonPath("$.content[1].name", is("Apple")));
     }
 
+    @Test
+    @DisplayName("Should return 200 OK with the updated ingredient")
+    void shouldUpdateIngredient() throws Exception {
+        // Arrange
+        when(ingredientService.updateIngredient(eq(1L), any(IngredientRequest.class))).thenReturn(expectedResponse);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/ingredients/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.name", is("Chicken Breast")));
+
+        verify(ingredientService).updateIngredient(eq(1L), any(IngredientRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should return 400 BAD REQUEST when the update is invalid")
+    void shouldReturnBadRequestWhenUpdateIsInvalid() throws Exception {
+        validRequest.setName("");
+
+        mockMvc.perform(put("/api/ingredients/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(ingredientService, never()).updateIngredient(any(), any());
+    }
+
     @Test
     @DisplayName("Should return 204 NO CONTENT when ingredient is successfully deleted")
     void shouldReturnNoContentWhenIngredientIsDeleted() throws Exception {
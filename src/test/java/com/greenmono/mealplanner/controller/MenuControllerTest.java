@@ -4,12 +4,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.greenmono.mealplanner.dto.DailyMealPlanResponse;
 import com.greenmono.mealplanner.dto.MenuPlanRequest;
 import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.dto.PlanGenerationJobResponse;
 import com.greenmono.mealplanner.dto.RecipeResponse;
 import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.PlanGenerationJob;
 import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.exception.IdempotencyKeyReuseException;
+import com.greenmono.mealplanner.exception.InvalidIdempotencyKeyException;
+import com.greenmono.mealplanner.exception.JobQueueFullException;
 import com.greenmono.mealplanner.exception.MenuPlanNotFoundException;
-import com.greenmono.mealplanner.service.MenuPlanService;
-import com.greenmono.mealplanner.service.MenuPlannerService;
+import com.greenmono.mealplanner.exception.RateLimitExceededException;
+import com.greenmono.mealplanner.ratelimit.RateLimiter;
+import com.greenmono.mealplanner.service.CurrentMenuPlanService;
+import com.greenmono.mealplanner.service.IdempotentPlanGenerationService;
+import com.greenmono.mealplanner.service.PlanGenerationJobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,6 +37,9 @@ import java.util.List;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -47,10 +58,16 @@ class MenuControllerTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private MenuPlannerService menuPlannerService;
+    private IdempotentPlanGenerationService planGenerationService;
 
     @MockBean
-    private MenuPlanService menuPlanService;
+    private CurrentMenuPlanService currentMenuPlanService;
+
+    @MockBean
+    private PlanGenerationJobService planGenerationJobService;
+
+    @MockBean
+    private RateLimiter rateLimiter;
 
     private MenuPlanRequest validRequest;
     private MenuPlanResponse menuPlanResponse;
@@ -131,7 +148,7 @@ class MenuControllerTest {
     @DisplayName("Should return 201 CREATED with simplified menu when generating menu plan")
     void shouldGenerateSimplifiedMenuSuccessfully() throws Exception {
         // Arrange
-        when(menuPlannerService.generateBalancedMenuPlan(any(MenuPlanRequest.class)))
+        when(planGenerationService.generate(any(MenuPlanRequest.class), any()))
                 .thenReturn(menuPlanResponse);
 
         // Act & Assert
@@ -149,6 +166,112 @@ class MenuControllerTest {
                 .andExpect(jsonPath("$[0].sideDish", is("Pilav")));
     }
 
+    @Test
+    @DisplayName("Should pass the Idempotency-Key header to plan generation")
+    void shouldPassIdempotencyKey() throws Exception {
+        // Arrange
+        when(planGenerationService.generate(any(MenuPlanRequest.class), eq("retry-1")))
+                .thenReturn(menuPlanResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/menu/generate")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(5)));
+    }
+
+    @Test
+    @DisplayName("Should return 422 when an idempotency key is reused with a different request")
+    void shouldRejectReusedIdempotencyKey() throws Exception {
+        // Arrange
+        when(planGenerationService.generate(any(MenuPlanRequest.class), eq("retry-1")))
+                .thenThrow(new IdempotencyKeyReuseException("Idempotency key 'retry-1' was already used with a different request"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/menu/generate")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status", is(422)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a malformed idempotency key")
+    void shouldRejectMalformedIdempotencyKey() throws Exception {
+        // Arrange
+        when(planGenerationService.generate(any(MenuPlanRequest.class), eq(" ")))
+                .thenThrow(new InvalidIdempotencyKeyException("Idempotency-Key must be 1 to 100 characters"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/menu/generate")
+                        .header("Idempotency-Key", " ")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Idempotency-Key must be 1 to 100 characters")));
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After when the user exceeds the generation rate limit")
+    void shouldRejectWhenRateLimited() throws Exception {
+        // Arrange
+        doThrow(new RateLimitExceededException("Too many requests, please retry later", 4))
+                .when(rateLimiter).acquire(RateLimiter.Endpoint.PLAN_GENERATION, 1L);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/menu/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "4"))
+                .andExpect(jsonPath("$.status", is(429)));
+
+        verify(planGenerationService, never()).generate(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 202 ACCEPTED with job ID when queueing menu generation")
+    void shouldQueueMenuGeneration() throws Exception {
+        // Arrange
+        when(planGenerationJobService.enqueue(any(MenuPlanRequest.class)))
+                .thenReturn(PlanGenerationJobResponse.builder()
+                        .jobId(42L)
+                        .userId(1L)
+                        .status(PlanGenerationJob.JobStatus.QUEUED)
+                        .attempts(0)
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/menu/generate/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/menu-plans/jobs/42"))
+                .andExpect(jsonPath("$.jobId", is(42)))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the generation queue is full")
+    void shouldRejectWhenGenerationQueueIsFull() throws Exception {
+        // Arrange
+        when(planGenerationJobService.enqueue(any(MenuPlanRequest.class)))
+                .thenThrow(new JobQueueFullException("Menu plan generation queue is full, please retry later", 5));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/menu/generate/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.status", is(503)));
+    }
+
     @Test
     @DisplayName("Should return 400 BAD REQUEST when userId is null")
     void shouldReturnBadRequestWhenUserIdIsNull() throws Exception {
@@ -216,7 +339,7 @@ class MenuControllerTest {
                 .status(MenuPlan.MenuPlanStatus.ACTIVE)
                 .build();
 
-        when(menuPlannerService.generateBalancedMenuPlan(any(MenuPlanRequest.class)))
+        when(planGenerationService.generate(any(MenuPlanRequest.class), any()))
                 .thenReturn(emptyMenuPlan);
 
         // Act & Assert
@@ -234,7 +357,7 @@ class MenuControllerTest {
     void shouldGetCurrentMenuSuccessfully() throws Exception {
         // Arrange
         Long userId = 1L;
-        when(menuPlanService.getActiveMenuPlan(eq(userId)))
+        when(currentMenuPlanService.getActiveMenuPlan(eq(userId)))
                 .thenReturn(menuPlanResponse);
 
         // Act & Assert
@@ -256,7 +379,7 @@ class MenuControllerTest {
     void shouldReturnNotFoundWhenNoActiveMenuPlan() throws Exception {
         // Arrange
         Long userId = 999L;
-        when(menuPlanService.getActiveMenuPlan(eq(userId)))
+        when(currentMenuPlanService.getActiveMenuPlan(eq(userId)))
                 .thenThrow(new MenuPlanNotFoundException("No active menu plan found for user: " + userId));
 
         // Act & Assert
@@ -307,7 +430,7 @@ class MenuControllerTest {
                 .status(MenuPlan.MenuPlanStatus.ACTIVE)
                 .build();
 
-        when(menuPlanService.getActiveMenuPlan(eq(1L)))
+        when(currentMenuPlanService.getActiveMenuPlan(eq(1L)))
                 .thenReturn(weeklyMenuPlan);
 
         // Act & Assert
@@ -350,7 +473,7 @@ class MenuControllerTest {
                 .dailyMealPlans(Arrays.asList(dailyPlanWithNulls))
                 .build();
 
-        when(menuPlannerService.generateBalancedMenuPlan(any(MenuPlanRequest.class)))
+        when(planGenerationService.generate(any(MenuPlanRequest.class), any()))
                 .thenReturn(menuPlanWithNulls);
 
         // Act & Assert
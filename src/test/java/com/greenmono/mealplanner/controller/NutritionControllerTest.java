@@ -1,13 +1,19 @@
 package com.greenmono.mealplanner.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenmono.mealplanner.dto.NutritionRecomputeResponse;
+import com.greenmono.mealplanner.dto.RecipeNutritionMatchResponse;
+import com.greenmono.mealplanner.index.NutritionQuery;
 import com.greenmono.mealplanner.dto.RecipeNutritionRequest;
 import com.greenmono.mealplanner.entity.Ingredient;
 import com.greenmono.mealplanner.entity.NutritionalInfo;
 import com.greenmono.mealplanner.entity.Recipe;
 import com.greenmono.mealplanner.exception.RecipeNotFoundException;
+import com.greenmono.mealplanner.ratelimit.RateLimiter;
 import com.greenmono.mealplanner.repository.RecipeRepository;
 import com.greenmono.mealplanner.service.NutritionCalculatorService;
+import com.greenmono.mealplanner.service.RecipeNutritionIndexService;
+import com.greenmono.mealplanner.service.RecipeNutritionRecomputeService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,10 +24,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -43,6 +51,15 @@ class NutritionControllerTest {
     @MockBean
     private RecipeRepository recipeRepository;
 
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @MockBean
+    private RecipeNutritionRecomputeService recipeNutritionRecomputeService;
+
+    @MockBean
+    private RecipeNutritionIndexService recipeNutritionIndexService;
+
     @Test
     @DisplayName("GET /api/nutrition/ingredient/{id} - Should return ingredient nutrition")
     void testGetIngredientNutrition_Success() throws Exception {
@@ -286,4 +303,64 @@ class NutritionControllerTest {
             .andExpect(jsonPath("$.carbohydratesInRange").value(false))
             .andExpect(jsonPath("$.message").value("Daily nutrition outside recommended ranges"));
     }
+
+    @Test
+    @DisplayName("POST /api/nutrition/recipes/recompute - Should return recompute summary")
+    void testRecomputeRecipeNutrition() throws Exception {
+        // Given
+        NutritionRecomputeResponse summary = NutritionRecomputeResponse.builder()
+            .recipesRecomputed(120)
+            .recipesChanged(7)
+            .recipesUpdated(0)
+            .recipesIncomplete(3)
+            .dryRun(true)
+            .durationMs(15L)
+            .build();
+
+        when(recipeNutritionRecomputeService.recomputeCatalog(true)).thenReturn(summary);
+
+        // When & Then
+        mockMvc.perform(post("/api/nutrition/recipes/recompute").param("dryRun", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.recipesRecomputed").value(120))
+            .andExpect(jsonPath("$.recipesChanged").value(7))
+            .andExpect(jsonPath("$.recipesUpdated").value(0))
+            .andExpect(jsonPath("$.dryRun").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/nutrition/recipes - Should return recipes matching every range")
+    void testFilterRecipesByNutrition() throws Exception {
+        // Given
+        RecipeNutritionMatchResponse match = RecipeNutritionMatchResponse.builder()
+            .recipeId(7L)
+            .name("Chicken Stir Fry")
+            .category(Recipe.RecipeCategory.MAIN_COURSE)
+            .caloriesPerServing(new BigDecimal("480.00"))
+            .proteinPerServing(new BigDecimal("32.50"))
+            .carbohydratesPerServing(new BigDecimal("41.00"))
+            .build();
+
+        when(recipeNutritionIndexService.filter(any(NutritionQuery.class), eq(20))).thenReturn(List.of(match));
+
+        // When & Then
+        mockMvc.perform(get("/api/nutrition/recipes")
+                .param("category", "MAIN_COURSE")
+                .param("minCalories", "400")
+                .param("maxCalories", "600")
+                .param("minProtein", "25")
+                .param("maxCarbohydrates", "60")
+                .param("limit", "20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].recipeId").value(7))
+            .andExpect(jsonPath("$[0].category").value("MAIN_COURSE"))
+            .andExpect(jsonPath("$[0].proteinPerServing").value(32.5));
+    }
+
+    @Test
+    @DisplayName("GET /api/nutrition/recipes - Should reject a limit out of range")
+    void testFilterRecipesByNutrition_InvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/nutrition/recipes").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+    }
 }
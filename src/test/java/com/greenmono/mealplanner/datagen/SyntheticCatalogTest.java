@@ -0,0 +1,165 @@
+package com.greenmono.mealplanner.datagen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.export.ExportFormat;
+import com.greenmono.mealplanner.export.ExportWriter;
+import com.greenmono.mealplanner.nutrition.UnitConversion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SyntheticCatalog Unit Tests")
+class SyntheticCatalogTest {
+
+    private static final LocalDate ANCHOR = LocalDate.of(2026, 10, 21);
+    private static final SyntheticCatalog.Sizes SIZES = new SyntheticCatalog.Sizes(2_000, 20, 10, 500, 3, 12, 4);
+    private static final SyntheticCatalog.IdBases BASES = new SyntheticCatalog.IdBases(100, 200, 300, 400, 500, 600);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should write the same rows for the same seed and different ones for another")
+    void shouldBeReproducible() throws IOException {
+        SyntheticCatalog first = new SyntheticCatalog(7, SIZES, BASES, ANCHOR);
+        SyntheticCatalog second = new SyntheticCatalog(7, SIZES, BASES, ANCHOR);
+        SyntheticCatalog other = new SyntheticCatalog(8, SIZES, BASES, ANCHOR);
+
+        assertThat(csv(first::writeIngredients, SyntheticCatalog.INGREDIENT_COLUMNS))
+            .isEqualTo(csv(second::writeIngredients, SyntheticCatalog.INGREDIENT_COLUMNS))
+            .isNotEqualTo(csv(other::writeIngredients, SyntheticCatalog.INGREDIENT_COLUMNS));
+        assertThat(csv(first::writeRecipeIngredients, SyntheticCatalog.RECIPE_INGREDIENT_COLUMNS))
+            .isEqualTo(csv(second::writeRecipeIngredients, SyntheticCatalog.RECIPE_INGREDIENT_COLUMNS));
+        assertThat(csv(first::writeDailyMealPlans, SyntheticCatalog.DAILY_MEAL_PLAN_COLUMNS))
+            .isEqualTo(csv(second::writeDailyMealPlans, SyntheticCatalog.DAILY_MEAL_PLAN_COLUMNS));
+    }
+
+    @Test
+    @DisplayName("Should give recipes a bounded, skewed fan-out over existing catalog ingredients")
+    void shouldFanOutRecipesOverCatalog() throws IOException {
+        SyntheticCatalog catalog = new SyntheticCatalog(42, SIZES, BASES, ANCHOR);
+
+        List<JsonNode> ingredients = rows(catalog::writeIngredients, SyntheticCatalog.INGREDIENT_COLUMNS);
+        List<JsonNode> lines = rows(catalog::writeRecipeIngredients, SyntheticCatalog.RECIPE_INGREDIENT_COLUMNS);
+
+        assertThat(ingredients).hasSize(SIZES.ingredients() + (int) SIZES.pantryIngredients());
+        assertThat(ingredients.stream().map(row -> row.get("id").asLong()).distinct()).hasSize(ingredients.size());
+        assertThat(ingredients.subList(0, SIZES.ingredients())).allMatch(row -> row.get("user_id").isNull());
+        assertThat(ingredients.subList(SIZES.ingredients(), ingredients.size()))
+            .allMatch(row -> row.get("user_id").asLong() >= 1 && row.get("user_id").asLong() <= SIZES.users());
+
+        Map<Long, Set<Long>> recipeIngredients = new HashMap<>();
+        int topOnePercent = 0;
+        for (JsonNode line : lines) {
+            long ingredientId = line.get("ingredient_id").asLong();
+            assertThat(ingredientId).isBetween(BASES.ingredient() + 1, BASES.ingredient() + SIZES.ingredients());
+            assertThat(recipeIngredients.computeIfAbsent(line.get("recipe_id").asLong(), id -> new HashSet<>())
+                .add(ingredientId)).as("ingredient listed once per recipe").isTrue();
+            if (ingredientId <= BASES.ingredient() + SIZES.ingredients() / 100) {
+                topOnePercent++;
+            }
+        }
+        assertThat(recipeIngredients).hasSize(SIZES.recipes());
+        assertThat(recipeIngredients.keySet()).allMatch(id -> id > BASES.recipe() && id <= BASES.recipe() + SIZES.recipes());
+        assertThat(recipeIngredients.values()).allMatch(set ->
+            set.size() >= SIZES.minIngredientsPerRecipe() && set.size() <= SIZES.maxIngredientsPerRecipe());
+        // Staples: the most popular 1% of the catalog make up about a fifth of all lines
+        assertThat(topOnePercent).isGreaterThan(lines.size() * 15 / 100);
+    }
+
+    @Test
+    @DisplayName("Should store recipe totals that add up from ingredient nutrition")
+    void shouldComputeRecipeNutritionFromLines() throws IOException {
+        SyntheticCatalog catalog = new SyntheticCatalog(42, SIZES, BASES, ANCHOR);
+
+        Map<Long, BigDecimal> caloriesPer100g = new HashMap<>();
+        for (JsonNode row : rows(catalog::writeNutritionalInfo, SyntheticCatalog.NUTRITION_COLUMNS)) {
+            caloriesPer100g.put(row.get("ingredient_id").asLong(), row.get("calories").decimalValue());
+        }
+        Map<Long, BigDecimal> calories = new HashMap<>();
+        for (JsonNode line : rows(catalog::writeRecipeIngredients, SyntheticCatalog.RECIPE_INGREDIENT_COLUMNS)) {
+            BigDecimal servings = UnitConversion.servings(line.get("quantity").decimalValue(),
+                Ingredient.Unit.valueOf(line.get("unit").asText()), new BigDecimal("100"), Ingredient.Unit.GRAM);
+            calories.merge(line.get("recipe_id").asLong(),
+                caloriesPer100g.get(line.get("ingredient_id").asLong()).multiply(servings), BigDecimal::add);
+        }
+
+        List<JsonNode> recipes = rows(catalog::writeRecipes, SyntheticCatalog.RECIPE_COLUMNS);
+        assertThat(caloriesPer100g).hasSize(SIZES.ingredients());
+        assertThat(recipes).hasSize(SIZES.recipes()).allSatisfy(recipe ->
+            assertThat(recipe.get("calories").decimalValue())
+                .isEqualByComparingTo(calories.get(recipe.get("id").asLong()).setScale(2, RoundingMode.HALF_UP)));
+    }
+
+    @Test
+    @DisplayName("Should give every user weekly plans ending in one active plan whose days add up")
+    void shouldBuildPlanHistories() throws IOException {
+        SyntheticCatalog catalog = new SyntheticCatalog(42, SIZES, BASES, ANCHOR);
+
+        Map<Long, String> recipeCategories = new HashMap<>();
+        for (JsonNode recipe : rows(catalog::writeRecipes, SyntheticCatalog.RECIPE_COLUMNS)) {
+            recipeCategories.put(recipe.get("id").asLong(), recipe.get("category").asText());
+        }
+        List<JsonNode> plans = rows(catalog::writeMenuPlans, SyntheticCatalog.MENU_PLAN_COLUMNS);
+        List<JsonNode> days = rows(catalog::writeDailyMealPlans, SyntheticCatalog.DAILY_MEAL_PLAN_COLUMNS);
+
+        assertThat(plans).hasSize((int) SIZES.menuPlans());
+        assertThat(plans.stream().filter(plan -> plan.get("status").asText().equals("ACTIVE"))
+            .map(plan -> plan.get("user_id").asLong()).distinct()).hasSize(SIZES.users());
+        assertThat(catalog.firstPlanDate()).isEqualTo(LocalDate.of(2026, 9, 28));
+        assertThat(catalog.lastPlanDate()).isEqualTo(LocalDate.of(2026, 10, 23));
+
+        assertThat(days).hasSize(plans.size() * SyntheticCatalog.DAYS_PER_PLAN);
+        Map<Long, Integer> dayTotals = new HashMap<>();
+        for (JsonNode day : days) {
+            assertThat(recipeCategories.get(day.get("breakfast_recipe_id").asLong())).isEqualTo("SOUP");
+            assertThat(recipeCategories.get(day.get("lunch_recipe_id").asLong())).isEqualTo("MAIN_COURSE");
+            assertThat(recipeCategories.get(day.get("dinner_recipe_id").asLong())).isEqualTo("SIDE_DISH");
+            LocalDate mealDate = LocalDate.parse(day.get("meal_date").asText());
+            assertThat(mealDate).isBetween(catalog.firstPlanDate(), catalog.lastPlanDate());
+            dayTotals.merge(day.get("menu_plan_id").asLong(), day.get("total_calories").asInt(), Integer::sum);
+        }
+        assertThat(plans).allSatisfy(plan ->
+            assertThat(dayTotals.get(plan.get("id").asLong())).isEqualTo(plan.get("total_calories").asInt()));
+    }
+
+    private List<JsonNode> rows(Table table, List<String> columns) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.open(ExportFormat.JSONL, out, columns)) {
+            table.write(writer);
+        }
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+
+    private static String csv(Table table, List<String> columns) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.open(ExportFormat.CSV, out, columns)) {
+            table.write(writer);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private interface Table {
+
+        void write(ExportWriter out) throws IOException;
+    }
+}
@@ -0,0 +1,124 @@
+package com.greenmono.mealplanner.datasource;
+
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(10), 100, nanos::get);
+        routing = new ReplicaRoutingDataSource(lagMonitor, tracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        tracker.endRequest();
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to the primary")
+    void shouldRouteWritesToPrimary() {
+        inTransaction(false);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica when it is caught up")
+    void shouldRouteReadsToReplica() {
+        when(lagMonitor.isAvailable()).thenReturn(true);
+        inTransaction(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica is lagging")
+    void shouldFallBackWhenReplicaLags() {
+        when(lagMonitor.isAvailable()).thenReturn(false);
+        inTransaction(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Should keep reads on the primary after a write in the same request")
+    void shouldStickWithinRequest() {
+        when(lagMonitor.isAvailable()).thenReturn(true);
+        tracker.beginRequest(null);
+
+        inTransaction(false);
+        routing.determineCurrentLookupKey();
+        inTransaction(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary for the window after their write commits")
+    void shouldStickForUserAfterWrite() {
+        when(lagMonitor.isAvailable()).thenReturn(true);
+        tracker.onMenuPlanChanged(new MenuPlanChangedEvent(
+            7L, 1L, MenuPlanChangedEvent.Action.ACTIVATED, MenuPlan.MenuPlanStatus.ACTIVE));
+
+        tracker.beginRequest(7L);
+        inTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.PRIMARY);
+
+        tracker.beginRequest(8L);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        tracker.beginRequest(7L);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    @DisplayName("Should resolve the request's user from query, header or path")
+    void shouldResolveUserFromRequest() {
+        MockHttpServletRequest byParam = new MockHttpServletRequest("GET", "/api/menu/current");
+        byParam.setParameter("userId", "3");
+        MockHttpServletRequest byHeader = new MockHttpServletRequest("POST", "/api/menu-plans/generate");
+        byHeader.addHeader(ReadYourWritesFilter.USER_HEADER, "4");
+        MockHttpServletRequest byPath = new MockHttpServletRequest("GET", "/api/menu-plans/user/5/active");
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/recipes");
+
+        assertThat(ReadYourWritesFilter.resolveUserId(byParam)).isEqualTo(3L);
+        assertThat(ReadYourWritesFilter.resolveUserId(byHeader)).isEqualTo(4L);
+        assertThat(ReadYourWritesFilter.resolveUserId(byPath)).isEqualTo(5L);
+        assertThat(ReadYourWritesFilter.resolveUserId(anonymous)).isNull();
+    }
+
+    private void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,88 @@
+package com.greenmono.mealplanner.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExportWriter Unit Tests")
+class ExportWriterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "name", "calories", "date", "balanced");
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields that need it")
+    void shouldWriteCsv() throws IOException {
+        try (ExportWriter writer = ExportWriter.open(ExportFormat.CSV, out, COLUMNS)) {
+            writer.row(1L, "Plain", new BigDecimal("1E+2"), LocalDate.of(2026, 1, 5), true);
+            writer.row(2L, "Salt, \"sea\"", null, null, false);
+            writer.row(3L, "Two\nlines", new BigDecimal("12.50"), null, null);
+            assertThat(writer.rows()).isEqualTo(3);
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "id,name,calories,date,balanced\r\n" +
+            "1,Plain,100,2026-01-05,true\r\n" +
+            "2,\"Salt, \"\"sea\"\"\",,,false\r\n" +
+            "3,\"Two\nlines\",12.50,,\r\n");
+    }
+
+    @Test
+    @DisplayName("Should write one typed JSON object per line")
+    void shouldWriteJsonLines() throws IOException {
+        try (ExportWriter writer = ExportWriter.open(ExportFormat.JSONL, out, COLUMNS)) {
+            writer.row(1L, "Soup \"du jour\"", new BigDecimal("450.25"), LocalDate.of(2026, 1, 5), true);
+            writer.row(2L, null, null, null, false);
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(lines[0]);
+        JsonNode second = mapper.readTree(lines[1]);
+
+        assertThat(lines).hasSize(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+        assertThat(first.get("id").isIntegralNumber()).isTrue();
+        assertThat(first.get("name").asText()).isEqualTo("Soup \"du jour\"");
+        assertThat(first.get("calories").decimalValue()).isEqualByComparingTo("450.25");
+        assertThat(first.get("date").asText()).isEqualTo("2026-01-05");
+        assertThat(first.get("balanced").asBoolean()).isTrue();
+        assertThat(second.get("name").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should leave the target stream open and reject rows of the wrong width")
+    void shouldLeaveStreamOpen() throws IOException {
+        boolean[] closed = {false};
+        OutputStream target = new FilterOutputStream(out) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        for (ExportFormat format : ExportFormat.values()) {
+            ExportWriter writer = ExportWriter.open(format, target, COLUMNS);
+            assertThatThrownBy(() -> writer.row(1L, "Too short"))
+                .isInstanceOf(IllegalArgumentException.class);
+            writer.close();
+        }
+
+        assertThat(closed[0]).isFalse();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("id,name,calories,date,balanced\r\n");
+    }
+}
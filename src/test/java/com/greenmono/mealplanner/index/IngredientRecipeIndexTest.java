@@ -0,0 +1,95 @@
+package com.greenmono.mealplanner.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IngredientRecipeIndex Unit Tests")
+class IngredientRecipeIndexTest {
+
+    private IngredientRecipeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Recipe 1: ingredients 10, 11, 12
+        // Recipe 2: ingredients 10, 11
+        // Recipe 3: ingredients 12, 13
+        // Recipe 300: ingredient 10 (large ID gap exercises multi-byte varints)
+        index = IngredientRecipeIndex.builder()
+            .addRequired(1, 10).addRequired(1, 11).addRequired(1, 12)
+            .addRequired(2, 10).addRequired(2, 11)
+            .addRequired(3, 12).addRequired(3, 13)
+            .addRequired(300, 10)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Posting lists round-trip sorted, de-duplicated IDs")
+    void postingListRoundTrip() {
+        PostingList list = PostingList.of(new int[]{500, 3, 70000, 3, 128});
+
+        assertThat(list.toArray()).containsExactly(3, 128, 500, 70000);
+        assertThat(list.size()).isEqualTo(4);
+        assertThat(list.sizeInBytes()).isLessThan(4 * Integer.BYTES);
+    }
+
+    @Test
+    @DisplayName("Should index postings and required counts per recipe")
+    void shouldIndexPostings() {
+        assertThat(index.recipeCount()).isEqualTo(4);
+        assertThat(index.ingredientCount()).isEqualTo(4);
+        assertThat(index.postingsFor(10L).toArray()).containsExactly(1, 2, 300);
+        assertThat(index.postingsFor(99L).size()).isZero();
+        assertThat(index.requiredCount(1)).isEqualTo(3);
+        assertThat(index.requiredCount(3)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should intersect posting lists for multi-ingredient coverage")
+    void shouldFindRecipesContainingAll() {
+        assertThat(index.recipesContainingAll(List.of(10L, 11L))).containsExactly(1, 2);
+        assertThat(index.recipesContainingAll(List.of(10L, 12L))).containsExactly(1);
+        assertThat(index.recipesContainingAll(List.of(10L, 13L))).isEmpty();
+        assertThat(index.recipesContainingAll(List.of(99L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return only fully cookable recipes when maxMissing is zero")
+    void shouldMatchFullyCovered() {
+        List<IngredientRecipeIndex.RecipeMatch> matches = index.match(Set.of(10L, 11L), 0);
+
+        assertThat(matches).extracting(IngredientRecipeIndex.RecipeMatch::recipeId)
+            .containsExactly(2, 300);
+        assertThat(matches.get(0).coverage()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should rank recipes missing at most K ingredients")
+    void shouldRankPartiallyCovered() {
+        List<IngredientRecipeIndex.RecipeMatch> matches = index.match(Set.of(10L, 11L, 13L), 1);
+
+        // Fewest missing first, then most matched
+        assertThat(matches).extracting(IngredientRecipeIndex.RecipeMatch::recipeId)
+            .containsExactly(2, 300, 1, 3);
+        assertThat(matches.get(2).matched()).isEqualTo(2);
+        assertThat(matches.get(2).missing()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count a duplicated recipe ingredient row only once")
+    void shouldIgnoreDuplicateLinks() {
+        IngredientRecipeIndex withDuplicate = IngredientRecipeIndex.builder()
+            .addRequired(1, 10).addRequired(1, 10).addRequired(1, 11)
+            .build();
+
+        assertThat(withDuplicate.requiredCount(1)).isEqualTo(2);
+        assertThat(withDuplicate.match(List.of(10L, 10L, 11L), 0))
+            .singleElement()
+            .satisfies(m -> assertThat(m.missing()).isZero());
+    }
+}
@@ -0,0 +1,200 @@
+package com.greenmono.mealplanner.index;
+
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.nutrition.Nutrient;
+import com.greenmono.mealplanner.repository.projection.RecipeNutritionPoint;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The benchmark is opt-in: {@code mvn test -Dtest=NutritionRangeIndexTest -Dbenchmark=true}
+ */
+@Slf4j
+@DisplayName("NutritionRangeIndex Unit Tests")
+class NutritionRangeIndexTest {
+
+    private static final Recipe.RecipeCategory[] CATEGORIES = Recipe.RecipeCategory.values();
+
+    @Test
+    @DisplayName("Should return exactly the recipes a full scan matches")
+    void shouldMatchFullScan() {
+        SplittableRandom random = new SplittableRandom(45);
+        List<RecipeNutritionPoint> recipes = recipes(2_000, random);
+        NutritionRangeIndex index = NutritionRangeIndex.of(recipes);
+
+        for (int i = 0; i < 300; i++) {
+            Range range = Range.random(random);
+            int[] rows = index.query(range.query(), Integer.MAX_VALUE);
+
+            List<Long> found = new ArrayList<>();
+            for (int row : rows) {
+                found.add(index.recipeId(row));
+            }
+            List<Long> expected = recipes.stream().filter(range::matches).map(RecipeNutritionPoint::id).toList();
+            assertThat(found).as("query %d", i).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should order matches by category, then calories per serving")
+    void shouldOrderByCategoryThenCalories() {
+        NutritionRangeIndex index = NutritionRangeIndex.of(List.of(
+            point(1L, Recipe.RecipeCategory.SIDE_DISH, 1, "150", "5", "20", null),
+            point(2L, Recipe.RecipeCategory.MAIN_COURSE, 2, "1100", "60", "90", "40"),
+            point(3L, Recipe.RecipeCategory.MAIN_COURSE, 1, "480", "32", "41", "12"),
+            point(4L, Recipe.RecipeCategory.SOUP, 1, "220", "9", "30", "5")));
+
+        int[] rows = index.query(NutritionQuery.builder().build(), 10);
+
+        // Categories in declaration order: main courses, soups, ..., side dishes
+        assertThat(rows).hasSize(4);
+        assertThat(index.recipeId(rows[0])).isEqualTo(3L);
+        assertThat(index.recipeId(rows[1])).isEqualTo(2L);
+        assertThat(index.recipeId(rows[2])).isEqualTo(4L);
+        assertThat(index.recipeId(rows[3])).isEqualTo(1L);
+        assertThat(index.category(rows[1])).isEqualTo(Recipe.RecipeCategory.MAIN_COURSE);
+        assertThat(index.value(rows[1], Nutrient.CALORIES)).isEqualByComparingTo("550");
+        assertThat(index.value(rows[3], Nutrient.FAT)).isNull();
+        assertThat(index.query(NutritionQuery.builder().build(), 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should never match a missing nutrient and compare bounds to two decimals")
+    void shouldHandleMissingValuesAndBounds() {
+        NutritionRangeIndex index = NutritionRangeIndex.of(List.of(
+            point(1L, Recipe.RecipeCategory.SNACK, 3, "100", "10", "10", null),
+            point(2L, Recipe.RecipeCategory.SNACK, 1, "33.33", "10", "10", "0")));
+
+        int[] anyFat = index.query(NutritionQuery.builder()
+            .between(Nutrient.FAT, BigDecimal.ZERO, null).build(), 10);
+        int[] calories = index.query(NutritionQuery.builder()
+            .between(Nutrient.CALORIES, new BigDecimal("33.325"), new BigDecimal("33.334")).build(), 10);
+
+        assertThat(anyFat).hasSize(1);
+        assertThat(index.recipeId(anyFat[0])).isEqualTo(2L);
+        // 100 kcal over 3 servings is 33.33 per serving, like the recipe reports it
+        assertThat(calories).hasSize(2);
+        assertThatThrownBy(() -> NutritionQuery.builder().between(Nutrient.SODIUM, null, BigDecimal.ONE))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark combined range queries: full scan vs index")
+    void benchmarkRangeQueries() {
+        SplittableRandom random = new SplittableRandom(1);
+        List<RecipeNutritionPoint> recipes = recipes(200_000, random);
+        NutritionRangeIndex index = NutritionRangeIndex.of(recipes);
+        List<Range> ranges = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            ranges.add(Range.random(random));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long scanned = 0;
+            for (Range range : ranges) {
+                scanned += recipes.stream().filter(range::matches).count();
+            }
+            long scanMicros = (System.nanoTime() - start) / 1_000 / ranges.size();
+
+            start = System.nanoTime();
+            long indexed = 0;
+            for (Range range : ranges) {
+                indexed += index.query(range.query(), Integer.MAX_VALUE).length;
+            }
+            long indexMicros = (System.nanoTime() - start) / 1_000 / ranges.size();
+
+            log.info("{} recipes: full scan {} us/query, index {} us/query ({} vs {} matches)",
+                recipes.size(), scanMicros, indexMicros, scanned, indexed);
+        }
+    }
+
+    /**
+     * Random bounds in whole units on some nutrients, checked the slow way for comparison.
+     */
+    private record Range(Recipe.RecipeCategory category, Integer[] min, Integer[] max) {
+
+        static Range random(SplittableRandom random) {
+            Integer[] min = new Integer[NutritionRangeIndex.DIMENSIONS.size()];
+            Integer[] max = new Integer[min.length];
+            int[] scale = {1200, 80, 150, 60, 20};
+            for (int d = 0; d < min.length; d++) {
+                if (random.nextInt(3) == 0) {
+                    min[d] = random.nextInt(scale[d]);
+                }
+                if (random.nextInt(3) == 0) {
+                    max[d] = (min[d] != null ? min[d] : 0) + random.nextInt(scale[d]);
+                }
+            }
+            Recipe.RecipeCategory category = random.nextBoolean() ? CATEGORIES[random.nextInt(CATEGORIES.length)] : null;
+            return new Range(category, min, max);
+        }
+
+        NutritionQuery query() {
+            NutritionQuery.Builder builder = NutritionQuery.builder().category(category);
+            for (int d = 0; d < min.length; d++) {
+                builder.between(NutritionRangeIndex.DIMENSIONS.get(d),
+                    min[d] != null ? BigDecimal.valueOf(min[d]) : null, max[d] != null ? BigDecimal.valueOf(max[d]) : null);
+            }
+            return builder.build();
+        }
+
+        boolean matches(RecipeNutritionPoint recipe) {
+            if (category != null && recipe.category() != category) {
+                return false;
+            }
+            BigDecimal[] totals = {recipe.calories(), recipe.protein(), recipe.carbohydrates(), recipe.fat(), recipe.fiber()};
+            for (int d = 0; d < totals.length; d++) {
+                if (min[d] == null && max[d] == null) {
+                    continue;
+                }
+                if (totals[d] == null) {
+                    return false;
+                }
+                BigDecimal perServing = totals[d].divide(BigDecimal.valueOf(recipe.servings()), 2, RoundingMode.HALF_UP);
+                if ((min[d] != null && perServing.compareTo(BigDecimal.valueOf(min[d])) < 0)
+                    || (max[d] != null && perServing.compareTo(BigDecimal.valueOf(max[d])) > 0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static List<RecipeNutritionPoint> recipes(int count, SplittableRandom random) {
+        List<RecipeNutritionPoint> recipes = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            int servings = 1 + random.nextInt(6);
+            recipes.add(new RecipeNutritionPoint(id, "Recipe " + id, CATEGORIES[random.nextInt(CATEGORIES.length)],
+                servings,
+                hundredths(random, 1_500 * servings),
+                hundredths(random, 100 * servings),
+                hundredths(random, 200 * servings),
+                random.nextInt(5) == 0 ? null : hundredths(random, 80 * servings),
+                random.nextInt(3) == 0 ? null : hundredths(random, 25 * servings)));
+        }
+        return recipes;
+    }
+
+    private static RecipeNutritionPoint point(Long id, Recipe.RecipeCategory category, int servings, String calories,
+                                              String protein, String carbohydrates, String fat) {
+        return new RecipeNutritionPoint(id, "Recipe " + id, category, servings, new BigDecimal(calories),
+            new BigDecimal(protein), new BigDecimal(carbohydrates), fat != null ? new BigDecimal(fat) : null, null);
+    }
+
+    private static BigDecimal hundredths(SplittableRandom random, int max) {
+        return BigDecimal.valueOf(random.nextInt(max * 100 + 1), 2);
+    }
+}
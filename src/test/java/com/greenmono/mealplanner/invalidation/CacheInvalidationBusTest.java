@@ -0,0 +1,169 @@
+package com.greenmono.mealplanner.invalidation;
+
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.CacheInvalidationEvent.EntityType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheInvalidationBus Unit Tests")
+class CacheInvalidationBusTest {
+
+    private static final String MAX_VERSION = "SELECT COALESCE(MAX(version), 0) FROM cache_invalidations";
+    private static final Instant NOW = Instant.parse("2026-02-02T10:00:00Z");
+
+    @Mock
+    private DataSourceProperties dataSourceProperties;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CacheInvalidationBus bus;
+
+    @Test
+    @DisplayName("Should round-trip messages through the NOTIFY wire format")
+    void shouldEncodeAndDecodeMessages() {
+        InvalidationMessage one = new InvalidationMessage(EntityType.RECIPE, 12L, 345L, "node-a");
+        InvalidationMessage all = new InvalidationMessage(EntityType.USER_MENU_PLAN, null, 346L, "node-a");
+
+        assertThat(one.encode()).isEqualTo("RECIPE:12:345:node-a");
+        assertThat(InvalidationMessage.decode(one.encode())).isEqualTo(one);
+        assertThat(InvalidationMessage.decode(all.encode())).isEqualTo(all);
+        assertThatThrownBy(() -> InvalidationMessage.decode("RECIPE:12"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should republish other instances' messages and ignore its own")
+    void shouldRepublishRemoteMessagesOnly() {
+        bus.handle(new InvalidationMessage(EntityType.USER_MENU_PLAN, 7L, 10L, "other-node"));
+        bus.handle(new InvalidationMessage(EntityType.RECIPE, 3L, 11L, bus.origin()));
+
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(EntityType.USER_MENU_PLAN, 7L));
+        verifyNoMoreInteractions(eventPublisher);
+        assertThat(bus.watermark()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("Should start from the latest version without replaying history")
+    void shouldSkipHistoryOnFirstCatchUp() {
+        when(jdbcTemplate.queryForObject(MAX_VERSION, Long.class)).thenReturn(500L);
+
+        bus.catchUp();
+
+        assertThat(bus.watermark()).isEqualTo(500L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should replay log rows missed while the listener was away")
+    @SuppressWarnings("unchecked")
+    void shouldReplayMissedMessages() {
+        bus.handle(new InvalidationMessage(EntityType.RECIPE, 1L, 10L, bus.origin()));
+        when(jdbcTemplate.query(contains("version > ?"), any(RowMapper.class), eq(10L), eq(CacheInvalidationBus.MAX_CATCH_UP_ROWS)))
+            .thenReturn(List.of(
+                new InvalidationMessage(EntityType.RECIPE, 4L, 11L, "other-node"),
+                new InvalidationMessage(EntityType.USER_MENU_PLAN, 9L, 12L, "other-node")));
+
+        bus.catchUp();
+
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(EntityType.RECIPE, 4L));
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(EntityType.USER_MENU_PLAN, 9L));
+        assertThat(bus.watermark()).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("Should apply a version that commits after higher ones")
+    @SuppressWarnings("unchecked")
+    void shouldApplyOutOfOrderCommits() {
+        bus.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        bus.handle(new InvalidationMessage(EntityType.RECIPE, 1L, 10L, bus.origin()));
+        bus.handle(new InvalidationMessage(EntityType.RECIPE, 3L, 12L, "other-node"));
+
+        assertThat(bus.watermark()).isEqualTo(10L);
+        assertThat(bus.gaps()).containsExactly(11L);
+
+        // Version 11 committed while the listener was reconnecting
+        when(jdbcTemplate.query(contains("version > ?"), any(RowMapper.class), eq(12L), eq(CacheInvalidationBus.MAX_CATCH_UP_ROWS)))
+            .thenReturn(List.of());
+        when(jdbcTemplate.query(contains("version IN (?)"), any(RowMapper.class), eq(11L)))
+            .thenReturn(List.of(new InvalidationMessage(EntityType.USER_MENU_PLAN, 9L, 11L, "other-node")));
+
+        bus.catchUp();
+        bus.handle(new InvalidationMessage(EntityType.USER_MENU_PLAN, 9L, 11L, "other-node"));
+
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(EntityType.RECIPE, 3L));
+        verify(eventPublisher).publishEvent(new CacheInvalidationEvent(EntityType.USER_MENU_PLAN, 9L));
+        verifyNoMoreInteractions(eventPublisher);
+        assertThat(bus.watermark()).isEqualTo(12L);
+        assertThat(bus.gaps()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should give up on a gap after the timeout without evicting everything")
+    @SuppressWarnings("unchecked")
+    void shouldCloseRolledBackGaps() {
+        bus.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        bus.handle(new InvalidationMessage(EntityType.RECIPE, 1L, 10L, bus.origin()));
+        bus.handle(new InvalidationMessage(EntityType.RECIPE, 3L, 13L, bus.origin()));
+        when(jdbcTemplate.query(contains("version > ?"), any(RowMapper.class), eq(13L), eq(CacheInvalidationBus.MAX_CATCH_UP_ROWS)))
+            .thenReturn(List.of());
+        when(jdbcTemplate.query(contains("version IN (?, ?)"), any(RowMapper.class), eq(11L), eq(12L)))
+            .thenReturn(List.of());
+
+        bus.catchUp();
+        assertThat(bus.watermark()).isEqualTo(10L);
+
+        bus.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+        bus.catchUp();
+
+        assertThat(bus.watermark()).isEqualTo(13L);
+        assertThat(bus.gaps()).isEmpty();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should evict everything when the listener was away for longer than the log is kept")
+    void shouldEvictAllWhenLogWasPruned() {
+        bus.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        when(jdbcTemplate.queryForObject(MAX_VERSION, Long.class)).thenReturn(10L, 900L);
+        bus.catchUp();
+
+        bus.setClock(Clock.fixed(NOW.plus(Duration.ofHours(25)), ZoneOffset.UTC));
+        bus.catchUp();
+
+        for (EntityType type : EntityType.values()) {
+            verify(eventPublisher).publishEvent(new CacheInvalidationEvent(type, null));
+        }
+        assertThat(bus.watermark()).isEqualTo(900L);
+    }
+}
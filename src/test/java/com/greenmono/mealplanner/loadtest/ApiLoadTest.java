@@ -0,0 +1,249 @@
+package com.greenmono.mealplanner.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a running instance with a weighted mix of the hot endpoints and reports latency
+ * percentiles per endpoint, meant for a database filled by the {@code datagen} profile.
+ *
+ * Every worker is a closed loop with its own seeded random, so the same seed sends the same
+ * request sequence per worker. Latencies after the warmup go into an HdrHistogram per worker
+ * and scenario; the merged histograms are printed and written to {@code target/loadtest/}.
+ *
+ * The load test is opt-in: {@code mvn test -Dtest=ApiLoadTest -Dloadtest.base-url=http://localhost:8080}
+ */
+@EnabledIfSystemProperty(named = "loadtest.base-url", matches = ".+")
+@DisplayName("HTTP API Load Test")
+@Slf4j
+class ApiLoadTest {
+
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+    private static final Path REPORT_DIR = Path.of("target", "loadtest");
+    private static final String[] CATEGORIES = {"MAIN_COURSE", "SOUP", "SIDE_DISH", "SALAD", "BREAKFAST", "DESSERT"};
+    private static final String[] INGREDIENT_CATEGORIES = {"VEGETABLES", "FRUITS", "MEAT", "DAIRY", "GRAINS",
+        "LEGUMES", "HERBS_SPICES"};
+
+    private final String baseUrl = System.getProperty("loadtest.base-url").replaceAll("/+$", "");
+    private final int threads = Integer.getInteger("loadtest.threads", 16);
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+    private final long seed = Long.getLong("loadtest.seed", 1);
+    private final int maxUserId = Integer.getInteger("loadtest.max-user-id", 50_000);
+    private final int maxRecipeId = Integer.getInteger("loadtest.max-recipe-id", 200_000);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private final Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+        "generate=1,current-menu=4,recipe-nutrition=3,nutrition-search=2,suggestions=2,ingredient-page=1"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @Test
+    @DisplayName("Should serve the endpoint mix within the error budget and report percentiles")
+    void runLoad() throws Exception {
+        log.info("Load test against {}: {} workers, {} warmup, {} measured, seed {}, mix {}",
+            baseUrl, threads, warmup, duration, seed, mix);
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        List<Future<Map<String, Stats>>> results = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++) {
+            SplittableRandom random = new SplittableRandom(seed * 1_000_003 + worker);
+            results.add(workers.submit(() -> work(random, warmupEnd, end)));
+        }
+        Map<String, Stats> merged = new LinkedHashMap<>();
+        for (String scenario : mix.keySet()) {
+            merged.put(scenario, new Stats());
+        }
+        for (Future<Map<String, Stats>> result : results) {
+            result.get().forEach((scenario, stats) -> merged.get(scenario).add(stats));
+        }
+        workers.shutdown();
+
+        String report = report(merged);
+        log.info("Load test results:\n{}", report);
+        write(merged, report);
+
+        merged.forEach((scenario, stats) -> {
+            long requests = stats.histogram.getTotalCount() + stats.failures;
+            assertThat(requests).as("requests for %s", scenario).isPositive();
+            assertThat((double) stats.errors / requests).as("error rate of %s", scenario).isLessThanOrEqualTo(maxErrorRate);
+        });
+    }
+
+    private Map<String, Stats> work(SplittableRandom random, long warmupEnd, long end) {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (String scenario : mix.keySet()) {
+            stats.put(scenario, new Stats());
+        }
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < end) {
+            String scenario = pick(random, totalWeight);
+            HttpRequest request = request(scenario, random);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long micros = (System.nanoTime() - start) / 1000;
+            if (start >= warmupEnd) {
+                stats.get(scenario).record(status, micros);
+            }
+        }
+        return stats;
+    }
+
+    private String pick(SplittableRandom random, int totalWeight) {
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private HttpRequest request(String scenario, SplittableRandom random) {
+        long userId = 1 + random.nextInt(maxUserId);
+        return switch (scenario) {
+            case "generate" -> {
+                LocalDate start = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                    .plusWeeks(random.nextInt(8));
+                String body = String.format(Locale.ROOT,
+                    "{\"userId\":%d,\"startDate\":\"%s\",\"targetDailyCalories\":%d}",
+                    userId, start, 1600 + 100 * random.nextInt(9));
+                yield HttpRequest.newBuilder(uri("/api/menu-plans/generate"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                    .build();
+            }
+            case "current-menu" -> get("/api/menu/current?userId=" + userId);
+            case "recipe-nutrition" -> get("/api/nutrition/recipe/" + (1 + random.nextInt(maxRecipeId)));
+            case "nutrition-search" -> get(String.format(Locale.ROOT,
+                "/api/nutrition/recipes?category=%s&minProtein=%d&maxCalories=%d&limit=50",
+                CATEGORIES[random.nextInt(CATEGORIES.length)], 5 * random.nextInt(6), 300 + 50 * random.nextInt(10)));
+            case "suggestions" -> get("/api/recipes/suggestions?userId=" + userId + "&maxMissing=" + random.nextInt(4));
+            case "ingredient-page" -> get("/api/ingredients?category="
+                + INGREDIENT_CATEGORIES[random.nextInt(INGREDIENT_CATEGORIES.length)]
+                + "&page=" + random.nextInt(50) + "&size=20");
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private String report(Map<String, Stats> stats) {
+        double seconds = duration.toMillis() / 1000.0;
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+            "%-18s %9s %8s %7s %8s %8s %8s %8s %8s %8s%n", "scenario", "requests", "req/s", "errors",
+            "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        stats.forEach((scenario, s) -> {
+            Histogram h = s.histogram;
+            long requests = h.getTotalCount() + s.failures;
+            report.append(String.format(Locale.ROOT, "%-18s %9d %8.1f %7d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                scenario, requests, requests / seconds, s.errors, millis(h, 50), millis(h, 90), millis(h, 95),
+                millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0));
+        });
+        return report.toString();
+    }
+
+    private void write(Map<String, Stats> stats, String report) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("report.txt"), report);
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            // Percentile distributions in milliseconds, for HdrHistogram's plotter
+            try (PrintStream out = new PrintStream(Files.newOutputStream(REPORT_DIR.resolve(entry.getKey() + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        log.info("Wrote load test report to {}", REPORT_DIR.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Latencies of the answered requests in microseconds; non-2xx answers count as errors, as do
+     * failures, which never got an answer and have no latency.
+     */
+    private static final class Stats {
+
+        private final Histogram histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+        private long errors;
+        private long failures;
+
+        void record(int status, long micros) {
+            if (status < 0) {
+                errors++;
+                failures++;
+                return;
+            }
+            if (status / 100 != 2) {
+                errors++;
+            }
+            histogram.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+        }
+
+        void add(Stats other) {
+            histogram.add(other.histogram);
+            errors += other.errors;
+            failures += other.failures;
+        }
+    }
+}
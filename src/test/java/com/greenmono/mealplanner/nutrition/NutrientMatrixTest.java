@@ -0,0 +1,179 @@
+package com.greenmono.mealplanner.nutrition;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.entity.NutritionalInfo;
+import com.greenmono.mealplanner.entity.RecipeIngredient;
+import com.greenmono.mealplanner.repository.projection.IngredientNutritionRow;
+import com.greenmono.mealplanner.repository.projection.RecipeQuantityLine;
+import com.greenmono.mealplanner.service.NutritionCalculatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The benchmark is opt-in: {@code mvn test -Dtest=NutrientMatrixTest -Dbenchmark=true}
+ */
+@Slf4j
+@DisplayName("NutrientMatrix Unit Tests")
+class NutrientMatrixTest {
+
+    private static final Ingredient.Unit[] UNITS = Ingredient.Unit.values();
+
+    private final NutritionCalculatorService calculator = new NutritionCalculatorService(null);
+
+    @Test
+    @DisplayName("Should total every nutrient exactly like the per-recipe calculator")
+    void shouldMatchCalculator() {
+        SplittableRandom random = new SplittableRandom(44);
+        List<IngredientNutritionRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 60; id++) {
+            rows.add(row(id, random));
+        }
+        List<RecipeQuantityLine> lines = recipeLines(300, rows.size(), random);
+
+        NutrientMatrix matrix = NutrientMatrix.of(rows);
+        RecipeVectors recipes = RecipeVectors.of(lines, matrix);
+        List<Nutrient> nutrients = List.of(Nutrient.values());
+        long[][] totals = matrix.multiply(recipes, nutrients);
+
+        Map<Long, Ingredient> ingredients = ingredients(rows);
+        assertThat(recipes.size()).isEqualTo(300);
+        assertThat(recipes.incomplete()).isZero();
+        for (int recipe = 0; recipe < recipes.size(); recipe++) {
+            long recipeId = recipes.recipeId(recipe);
+            List<RecipeIngredient> recipeIngredients = lines.stream()
+                .filter(line -> line.recipeId() == recipeId)
+                .map(line -> RecipeIngredient.builder()
+                    .ingredient(ingredients.get(line.ingredientId()))
+                    .quantity(line.quantity())
+                    .unit(line.unit())
+                    .build())
+                .toList();
+            NutritionalInfo expected = calculator.calculateRecipeNutrition(recipeIngredients);
+
+            BigDecimal[] expectedValues = {
+                expected.getCalories(), expected.getProtein(), expected.getCarbohydrates(), expected.getFat(),
+                expected.getFiber(), expected.getSugar(), expected.getSodium(), expected.getCholesterol(),
+                expected.getSaturatedFat(), expected.getTransFat(), expected.getVitaminA(), expected.getVitaminC(),
+                expected.getVitaminD(), expected.getCalcium(), expected.getIron(), expected.getPotassium()
+            };
+            for (int k = 0; k < nutrients.size(); k++) {
+                assertThat(NutrientMatrix.toBigDecimal(totals[recipe][k]))
+                    .as("recipe %d %s", recipeId, nutrients.get(k))
+                    .isEqualTo(expectedValues[k]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave out recipes using an ingredient without nutrition")
+    void shouldSkipIncompleteRecipes() {
+        SplittableRandom random = new SplittableRandom(7);
+        NutrientMatrix matrix = NutrientMatrix.of(List.of(row(1L, random), row(2L, random)));
+        List<RecipeQuantityLine> lines = List.of(
+            new RecipeQuantityLine(10L, 1L, new BigDecimal("200.00"), Ingredient.Unit.GRAM),
+            new RecipeQuantityLine(11L, 1L, new BigDecimal("1.00"), Ingredient.Unit.CUP),
+            new RecipeQuantityLine(11L, 3L, new BigDecimal("2.00"), Ingredient.Unit.PIECE),
+            new RecipeQuantityLine(12L, 2L, new BigDecimal("0.50"), Ingredient.Unit.KILOGRAM),
+            new RecipeQuantityLine(12L, 1L, new BigDecimal("3.00"), Ingredient.Unit.TABLESPOON));
+
+        RecipeVectors recipes = RecipeVectors.of(lines, matrix);
+        long[][] totals = matrix.multiply(recipes, List.of(Nutrient.CALORIES));
+
+        assertThat(recipes.size()).isEqualTo(2);
+        assertThat(recipes.recipeId(0)).isEqualTo(10L);
+        assertThat(recipes.recipeId(1)).isEqualTo(12L);
+        assertThat(recipes.incomplete()).isEqualTo(1);
+        assertThat(totals).hasNumberOfRows(2);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark catalog recompute: per-recipe calculator vs matrix product")
+    void benchmarkCatalogRecompute() {
+        SplittableRandom random = new SplittableRandom(1);
+        List<IngredientNutritionRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            rows.add(row(id, random));
+        }
+        List<RecipeQuantityLine> lines = recipeLines(50_000, rows.size(), random);
+        Map<Long, Ingredient> ingredients = ingredients(rows);
+        Map<Long, List<RecipeIngredient>> byRecipe = new HashMap<>();
+        for (RecipeQuantityLine line : lines) {
+            byRecipe.computeIfAbsent(line.recipeId(), id -> new ArrayList<>()).add(RecipeIngredient.builder()
+                .ingredient(ingredients.get(line.ingredientId())).quantity(line.quantity()).unit(line.unit()).build());
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            byRecipe.values().forEach(calculator::calculateRecipeNutrition);
+            long calculatorMs = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            NutrientMatrix matrix = NutrientMatrix.of(rows);
+            RecipeVectors recipes = RecipeVectors.of(lines, matrix);
+            long buildMs = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            matrix.multiply(recipes, List.of(Nutrient.values()));
+            long productMs = (System.nanoTime() - start) / 1_000_000;
+
+            log.info("{} recipes x {} nutrients: calculator {} ms, matrix build {} ms + product {} ms",
+                byRecipe.size(), Nutrient.values().length, calculatorMs, buildMs, productMs);
+        }
+    }
+
+    private static List<RecipeQuantityLine> recipeLines(int recipes, int ingredients, SplittableRandom random) {
+        List<RecipeQuantityLine> lines = new ArrayList<>();
+        for (long recipeId = 1; recipeId <= recipes; recipeId++) {
+            int count = 1 + random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                long ingredientId = 1 + random.nextInt(ingredients);
+                lines.add(new RecipeQuantityLine(recipeId, ingredientId, hundredths(random, 1, 50_000),
+                    UNITS[random.nextInt(UNITS.length)]));
+            }
+        }
+        return lines;
+    }
+
+    private static Map<Long, Ingredient> ingredients(List<IngredientNutritionRow> rows) {
+        Map<Long, Ingredient> ingredients = new HashMap<>();
+        for (IngredientNutritionRow row : rows) {
+            NutritionalInfo nutrition = NutritionalInfo.builder()
+                .servingSize(row.servingSize()).servingUnit(row.servingUnit())
+                .calories(row.calories()).protein(row.protein()).carbohydrates(row.carbohydrates()).fat(row.fat())
+                .fiber(row.fiber()).sugar(row.sugar()).sodium(row.sodium()).cholesterol(row.cholesterol())
+                .saturatedFat(row.saturatedFat()).transFat(row.transFat()).vitaminA(row.vitaminA())
+                .vitaminC(row.vitaminC()).vitaminD(row.vitaminD()).calcium(row.calcium()).iron(row.iron())
+                .potassium(row.potassium())
+                .build();
+            ingredients.put(row.ingredientId(), Ingredient.builder()
+                .id(row.ingredientId()).name("Ingredient " + row.ingredientId()).nutritionalInfo(nutrition).build());
+        }
+        return ingredients;
+    }
+
+    private static IngredientNutritionRow row(long id, SplittableRandom random) {
+        BigDecimal[] optional = new BigDecimal[12];
+        for (int i = 0; i < optional.length; i++) {
+            optional[i] = random.nextInt(4) == 0 ? null : hundredths(random, 0, 100_000);
+        }
+        return new IngredientNutritionRow(id, hundredths(random, 1, 50_000), UNITS[random.nextInt(UNITS.length)],
+            hundredths(random, 0, 90_000), hundredths(random, 0, 5_000), hundredths(random, 0, 10_000),
+            hundredths(random, 0, 10_000), optional[0], optional[1], optional[2], optional[3], optional[4],
+            optional[5], optional[6], optional[7], optional[8], optional[9], optional[10], optional[11]);
+    }
+
+    private static BigDecimal hundredths(SplittableRandom random, int min, int max) {
+        return BigDecimal.valueOf(random.nextInt(min, max + 1), 2);
+    }
+}
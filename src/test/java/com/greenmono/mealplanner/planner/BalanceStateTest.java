@@ -0,0 +1,165 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.BalanceSums;
+import com.greenmono.mealplanner.entity.Recipe;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BalanceState Unit Tests")
+class BalanceStateTest {
+
+    private static final int DAYS = 5;
+
+    private final List<Recipe> soups = List.of(recipe(1L, "180", "9", "28"), recipe(2L, "220", "14", "20"), recipe(3L, "150", "4", "30"));
+    private final List<Recipe> mains = List.of(recipe(4L, "450", "30", "40"), recipe(5L, "700", "25", "90"), recipe(6L, "520", "45", "35"));
+    private final List<Recipe> sides = List.of(recipe(7L, "250", "5", "45"), recipe(8L, "300", "12", "30"));
+    private final CandidatePool pool = CandidatePool.of(soups, mains, sides);
+
+    @Test
+    @DisplayName("Should score a full plan like the candidate scorer")
+    void shouldMatchCandidateScore() {
+        for (long seed = 0; seed < 200; seed++) {
+            CandidatePlan plan = CandidatePlan.build(pool, 0, DAYS, new SplittableRandom(seed));
+
+            assertThat(stateOf(plan).score()).as("seed %d", seed).isEqualTo(plan.balanceScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the running score equal to a rebuild after every swap")
+    void shouldMatchRebuildAfterSwaps() {
+        SplittableRandom random = new SplittableRandom(42);
+        CandidatePlan plan = CandidatePlan.build(pool, 0, DAYS, random);
+        BalanceState running = stateOf(plan);
+        Recipe[][] days = new Recipe[DAYS][];
+        for (int day = 0; day < DAYS; day++) {
+            days[day] = new Recipe[]{plan.soup(day), plan.mainCourse(day), plan.sideDish(day)};
+        }
+
+        for (int swap = 0; swap < 500; swap++) {
+            int day = random.nextInt(DAYS);
+            int course = random.nextInt(3);
+            List<Recipe> options = List.of(soups, mains, sides).get(course);
+            Recipe replacement = options.get(random.nextInt(options.size()));
+            days[day][course] = replacement;
+            running.put(day, category(course), dish(replacement));
+
+            BalanceState rebuilt = new BalanceState(DAYS);
+            for (int d = 0; d < DAYS; d++) {
+                for (int c = 0; c < 3; c++) {
+                    rebuilt.put(d, category(c), dish(days[d][c]));
+                }
+            }
+            assertThat(running.score()).as("swap %d", swap).isEqualTo(rebuilt.score());
+            assertThat(running.dayCalories(day)).isEqualTo(rebuilt.dayCalories(day));
+            assertThat(running.totalCalories()).isEqualTo(rebuilt.totalCalories());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep stored sums equal to a rebuild when swaps are applied to them")
+    void shouldApplySwapsToStoredSums() {
+        SplittableRandom random = new SplittableRandom(7);
+        CandidatePlan plan = CandidatePlan.build(pool, 0, DAYS, random);
+        BalanceSums sums = stateOf(plan).sums();
+        BalanceState.Dish[][] days = new BalanceState.Dish[DAYS][];
+        for (int day = 0; day < DAYS; day++) {
+            days[day] = new BalanceState.Dish[]{dish(plan.soup(day)), dish(plan.mainCourse(day)), dish(plan.sideDish(day))};
+        }
+
+        for (int swap = 0; swap < 500; swap++) {
+            int day = random.nextInt(DAYS);
+            int course = random.nextInt(3);
+            List<Recipe> options = List.of(soups, mains, sides).get(course);
+            BalanceState.Dish replacement = dish(options.get(random.nextInt(options.size())));
+            sums = BalanceState.swap(sums, days[day], category(course), replacement,
+                uses(days, days[day][course].recipeId()), uses(days, replacement.recipeId()));
+            days[day][course] = replacement;
+
+            BalanceState rebuilt = new BalanceState(DAYS);
+            for (int d = 0; d < DAYS; d++) {
+                for (int c = 0; c < 3; c++) {
+                    rebuilt.put(d, category(c), days[d][c]);
+                }
+            }
+            assertThat(BalanceState.score(sums)).as("swap %d", swap).isEqualTo(rebuilt.score());
+            assertThat(sums.getDistinctRecipes()).isEqualTo(rebuilt.sums().getDistinctRecipes());
+            assertThat(sums.getCalorieSum()).isEqualTo(rebuilt.totalCalories());
+        }
+    }
+
+    @Test
+    @DisplayName("Should score empty courses as missing meals")
+    void shouldHandleEmptyCourses() {
+        BalanceState state = new BalanceState(2);
+        state.put(0, Recipe.RecipeCategory.MAIN_COURSE, dish(mains.get(0)));
+        state.put(1, Recipe.RecipeCategory.MAIN_COURSE, dish(mains.get(0)));
+
+        // One recipe over two meals, identical days
+        double macro = BalanceScorer.recipeBalance(mains.get(0));
+        assertThat(state.score()).isEqualTo(BalanceScorer.combine(macro, 100.0, 50.0));
+
+        state.put(1, Recipe.RecipeCategory.MAIN_COURSE, null);
+        assertThat(state.dayCalories(1)).isZero();
+        assertThat(state.totalCalories()).isEqualTo(450);
+        assertThat(new BalanceState(0).score()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject courses a plan day does not have")
+    void shouldRejectOtherCategories() {
+        assertThat(BalanceState.isCourse(Recipe.RecipeCategory.SIDE_DISH)).isTrue();
+        assertThat(BalanceState.isCourse(Recipe.RecipeCategory.DESSERT)).isFalse();
+        assertThatThrownBy(() -> new BalanceState(1).put(0, Recipe.RecipeCategory.DESSERT, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BalanceState stateOf(CandidatePlan plan) {
+        BalanceState state = new BalanceState(plan.days());
+        for (int day = 0; day < plan.days(); day++) {
+            state.put(day, Recipe.RecipeCategory.SOUP, dish(plan.soup(day)));
+            state.put(day, Recipe.RecipeCategory.MAIN_COURSE, dish(plan.mainCourse(day)));
+            state.put(day, Recipe.RecipeCategory.SIDE_DISH, dish(plan.sideDish(day)));
+        }
+        return state;
+    }
+
+    private static int uses(BalanceState.Dish[][] days, long recipeId) {
+        int uses = 0;
+        for (BalanceState.Dish[] day : days) {
+            for (BalanceState.Dish dish : day) {
+                if (dish != null && dish.recipeId() == recipeId) {
+                    uses++;
+                }
+            }
+        }
+        return uses;
+    }
+
+    private static Recipe.RecipeCategory category(int course) {
+        return List.of(Recipe.RecipeCategory.SOUP, Recipe.RecipeCategory.MAIN_COURSE, Recipe.RecipeCategory.SIDE_DISH).get(course);
+    }
+
+    private static BalanceState.Dish dish(Recipe recipe) {
+        return new BalanceState.Dish(recipe.getId(), recipe.getCaloriesPerServing().intValue(),
+            BalanceScorer.recipeBalance(recipe));
+    }
+
+    private static Recipe recipe(Long id, String calories, String protein, String carbs) {
+        return Recipe.builder()
+            .id(id)
+            .name("Recipe " + id)
+            .calories(new BigDecimal(calories))
+            .protein(new BigDecimal(protein))
+            .carbohydrates(new BigDecimal(carbs))
+            .servings(1)
+            .build();
+    }
+}
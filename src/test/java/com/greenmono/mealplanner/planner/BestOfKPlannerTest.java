@@ -0,0 +1,355 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.entity.RecipeIngredient;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The pick-cost benchmark is opt-in: {@code mvn test -Dtest=BestOfKPlannerTest -Dbenchmark=true}
+ */
+@DisplayName("BestOfKPlanner Unit Tests")
+@Slf4j
+class BestOfKPlannerTest {
+
+    private static final int DAYS = 5;
+
+    private final BestOfKPlanner planner = new BestOfKPlanner();
+    private CandidatePool pool;
+
+    @BeforeEach
+    void setUp() {
+        planner.start();
+        pool = CandidatePool.of(
+            List.of(recipe(1L, "180", "9", "28"), recipe(2L, "220", "14", "20"), recipe(3L, "150", "4", "30")),
+            List.of(recipe(4L, "450", "30", "40"), recipe(5L, "700", "25", "90"), recipe(6L, "520", "45", "35")),
+            List.of(recipe(7L, "250", "5", "45"), recipe(8L, "300", "12", "30")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        planner.stop();
+    }
+
+    @Test
+    @DisplayName("Should score candidates exactly like the entity-based balance formula")
+    void shouldMatchReferenceScore() {
+        for (long seed = 0; seed < 200; seed++) {
+            CandidatePlan plan = CandidatePlan.build(pool, 0, DAYS, new SplittableRandom(seed));
+
+            assertThat(plan.balanceScore()).as("seed %d", seed).isEqualTo(referenceScore(plan));
+        }
+    }
+
+    @Test
+    @DisplayName("Should never repeat a course on consecutive days when alternatives exist")
+    void shouldAvoidConsecutiveRepeats() {
+        for (long seed = 0; seed < 500; seed++) {
+            CandidatePlan plan = CandidatePlan.build(pool, 0, DAYS, new SplittableRandom(seed));
+
+            for (int day = 1; day < DAYS; day++) {
+                assertThat(plan.soup(day)).isNotSameAs(plan.soup(day - 1));
+                assertThat(plan.mainCourse(day)).isNotSameAs(plan.mainCourse(day - 1));
+                assertThat(plan.sideDish(day)).isNotSameAs(plan.sideDish(day - 1));
+                assertThat(plan.dayCalories(day)).isEqualTo(plan.soup(day).getCaloriesPerServing().intValue()
+                    + plan.mainCourse(day).getCaloriesPerServing().intValue()
+                    + plan.sideDish(day).getCaloriesPerServing().intValue());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should repeat the only recipe of a course")
+    void shouldRepeatSingleRecipeCourse() {
+        Recipe onlySoup = recipe(1L, "180", "9", "28");
+        CandidatePool singleSoup = CandidatePool.of(List.of(onlySoup),
+            List.of(recipe(4L, "450", "30", "40"), recipe(5L, "700", "25", "90")),
+            List.of(recipe(7L, "250", "5", "45")));
+
+        CandidatePlan plan = CandidatePlan.build(singleSoup, 0, DAYS, new SplittableRandom(1));
+
+        for (int day = 0; day < DAYS; day++) {
+            assertThat(plan.soup(day)).isSameAs(onlySoup);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not reuse a required ingredient of the previous day when alternatives exist")
+    void shouldAvoidPreviousDayIngredients() {
+        // Onion links soup 1 and main 4, rice links main 5 and side 7, tomato links soup 2 and
+        // side 8; every course keeps a compatible recipe besides yesterday's
+        CandidatePool linked = CandidatePool.of(
+            List.of(recipe(1L, 100L, 11L), recipe(2L, 102L, 12L), recipe(3L, 13L), recipe(10L, 14L)),
+            List.of(recipe(4L, 100L, 21L), recipe(5L, 101L, 22L), recipe(6L, 23L), recipe(11L, 24L)),
+            List.of(recipe(7L, 101L, 31L), recipe(8L, 102L, 32L), recipe(9L, 33L), recipe(12L, 34L)));
+
+        for (long seed = 0; seed < 500; seed++) {
+            CandidatePlan plan = CandidatePlan.build(linked, 0, DAYS, new SplittableRandom(seed));
+
+            for (int day = 1; day < DAYS; day++) {
+                assertThat(Collections.disjoint(ingredientsOf(plan, day - 1), ingredientsOf(plan, day)))
+                    .as("seed %d, day %d", seed, day).isTrue();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should still build plans when every recipe shares an ingredient")
+    void shouldFallBackWhenIngredientsAlwaysRepeat() {
+        CandidatePool salted = CandidatePool.of(
+            List.of(recipe(1L, 200L, 11L), recipe(2L, 200L)),
+            List.of(recipe(4L, 200L, 21L), recipe(5L, 200L, 21L)),
+            List.of(recipe(7L, 200L), recipe(8L, 200L, 31L)));
+
+        for (long seed = 0; seed < 100; seed++) {
+            CandidatePlan plan = CandidatePlan.build(salted, 0, DAYS, new SplittableRandom(seed));
+
+            for (int day = 1; day < DAYS; day++) {
+                assertThat(plan.soup(day)).isNotSameAs(plan.soup(day - 1));
+                assertThat(plan.mainCourse(day)).isNotSameAs(plan.mainCourse(day - 1));
+                assertThat(plan.sideDish(day)).isNotSameAs(plan.sideDish(day - 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore optional ingredients")
+    void shouldIgnoreOptionalIngredients() {
+        Recipe soup = recipe(1L, 11L);
+        soup.addRecipeIngredient(line(100L, true));
+        Recipe main = recipe(4L, 100L);
+        CandidatePool optionalOnly = CandidatePool.of(List.of(soup), List.of(main), List.of(recipe(7L, 31L)));
+
+        assertThat(optionalOnly.ingredientWords).isEqualTo(1);
+        assertThat(optionalOnly.soups.ingredients[0].overlap(new long[]{~0L})).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should continue from recent days without reusing their recipes when alternatives exist")
+    void shouldAvoidRecentRecipes() {
+        List<Recipe> soups = new ArrayList<>();
+        List<Recipe> mains = new ArrayList<>();
+        List<Recipe> sides = new ArrayList<>();
+        for (long i = 0; i < 12; i++) {
+            soups.add(recipe(100 + i, 1000 + i));
+            mains.add(recipe(200 + i, 2000 + i));
+            sides.add(recipe(300 + i, 3000 + i));
+        }
+        CandidatePool catalog = CandidatePool.of(soups, mains, sides);
+
+        for (long seed = 0; seed < 100; seed++) {
+            RecentUsage recent = new RecentUsage(catalog, DAYS);
+            CandidatePlan lastWeek = CandidatePlan.build(catalog, 0, DAYS, new SplittableRandom(seed));
+            recent.recordPlan(lastWeek);
+
+            CandidatePlan nextWeek = CandidatePlan.build(catalog, 0, DAYS, new SplittableRandom(seed + 1), recent);
+
+            Set<Recipe> used = new HashSet<>();
+            for (int day = 0; day < DAYS; day++) {
+                used.addAll(List.of(lastWeek.soup(day), lastWeek.mainCourse(day), lastWeek.sideDish(day)));
+            }
+            for (int day = 0; day < DAYS; day++) {
+                assertThat(List.of(nextWeek.soup(day), nextWeek.mainCourse(day), nextWeek.sideDish(day)))
+                    .as("seed %d, day %d", seed, day).doesNotContainAnyElementsOf(used);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should forget days that fall out of the recent window")
+    void shouldEvictOldestRecentDay() {
+        RecentUsage recent = new RecentUsage(pool, 2);
+        recent.recordDay(1L, 4L, 7L);
+        recent.recordDay(2L, 5L, null);
+        recent.recordDay(3L, 99L, 8L);
+
+        assertThat(recent.isRecent(0, 0)).isFalse();
+        assertThat(recent.isRecent(0, 1)).isTrue();
+        assertThat(recent.isRecent(0, 2)).isTrue();
+        assertThat(recent.isRecent(2, 0)).isFalse();
+        assertThat(recent.last(0)).isEqualTo(2);
+        assertThat(recent.last(1)).as("recipe outside the pool").isEqualTo(-1);
+        assertThat(recent.last(2)).isEqualTo(1);
+        assertThatThrownBy(() -> new RecentUsage(pool, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should prefer the higher score and break ties by candidate order")
+    void shouldPickBetterCandidateDeterministically() {
+        CandidatePlan first = CandidatePlan.build(pool, 0, DAYS, new SplittableRandom(7));
+        CandidatePlan sameAsFirst = CandidatePlan.build(pool, 1, DAYS, new SplittableRandom(7));
+
+        assertThat(CandidatePlan.better(first, sameAsFirst)).isSameAs(first);
+        assertThat(CandidatePlan.better(sameAsFirst, first)).isSameAs(first);
+
+        CandidatePlan other = null;
+        for (long seed = 8; other == null || other.balanceScore() == first.balanceScore(); seed++) {
+            other = CandidatePlan.build(pool, 2, DAYS, new SplittableRandom(seed));
+        }
+        CandidatePlan expected = other.balanceScore() > first.balanceScore() ? other : first;
+        assertThat(CandidatePlan.better(first, other)).isSameAs(expected);
+        assertThat(CandidatePlan.better(other, first)).isSameAs(expected);
+    }
+
+    @Test
+    @DisplayName("Should build the requested number of candidates, capped by configuration")
+    void shouldBuildRequestedCandidates() {
+        assertThat(planner.best(pool, DAYS, 16, 2000).evaluated()).isEqualTo(16);
+        assertThat(planner.best(pool, DAYS, null, 2000).evaluated()).isEqualTo(8);
+        assertThat(planner.best(pool, DAYS, 1000, 2000).evaluated()).isEqualTo(64);
+        assertThat(planner.best(pool, DAYS, 1, null).evaluated()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return the same plan for the same seed, whatever the time budget")
+    void shouldReproduceSeededSearch() {
+        for (long seed = 0; seed < 20; seed++) {
+            BestOfKPlanner.Result first = planner.best(pool, DAYS, 32, 1, null, seed);
+            BestOfKPlanner.Result again = planner.best(pool, DAYS, 32, 1, null, seed);
+
+            assertThat(first.evaluated()).isEqualTo(32);
+            assertThat(recipeIds(again.best())).as("seed %d", seed).isEqualTo(recipeIds(first.best()));
+            assertThat(again.best().balanceScore()).isEqualTo(first.best().balanceScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return a plan at least as good as the typical single candidate")
+    void shouldKeepBestCandidate() {
+        double singleTotal = 0;
+        double bestTotal = 0;
+        for (int i = 0; i < 50; i++) {
+            singleTotal += planner.best(pool, DAYS, 1, 2000).best().balanceScore();
+            bestTotal += planner.best(pool, DAYS, 32, 2000).best().balanceScore();
+        }
+
+        assertThat(bestTotal / 50).isGreaterThan(singleTotal / 50);
+    }
+
+    @Test
+    @DisplayName("Should reject a pool with an empty course")
+    void shouldRejectEmptyCourse() {
+        assertThatThrownBy(() -> CandidatePool.of(List.of(), List.of(recipe(4L, "450", "30", "40")),
+            List.of(recipe(7L, "250", "5", "45"))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark plan building cost as the catalog grows")
+    void benchmarkPickCostByCatalogSize() {
+        for (int recipesPerCourse : new int[]{30, 300, 3_000, 30_000}) {
+            // Eight required ingredients per recipe from a pantry that grows with the catalog
+            int pantry = Math.max(40, recipesPerCourse / 2);
+            SplittableRandom random = new SplittableRandom(recipesPerCourse);
+            List<List<Recipe>> courses = new ArrayList<>();
+            long id = 0;
+            for (int course = 0; course < 3; course++) {
+                List<Recipe> recipes = new ArrayList<>();
+                for (int i = 0; i < recipesPerCourse; i++) {
+                    long[] ingredients = random.longs(8, 0, pantry).toArray();
+                    recipes.add(recipe(++id, ingredients));
+                }
+                courses.add(recipes);
+            }
+            CandidatePool catalog = CandidatePool.of(courses.get(0), courses.get(1), courses.get(2));
+
+            int iterations = 200_000;
+            double checksum = 0;
+            for (int i = 0; i < iterations; i++) {
+                checksum += CandidatePlan.build(catalog, i, DAYS, random).balanceScore();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                checksum += CandidatePlan.build(catalog, i, DAYS, random).balanceScore();
+            }
+            long nanosPerPick = (System.nanoTime() - start) / iterations / (3 * DAYS);
+
+            log.info("{} recipes per course, {} ingredients: {} ns/pick (checksum {})",
+                recipesPerCourse, pantry, nanosPerPick, checksum > 0);
+        }
+    }
+
+    private static List<Long> recipeIds(CandidatePlan plan) {
+        List<Long> ids = new ArrayList<>();
+        for (int day = 0; day < plan.days(); day++) {
+            ids.addAll(List.of(plan.soup(day).getId(), plan.mainCourse(day).getId(), plan.sideDish(day).getId()));
+        }
+        return ids;
+    }
+
+    private static Set<Long> ingredientsOf(CandidatePlan plan, int day) {
+        return List.of(plan.soup(day), plan.mainCourse(day), plan.sideDish(day)).stream()
+            .flatMap(recipe -> recipe.getRecipeIngredients().stream())
+            .map(line -> line.getIngredient().getId())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * The balance formula as written against entities before candidates were scored on arrays.
+     */
+    private static double referenceScore(CandidatePlan plan) {
+        double macro = 0;
+        List<Integer> calories = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        for (int day = 0; day < plan.days(); day++) {
+            List<Recipe> recipes = List.of(plan.soup(day), plan.mainCourse(day), plan.sideDish(day));
+            macro += recipes.stream().mapToDouble(BalanceScorer::recipeBalance).average().orElse(0.0);
+            calories.add(plan.dayCalories(day));
+            recipes.forEach(r -> ids.add(r.getId()));
+        }
+        macro /= plan.days();
+
+        double mean = calories.stream().mapToInt(Integer::intValue).average().orElse(0.0);
+        double variance = calories.stream().mapToDouble(cal -> Math.pow(cal - mean, 2)).average().orElse(0.0);
+        double cv = mean > 0 ? (Math.sqrt(variance) / mean) * 100.0 : 0.0;
+        double calorieScore = cv < 10.0 ? 100.0 : cv < 20.0 ? 90.0 : cv < 30.0 ? 75.0 : 50.0;
+
+        double variety = (double) ids.size() / (3 * plan.days()) * 100.0;
+
+        return Math.round((macro * 0.4 + calorieScore * 0.3 + variety * 0.3) * 100.0) / 100.0;
+    }
+
+    private static Recipe recipe(Long id, String calories, String protein, String carbs) {
+        return Recipe.builder()
+            .id(id)
+            .name("Recipe " + id)
+            .calories(new BigDecimal(calories))
+            .protein(new BigDecimal(protein))
+            .carbohydrates(new BigDecimal(carbs))
+            .servings(1)
+            .build();
+    }
+
+    private static Recipe recipe(Long id, long... ingredientIds) {
+        Recipe recipe = recipe(id, "450", "30", "40");
+        for (long ingredientId : ingredientIds) {
+            recipe.addRecipeIngredient(line(ingredientId, false));
+        }
+        return recipe;
+    }
+
+    private static RecipeIngredient line(long ingredientId, boolean optional) {
+        return RecipeIngredient.builder()
+            .ingredient(Ingredient.builder().id(ingredientId).build())
+            .optional(optional)
+            .build();
+    }
+}
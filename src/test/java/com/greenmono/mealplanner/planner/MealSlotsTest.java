@@ -0,0 +1,124 @@
+package com.greenmono.mealplanner.planner;
+
+import com.greenmono.mealplanner.entity.Meal;
+import com.greenmono.mealplanner.entity.NutritionalInfo;
+import com.greenmono.mealplanner.entity.Recipe;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MealSlots Unit Tests")
+class MealSlotsTest {
+
+    private static final int DAYS = 5;
+    private static final int TARGET = 2000;
+
+    private final CandidatePool pool = CandidatePool.of(
+        List.of(recipe(1L, "150"), recipe(2L, "200")),
+        List.of(recipe(3L, "450"), recipe(4L, "500")),
+        List.of(recipe(5L, "200"), recipe(6L, "250")));
+
+    @Test
+    @DisplayName("Should bring each day close to the daily calorie target")
+    void shouldTargetDailyCalories() {
+        List<Meal> catalog = new ArrayList<>();
+        long id = 1;
+        for (int calories = 100; calories <= 900; calories += 25) {
+            catalog.add(meal(id++, Meal.MealType.BREAKFAST, calories));
+            catalog.add(meal(id++, Meal.MealType.DINNER, calories));
+            catalog.add(meal(id++, Meal.MealType.SNACK, calories / 3));
+        }
+        MealSlots slots = MealSlots.of(catalog, TARGET);
+
+        for (long seed = 0; seed < 100; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            CandidatePlan lunch = CandidatePlan.build(pool, 0, DAYS, random);
+            FullDayPlan plan = slots.fill(lunch, random);
+
+            for (int day = 0; day < DAYS; day++) {
+                int expected = lunch.dayCalories(day);
+                for (Meal.MealType type : MealSlots.TYPES) {
+                    assertThat(plan.meal(day, type).getMealType()).isEqualTo(type);
+                    expected += plan.meal(day, type).getNutritionalInfo().getCalories().intValue();
+                }
+                assertThat(plan.dayCalories(day)).isEqualTo(expected);
+                assertThat(plan.dayCalories(day)).as("seed %d day %d", seed, day).isBetween(TARGET - 150, TARGET + 150);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not repeat a slot's meal on consecutive days")
+    void shouldNotRepeatConsecutiveDays() {
+        List<Meal> catalog = List.of(
+            meal(1L, Meal.MealType.BREAKFAST, 400), meal(2L, Meal.MealType.BREAKFAST, 410),
+            meal(3L, Meal.MealType.DINNER, 600), meal(4L, Meal.MealType.DINNER, 900),
+            meal(5L, Meal.MealType.SNACK, 150), meal(6L, Meal.MealType.SNACK, 160));
+        MealSlots slots = MealSlots.of(catalog, TARGET);
+
+        for (long seed = 0; seed < 100; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            FullDayPlan plan = slots.fill(CandidatePlan.build(pool, 0, DAYS, random), random);
+
+            for (int day = 1; day < DAYS; day++) {
+                for (Meal.MealType type : MealSlots.TYPES) {
+                    assertThat(plan.meal(day, type)).as("seed %d day %d %s", seed, day, type)
+                        .isNotSameAs(plan.meal(day - 1, type));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a catalog missing a slot and ignore meals without calories")
+    void shouldRejectMissingSlot() {
+        Meal noCalories = Meal.builder().id(9L).name("Unknown").mealType(Meal.MealType.SNACK).build();
+        List<Meal> catalog = List.of(
+            meal(1L, Meal.MealType.BREAKFAST, 400), meal(2L, Meal.MealType.DINNER, 600),
+            meal(3L, Meal.MealType.LUNCH, 700), noCalories);
+
+        assertThatThrownBy(() -> MealSlots.of(catalog, TARGET))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("SNACK");
+    }
+
+    @Test
+    @DisplayName("Should only hand out full-day slot types")
+    void shouldRejectLunchSlot() {
+        MealSlots slots = MealSlots.of(List.of(
+            meal(1L, Meal.MealType.BREAKFAST, 400), meal(2L, Meal.MealType.DINNER, 600),
+            meal(3L, Meal.MealType.SNACK, 150)), TARGET);
+        FullDayPlan plan = slots.fill(CandidatePlan.build(pool, 0, DAYS, new SplittableRandom(1)), new SplittableRandom(1));
+
+        assertThat(plan.meal(0, Meal.MealType.BREAKFAST).getId()).isEqualTo(1L);
+        assertThatThrownBy(() -> plan.meal(0, Meal.MealType.LUNCH))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Meal meal(Long id, Meal.MealType type, int calories) {
+        return Meal.builder()
+            .id(id)
+            .name(type + " " + id)
+            .mealType(type)
+            .nutritionalInfo(NutritionalInfo.builder().calories(new BigDecimal(calories)).build())
+            .build();
+    }
+
+    private static Recipe recipe(Long id, String calories) {
+        return Recipe.builder()
+            .id(id)
+            .name("Recipe " + id)
+            .calories(new BigDecimal(calories))
+            .protein(new BigDecimal("20"))
+            .carbohydrates(new BigDecimal("30"))
+            .servings(1)
+            .build();
+    }
+}
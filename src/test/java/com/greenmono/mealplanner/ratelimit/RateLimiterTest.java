@@ -0,0 +1,154 @@
+package com.greenmono.mealplanner.ratelimit;
+
+import com.greenmono.mealplanner.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RateLimiter Unit Tests")
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RateLimiter(meterRegistry);
+        rateLimiter.setNanoClock(nanos::get);
+        rateLimiter.init();
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then throttle with Retry-After")
+    void shouldThrottleAfterBurst() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 1L);
+        }
+
+        // Default plan generation refill is one token every 5 seconds
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 1L))
+            .isInstanceOf(RateLimitExceededException.class)
+            .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isEqualTo(5));
+
+        assertThat(meterRegistry.get(RateLimiter.THROTTLED_COUNTER)
+            .tag("endpoint", "plan_generation").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens lazily from elapsed time")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 1L);
+        }
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 1L);
+
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 1L))
+            .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets per user and per endpoint class")
+    void shouldIsolateUsersAndEndpoints() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 1L);
+        }
+
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 2L);
+        rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 1L);
+
+        assertThat(rateLimiter.trackedClients()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop idle buckets to make room for new clients once full")
+    void shouldEvictIdleBucketsWhenFull() {
+        ReflectionTestUtils.setField(rateLimiter, "maxTrackedClients", 2);
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 1L);
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 2L);
+
+        // Both buckets are back to capacity
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        rateLimiter.acquire(RateLimiter.Endpoint.PLAN_GENERATION, 3L);
+
+        assertThat(rateLimiter.trackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should turn away new clients while full and sweep at most once per interval")
+    void shouldRejectNewClientsUntilSweepFreesRoom() {
+        ReflectionTestUtils.setField(rateLimiter, "maxTrackedClients", 2);
+        rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 1L);
+        rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 2L);
+
+        // Nothing is idle, so the sweep frees nothing
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 3L))
+            .isInstanceOf(RateLimitExceededException.class)
+            .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isEqualTo(1));
+        assertThat(rateLimiter.trackedClients()).isEqualTo(2);
+
+        // Both buckets refilled, but the last sweep was too recent to run another
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 3L))
+            .isInstanceOf(RateLimitExceededException.class);
+        // Client 1 stays busy, client 2 stays idle
+        rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 1L);
+        rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 1L);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 3L);
+
+        assertThat(rateLimiter.trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should never hand out more tokens than capacity under contention")
+    void shouldNotOverGrantConcurrently() throws Exception {
+        int threads = 8;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 100; i++) {
+                            try {
+                                rateLimiter.acquire(RateLimiter.Endpoint.NUTRITION, 1L);
+                                granted.incrementAndGet();
+                            } catch (RateLimitExceededException ignored) {
+                                // expected once the bucket is empty
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The clock is frozen, so only the initial burst can be granted
+        assertThat(granted.get()).isEqualTo(20);
+    }
+}
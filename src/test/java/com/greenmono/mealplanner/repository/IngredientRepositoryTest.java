@@ -1,11 +1,13 @@
 package com.greenmono.mealplanner.repository;
 
 import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.repository.projection.PantryStamp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -394,6 +396,47 @@ class IngredientRepositoryTest {
         assertEquals(3, allIngredients.size());
     }
 
+    @Test
+    @DisplayName("Should find expired available ingredients for the expiry sweep and mark them unavailable")
+    void shouldSweepExpiredIngredients() {
+        testIngredient2.setExpiryDate(LocalDate.now().minusDays(1));
+        ingredientRepository.save(testIngredient1);
+        Ingredient expired = ingredientRepository.save(testIngredient2);
+        ingredientRepository.save(testIngredient3);
+
+        List<Ingredient> batch = ingredientRepository.findByAvailableTrueAndExpiryDateBeforeOrderByExpiryDateAsc(
+                LocalDate.now(),
+                PageRequest.of(0, 10)
+        );
+        assertEquals(1, batch.size());
+        assertEquals("Tomato", batch.get(0).getName());
+
+        int updated = ingredientRepository.markUnavailable(List.of(expired.getId()));
+        assertEquals(1, updated);
+
+        List<Ingredient> availableIngredients = ingredientRepository.findAvailableIngredientsForUser(1L);
+        assertEquals(1, availableIngredients.size());
+        assertEquals("Chicken Breast", availableIngredients.get(0).getName());
+        assertTrue(ingredientRepository.findByAvailableTrueAndExpiryDateBeforeOrderByExpiryDateAsc(
+                LocalDate.now(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stamp a user's pantry so that changes to it change the stamp")
+    void shouldStampPantry() {
+        ingredientRepository.saveAndFlush(testIngredient1);
+        ingredientRepository.saveAndFlush(testIngredient3);
+        PantryStamp before = ingredientRepository.findPantryStamp(1L);
+
+        // Another user's pantry does not count
+        assertEquals(1, before.ingredients());
+        assertEquals(before, ingredientRepository.findPantryStamp(1L));
+
+        ingredientRepository.saveAndFlush(testIngredient2);
+        assertEquals(2, ingredientRepository.findPantryStamp(1L).ingredients());
+        assertEquals(new PantryStamp(0, null), ingredientRepository.findPantryStamp(3L));
+    }
+
     @Test
     @DisplayName("Should return empty list when no ingredients match criteria")
     void shouldReturnEmptyListWhenNoIngredientsMatchCriteria() {
@@ -0,0 +1,145 @@
+package com.greenmono.mealplanner.repository;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.entity.RecipeIngredient;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that sequence-generated IDs let Hibernate batch inserts.
+ * With IDENTITY every row needs its own INSERT round trip to learn its key.
+ *
+ * The throughput benchmark is opt-in: {@code mvn test -Dtest=InsertBatchingTest -Dbenchmark=true}
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Insert batching Integration Tests")
+@Slf4j
+class InsertBatchingTest {
+
+    private static final int INGREDIENTS_PER_RECIPE = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should insert a 20-ingredient recipe in batches rather than one statement per row")
+    void shouldBatchRecipeIngredientInserts() {
+        List<Ingredient> pantry = ingredientRepository.saveAll(createIngredients(INGREDIENTS_PER_RECIPE));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        recipeRepository.save(createRecipe("Batch Recipe", pantry));
+        entityManager.flush();
+
+        // 1 recipe + 20 recipe_ingredients rows
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + INGREDIENTS_PER_RECIPE);
+        // Two INSERT statements plus sequence calls (the pooled optimizer calls twice on a fresh sequence)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark recipe persistence throughput")
+    void benchmarkRecipeInserts() {
+        List<Ingredient> pantry = ingredientRepository.saveAll(createIngredients(INGREDIENTS_PER_RECIPE));
+        entityManager.flush();
+        entityManager.clear();
+
+        int recipes = 500;
+        // Warm up
+        persistRecipes(pantry, 50);
+        statistics.clear();
+
+        long start = System.nanoTime();
+        persistRecipes(pantry, recipes);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long rows = statistics.getEntityInsertCount();
+        log.info("Inserted {} rows with {} statements in {} s ({} rows/s)",
+                rows, statistics.getPrepareStatementCount(), String.format("%.3f", seconds),
+                String.format("%.0f", rows / seconds));
+    }
+
+    private void persistRecipes(List<Ingredient> pantry, int count) {
+        for (int i = 0; i < count; i++) {
+            recipeRepository.save(createRecipe("Recipe " + i, pantry));
+            if (i % 20 == 19) {
+                entityManager.flush();
+                entityManager.clear();
+                pantry = pantry.stream().map(p -> entityManager.getReference(Ingredient.class, p.getId())).toList();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<Ingredient> createIngredients(int count) {
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ingredients.add(Ingredient.builder()
+                    .name("Ingredient " + i)
+                    .category(Ingredient.IngredientCategory.OTHER)
+                    .quantity(new BigDecimal("1000"))
+                    .unit(Ingredient.Unit.GRAM)
+                    .available(true)
+                    .build());
+        }
+        return ingredients;
+    }
+
+    private Recipe createRecipe(String name, List<Ingredient> pantry) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .category(Recipe.RecipeCategory.MAIN_COURSE)
+                .cookingTimeMinutes(30)
+                .servings(2)
+                .calories(new BigDecimal("450"))
+                .protein(new BigDecimal("30"))
+                .carbohydrates(new BigDecimal("40"))
+                .fat(new BigDecimal("18"))
+                .active(true)
+                .build();
+
+        for (Ingredient ingredient : pantry) {
+            recipe.getRecipeIngredients().add(RecipeIngredient.builder()
+                    .recipe(recipe)
+                    .ingredient(ingredient)
+                    .quantity(new BigDecimal("10"))
+                    .unit(Ingredient.Unit.GRAM)
+                    .optional(false)
+                    .build());
+        }
+        return recipe;
+    }
+}
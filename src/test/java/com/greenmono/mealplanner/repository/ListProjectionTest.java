@@ -0,0 +1,305 @@
+package com.greenmono.mealplanner.repository;
+
+import com.greenmono.mealplanner.entity.DailyMealPlan;
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.entity.RecipeIngredient;
+import com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary;
+import com.greenmono.mealplanner.repository.projection.IngredientSummary;
+import com.greenmono.mealplanner.repository.projection.MenuPlanSummary;
+import com.greenmono.mealplanner.repository.projection.PantryStamp;
+import com.greenmono.mealplanner.repository.projection.PlanStamp;
+import com.greenmono.mealplanner.repository.projection.RecipeIngredientLine;
+import com.greenmono.mealplanner.repository.projection.RecipeInstructionLine;
+import com.greenmono.mealplanner.repository.projection.RecipeSummary;
+import com.greenmono.mealplanner.repository.projection.ShoppingListLine;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the list endpoints' read-only projections select plain rows in a fixed number
+ * of statements, where hydrating entities costs managed instances and lazy loads per row.
+ *
+ * The before/after benchmark is opt-in: {@code mvn test -Dtest=ListProjectionTest -Dbenchmark=true}
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("List projection Integration Tests")
+@Slf4j
+class ListProjectionTest {
+
+    private static final int RECIPES = 20;
+    private static final int INGREDIENTS_PER_RECIPE = 5;
+    private static final int STEPS_PER_RECIPE = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private MenuPlanRepository menuPlanRepository;
+
+    @Autowired
+    private DailyMealPlanRepository dailyMealPlanRepository;
+
+    private Statistics statistics;
+    private List<Recipe> recipes;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        List<Ingredient> pantry = ingredientRepository.saveAll(createIngredients(INGREDIENTS_PER_RECIPE));
+        recipes = new ArrayList<>();
+        for (int i = 0; i < RECIPES; i++) {
+            recipes.add(recipeRepository.save(createRecipe("Recipe " + i, pantry)));
+        }
+        menuPlanRepository.save(createMenuPlan(recipes));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a recipe page with lines and steps in a fixed number of statements")
+    void shouldLoadRecipePageWithoutEntities() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+
+        Page<RecipeSummary> page = recipeRepository.findActiveSummaries(pageable);
+        List<Long> ids = page.getContent().stream().map(RecipeSummary::id).toList();
+        List<RecipeIngredientLine> lines = recipeIngredientRepository.findLinesByRecipeIdIn(ids);
+        List<RecipeInstructionLine> steps = recipeRepository.findInstructionLines(ids);
+
+        assertThat(page.getTotalElements()).isEqualTo(RECIPES);
+        assertThat(page.getContent()).extracting(RecipeSummary::name).isSortedAccordingTo(String::compareTo);
+        assertThat(lines).hasSize(10 * INGREDIENTS_PER_RECIPE)
+                .allSatisfy(line -> assertThat(line.ingredientName()).startsWith("Ingredient "));
+        assertThat(steps).hasSize(10 * STEPS_PER_RECIPE);
+        assertThat(steps.subList(0, STEPS_PER_RECIPE)).extracting(RecipeInstructionLine::instruction)
+                .containsExactly("Step 0", "Step 1", "Step 2");
+
+        // Page, count, ingredient lines, instructions
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should filter ingredient and recipe summaries by category")
+    void shouldFilterSummariesByCategory() {
+        Page<IngredientSummary> ingredients = ingredientRepository.findSummariesByCategory(
+                Ingredient.IngredientCategory.OTHER, PageRequest.of(0, 2, Sort.by("name")));
+        Page<RecipeSummary> soups = recipeRepository.findActiveSummariesByCategory(
+                Recipe.RecipeCategory.SOUP, PageRequest.of(0, 10));
+
+        assertThat(ingredients.getTotalElements()).isEqualTo(INGREDIENTS_PER_RECIPE);
+        assertThat(ingredients.getContent()).extracting(IngredientSummary::name)
+                .containsExactly("Ingredient 0", "Ingredient 1");
+        assertThat(soups.getContent()).isEmpty();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load menu plan days and their recipes as plain rows")
+    void shouldLoadMenuPlanSummariesWithoutEntities() {
+        Long userId = 7L;
+
+        List<MenuPlanSummary> plans = menuPlanRepository.findBalancedSummariesByUserId(userId);
+        List<DailyMealPlanSummary> days = dailyMealPlanRepository.findSummariesByMenuPlanIdIn(
+                plans.stream().map(MenuPlanSummary::id).toList());
+        List<RecipeSummary> dayRecipes = recipeRepository.findSummariesByIdIn(
+                days.stream().map(DailyMealPlanSummary::mainCourseRecipeId).toList());
+
+        assertThat(plans).hasSize(1);
+        assertThat(menuPlanRepository.findSummariesByUserIdAndStatus(userId, MenuPlan.MenuPlanStatus.ACTIVE)).hasSize(1);
+        assertThat(days).extracting(DailyMealPlanSummary::dayNumber).containsExactly(1, 2, 3, 4, 5);
+        assertThat(days).extracting(DailyMealPlanSummary::soupRecipeId).containsOnlyNulls();
+        assertThat(days).extracting(DailyMealPlanSummary::breakfastMealId).containsOnlyNulls();
+        assertThat(dayRecipes).hasSize(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read the swapped day and recipe uses of a dish swap as plain rows")
+    void shouldLoadSwappedDayWithoutEntities() {
+        Long planId = menuPlanRepository.findBalancedSummariesByUserId(7L).get(0).id();
+
+        Optional<DailyMealPlanSummary> day = dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(planId, 2);
+
+        assertThat(day).get().extracting(DailyMealPlanSummary::mainCourseRecipeId).isEqualTo(recipes.get(2).getId());
+        assertThat(dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(planId, 6)).isEmpty();
+        assertThat(dailyMealPlanRepository.countRecipeUses(planId, recipes.get(6).getId())).isEqualTo(1);
+        assertThat(dailyMealPlanRepository.countRecipeUses(planId, recipes.get(0).getId())).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should total a plan's ingredients in one aggregate statement")
+    void shouldAggregateShoppingListLines() {
+        Long planId = menuPlanRepository.findByUserId(7L).get(0).getId();
+        // A shared ingredient no recipe of the plan uses
+        ingredientRepository.save(createIngredients(1).get(0));
+
+        List<ShoppingListLine> lines = dailyMealPlanRepository.findShoppingListLines(planId);
+        Optional<PlanStamp> stamp = menuPlanRepository.findPlanStamp(planId);
+        PantryStamp pantry = dailyMealPlanRepository.findShoppingListPantryStamp(planId);
+
+        // Five days of two recipes, each needing 10 g of every ingredient
+        assertThat(lines).hasSize(INGREDIENTS_PER_RECIPE)
+                .allSatisfy(line -> assertThat(line.quantity()).isEqualByComparingTo("100"));
+        assertThat(lines).extracting(ShoppingListLine::name).isSortedAccordingTo(String::compareTo);
+        assertThat(stamp).get().extracting(PlanStamp::userId, PlanStamp::days).containsExactly(7L, 5L);
+        assertThat(menuPlanRepository.findPlanStamp(-1L)).isEmpty();
+        assertThat(pantry.ingredients()).isEqualTo(INGREDIENTS_PER_RECIPE);
+        assertThat(pantry.lastUpdated()).isNotNull();
+        assertThat(dailyMealPlanRepository.findShoppingListPantryStamp(-1L)).isEqualTo(new PantryStamp(0, null));
+        // Only the plan looked up by user is hydrated
+        assertThat(statistics.getEntityLoadCount()).isOne();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark recipe list heap and latency: entity hydration vs projections")
+    void benchmarkRecipeListReads() {
+        Pageable pageable = PageRequest.of(0, RECIPES, Sort.by("name"));
+
+        measure("entities", () -> {
+            // What the list endpoint did before: page of entities, then lazy loads while mapping
+            Page<Recipe> page = recipeRepository.findByActiveTrue(pageable);
+            int rows = 0;
+            for (Recipe recipe : page.getContent()) {
+                for (RecipeIngredient line : recipe.getRecipeIngredients()) {
+                    rows += line.getIngredient().getName().length() > 0 ? 1 : 0;
+                }
+                rows += recipe.getInstructions().size();
+            }
+            return rows;
+        });
+
+        measure("projections", () -> {
+            Page<RecipeSummary> page = recipeRepository.findActiveSummaries(pageable);
+            List<Long> ids = page.getContent().stream().map(RecipeSummary::id).toList();
+            return recipeIngredientRepository.findLinesByRecipeIdIn(ids).size()
+                    + recipeRepository.findInstructionLines(ids).size();
+        });
+    }
+
+    private void measure(String label, Supplier<Integer> listPage) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iterations = 200;
+
+        for (int i = 0; i < 50; i++) {
+            listPage.get();
+            entityManager.clear();
+        }
+        statistics.clear();
+
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            listPage.get();
+            entityManager.clear();
+        }
+        long micros = (System.nanoTime() - start) / 1000 / iterations;
+        long bytes = (threads.getCurrentThreadAllocatedBytes() - bytesBefore) / iterations;
+
+        log.info("{}: {} us/page, {} KB allocated/page, {} statements/page, {} entities loaded/page",
+                label, micros, bytes / 1024, statistics.getPrepareStatementCount() / iterations,
+                statistics.getEntityLoadCount() / iterations);
+    }
+
+    private List<Ingredient> createIngredients(int count) {
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ingredients.add(Ingredient.builder()
+                    .name("Ingredient " + i)
+                    .category(Ingredient.IngredientCategory.OTHER)
+                    .quantity(new BigDecimal("1000"))
+                    .unit(Ingredient.Unit.GRAM)
+                    .available(true)
+                    .build());
+        }
+        return ingredients;
+    }
+
+    private Recipe createRecipe(String name, List<Ingredient> pantry) {
+        Recipe recipe = Recipe.builder()
+                .name(name)
+                .category(Recipe.RecipeCategory.MAIN_COURSE)
+                .cookingTimeMinutes(30)
+                .servings(2)
+                .calories(new BigDecimal("450"))
+                .protein(new BigDecimal("30"))
+                .carbohydrates(new BigDecimal("40"))
+                .fat(new BigDecimal("18"))
+                .active(true)
+                .build();
+
+        for (int i = 0; i < STEPS_PER_RECIPE; i++) {
+            recipe.getInstructions().add("Step " + i);
+        }
+        for (Ingredient ingredient : pantry) {
+            recipe.addRecipeIngredient(RecipeIngredient.builder()
+                    .ingredient(ingredient)
+                    .quantity(new BigDecimal("10"))
+                    .unit(Ingredient.Unit.GRAM)
+                    .optional(false)
+                    .build());
+        }
+        return recipe;
+    }
+
+    private MenuPlan createMenuPlan(List<Recipe> recipes) {
+        LocalDate start = LocalDate.of(2026, 1, 5);
+        MenuPlan plan = MenuPlan.builder()
+                .name("Week 2")
+                .userId(7L)
+                .startDate(start)
+                .endDate(start.plusDays(4))
+                .status(MenuPlan.MenuPlanStatus.ACTIVE)
+                .isBalanced(true)
+                .build();
+
+        for (int day = 1; day <= 5; day++) {
+            plan.getDailyMealPlans().add(DailyMealPlan.builder()
+                    .menuPlan(plan)
+                    .dayNumber(day)
+                    .mealDate(start.plusDays(day - 1))
+                    .mainCourseRecipe(recipes.get(day))
+                    .sideDishRecipe(recipes.get(day + 5))
+                    .build());
+        }
+        return plan;
+    }
+}
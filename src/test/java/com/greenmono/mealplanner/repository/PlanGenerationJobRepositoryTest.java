@@ -0,0 +1,80 @@
+package com.greenmono.mealplanner.repository;
+
+import com.greenmono.mealplanner.entity.PlanGenerationJob;
+import com.greenmono.mealplanner.entity.PlanGenerationJob.JobStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("PlanGenerationJobRepository Integration Tests")
+class PlanGenerationJobRepositoryTest {
+
+    @Autowired
+    private PlanGenerationJobRepository jobRepository;
+
+    @Test
+    @DisplayName("Should claim the oldest queued jobs up to the limit")
+    void shouldFindQueuedJobsInOrder() {
+        PlanGenerationJob first = jobRepository.save(job(JobStatus.QUEUED));
+        PlanGenerationJob second = jobRepository.save(job(JobStatus.QUEUED));
+        jobRepository.save(job(JobStatus.QUEUED));
+        jobRepository.save(job(JobStatus.SUCCEEDED));
+
+        List<PlanGenerationJob> claimed = jobRepository.findQueuedForUpdate(PageRequest.of(0, 2));
+
+        assertThat(claimed).extracting(PlanGenerationJob::getId)
+            .containsExactly(first.getId(), second.getId());
+        assertThat(jobRepository.countByStatus(JobStatus.QUEUED)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should find only running jobs started before the cutoff")
+    void shouldFindStaleRunningJobs() {
+        PlanGenerationJob stale = job(JobStatus.RUNNING);
+        stale.setStartedAt(LocalDateTime.now().minusHours(1));
+        PlanGenerationJob fresh = job(JobStatus.RUNNING);
+        fresh.setStartedAt(LocalDateTime.now());
+        jobRepository.save(stale);
+        jobRepository.save(fresh);
+
+        List<PlanGenerationJob> found = jobRepository.findStaleRunningForUpdate(LocalDateTime.now().minusMinutes(10));
+
+        assertThat(found).extracting(PlanGenerationJob::getId).containsExactly(stale.getId());
+    }
+
+    @Test
+    @DisplayName("Should finish or requeue a job only while it runs the reported attempt")
+    void shouldUpdateOnlyTheRunningAttempt() {
+        PlanGenerationJob running = job(JobStatus.RUNNING);
+        running.setAttempts(2);
+        running.setStartedAt(LocalDateTime.now());
+        Long id = jobRepository.save(running).getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(jobRepository.finishRunning(id, 1, JobStatus.SUCCEEDED, 9L, null, now)).isZero();
+        assertThat(jobRepository.requeueRunning(id, 2, "Lock timeout", now)).isEqualTo(1);
+        assertThat(jobRepository.findById(id)).get().satisfies(job -> {
+            assertThat(job.getStatus()).isEqualTo(JobStatus.QUEUED);
+            assertThat(job.getStartedAt()).isNull();
+        });
+        assertThat(jobRepository.finishRunning(id, 2, JobStatus.SUCCEEDED, 9L, null, now)).isZero();
+    }
+
+    private PlanGenerationJob job(JobStatus status) {
+        return PlanGenerationJob.builder()
+            .userId(1L)
+            .requestPayload("{}")
+            .status(status)
+            .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CurrentMenuPlanService Unit Tests")
+class CurrentMenuPlanServiceTest {
+
+    @Mock
+    private MenuPlanService menuPlanService;
+
+    @InjectMocks
+    private CurrentMenuPlanService currentMenuPlanService;
+
+    @BeforeEach
+    void setUp() {
+        currentMenuPlanService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        currentMenuPlanService.stop();
+    }
+
+    @Test
+    @DisplayName("Should stop serving the cached active plan once it is deleted")
+    void shouldEvictDeletedActivePlan() {
+        MenuPlanResponse active = MenuPlanResponse.builder().id(10L).userId(1L).build();
+        when(menuPlanService.getActiveMenuPlan(1L)).thenReturn(active);
+
+        assertThat(currentMenuPlanService.getActiveMenuPlan(1L)).isSameAs(active);
+        assertThat(currentMenuPlanService.getActiveMenuPlan(1L)).isSameAs(active);
+        verify(menuPlanService, times(1)).getActiveMenuPlan(1L);
+
+        currentMenuPlanService.onMenuPlanChanged(new MenuPlanChangedEvent(
+            1L, 10L, MenuPlanChangedEvent.Action.DELETED, MenuPlan.MenuPlanStatus.ACTIVE));
+        currentMenuPlanService.getActiveMenuPlan(1L);
+
+        verify(menuPlanService, times(2)).getActiveMenuPlan(1L);
+    }
+}
@@ -0,0 +1,72 @@
+package com.greenmono.mealplanner.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DailyMealPlanPartitionService Unit Tests")
+class DailyMealPlanPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private DailyMealPlanPartitionService partitionService;
+
+    @BeforeEach
+    void setUp() {
+        partitionService.setClock(Clock.fixed(
+            LocalDate.of(2026, 11, 19).atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+    }
+
+    @Test
+    @DisplayName("Should ask for this month and the configured months ahead, counting only new ones")
+    void shouldCreateUpcomingPartitions() {
+        when(jdbcTemplate.queryForObject(eq(DailyMealPlanPartitionService.CREATE_SQL), eq(Boolean.class), any(LocalDate.class)))
+            .thenReturn(false);
+        when(jdbcTemplate.queryForObject(DailyMealPlanPartitionService.CREATE_SQL, Boolean.class, LocalDate.of(2027, 2, 1)))
+            .thenReturn(true);
+
+        int created = partitionService.createUpcomingPartitions();
+
+        assertThat(created).isEqualTo(1);
+        verify(jdbcTemplate).queryForObject(DailyMealPlanPartitionService.CREATE_SQL, Boolean.class, LocalDate.of(2026, 11, 1));
+        verify(jdbcTemplate).queryForObject(DailyMealPlanPartitionService.CREATE_SQL, Boolean.class, LocalDate.of(2026, 12, 1));
+        verify(jdbcTemplate).queryForObject(DailyMealPlanPartitionService.CREATE_SQL, Boolean.class, LocalDate.of(2027, 1, 1));
+        verify(jdbcTemplate).queryForObject(DailyMealPlanPartitionService.CREATE_SQL, Boolean.class, LocalDate.of(2027, 2, 1));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should drop empty partitions only when partitioning is enabled")
+    void shouldDropEmptyPartitionsWhenEnabled() {
+        LocalDate cutoff = LocalDate.of(2026, 5, 22);
+        when(jdbcTemplate.queryForObject(DailyMealPlanPartitionService.DROP_EMPTY_SQL, Integer.class, cutoff))
+            .thenReturn(2);
+
+        assertThat(partitionService.dropEmptyPartitionsBefore(cutoff)).isEqualTo(2);
+
+        ReflectionTestUtils.setField(partitionService, "enabled", false);
+        assertThat(partitionService.dropEmptyPartitionsBefore(cutoff)).isZero();
+        partitionService.scheduledMaintenance();
+
+        verify(jdbcTemplate, times(1)).queryForObject(DailyMealPlanPartitionService.DROP_EMPTY_SQL, Integer.class, cutoff);
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,231 @@
+package com.greenmono.mealplanner.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenmono.mealplanner.entity.DailyMealPlan;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.export.ExportFormat;
+import com.greenmono.mealplanner.repository.MenuPlanRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the exports' SQL against H2 and checks that a large export streams in constant memory.
+ */
+@DataJpaTest
+@Import(DataExportService.class)
+@ActiveProfiles("test")
+@DisplayName("DataExportService Integration Tests")
+@Slf4j
+class DataExportServiceTest {
+
+    private static final long USER_ID = 7L;
+
+    @Autowired
+    private DataExportService dataExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private MenuPlanRepository menuPlanRepository;
+
+    @Test
+    @DisplayName("Should export the user's plan days with recipe names, filtered like the listings")
+    void shouldExportMenuPlanDays() throws IOException {
+        Recipe soup = recipeRepository.save(recipe("Tomato Soup", Recipe.RecipeCategory.SOUP));
+        Recipe main = recipeRepository.save(recipe("Grilled Chicken", Recipe.RecipeCategory.MAIN_COURSE));
+        menuPlanRepository.save(plan(USER_ID, "February", LocalDate.of(2026, 2, 2), false, soup, main));
+        menuPlanRepository.save(plan(USER_ID, "January", LocalDate.of(2026, 1, 5), true, soup, main));
+        menuPlanRepository.save(plan(8L, "Other user", LocalDate.of(2026, 1, 5), true, soup, main));
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        long rows = dataExportService.exportMenuPlanDays(USER_ID, null, null, false, ExportFormat.CSV, all);
+        List<String> lines = all.toString(StandardCharsets.UTF_8).lines().toList();
+
+        assertThat(rows).isEqualTo(4);
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0)).isEqualTo(String.join(",", DataExportService.MENU_PLAN_DAY_COLUMNS));
+        assertThat(lines.get(1)).contains(",January,ACTIVE,true,1,2026-01-05,")
+            .contains(",Tomato Soup,")
+            .endsWith(",Grilled Chicken,,,650");
+        assertThat(lines.get(3)).contains(",February,ACTIVE,false,1,2026-02-02,");
+
+        ByteArrayOutputStream filtered = new ByteArrayOutputStream();
+        dataExportService.exportMenuPlanDays(USER_ID, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), true,
+            ExportFormat.JSONL, filtered);
+        List<String> json = filtered.toString(StandardCharsets.UTF_8).lines().toList();
+        JsonNode day = new ObjectMapper().readTree(json.get(1));
+
+        assertThat(json).hasSize(2);
+        assertThat(day.get("menu_plan_name").asText()).isEqualTo("January");
+        assertThat(day.get("day_number").asInt()).isEqualTo(2);
+        assertThat(day.get("soup_recipe_id").asLong()).isEqualTo(soup.getId());
+        assertThat(day.get("side_dish_recipe_id").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should export active recipes of a category in ID order")
+    void shouldExportRecipes() throws IOException {
+        Recipe first = recipeRepository.save(recipe("Lentil Soup", Recipe.RecipeCategory.SOUP));
+        recipeRepository.save(recipe("Beef Stew", Recipe.RecipeCategory.MAIN_COURSE));
+        Recipe retired = recipe("Old Soup", Recipe.RecipeCategory.SOUP);
+        retired.setActive(false);
+        recipeRepository.save(retired);
+        Recipe second = recipeRepository.save(recipe("Pea Soup, Minted", Recipe.RecipeCategory.SOUP));
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = dataExportService.exportRecipes(Recipe.RecipeCategory.SOUP, ExportFormat.CSV, out);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(1)).startsWith(first.getId() + ",Lentil Soup,SOUP,2,30,");
+        assertThat(lines.get(2)).startsWith(second.getId() + ",\"Pea Soup, Minted\",SOUP,");
+    }
+
+    @Test
+    @DisplayName("Should not grow the heap while a large export streams")
+    void shouldStreamInConstantMemory() throws IOException {
+        int recipes = 50_000;
+        insertRecipes(recipes);
+
+        HeapProbe probe = new HeapProbe(1024 * 1024);
+        long rows = dataExportService.exportRecipes(null, ExportFormat.JSONL, probe);
+
+        long growth = probe.settledUsed() - probe.minUsed;
+        log.info("Exported {} recipes ({} bytes), heap grew {} KB over {} samples",
+            rows, probe.written, growth / 1024, probe.samples);
+        assertThat(rows).isEqualTo(recipes);
+        assertThat(probe.samples).isGreaterThan(5);
+        // Holding the rows would retain over a hundred bytes each, about half a megabyte per sample
+        assertThat(growth).isLessThan(1024 * 1024);
+    }
+
+    private void insertRecipes(int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Object[]{
+                1_000_000L + i, "Generated recipe " + i, "MAIN_COURSE", 30, 2,
+                new BigDecimal("450.00"), new BigDecimal("30.00"), new BigDecimal("40.00"), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO recipes (id, name, category, cooking_time_minutes, servings, " +
+            "calories, protein, carbohydrates, active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?)", rows);
+    }
+
+    private static Recipe recipe(String name, Recipe.RecipeCategory category) {
+        return Recipe.builder()
+            .name(name)
+            .category(category)
+            .cookingTimeMinutes(30)
+            .servings(2)
+            .calories(new BigDecimal("325"))
+            .protein(new BigDecimal("20"))
+            .carbohydrates(new BigDecimal("35"))
+            .active(true)
+            .build();
+    }
+
+    private static MenuPlan plan(Long userId, String name, LocalDate start, boolean balanced, Recipe soup, Recipe main) {
+        MenuPlan plan = MenuPlan.builder()
+            .name(name)
+            .userId(userId)
+            .startDate(start)
+            .endDate(start.plusDays(1))
+            .status(MenuPlan.MenuPlanStatus.ACTIVE)
+            .isBalanced(balanced)
+            .build();
+        for (int day = 1; day <= 2; day++) {
+            plan.getDailyMealPlans().add(DailyMealPlan.builder()
+                .menuPlan(plan)
+                .dayNumber(day)
+                .mealDate(start.plusDays(day - 1))
+                .soupRecipe(soup)
+                .mainCourseRecipe(main)
+                .totalCalories(650)
+                .build());
+        }
+        return plan;
+    }
+
+    /**
+     * Discards what is written, sampling the heap after a full collection every {@code interval}
+     * bytes. H2 drops caches of its own partway through a large read, so growth is measured from
+     * the lowest sample rather than the first, and to the lowest of the last few so a spike from
+     * another thread sharing the test JVM does not count while retained rows still do.
+     */
+    private static final class HeapProbe extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long interval;
+        private long written;
+        private long nextSample;
+        private final long[] recent = new long[3];
+        private long minUsed = Long.MAX_VALUE;
+        private int samples;
+
+        HeapProbe(long interval) {
+            this.interval = interval;
+            this.nextSample = interval;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            written += len;
+            if (written >= nextSample) {
+                nextSample += interval;
+                System.gc();
+                long used = memory.getHeapMemoryUsage().getUsed();
+                recent[samples % recent.length] = used;
+                minUsed = Math.min(minUsed, used);
+                samples++;
+            }
+        }
+
+        long settledUsed() {
+            return Arrays.stream(recent, 0, Math.min(samples, recent.length)).min().orElse(0);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.MenuPlanRequest;
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.entity.IdempotencyRecord;
+import com.greenmono.mealplanner.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs key expiry against the real table, committing like production does, so the order in
+ * which Hibernate flushes the old key's delete and the new key's insert matters.
+ */
+@DataJpaTest
+@Import(IdempotentPlanGenerationService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@DisplayName("IdempotentPlanGenerationService Integration Tests")
+class IdempotentPlanGenerationServiceIntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-01T10:00:00Z");
+
+    @Autowired
+    private IdempotentPlanGenerationService service;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @MockBean
+    private MenuPlannerService menuPlannerService;
+
+    @MockBean
+    private MenuPlanService menuPlanService;
+
+    private MenuPlanRequest request;
+
+    @BeforeEach
+    void setUp() {
+        service.setClock(Clock.fixed(NOW, ZoneId.of("UTC")));
+        request = MenuPlanRequest.builder()
+            .userId(1L)
+            .startDate(LocalDate.of(2026, 2, 2))
+            .targetDailyCalories(2000)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should generate a new plan and replace the record when an expired key is reused")
+    void shouldReplaceExpiredKey() {
+        idempotencyRecordRepository.save(IdempotencyRecord.builder()
+            .userId(1L)
+            .idempotencyKey("k1")
+            .requestHash("0".repeat(64))
+            .menuPlanId(10L)
+            .expiresAt(LocalDateTime.of(2026, 2, 1, 9, 0))
+            .build());
+        when(menuPlannerService.generateBalancedMenuPlan(request))
+            .thenReturn(MenuPlanResponse.builder().id(20L).userId(1L).build());
+
+        MenuPlanResponse response = service.generate(request, "k1");
+
+        assertThat(response.getId()).isEqualTo(20L);
+        IdempotencyRecord record = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "k1").orElseThrow();
+        assertThat(record.getMenuPlanId()).isEqualTo(20L);
+        assertThat(record.getRequestHash()).isNotEqualTo("0".repeat(64));
+        assertThat(record.getExpiresAt()).isEqualTo(LocalDateTime.of(2026, 2, 2, 10, 0));
+        assertThat(idempotencyRecordRepository.count()).isEqualTo(1);
+    }
+}
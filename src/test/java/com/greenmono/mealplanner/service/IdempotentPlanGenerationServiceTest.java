@@ -0,0 +1,195 @@
+package com.greenmono.mealplanner.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.greenmono.mealplanner.dto.MenuPlanRequest;
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.entity.IdempotencyRecord;
+import com.greenmono.mealplanner.exception.IdempotencyKeyReuseException;
+import com.greenmono.mealplanner.exception.InvalidIdempotencyKeyException;
+import com.greenmono.mealplanner.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotentPlanGenerationService Unit Tests")
+class IdempotentPlanGenerationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-01T10:00:00Z");
+
+    @Mock
+    private MenuPlannerService menuPlannerService;
+
+    @Mock
+    private MenuPlanService menuPlanService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private IdempotentPlanGenerationService service;
+
+    private MenuPlanRequest request;
+    private MenuPlanResponse generated;
+
+    @BeforeEach
+    void setUp() {
+        service.setClock(Clock.fixed(NOW, ZoneId.of("UTC")));
+
+        request = MenuPlanRequest.builder()
+            .userId(1L)
+            .startDate(LocalDate.of(2026, 2, 2))
+            .targetDailyCalories(2000)
+            .build();
+        generated = MenuPlanResponse.builder().id(10L).userId(1L).build();
+    }
+
+    @Test
+    @DisplayName("Should generate and record the plan on first use of a key")
+    void shouldRecordFirstAttempt() {
+        runTransactionsInline();
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "k1")).thenReturn(Optional.empty());
+        when(menuPlannerService.generateBalancedMenuPlan(request)).thenReturn(generated);
+
+        MenuPlanResponse response = service.generate(request, "k1");
+
+        assertThat(response.getId()).isEqualTo(10L);
+        ArgumentCaptor<IdempotencyRecord> captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(captor.capture());
+        assertThat(captor.getValue().getMenuPlanId()).isEqualTo(10L);
+        assertThat(captor.getValue().getRequestHash()).hasSize(64);
+        assertThat(captor.getValue().getExpiresAt()).isEqualTo(LocalDateTime.of(2026, 2, 2, 10, 0));
+    }
+
+    @Test
+    @DisplayName("Should replay the recorded plan when a key is retried with the same request")
+    void shouldReplayRetry() {
+        runTransactionsInline();
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "k1")).thenReturn(Optional.empty());
+        when(menuPlannerService.generateBalancedMenuPlan(request)).thenReturn(generated);
+        service.generate(request, "k1");
+
+        ArgumentCaptor<IdempotencyRecord> captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(captor.capture());
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "k1")).thenReturn(Optional.of(captor.getValue()));
+        when(menuPlanService.getMenuPlanById(10L)).thenReturn(generated);
+
+        MenuPlanResponse replayed = service.generate(request, "k1");
+
+        assertThat(replayed.getId()).isEqualTo(10L);
+        verify(menuPlannerService, times(1)).generateBalancedMenuPlan(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request")
+    void shouldRejectKeyReuse() {
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "k1"))
+            .thenReturn(Optional.of(record("0".repeat(64), LocalDateTime.of(2026, 2, 1, 12, 0))));
+
+        assertThatThrownBy(() -> service.generate(request, "k1"))
+            .isInstanceOf(IdempotencyKeyReuseException.class)
+            .hasMessageContaining("k1");
+
+        verifyNoInteractions(menuPlannerService);
+    }
+
+    @Test
+    @DisplayName("Should generate a new plan when the recorded key has expired")
+    void shouldRegenerateAfterExpiry() {
+        runTransactionsInline();
+        IdempotencyRecord expired = record("0".repeat(64), LocalDateTime.of(2026, 2, 1, 9, 0));
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "k1")).thenReturn(Optional.of(expired));
+        when(menuPlannerService.generateBalancedMenuPlan(request)).thenReturn(generated);
+
+        MenuPlanResponse response = service.generate(request, "k1");
+
+        assertThat(response.getId()).isEqualTo(10L);
+        verify(idempotencyRecordRepository).deleteIfExpired(1L, LocalDateTime.of(2026, 2, 1, 10, 0));
+        verify(idempotencyRecordRepository).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Should replay the winner's plan when another instance records the key first")
+    void shouldReplayConcurrentWinner() throws Exception {
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("uk_idempotency_user_key"));
+        IdempotencyRecord winner = record(hashOf(request), LocalDateTime.of(2026, 2, 1, 12, 0));
+        winner.setMenuPlanId(20L);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "k1"))
+            .thenReturn(Optional.empty(), Optional.of(winner));
+        when(menuPlanService.getMenuPlanById(20L)).thenReturn(MenuPlanResponse.builder().id(20L).userId(1L).build());
+
+        MenuPlanResponse response = service.generate(request, "k1");
+
+        assertThat(response.getId()).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("Should generate without touching the key store when no key is sent")
+    void shouldGenerateWithoutKey() {
+        when(menuPlannerService.generateBalancedMenuPlan(request)).thenReturn(generated);
+
+        MenuPlanResponse response = service.generate(request, null);
+
+        assertThat(response.getId()).isEqualTo(10L);
+        verifyNoInteractions(idempotencyRecordRepository, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should reject an over-long idempotency key")
+    void shouldRejectLongKey() {
+        assertThatThrownBy(() -> service.generate(request, "x".repeat(101)))
+            .isInstanceOf(InvalidIdempotencyKeyException.class);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+            inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private String hashOf(MenuPlanRequest request) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private IdempotencyRecord record(String requestHash, LocalDateTime expiresAt) {
+        return IdempotencyRecord.builder()
+            .id(1L)
+            .userId(1L)
+            .idempotencyKey("k1")
+            .requestHash(requestHash)
+            .menuPlanId(10L)
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
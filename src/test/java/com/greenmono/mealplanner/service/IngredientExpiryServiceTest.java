@@ -0,0 +1,118 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.event.IngredientsExpiredEvent;
+import com.greenmono.mealplanner.repository.IngredientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IngredientExpiryService Unit Tests")
+class IngredientExpiryServiceTest {
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private IngredientExpiryService ingredientExpiryService;
+
+    private final LocalDate today = LocalDate.of(2026, 2, 2);
+
+    @BeforeEach
+    void setUp() {
+        ingredientExpiryService.setClock(Clock.fixed(
+            today.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+            ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    private Ingredient expired(Long id, Long userId) {
+        return Ingredient.builder()
+            .id(id)
+            .name("Ingredient " + id)
+            .category(Ingredient.IngredientCategory.OTHER)
+            .quantity(BigDecimal.ONE)
+            .unit(Ingredient.Unit.PIECE)
+            .expiryDate(today.minusDays(1))
+            .userId(userId)
+            .available(true)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should flip expired ingredients and publish one event per user")
+    void shouldSweepAndPublishPerUserEvents() {
+        when(ingredientRepository.findByAvailableTrueAndExpiryDateBeforeOrderByExpiryDateAsc(eq(today), any(Pageable.class)))
+            .thenReturn(List.of(expired(1L, 10L), expired(2L, 10L), expired(3L, 20L)));
+        when(ingredientRepository.markUnavailable(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        int swept = ingredientExpiryService.sweepExpiredIngredients();
+
+        assertThat(swept).isEqualTo(3);
+        ArgumentCaptor<IngredientsExpiredEvent> captor = ArgumentCaptor.forClass(IngredientsExpiredEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(IngredientsExpiredEvent::getUserId)
+            .containsExactlyInAnyOrder(10L, 20L);
+        assertThat(captor.getAllValues())
+            .filteredOn(e -> e.getUserId().equals(10L))
+            .singleElement()
+            .satisfies(e -> assertThat(e.getIngredientIds()).containsExactly(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should keep sweeping while batches come back full")
+    void shouldProcessMultipleBatches() {
+        ingredientExpiryService.setBatchSize(2);
+        when(ingredientRepository.findByAvailableTrueAndExpiryDateBeforeOrderByExpiryDateAsc(eq(today), any(Pageable.class)))
+            .thenReturn(List.of(expired(1L, 10L), expired(2L, 10L)))
+            .thenReturn(List.of(expired(3L, 10L)));
+        when(ingredientRepository.markUnavailable(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        int swept = ingredientExpiryService.sweepExpiredIngredients();
+
+        assertThat(swept).isEqualTo(3);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(ingredientRepository, times(2)).markUnavailable(anyList());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no ingredient has expired")
+    void shouldSkipWhenNothingExpired() {
+        when(ingredientRepository.findByAvailableTrueAndExpiryDateBeforeOrderByExpiryDateAsc(eq(today), any(Pageable.class)))
+            .thenReturn(Collections.emptyList());
+
+        int swept = ingredientExpiryService.sweepExpiredIngredients();
+
+        assertThat(swept).isZero();
+        verify(ingredientRepository, never()).markUnavailable(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+}
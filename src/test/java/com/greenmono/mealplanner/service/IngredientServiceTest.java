@@ -4,10 +4,12 @@ import com.greenmono.mealplanner.dto.IngredientRequest;
 import com.greenmono.mealplanner.dto.IngredientResponse;
 import com.greenmono.mealplanner.dto.PageResponse;
 import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.event.IngredientChangedEvent;
 import com.greenmono.mealplanner.exception.DuplicateIngredientException;
 import com.greenmono.mealplanner.exception.IngredientNotFoundException;
 import com.greenmono.mealplanner.mapper.IngredientMapper;
 import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.projection.IngredientSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -26,6 +29,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -45,6 +49,9 @@ class IngredientServiceTest {
     @Mock
     private IngredientMapper ingredientMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private IngredientService ingredientService;
 
@@ -244,30 +251,16 @@ class IngredientServiceTest {
     @DisplayName("Should get all ingredients without category filter")
     void shouldGetAllIngredientsWithoutCategoryFilter() {
         // Arrange
-        List<Ingredient> ingredients = Arrays.asList(
-                Ingredient.builder()
-                        .id(1L)
-                        .name("Chicken Breast")
-                        .category(Ingredient.IngredientCategory.POULTRY)
-                        .quantity(new BigDecimal("500.00"))
-                        .unit(Ingredient.Unit.GRAM)
-                        .available(true)
-                        .build(),
-                Ingredient.builder()
-                        .id(2L)
-                        .name("Tomato")
-                        .category(Ingredient.IngredientCategory.VEGETABLES)
-                        .quantity(new BigDecimal("200.00"))
-                        .unit(Ingredient.Unit.GRAM)
-                        .available(true)
-                        .build()
+        List<IngredientSummary> ingredients = Arrays.asList(
+                summary(1L, "Chicken Breast", Ingredient.IngredientCategory.POULTRY),
+                summary(2L, "Tomato", Ingredient.IngredientCategory.VEGETABLES)
         );
 
         Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Ingredient> ingredientPage = new PageImpl<>(ingredients, pageable, ingredients.size());
+        Page<IngredientSummary> ingredientPage = new PageImpl<>(ingredients, pageable, ingredients.size());
 
-        when(ingredientRepository.findAll(pageable)).thenReturn(ingredientPage);
-        when(ingredientMapper.toResponse(any(Ingredient.class)))
+        when(ingredientRepository.findAllSummaries(pageable)).thenReturn(ingredientPage);
+        when(ingredientMapper.toSummaryResponse(any(IngredientSummary.class)))
                 .thenReturn(IngredientResponse.builder().id(1L).name("Chicken Breast").build())
                 .thenReturn(IngredientResponse.builder().id(2L).name("Tomato").build());
 
@@ -284,40 +277,26 @@ class IngredientServiceTest {
         assertThat(result.isFirst()).isTrue();
         assertThat(result.isLast()).isTrue();
 
-        verify(ingredientRepository).findAll(pageable);
-        verify(ingredientRepository, never()).findByCategory(any(), any());
-        verify(ingredientMapper, times(2)).toResponse(any(Ingredient.class));
+        verify(ingredientRepository).findAllSummaries(pageable);
+        verify(ingredientRepository, never()).findSummariesByCategory(any(), any());
+        verify(ingredientMapper, times(2)).toSummaryResponse(any(IngredientSummary.class));
     }
 
     @Test
     @DisplayName("Should get ingredients filtered by category")
     void shouldGetIngredientsFilteredByCategory() {
         // Arrange
-        List<Ingredient> vegetables = Arrays.asList(
-                Ingredient.builder()
-                        .id(2L)
-                        .name("Tomato")
-                        .category(Ingredient.IngredientCategory.VEGETABLES)
-                        .quantity(new BigDecimal("200.00"))
-                        .unit(Ingredient.Unit.GRAM)
-                        .available(true)
-                        .build(),
-                Ingredient.builder()
-                        .id(3L)
-                        .name("Carrot")
-                        .category(Ingredient.IngredientCategory.VEGETABLES)
-                        .quantity(new BigDecimal("150.00"))
-                        .unit(Ingredient.Unit.GRAM)
-                        .available(true)
-                        .build()
+        List<IngredientSummary> vegetables = Arrays.asList(
+                summary(2L, "Tomato", Ingredient.IngredientCategory.VEGETABLES),
+                summary(3L, "Carrot", Ingredient.IngredientCategory.VEGETABLES)
         );
 
         Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Ingredient> ingredientPage = new PageImpl<>(vegetables, pageable, vegetables.size());
+        Page<IngredientSummary> ingredientPage = new PageImpl<>(vegetables, pageable, vegetables.size());
 
-        when(ingredientRepository.findByCategory(eq(Ingredient.IngredientCategory.VEGETABLES), eq(pageable)))
+        when(ingredientRepository.findSummariesByCategory(eq(Ingredient.IngredientCategory.VEGETABLES), eq(pageable)))
                 .thenReturn(ingredientPage);
-        when(ingredientMapper.toResponse(any(Ingredient.class)))
+        when(ingredientMapper.toSummaryResponse(any(IngredientSummary.class)))
                 .thenReturn(IngredientResponse.builder().id(2L).name("Tomato").category(Ingredient.IngredientCategory.VEGETABLES).build())
                 .thenReturn(IngredientResponse.builder().id(3L).name("Carrot").category(Ingredient.IngredientCategory.VEGETABLES).build());
 
@@ -330,25 +309,25 @@ class IngredientServiceTest {
         assertThat(result.getTotalElements()).isEqualTo(2);
         assertThat(result.getTotalPages()).isEqualTo(1);
 
-        verify(ingredientRepository).findByCategory(Ingredient.IngredientCategory.VEGETABLES, pageable);
-        verify(ingredientRepository, never()).findAll(any(Pageable.class));
-        verify(ingredientMapper, times(2)).toResponse(any(Ingredient.class));
+        verify(ingredientRepository).findSummariesByCategory(Ingredient.IngredientCategory.VEGETABLES, pageable);
+        verify(ingredientRepository, never()).findAllSummaries(any(Pageable.class));
+        verify(ingredientMapper, times(2)).toSummaryResponse(any(IngredientSummary.class));
     }
 
     @Test
     @DisplayName("Should handle pagination correctly with multiple pages")
     void shouldHandlePaginationWithMultiplePages() {
         // Arrange
-        List<Ingredient> firstPageIngredients = Arrays.asList(
-                Ingredient.builder().id(1L).name("Apple").category(Ingredient.IngredientCategory.FRUITS).build(),
-                Ingredient.builder().id(2L).name("Banana").category(Ingredient.IngredientCategory.FRUITS).build()
+        List<IngredientSummary> firstPageIngredients = Arrays.asList(
+                summary(1L, "Apple", Ingredient.IngredientCategory.FRUITS),
+                summary(2L, "Banana", Ingredient.IngredientCategory.FRUITS)
         );
 
         Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Ingredient> ingredientPage = new PageImpl<>(firstPageIngredients, pageable, 5);
+        Page<IngredientSummary> ingredientPage = new PageImpl<>(firstPageIngredients, pageable, 5);
 
-        when(ingredientRepository.findAll(pageable)).thenReturn(ingredientPage);
-        when(ingredientMapper.toResponse(any(Ingredient.class)))
+        when(ingredientRepository.findAllSummaries(pageable)).thenReturn(ingredientPage);
+        when(ingredientMapper.toSummaryResponse(any(IngredientSummary.class)))
                 .thenReturn(IngredientResponse.builder().id(1L).name("Apple").build())
                 .thenReturn(IngredientResponse.builder().id(2L).name("Banana").build());
 
@@ -365,7 +344,7 @@ class IngredientServiceTest {
         assertThat(result.isFirst()).isTrue();
         assertThat(result.isLast()).isFalse();
 
-        verify(ingredientRepository).findAll(pageable);
+        verify(ingredientRepository).findAllSummaries(pageable);
     }
 
     @Test
@@ -373,9 +352,9 @@ class IngredientServiceTest {
     void shouldReturnEmptyPageWhenNoIngredientsFound() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Ingredient> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
+        Page<IngredientSummary> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
 
-        when(ingredientRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(ingredientRepository.findAllSummaries(pageable)).thenReturn(emptyPage);
 
         // Act
         PageResponse<IngredientResponse> result = ingredientService.getIngredients(null, pageable);
@@ -388,24 +367,70 @@ class IngredientServiceTest {
         assertThat(result.isFirst()).isTrue();
         assertThat(result.isLast()).isTrue();
 
-        verify(ingredientRepository).findAll(pageable);
-        verify(ingredientMapper, never()).toResponse(any(Ingredient.class));
+        verify(ingredientRepository).findAllSummaries(pageable);
+        verify(ingredientMapper, never()).toSummaryResponse(any(IngredientSummary.class));
+    }
+
+    @Test
+    @DisplayName("Should update ingredient and notify its owner")
+    void shouldUpdateIngredientSuccessfully() {
+        // Arrange
+        validRequest.setName("Chicken Thigh");
+        when(ingredientRepository.findById(1L)).thenReturn(Optional.of(ingredient));
+        when(ingredientRepository.existsByUserIdAndName(1L, "Chicken Thigh")).thenReturn(false);
+        when(ingredientRepository.save(ingredient)).thenReturn(ingredient);
+        when(ingredientMapper.toResponse(ingredient)).thenReturn(expectedResponse);
+
+        // Act
+        IngredientResponse result = ingredientService.updateIngredient(1L, validRequest);
+
+        // Assert
+        assertThat(result).isSameAs(expectedResponse);
+        verify(ingredientMapper).updateEntity(validRequest, ingredient);
+        verify(eventPublisher).publishEvent(
+                new IngredientChangedEvent(1L, List.of(1L), IngredientChangedEvent.Action.UPDATED));
+    }
+
+    @Test
+    @DisplayName("Should reject renaming an ingredient to a name its owner already uses")
+    void shouldThrowDuplicateIngredientExceptionWhenRenamingToExistingName() {
+        // Arrange
+        validRequest.setName("Chicken Thigh");
+        when(ingredientRepository.findById(1L)).thenReturn(Optional.of(ingredient));
+        when(ingredientRepository.existsByUserIdAndName(1L, "Chicken Thigh")).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> ingredientService.updateIngredient(1L, validRequest))
+                .isInstanceOf(DuplicateIngredientException.class);
+
+        verify(ingredientRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    @DisplayName("Should successfully delete ingredient when it exists")
+    @DisplayName("Should throw IngredientNotFoundException when updating a missing ingredient")
+    void shouldThrowIngredientNotFoundExceptionWhenUpdatingMissingIngredient() {
+        when(ingredientRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ingredientService.updateIngredient(999L, validRequest))
+                .isInstanceOf(IngredientNotFoundException.class)
+                .hasMessageContaining("Ingredient not found with id: 999");
+    }
+
+    @Test
+    @DisplayName("Should successfully delete ingredient when it exists and notify its owner")
     void shouldDeleteIngredientSuccessfully() {
         // Arrange
         Long ingredientId = 1L;
-        when(ingredientRepository.existsById(ingredientId)).thenReturn(true);
-        doNothing().when(ingredientRepository).deleteById(ingredientId);
+        when(ingredientRepository.findById(ingredientId)).thenReturn(Optional.of(ingredient));
 
         // Act
         ingredientService.deleteIngredient(ingredientId);
 
         // Assert
-        verify(ingredientRepository).existsById(ingredientId);
-        verify(ingredientRepository).deleteById(ingredientId);
+        verify(ingredientRepository).delete(ingredient);
+        verify(eventPublisher).publishEvent(
+                new IngredientChangedEvent(1L, List.of(ingredientId), IngredientChangedEvent.Action.DELETED));
     }
 
     @Test
@@ -413,14 +438,18 @@ class IngredientServiceTest {
     void shouldThrowIngredientNotFoundExceptionWhenIngredientDoesNotExist() {
         // Arrange
         Long ingredientId = 999L;
-        when(ingredientRepository.existsById(ingredientId)).thenReturn(false);
+        when(ingredientRepository.findById(ingredientId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> ingredientService.deleteIngredient(ingredientId))
                 .isInstanceOf(IngredientNotFoundException.class)
                 .hasMessageContaining("Ingredient not found with id: 999");
 
-        verify(ingredientRepository).existsById(ingredientId);
-        verify(ingredientRepository, never()).deleteById(any());
+        verify(ingredientRepository, never()).delete(any());
+    }
+
+    private IngredientSummary summary(Long id, String name, Ingredient.IngredientCategory category) {
+        return new IngredientSummary(id, name, category, new BigDecimal("100.00"), Ingredient.Unit.GRAM,
+                null, null, true, null, null, null);
     }
 }
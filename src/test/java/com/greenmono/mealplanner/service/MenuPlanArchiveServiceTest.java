@@ -0,0 +1,161 @@
+package com.greenmono.mealplanner.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenmono.mealplanner.entity.DailyMealPlan;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.MenuPlanArchive;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.repository.DailyMealPlanRepository;
+import com.greenmono.mealplanner.repository.MenuPlanArchiveRepository;
+import com.greenmono.mealplanner.repository.MenuPlanRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import(MenuPlanArchiveService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ActiveProfiles("test")
+@DisplayName("MenuPlanArchiveService Integration Tests")
+class MenuPlanArchiveServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final LocalDate CUTOFF = TODAY.minusDays(180);
+
+    @Autowired
+    private MenuPlanArchiveService archiveService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private MenuPlanRepository menuPlanRepository;
+
+    @Autowired
+    private DailyMealPlanRepository dailyMealPlanRepository;
+
+    @Autowired
+    private MenuPlanArchiveRepository archiveRepository;
+
+    @MockBean
+    private DailyMealPlanPartitionService partitionService;
+
+    private Recipe soup;
+
+    @BeforeEach
+    void setUp() {
+        archiveService.setClock(Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+        soup = recipeRepository.save(Recipe.builder()
+            .name("Tomato Soup")
+            .category(Recipe.RecipeCategory.SOUP)
+            .cookingTimeMinutes(30)
+            .servings(2)
+            .calories(new BigDecimal("325"))
+            .protein(new BigDecimal("20"))
+            .carbohydrates(new BigDecimal("35"))
+            .active(true)
+            .build());
+    }
+
+    @Test
+    @DisplayName("Should move only completed plans past retention into the archive with their days")
+    void shouldArchiveCompletedPlansPastRetention() throws Exception {
+        MenuPlan old = save(plan("Old", MenuPlan.MenuPlanStatus.COMPLETED, CUTOFF.minusDays(30)));
+        MenuPlan recent = save(plan("Recent", MenuPlan.MenuPlanStatus.COMPLETED, CUTOFF.plusDays(1)));
+        MenuPlan oldDraft = save(plan("Old draft", MenuPlan.MenuPlanStatus.DRAFT, CUTOFF.minusDays(30)));
+        entityManager.flush();
+        entityManager.clear();
+
+        int archived = archiveService.archiveCompletedPlans();
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(menuPlanRepository.findAllById(List.of(old.getId(), recent.getId(), oldDraft.getId())))
+            .extracting(MenuPlan::getName).containsExactlyInAnyOrder("Recent", "Old draft");
+        assertThat(dailyMealPlanRepository.findByMenuPlanId(old.getId())).isEmpty();
+        assertThat(dailyMealPlanRepository.findByMenuPlanId(recent.getId())).hasSize(2);
+
+        List<MenuPlanArchive> archive = archiveRepository.findByUserIdOrderByStartDateDesc(7L);
+        assertThat(archive).singleElement().satisfies(row -> {
+            assertThat(row.getId()).isEqualTo(old.getId());
+            assertThat(row.getName()).isEqualTo("Old");
+            assertThat(row.getEndDate()).isEqualTo(CUTOFF.minusDays(29));
+            assertThat(row.getArchivedAt()).isEqualTo(TODAY.atStartOfDay());
+        });
+        JsonNode days = objectMapper.readTree(archive.get(0).getDays());
+        assertThat(days).hasSize(2);
+        assertThat(days.get(1).get("dayNumber").asInt()).isEqualTo(2);
+        assertThat(days.get(1).get("mealDate").asText()).isEqualTo(CUTOFF.minusDays(29).toString());
+        assertThat(days.get(1).get("soupRecipeId").asLong()).isEqualTo(soup.getId());
+        assertThat(days.get(1).has("menuPlanId")).isFalse();
+
+        verify(partitionService).dropEmptyPartitionsBefore(CUTOFF);
+    }
+
+    @Test
+    @DisplayName("Should archive a backlog larger than one batch")
+    void shouldArchiveAcrossBatches() {
+        for (int i = 0; i < 5; i++) {
+            save(plan("Plan " + i, MenuPlan.MenuPlanStatus.COMPLETED, CUTOFF.minusDays(10L * (i + 1))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        archiveService.setBatchSize(2);
+
+        int archived = archiveService.archiveCompletedPlans();
+
+        assertThat(archived).isEqualTo(5);
+        assertThat(menuPlanRepository.findByUserId(7L)).isEmpty();
+        assertThat(archiveRepository.findByUserIdOrderByStartDateDesc(7L)).hasSize(5);
+    }
+
+    private MenuPlan save(MenuPlan plan) {
+        return menuPlanRepository.save(plan);
+    }
+
+    private MenuPlan plan(String name, MenuPlan.MenuPlanStatus status, LocalDate start) {
+        MenuPlan plan = MenuPlan.builder()
+            .name(name)
+            .userId(7L)
+            .startDate(start)
+            .endDate(start.plusDays(1))
+            .status(status)
+            .isBalanced(true)
+            .totalCalories(1300)
+            .build();
+        for (int day = 1; day <= 2; day++) {
+            plan.getDailyMealPlans().add(DailyMealPlan.builder()
+                .menuPlan(plan)
+                .dayNumber(day)
+                .mealDate(start.plusDays(day - 1))
+                .soupRecipe(soup)
+                .totalCalories(650)
+                .build());
+        }
+        return plan;
+    }
+}
@@ -1,22 +1,42 @@
 package com.greenmono.mealplanner.service;
 
+import com.greenmono.mealplanner.dto.DailyMealPlanResponse;
+import com.greenmono.mealplanner.dto.DishSwapRequest;
+import com.greenmono.mealplanner.dto.DishSwapResponse;
+import com.greenmono.mealplanner.dto.MealSlotResponse;
 import com.greenmono.mealplanner.dto.MenuPlanResponse;
 import com.greenmono.mealplanner.dto.PageResponse;
+import com.greenmono.mealplanner.dto.RecipeResponse;
+import com.greenmono.mealplanner.entity.DailyMealPlan;
+import com.greenmono.mealplanner.entity.Meal;
 import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
 import com.greenmono.mealplanner.exception.MenuPlanNotFoundException;
+import com.greenmono.mealplanner.exception.RecipeNotFoundException;
 import com.greenmono.mealplanner.mapper.MenuPlanMapper;
+import com.greenmono.mealplanner.mapper.RecipeMapper;
+import com.greenmono.mealplanner.planner.BalanceState;
+import com.greenmono.mealplanner.repository.DailyMealPlanRepository;
+import com.greenmono.mealplanner.repository.MealRepository;
 import com.greenmono.mealplanner.repository.MenuPlanRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary;
+import com.greenmono.mealplanner.repository.projection.MenuPlanSummary;
+import com.greenmono.mealplanner.repository.projection.RecipeSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -30,9 +50,24 @@ class MenuPlanServiceTest {
     @Mock
     private MenuPlanRepository menuPlanRepository;
 
+    @Mock
+    private DailyMealPlanRepository dailyMealPlanRepository;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private MealRepository mealRepository;
+
     @Mock
     private MenuPlanMapper menuPlanMapper;
 
+    @Mock
+    private RecipeMapper recipeMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MenuPlanService menuPlanService;
 
@@ -153,12 +188,26 @@ class MenuPlanServiceTest {
     void getMenuPlansByStatus_Success() {
         // Arrange
         MenuPlan.MenuPlanStatus status = MenuPlan.MenuPlanStatus.ACTIVE;
-        List<MenuPlan> menuPlans = Arrays.asList(testMenuPlan);
-
-        when(menuPlanRepository.findByUserIdAndStatus(userId, status))
-            .thenReturn(menuPlans);
-        when(menuPlanMapper.toResponse(testMenuPlan))
+        MenuPlanSummary summary = summaryOf(testMenuPlan);
+        DailyMealPlanSummary day2 = new DailyMealPlanSummary(menuPlanId, 2L, 2, LocalDate.now().plusDays(1), null, 11L, null, null, null, null, null, 700, null);
+        DailyMealPlanSummary day1 = new DailyMealPlanSummary(menuPlanId, 1L, 1, LocalDate.now(), 10L, 11L, null, null, null, null, null, 900, null);
+        RecipeSummary soup = recipeSummary(10L, "Mercimek Çorbası");
+        RecipeSummary main = recipeSummary(11L, "Karnıyarık");
+        RecipeResponse soupResponse = RecipeResponse.builder().id(10L).name("Mercimek Çorbası").build();
+        RecipeResponse mainResponse = RecipeResponse.builder().id(11L).name("Karnıyarık").build();
+
+        when(menuPlanRepository.findSummariesByUserIdAndStatus(userId, status))
+            .thenReturn(List.of(summary));
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(menuPlanId)))
+            .thenReturn(List.of(day1, day2));
+        when(recipeRepository.findSummariesByIdIn(Set.of(10L, 11L)))
+            .thenReturn(List.of(soup, main));
+        when(recipeMapper.toSummaryResponse(soup)).thenReturn(soupResponse);
+        when(recipeMapper.toSummaryResponse(main)).thenReturn(mainResponse);
+        when(menuPlanMapper.toSummaryResponse(summary))
             .thenReturn(testMenuPlanResponse);
+        when(menuPlanMapper.toSummaryResponse(any(DailyMealPlanSummary.class), anyMap(), anyMap()))
+            .thenCallRealMethod();
 
         // Act
         List<MenuPlanResponse> results = menuPlanService.getMenuPlansByStatus(userId, status);
@@ -167,8 +216,58 @@ class MenuPlanServiceTest {
         assertThat(results).isNotNull();
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getId()).isEqualTo(menuPlanId);
+        assertThat(results.get(0).getDailyMealPlans()).extracting(DailyMealPlanResponse::getDayNumber).containsExactly(1, 2);
+        assertThat(results.get(0).getDailyMealPlans().get(0).getSoupRecipe()).isSameAs(soupResponse);
+        assertThat(results.get(0).getDailyMealPlans().get(1).getMainCourseRecipe()).isSameAs(mainResponse);
+        assertThat(results.get(0).getDailyMealPlans().get(1).getSoupRecipe()).isNull();
+
+        verify(menuPlanRepository).findSummariesByUserIdAndStatus(userId, status);
+        verify(menuPlanRepository, never()).findByUserIdAndStatus(any(), any());
+        verify(mealRepository, never()).findWithNutritionByIdIn(any());
+    }
+
+    @Test
+    void getMenuPlansByStatus_FullDayPlan_IncludesMealSlots() {
+        // Arrange
+        MenuPlan.MenuPlanStatus status = MenuPlan.MenuPlanStatus.ACTIVE;
+        MenuPlanSummary summary = summaryOf(testMenuPlan);
+        DailyMealPlanSummary day1 = new DailyMealPlanSummary(menuPlanId, 1L, 1, LocalDate.now(), null, 11L, null, 20L, null, 21L, 22L, 1900, null);
+        DailyMealPlanSummary day2 = new DailyMealPlanSummary(menuPlanId, 2L, 2, LocalDate.now().plusDays(1), null, 11L, null, 20L, null, 21L, null, 1700, null);
+        RecipeSummary main = recipeSummary(11L, "Karnıyarık");
+        Meal breakfast = Meal.builder().id(20L).name("Menemen").mealType(Meal.MealType.BREAKFAST).build();
+        Meal dinner = Meal.builder().id(21L).name("Izgara Köfte").mealType(Meal.MealType.DINNER).build();
+        Meal snack = Meal.builder().id(22L).name("Ayran").mealType(Meal.MealType.SNACK).build();
+
+        when(menuPlanRepository.findSummariesByUserIdAndStatus(userId, status))
+            .thenReturn(List.of(summary));
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(menuPlanId)))
+            .thenReturn(List.of(day1, day2));
+        when(recipeRepository.findSummariesByIdIn(Set.of(11L)))
+            .thenReturn(List.of(main));
+        when(recipeMapper.toSummaryResponse(main)).thenReturn(RecipeResponse.builder().id(11L).build());
+        when(mealRepository.findWithNutritionByIdIn(Set.of(20L, 21L, 22L)))
+            .thenReturn(List.of(breakfast, dinner, snack));
+        when(menuPlanMapper.mapMealToSlotResponse(any(Meal.class)))
+            .thenCallRealMethod();
+        when(menuPlanMapper.toSummaryResponse(summary))
+            .thenReturn(testMenuPlanResponse);
+        when(menuPlanMapper.toSummaryResponse(any(DailyMealPlanSummary.class), anyMap(), anyMap()))
+            .thenCallRealMethod();
+
+        // Act
+        List<MenuPlanResponse> results = menuPlanService.getMenuPlansByStatus(userId, status);
 
-        verify(menuPlanRepository).findByUserIdAndStatus(userId, status);
+        // Assert
+        List<DailyMealPlanResponse> days = results.get(0).getDailyMealPlans();
+        assertThat(days).extracting(DailyMealPlanResponse::getBreakfastMeal)
+            .extracting(MealSlotResponse::getName).containsExactly("Menemen", "Menemen");
+        assertThat(days).extracting(DailyMealPlanResponse::getDinnerMeal)
+            .extracting(MealSlotResponse::getMealType).containsOnly(Meal.MealType.DINNER);
+        assertThat(days.get(0).getSnackMeal().getId()).isEqualTo(22L);
+        assertThat(days.get(1).getSnackMeal()).isNull();
+        assertThat(days.get(0).getLunchMeal()).isNull();
+
+        verify(mealRepository).findWithNutritionByIdIn(Set.of(20L, 21L, 22L));
     }
 
     @Test
@@ -208,11 +307,13 @@ class MenuPlanServiceTest {
     @Test
     void getBalancedMenuPlans_Success() {
         // Arrange
-        List<MenuPlan> menuPlans = Arrays.asList(testMenuPlan);
+        MenuPlanSummary summary = summaryOf(testMenuPlan);
 
-        when(menuPlanRepository.findBalancedMenuPlansByUserId(userId))
-            .thenReturn(menuPlans);
-        when(menuPlanMapper.toResponse(testMenuPlan))
+        when(menuPlanRepository.findBalancedSummariesByUserId(userId))
+            .thenReturn(List.of(summary));
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(menuPlanId)))
+            .thenReturn(List.of());
+        when(menuPlanMapper.toSummaryResponse(summary))
             .thenReturn(testMenuPlanResponse);
 
         // Act
@@ -222,8 +323,10 @@ class MenuPlanServiceTest {
         assertThat(results).isNotNull();
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getIsBalanced()).isTrue();
+        assertThat(results.get(0).getDailyMealPlans()).isEmpty();
 
-        verify(menuPlanRepository).findBalancedMenuPlansByUserId(userId);
+        verify(menuPlanRepository).findBalancedSummariesByUserId(userId);
+        verify(recipeRepository, never()).findSummariesByIdIn(any());
     }
 
     @Test
@@ -298,31 +401,32 @@ class MenuPlanServiceTest {
     @Test
     void deleteMenuPlan_Success() {
         // Arrange
-        when(menuPlanRepository.existsById(menuPlanId))
-            .thenReturn(true);
+        when(menuPlanRepository.findSummaryById(menuPlanId))
+            .thenReturn(Optional.of(summaryOf(testMenuPlan)));
         doNothing().when(menuPlanRepository).deleteById(menuPlanId);
 
         // Act
         menuPlanService.deleteMenuPlan(menuPlanId);
 
         // Assert
-        verify(menuPlanRepository).existsById(menuPlanId);
         verify(menuPlanRepository).deleteById(menuPlanId);
+        verify(eventPublisher).publishEvent(new MenuPlanChangedEvent(
+            userId, menuPlanId, MenuPlanChangedEvent.Action.DELETED, testMenuPlan.getStatus()));
     }
 
     @Test
     void deleteMenuPlan_NotFound_ThrowsException() {
         // Arrange
-        when(menuPlanRepository.existsById(menuPlanId))
-            .thenReturn(false);
+        when(menuPlanRepository.findSummaryById(menuPlanId))
+            .thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> menuPlanService.deleteMenuPlan(menuPlanId))
             .isInstanceOf(MenuPlanNotFoundException.class)
             .hasMessage("Menu plan not found with id: " + menuPlanId);
 
-        verify(menuPlanRepository).existsById(menuPlanId);
         verify(menuPlanRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -330,11 +434,13 @@ class MenuPlanServiceTest {
         // Arrange
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(10);
-        List<MenuPlan> menuPlans = Arrays.asList(testMenuPlan);
+        MenuPlanSummary summary = summaryOf(testMenuPlan);
 
-        when(menuPlanRepository.findMenuPlansBetweenDates(userId, startDate, endDate))
-            .thenReturn(menuPlans);
-        when(menuPlanMapper.toResponse(testMenuPlan))
+        when(menuPlanRepository.findSummariesBetweenDates(userId, startDate, endDate))
+            .thenReturn(List.of(summary));
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdInAndMealDateBetween(List.of(menuPlanId), startDate, endDate))
+            .thenReturn(List.of());
+        when(menuPlanMapper.toSummaryResponse(summary))
             .thenReturn(testMenuPlanResponse);
 
         // Act
@@ -346,7 +452,198 @@ class MenuPlanServiceTest {
         assertThat(results).isNotNull();
         assertThat(results).hasSize(1);
 
-        verify(menuPlanRepository).findMenuPlansBetweenDates(userId, startDate, endDate);
+        verify(menuPlanRepository).findSummariesBetweenDates(userId, startDate, endDate);
+        verify(dailyMealPlanRepository, never()).findSummariesByMenuPlanIdIn(any());
+    }
+
+    @Test
+    void swapDish_Success() {
+        // Arrange
+        testMenuPlan.setTotalCalories(2000);
+        testMenuPlan.setAverageDailyCalories(1000);
+        DailyMealPlanSummary day1 = new DailyMealPlanSummary(menuPlanId, 1L, 1, LocalDate.now(), 10L, 11L, 12L, null, null, null, null, 1000, null);
+        DailyMealPlanSummary day2 = new DailyMealPlanSummary(menuPlanId, 2L, 2, LocalDate.now().plusDays(1), 10L, 11L, 12L, null, null, null, null, 1000, null);
+        RecipeSummary soup = recipeSummary(10L, Recipe.RecipeCategory.SOUP, "300");
+        RecipeSummary main = recipeSummary(11L, Recipe.RecipeCategory.MAIN_COURSE, "1200");
+        RecipeSummary side = recipeSummary(12L, Recipe.RecipeCategory.SIDE_DISH, "500");
+        RecipeSummary newMain = recipeSummary(13L, Recipe.RecipeCategory.MAIN_COURSE, "1000");
+        DailyMealPlan day = DailyMealPlan.builder().id(2L).dayNumber(2).totalCalories(1000).build();
+        Recipe newMainReference = Recipe.builder().id(13L).build();
+        RecipeResponse newMainResponse = RecipeResponse.builder().id(13L).build();
+
+        when(menuPlanRepository.findByIdForUpdate(menuPlanId)).thenReturn(Optional.of(testMenuPlan));
+        when(dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(menuPlanId, 2)).thenReturn(Optional.of(day2));
+        when(recipeRepository.findSummariesByIdIn(Set.of(10L, 11L, 12L, 13L))).thenReturn(List.of(soup, main, side, newMain));
+        // No sums stored yet, so the plan's days are read once to compute them
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(menuPlanId))).thenReturn(List.of(day1, day2));
+        when(recipeRepository.findSummariesByIdIn(Set.of(10L, 11L, 12L))).thenReturn(List.of(soup, main, side));
+        when(dailyMealPlanRepository.countRecipeUses(menuPlanId, 11L)).thenReturn(2L);
+        when(dailyMealPlanRepository.countRecipeUses(menuPlanId, 13L)).thenReturn(0L);
+        when(dailyMealPlanRepository.getReferenceById(2L)).thenReturn(day);
+        when(recipeRepository.getReferenceById(13L)).thenReturn(newMainReference);
+        when(recipeMapper.toSummaryResponse(newMain)).thenReturn(newMainResponse);
+
+        // Act
+        DishSwapResponse result = menuPlanService.swapDish(menuPlanId, 2,
+            new DishSwapRequest(Recipe.RecipeCategory.MAIN_COURSE, 13L));
+
+        // Assert
+        assertThat(day.getMainCourseRecipe()).isSameAs(newMainReference);
+        assertThat(day.getTotalCalories()).isEqualTo(150 + 500 + 250);
+        assertThat(result.getRecipe()).isSameAs(newMainResponse);
+        assertThat(result.getDayTotalCalories()).isEqualTo(900);
+        assertThat(result.getTotalCalories()).isEqualTo(1000 + 900);
+        assertThat(result.getAverageDailyCalories()).isEqualTo(950);
+        // Macro 73.97, day calories within 10% of each other, four distinct recipes over six meals
+        assertThat(result.getBalanceScore()).isEqualTo(79.59);
+        assertThat(result.getIsBalanced()).isTrue();
+        assertThat(testMenuPlan.getBalanceScore()).isEqualTo(79.59);
+        assertThat(testMenuPlan.getTotalCalories()).isEqualTo(1900);
+        assertThat(testMenuPlan.getBalanceSums().getDays()).isEqualTo(2);
+        assertThat(testMenuPlan.getBalanceSums().getMeals()).isEqualTo(6);
+        assertThat(testMenuPlan.getBalanceSums().getDistinctRecipes()).isEqualTo(4);
+        assertThat(testMenuPlan.getBalanceSums().getCalorieSum()).isEqualTo(1000 + 900);
+
+        verify(eventPublisher).publishEvent(new MenuPlanChangedEvent(
+            userId, menuPlanId, MenuPlanChangedEvent.Action.DISH_SWAPPED, MenuPlan.MenuPlanStatus.DRAFT));
+        verify(menuPlanRepository, never()).save(any());
+        verify(dailyMealPlanRepository, never()).save(any());
+    }
+
+    @Test
+    void swapDish_StoredSums_ReadsOnlySwappedDay() {
+        // Arrange
+        testMenuPlan.setTotalCalories(2000);
+        RecipeSummary soup = recipeSummary(10L, Recipe.RecipeCategory.SOUP, "300");
+        RecipeSummary main = recipeSummary(11L, Recipe.RecipeCategory.MAIN_COURSE, "1200");
+        RecipeSummary side = recipeSummary(12L, Recipe.RecipeCategory.SIDE_DISH, "500");
+        RecipeSummary newMain = recipeSummary(13L, Recipe.RecipeCategory.MAIN_COURSE, "1000");
+        BalanceState stored = new BalanceState(2);
+        for (int i = 0; i < 2; i++) {
+            stored.put(i, Recipe.RecipeCategory.SOUP, BalanceState.Dish.of(soup));
+            stored.put(i, Recipe.RecipeCategory.MAIN_COURSE, BalanceState.Dish.of(main));
+            stored.put(i, Recipe.RecipeCategory.SIDE_DISH, BalanceState.Dish.of(side));
+        }
+        testMenuPlan.setBalanceSums(stored.sums());
+        DailyMealPlanSummary day2 = new DailyMealPlanSummary(menuPlanId, 2L, 2, LocalDate.now().plusDays(1), 10L, 11L, 12L, null, null, null, null, 1000, null);
+        DailyMealPlan day = DailyMealPlan.builder().id(2L).dayNumber(2).totalCalories(1000).build();
+
+        when(menuPlanRepository.findByIdForUpdate(menuPlanId)).thenReturn(Optional.of(testMenuPlan));
+        when(dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(menuPlanId, 2)).thenReturn(Optional.of(day2));
+        when(recipeRepository.findSummariesByIdIn(Set.of(10L, 11L, 12L, 13L))).thenReturn(List.of(soup, main, side, newMain));
+        when(dailyMealPlanRepository.countRecipeUses(menuPlanId, 11L)).thenReturn(2L);
+        when(dailyMealPlanRepository.countRecipeUses(menuPlanId, 13L)).thenReturn(0L);
+        when(dailyMealPlanRepository.getReferenceById(2L)).thenReturn(day);
+        when(recipeRepository.getReferenceById(13L)).thenReturn(Recipe.builder().id(13L).build());
+
+        // Act
+        DishSwapResponse result = menuPlanService.swapDish(menuPlanId, 2,
+            new DishSwapRequest(Recipe.RecipeCategory.MAIN_COURSE, 13L));
+
+        // Assert: the same score as re-reading both days
+        assertThat(result.getBalanceScore()).isEqualTo(79.59);
+        assertThat(result.getAverageDailyCalories()).isEqualTo(950);
+        assertThat(testMenuPlan.getBalanceSums().getDistinctRecipes()).isEqualTo(4);
+
+        verify(dailyMealPlanRepository, never()).findSummariesByMenuPlanIdIn(any());
+    }
+
+    @Test
+    void swapDish_CompletedPlan_ThrowsException() {
+        // Arrange
+        testMenuPlan.setStatus(MenuPlan.MenuPlanStatus.COMPLETED);
+
+        when(menuPlanRepository.findByIdForUpdate(menuPlanId)).thenReturn(Optional.of(testMenuPlan));
+
+        // Act & Assert
+        assertThatThrownBy(() -> menuPlanService.swapDish(menuPlanId, 1,
+                new DishSwapRequest(Recipe.RecipeCategory.MAIN_COURSE, 13L)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Menu plan " + menuPlanId + " is COMPLETED and can no longer be changed");
+
+        verify(dailyMealPlanRepository, never()).findSummaryByMenuPlanIdAndDayNumber(any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void swapDish_FullDayPlan_KeepsOtherMealCalories() {
+        // Arrange: 1000 kcal of lunch plus 900 kcal of breakfast, dinner and snack per day
+        testMenuPlan.setTotalCalories(3800);
+        testMenuPlan.setAverageDailyCalories(1900);
+        DailyMealPlanSummary day1 = new DailyMealPlanSummary(menuPlanId, 1L, 1, LocalDate.now(), 10L, 11L, 12L, null, null, null, null, 1900, null);
+        DailyMealPlanSummary day2 = new DailyMealPlanSummary(menuPlanId, 2L, 2, LocalDate.now().plusDays(1), 10L, 11L, 12L, null, null, null, null, 1900, null);
+        RecipeSummary soup = recipeSummary(10L, Recipe.RecipeCategory.SOUP, "300");
+        RecipeSummary main = recipeSummary(11L, Recipe.RecipeCategory.MAIN_COURSE, "1200");
+        RecipeSummary side = recipeSummary(12L, Recipe.RecipeCategory.SIDE_DISH, "500");
+        RecipeSummary newMain = recipeSummary(13L, Recipe.RecipeCategory.MAIN_COURSE, "1000");
+        DailyMealPlan day = DailyMealPlan.builder().id(2L).dayNumber(2).totalCalories(1900).build();
+
+        when(menuPlanRepository.findByIdForUpdate(menuPlanId)).thenReturn(Optional.of(testMenuPlan));
+        when(dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(menuPlanId, 2)).thenReturn(Optional.of(day2));
+        when(recipeRepository.findSummariesByIdIn(Set.of(10L, 11L, 12L, 13L))).thenReturn(List.of(soup, main, side, newMain));
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(menuPlanId))).thenReturn(List.of(day1, day2));
+        when(recipeRepository.findSummariesByIdIn(Set.of(10L, 11L, 12L))).thenReturn(List.of(soup, main, side));
+        when(dailyMealPlanRepository.countRecipeUses(menuPlanId, 11L)).thenReturn(2L);
+        when(dailyMealPlanRepository.countRecipeUses(menuPlanId, 13L)).thenReturn(0L);
+        when(dailyMealPlanRepository.getReferenceById(2L)).thenReturn(day);
+        when(recipeRepository.getReferenceById(13L)).thenReturn(Recipe.builder().id(13L).build());
+
+        // Act
+        DishSwapResponse result = menuPlanService.swapDish(menuPlanId, 2,
+            new DishSwapRequest(Recipe.RecipeCategory.MAIN_COURSE, 13L));
+
+        // Assert: the main course is 100 kcal lighter, the other meals are unchanged
+        assertThat(day.getTotalCalories()).isEqualTo(1800);
+        assertThat(result.getDayTotalCalories()).isEqualTo(1800);
+        assertThat(result.getTotalCalories()).isEqualTo(3700);
+        assertThat(result.getAverageDailyCalories()).isEqualTo(1850);
+        // The balance score only rates the lunch courses, as at generation
+        assertThat(result.getBalanceScore()).isEqualTo(79.59);
+    }
+
+    @Test
+    void swapDish_RecipeOfAnotherCourse_ThrowsException() {
+        // Arrange
+        DailyMealPlanSummary day1 = new DailyMealPlanSummary(menuPlanId, 1L, 1, LocalDate.now(), 10L, 11L, 12L, null, null, null, null, 1100, null);
+        RecipeSummary soup = recipeSummary(10L, Recipe.RecipeCategory.SOUP, "300");
+
+        when(menuPlanRepository.findByIdForUpdate(menuPlanId)).thenReturn(Optional.of(testMenuPlan));
+        when(dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(menuPlanId, 1)).thenReturn(Optional.of(day1));
+        when(recipeRepository.findSummariesByIdIn(Set.of(10L, 11L, 12L))).thenReturn(List.of(soup));
+
+        // Act & Assert
+        assertThatThrownBy(() -> menuPlanService.swapDish(menuPlanId, 1,
+                new DishSwapRequest(Recipe.RecipeCategory.MAIN_COURSE, 10L)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Recipe 10 is a SOUP and cannot replace a MAIN_COURSE");
+
+        verify(dailyMealPlanRepository, never()).getReferenceById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void swapDish_UnknownDayOrRecipe_ThrowsException() {
+        // Arrange
+        DailyMealPlanSummary day1 = new DailyMealPlanSummary(menuPlanId, 1L, 1, LocalDate.now(), null, 11L, null, null, null, null, null, 600, null);
+
+        when(menuPlanRepository.findByIdForUpdate(menuPlanId)).thenReturn(Optional.of(testMenuPlan));
+        when(dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(menuPlanId, 6)).thenReturn(Optional.empty());
+        when(dailyMealPlanRepository.findSummaryByMenuPlanIdAndDayNumber(menuPlanId, 1)).thenReturn(Optional.of(day1));
+        when(recipeRepository.findSummariesByIdIn(Set.of(11L, 99L))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> menuPlanService.swapDish(menuPlanId, 6,
+                new DishSwapRequest(Recipe.RecipeCategory.SOUP, 99L)))
+            .isInstanceOf(MenuPlanNotFoundException.class)
+            .hasMessage("Day 6 not found in menu plan " + menuPlanId);
+        assertThatThrownBy(() -> menuPlanService.swapDish(menuPlanId, 1,
+                new DishSwapRequest(Recipe.RecipeCategory.SOUP, 99L)))
+            .isInstanceOf(RecipeNotFoundException.class);
+        assertThatThrownBy(() -> menuPlanService.swapDish(menuPlanId, 1,
+                new DishSwapRequest(Recipe.RecipeCategory.DESSERT, 99L)))
+            .isInstanceOf(IllegalStateException.class);
+
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -364,4 +661,21 @@ class MenuPlanServiceTest {
 
         verify(menuPlanMapper).toResponse(testMenuPlan);
     }
+
+    private MenuPlanSummary summaryOf(MenuPlan plan) {
+        return new MenuPlanSummary(plan.getId(), plan.getName(), plan.getDescription(), plan.getUserId(),
+            plan.getStartDate(), plan.getEndDate(), plan.getStatus(), plan.getTotalCalories(),
+            plan.getAverageDailyCalories(), plan.getNotes(), plan.getIsBalanced(), plan.getBalanceScore(),
+            plan.getCreatedAt(), plan.getUpdatedAt());
+    }
+
+    private RecipeSummary recipeSummary(Long id, String name) {
+        return new RecipeSummary(id, name, null, Recipe.RecipeCategory.MAIN_COURSE, 30, 2, new BigDecimal("400"),
+            new BigDecimal("20"), new BigDecimal("50"), null, null, null, null, true, null, null);
+    }
+
+    private RecipeSummary recipeSummary(Long id, Recipe.RecipeCategory category, String calories) {
+        return new RecipeSummary(id, "Recipe " + id, null, category, 30, 2, new BigDecimal(calories),
+            new BigDecimal("20"), new BigDecimal("50"), null, null, null, null, true, null, null);
+    }
 }
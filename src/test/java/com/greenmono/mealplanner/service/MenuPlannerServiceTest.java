@@ -1,26 +1,46 @@
 package com.greenmono.mealplanner.service;
 
+import com.greenmono.mealplanner.dto.MenuPlanExtensionRequest;
+import com.greenmono.mealplanner.dto.MenuPlanExtensionResponse;
 import com.greenmono.mealplanner.dto.MenuPlanRequest;
 import com.greenmono.mealplanner.dto.MenuPlanResponse;
 import com.greenmono.mealplanner.entity.*;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import com.greenmono.mealplanner.exception.MenuPlanNotFoundException;
+import com.greenmono.mealplanner.metrics.PlannerMetrics;
+import com.greenmono.mealplanner.planner.BestOfKPlanner;
+import com.greenmono.mealplanner.planner.CandidatePool;
+import com.greenmono.mealplanner.planner.PlanPicks;
+import com.greenmono.mealplanner.repository.DailyMealPlanRepository;
 import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.MealRepository;
 import com.greenmono.mealplanner.repository.MenuPlanRepository;
 import com.greenmono.mealplanner.repository.RecipeRepository;
+import com.greenmono.mealplanner.repository.projection.DailyMealPlanSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,15 +55,41 @@ class MenuPlannerServiceTest {
     @Mock
     private IngredientRepository ingredientRepository;
 
+    @Mock
+    private MealRepository mealRepository;
+
     @Mock
     private MenuPlanRepository menuPlanRepository;
 
+    @Mock
+    private DailyMealPlanRepository dailyMealPlanRepository;
+
     @Mock
     private MenuPlanService menuPlanService;
 
     @Mock
     private NutritionCalculatorService nutritionCalculatorService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private PlannerMetrics plannerMetrics = new PlannerMetrics(meterRegistry);
+
+    @Spy
+    private BestOfKPlanner bestOfKPlanner = new BestOfKPlanner();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PlanResultCache planResultCache;
+
+    @Mock
+    private RecipeNutritionIndexService recipeNutritionIndexService;
+
     @InjectMocks
     private MenuPlannerService menuPlannerService;
 
@@ -68,6 +114,20 @@ class MenuPlannerServiceTest {
             .build();
         availableIngredients = List.of(testIngredient);
         setupTestData();
+        bestOfKPlanner.start();
+        // Days reference the recipes the search picked, as the persistence context hands them back
+        lenient().when(recipeRepository.getReferenceById(anyLong())).thenAnswer(inv -> allRecipes.stream()
+            .filter(recipe -> recipe.getId().equals(inv.getArgument(0)))
+            .findFirst()
+            .orElseThrow());
+        lenient().when(recipeNutritionIndexService.plannableRecipeIds(any())).thenAnswer(inv -> allRecipes.stream()
+            .map(Recipe::getId)
+            .collect(Collectors.toSet()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bestOfKPlanner.stop();
     }
 
     private void setupTestData() {
@@ -157,7 +217,7 @@ class MenuPlannerServiceTest {
         Page<Recipe> recipePage = new PageImpl<>(allRecipes);
         when(recipeRepository.findByActiveTrue(any(Pageable.class)))
             .thenReturn(recipePage);
-        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId), any(LocalDate.class)))
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
             .thenReturn(availableIngredients);
 
         when(menuPlanRepository.save(any(MenuPlan.class)))
@@ -192,6 +252,105 @@ class MenuPlannerServiceTest {
         assertThat(captured.getIsBalanced()).isNotNull();
     }
 
+    @Test
+    void generateBalancedMenuPlan_RecordsPhaseTimersAndRejections() {
+        MenuPlanRequest request = MenuPlanRequest.builder()
+            .userId(userId)
+            .startDate(startDate)
+            .build();
+
+        // One extra soup that needs the ingredient in a different unit
+        Recipe litreSoup = createRecipe(99L, "Litre Soup", Recipe.RecipeCategory.SOUP,
+            new BigDecimal("180"), new BigDecimal("9"), new BigDecimal("28"), new BigDecimal("4"));
+        litreSoup.getRecipeIngredients().get(0).setUnit(Ingredient.Unit.LITER);
+        List<Recipe> recipes = new ArrayList<>(allRecipes);
+        recipes.add(litreSoup);
+
+        when(recipeNutritionIndexService.plannableRecipeIds(isNull())).thenReturn(recipes.stream()
+            .map(Recipe::getId)
+            .collect(Collectors.toSet()));
+        when(recipeRepository.findByActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(recipes));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
+            .thenReturn(availableIngredients);
+        when(menuPlanRepository.save(any(MenuPlan.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(menuPlanService.convertToResponse(any(MenuPlan.class)))
+            .thenReturn(MenuPlanResponse.builder().id(1L).build());
+
+        menuPlannerService.generateBalancedMenuPlan(request);
+
+        for (PlannerMetrics.Phase phase : PlannerMetrics.Phase.values()) {
+            assertThat(meterRegistry.get(PlannerMetrics.PHASE_TIMER)
+                .tag("phase", phase.name().toLowerCase()).timer().count())
+                .as("phase %s", phase)
+                .isEqualTo(1);
+        }
+        assertThat(meterRegistry.get(PlannerMetrics.GENERATE_TIMER).tag("outcome", "success").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(PlannerMetrics.REJECTED_COUNTER).tag("reason", "unit_mismatch").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get(PlannerMetrics.REJECTED_COUNTER).tag("reason", "missing_ingredient").counter().count())
+            .isZero();
+        assertThat(meterRegistry.get(PlannerMetrics.ELIGIBLE_SUMMARY).summary().totalAmount())
+            .isEqualTo(allRecipes.size());
+    }
+
+    @Test
+    void generateBalancedMenuPlan_BuildsRequestedCandidatesAndPersistsOnlyTheBest() {
+        MenuPlanRequest request = MenuPlanRequest.builder()
+            .userId(userId)
+            .startDate(startDate)
+            .candidates(12)
+            .timeBudgetMs(2000)
+            .build();
+
+        when(recipeRepository.findByActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(allRecipes));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
+            .thenReturn(availableIngredients);
+        when(menuPlanRepository.save(any(MenuPlan.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(menuPlanService.convertToResponse(any(MenuPlan.class)))
+            .thenReturn(MenuPlanResponse.builder().id(1L).build());
+
+        menuPlannerService.generateBalancedMenuPlan(request);
+
+        verify(bestOfKPlanner).best(any(), eq(5), eq(12), eq(2000), isNull(), isNull());
+        verifyNoInteractions(planResultCache);
+        verify(menuPlanRepository, times(1)).save(any(MenuPlan.class));
+        assertThat(meterRegistry.get(PlannerMetrics.CANDIDATES_SUMMARY).summary().totalAmount())
+            .isEqualTo(12);
+    }
+
+    @Test
+    void generateBalancedMenuPlan_SkipsRecipesTheNutritionIndexPrunes() {
+        MenuPlanRequest request = MenuPlanRequest.builder()
+            .userId(userId)
+            .startDate(startDate)
+            .targetDailyCalories(2000)
+            .build();
+
+        // The index leaves main course 6 out, as it would a dish above the day's calories
+        Recipe pruned = allRecipes.get(5);
+        when(recipeNutritionIndexService.plannableRecipeIds(2000)).thenReturn(allRecipes.stream()
+            .map(Recipe::getId)
+            .filter(id -> !id.equals(pruned.getId()))
+            .collect(Collectors.toSet()));
+        when(recipeRepository.findByActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(allRecipes));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
+            .thenReturn(availableIngredients);
+        when(menuPlanRepository.save(any(MenuPlan.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(menuPlanService.convertToResponse(any(MenuPlan.class)))
+            .thenReturn(MenuPlanResponse.builder().id(1L).build());
+
+        menuPlannerService.generateBalancedMenuPlan(request);
+
+        ArgumentCaptor<MenuPlan> captor = ArgumentCaptor.forClass(MenuPlan.class);
+        verify(menuPlanRepository).save(captor.capture());
+        assertThat(captor.getValue().getDailyMealPlans())
+            .extracting(DailyMealPlan::getMainCourseRecipe)
+            .doesNotContain(pruned);
+        assertThat(meterRegistry.get(PlannerMetrics.ELIGIBLE_SUMMARY).summary().totalAmount())
+            .isEqualTo(allRecipes.size() - 1);
+    }
+
     @Test
     void generateBalancedMenuPlan_NoActiveRecipes_ThrowsException() {
         // Arrange
@@ -230,7 +389,7 @@ class MenuPlannerServiceTest {
         Page<Recipe> recipePage = new PageImpl<>(noSoups);
         when(recipeRepository.findByActiveTrue(any(Pageable.class)))
             .thenReturn(recipePage);
-        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId), any(LocalDate.class)))
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
             .thenReturn(availableIngredients);
 
         // Act & Assert
@@ -258,7 +417,7 @@ class MenuPlannerServiceTest {
         Page<Recipe> recipePage = new PageImpl<>(noSides);
         when(recipeRepository.findByActiveTrue(any(Pageable.class)))
             .thenReturn(recipePage);
-        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId), any(LocalDate.class)))
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
             .thenReturn(availableIngredients);
 
         // Act & Assert
@@ -281,7 +440,7 @@ class MenuPlannerServiceTest {
         Page<Recipe> recipePage = new PageImpl<>(allRecipes);
         when(recipeRepository.findByActiveTrue(any(Pageable.class)))
             .thenReturn(recipePage);
-        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId), any(LocalDate.class)))
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
             .thenReturn(availableIngredients);
 
         when(menuPlanRepository.save(any(MenuPlan.class)))
@@ -324,7 +483,7 @@ class MenuPlannerServiceTest {
         Page<Recipe> recipePage = new PageImpl<>(allRecipes);
         when(recipeRepository.findByActiveTrue(any(Pageable.class)))
             .thenReturn(recipePage);
-        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId), any(LocalDate.class)))
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
             .thenReturn(availableIngredients);
 
         when(menuPlanRepository.save(any(MenuPlan.class)))
@@ -370,7 +529,7 @@ class MenuPlannerServiceTest {
         Page<Recipe> recipePage = new PageImpl<>(allRecipes);
         when(recipeRepository.findByActiveTrue(any(Pageable.class)))
             .thenReturn(recipePage);
-        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId), any(LocalDate.class)))
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
             .thenReturn(availableIngredients);
 
         when(menuPlanRepository.save(any(MenuPlan.class)))
@@ -406,7 +565,7 @@ class MenuPlannerServiceTest {
         Page<Recipe> recipePage = new PageImpl<>(allRecipes);
         when(recipeRepository.findByActiveTrue(any(Pageable.class)))
             .thenReturn(recipePage);
-        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId), any(LocalDate.class)))
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
             .thenReturn(availableIngredients);
 
         when(menuPlanRepository.save(any(MenuPlan.class)))
@@ -442,7 +601,7 @@ class MenuPlannerServiceTest {
         Page<Recipe> recipePage = new PageImpl<>(allRecipes);
         when(recipeRepository.findByActiveTrue(any(Pageable.class)))
             .thenReturn(recipePage);
-        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId), any(LocalDate.class)))
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId)))
             .thenReturn(availableIngredients);
 
         when(menuPlanRepository.save(any(MenuPlan.class)))
@@ -468,6 +627,330 @@ class MenuPlannerServiceTest {
         });
     }
 
+    @Test
+    void generateBalancedMenuPlan_FullDay_FillsEverySlotTowardsTarget() {
+        // Arrange
+        MenuPlanRequest request = MenuPlanRequest.builder()
+            .userId(userId)
+            .startDate(startDate)
+            .targetDailyCalories(2000)
+            .fullDay(true)
+            .build();
+        List<Meal> meals = List.of(
+            meal(1L, Meal.MealType.BREAKFAST, 350), meal(2L, Meal.MealType.BREAKFAST, 450),
+            meal(3L, Meal.MealType.DINNER, 550), meal(4L, Meal.MealType.DINNER, 650),
+            meal(5L, Meal.MealType.SNACK, 150), meal(6L, Meal.MealType.SNACK, 200));
+
+        when(recipeRepository.findByActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(allRecipes));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId))).thenReturn(availableIngredients);
+        when(mealRepository.findPlannableMeals(userId, List.of(Meal.MealType.BREAKFAST, Meal.MealType.DINNER, Meal.MealType.SNACK)))
+            .thenReturn(meals);
+        when(mealRepository.getReferenceById(anyLong())).thenAnswer(inv -> meals.stream()
+            .filter(meal -> meal.getId().equals(inv.getArgument(0)))
+            .findFirst()
+            .orElseThrow());
+        when(menuPlanRepository.save(any(MenuPlan.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(menuPlanService.convertToResponse(any(MenuPlan.class))).thenReturn(MenuPlanResponse.builder().build());
+
+        // Act
+        menuPlannerService.generateBalancedMenuPlan(request);
+
+        // Assert
+        ArgumentCaptor<MenuPlan> captor = ArgumentCaptor.forClass(MenuPlan.class);
+        verify(menuPlanRepository).save(captor.capture());
+        MenuPlan saved = captor.getValue();
+
+        assertThat(saved.getName()).isEqualTo("5-Day Full-Day Menu Plan");
+        assertThat(saved.getDailyMealPlans()).hasSize(5).allSatisfy(day -> {
+            assertThat(day.getBreakfastMeal().getMealType()).isEqualTo(Meal.MealType.BREAKFAST);
+            assertThat(day.getDinnerMeal().getMealType()).isEqualTo(Meal.MealType.DINNER);
+            assertThat(day.getSnackMeal().getMealType()).isEqualTo(Meal.MealType.SNACK);
+            assertThat(day.getLunchMeal()).isNull();
+
+            int expected = Stream.of(day.getSoupRecipe(), day.getMainCourseRecipe(), day.getSideDishRecipe())
+                .mapToInt(recipe -> recipe.getCaloriesPerServing().intValue()).sum()
+                + Stream.of(day.getBreakfastMeal(), day.getDinnerMeal(), day.getSnackMeal())
+                .mapToInt(meal -> meal.getNutritionalInfo().getCalories().intValue()).sum();
+            assertThat(day.getTotalCalories()).isEqualTo(expected);
+        });
+        assertThat(saved.getTotalCalories())
+            .isEqualTo(saved.getDailyMealPlans().stream().mapToInt(DailyMealPlan::getTotalCalories).sum());
+    }
+
+    @Test
+    void generateBalancedMenuPlan_FullDay_MissingSlot_ThrowsException() {
+        // Arrange
+        MenuPlanRequest request = MenuPlanRequest.builder()
+            .userId(userId)
+            .startDate(startDate)
+            .targetDailyCalories(2000)
+            .fullDay(true)
+            .build();
+
+        when(recipeRepository.findByActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(allRecipes));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId))).thenReturn(availableIngredients);
+        when(mealRepository.findPlannableMeals(eq(userId), any()))
+            .thenReturn(List.of(meal(1L, Meal.MealType.BREAKFAST, 400), meal(2L, Meal.MealType.DINNER, 600)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> menuPlannerService.generateBalancedMenuPlan(request))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Full-day planning");
+
+        verify(menuPlanRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generateBalancedMenuPlan_Seeded_RepeatsThePlanWhateverTheRowOrder() {
+        // Arrange
+        MenuPlanRequest request = MenuPlanRequest.builder()
+            .userId(userId)
+            .startDate(startDate)
+            .targetDailyCalories(2000)
+            .candidates(16)
+            .timeBudgetMs(1)
+            .seed(42L)
+            .build();
+        List<Recipe> reversed = new ArrayList<>(allRecipes);
+        Collections.reverse(reversed);
+
+        when(planResultCache.get(eq(request), any())).thenAnswer(inv -> ((Supplier<PlanPicks>) inv.getArgument(1)).get());
+        when(recipeRepository.findByActiveTrue(any(Pageable.class)))
+            .thenReturn(new PageImpl<>(allRecipes), new PageImpl<>(reversed));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId))).thenReturn(availableIngredients);
+        when(menuPlanRepository.save(any(MenuPlan.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(menuPlanService.convertToResponse(any(MenuPlan.class))).thenReturn(MenuPlanResponse.builder().build());
+
+        // Act
+        menuPlannerService.generateBalancedMenuPlan(request);
+        menuPlannerService.generateBalancedMenuPlan(request);
+
+        // Assert
+        ArgumentCaptor<MenuPlan> captor = ArgumentCaptor.forClass(MenuPlan.class);
+        verify(menuPlanRepository, times(2)).save(captor.capture());
+        MenuPlan first = captor.getAllValues().get(0);
+        MenuPlan second = captor.getAllValues().get(1);
+
+        assertThat(recipeIdsByDay(second)).isEqualTo(recipeIdsByDay(first));
+        assertThat(second.getBalanceScore()).isEqualTo(first.getBalanceScore());
+        // Seeded searches build every candidate however short the budget
+        assertThat(meterRegistry.get(PlannerMetrics.CANDIDATES_SUMMARY).summary().totalAmount()).isEqualTo(32);
+    }
+
+    @Test
+    void generateBalancedMenuPlan_SeededCacheHit_SkipsTheSearch() {
+        // Arrange: the cache already holds the days an earlier search chose
+        MenuPlanRequest request = MenuPlanRequest.builder()
+            .userId(userId)
+            .startDate(startDate)
+            .targetDailyCalories(2000)
+            .seed(7L)
+            .build();
+        CandidatePool pool = CandidatePool.of(allRecipes.subList(0, 5), allRecipes.subList(5, 12), allRecipes.subList(12, 17));
+        BestOfKPlanner.Result earlier = bestOfKPlanner.best(pool, 5, 4, null, null, 7L);
+        PlanPicks cached = PlanPicks.of(earlier.best(), null, earlier.evaluated());
+        clearInvocations(bestOfKPlanner);
+
+        when(planResultCache.get(eq(request), any())).thenReturn(cached);
+        when(menuPlanRepository.save(any(MenuPlan.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(menuPlanService.convertToResponse(any(MenuPlan.class))).thenReturn(MenuPlanResponse.builder().build());
+
+        // Act
+        menuPlannerService.generateBalancedMenuPlan(request);
+
+        // Assert
+        ArgumentCaptor<MenuPlan> captor = ArgumentCaptor.forClass(MenuPlan.class);
+        verify(menuPlanRepository).save(captor.capture());
+        MenuPlan saved = captor.getValue();
+
+        assertThat(saved.getBalanceScore()).isEqualTo(cached.balanceScore());
+        assertThat(saved.getDailyMealPlans()).hasSize(5).allSatisfy(day -> {
+            int index = day.getDayNumber() - 1;
+            assertThat(day.getSoupRecipe().getId()).isEqualTo(cached.soupId(index));
+            assertThat(day.getSideDishRecipe().getId()).isEqualTo(cached.sideDishId(index));
+            assertThat(day.getTotalCalories()).isEqualTo(cached.dayCalories(index));
+        });
+        verify(recipeRepository, never()).findByActiveTrue(any());
+        verifyNoInteractions(ingredientRepository, bestOfKPlanner);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void extendMenuPlan_SavesEachWeekAfterTheEndDate() {
+        // Arrange: one stored week, Mon 2 - Fri 6 February
+        MenuPlan existing = MenuPlan.builder()
+            .id(1L)
+            .userId(userId)
+            .startDate(startDate)
+            .endDate(startDate.plusDays(4))
+            .status(MenuPlan.MenuPlanStatus.ACTIVE)
+            .totalCalories(4400)
+            .averageDailyCalories(880)
+            .balanceScore(80.0)
+            .balanceSums(new BalanceSums(5, 300.0, 4400L, 3_872_000L, 15, 15))
+            .build();
+        List<DailyMealPlanSummary> storedDays = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            storedDays.add(new DailyMealPlanSummary(1L, 100L + day, day + 1, startDate.plusDays(day),
+                1L + day, 6L + day, 13L + day, null, null, null, null, 880, null));
+        }
+
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+            ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(menuPlanRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(1L))).thenReturn(storedDays);
+        when(recipeRepository.findByActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(allRecipes));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId))).thenReturn(availableIngredients);
+
+        // Act
+        MenuPlanExtensionResponse response = menuPlannerService.extendMenuPlan(1L,
+            MenuPlanExtensionRequest.builder().weeks(2).candidates(4).targetDailyCalories(2000).build());
+
+        // Assert
+        ArgumentCaptor<List<DailyMealPlan>> weeks = ArgumentCaptor.forClass(List.class);
+        verify(dailyMealPlanRepository, times(2)).saveAll(weeks.capture());
+        List<DailyMealPlan> first = weeks.getAllValues().get(0);
+        List<DailyMealPlan> second = weeks.getAllValues().get(1);
+
+        assertThat(first).extracting(DailyMealPlan::getDayNumber).containsExactly(6, 7, 8, 9, 10);
+        assertThat(first.get(0).getMealDate()).isEqualTo(LocalDate.of(2026, 2, 9));
+        assertThat(second).extracting(DailyMealPlan::getDayNumber).containsExactly(11, 12, 13, 14, 15);
+        assertThat(second.get(4).getMealDate()).isEqualTo(LocalDate.of(2026, 2, 20));
+        assertThat(first).allSatisfy(day -> {
+            assertThat(day.getMenuPlan()).isSameAs(existing);
+            assertThat(day.getBreakfastMeal()).isNull();
+        });
+
+        // Weeks continue from the day before them
+        assertThat(first.get(0).getSoupRecipe().getId()).isNotEqualTo(5L);
+        assertThat(first.get(0).getMainCourseRecipe().getId()).isNotEqualTo(10L);
+        assertThat(second.get(0).getSoupRecipe()).isNotSameAs(first.get(4).getSoupRecipe());
+        assertThat(second.get(0).getSideDishRecipe()).isNotSameAs(first.get(4).getSideDishRecipe());
+
+        int addedCalories = Stream.concat(first.stream(), second.stream()).mapToInt(DailyMealPlan::getTotalCalories).sum();
+        assertThat(response.getWeeksAdded()).isEqualTo(2);
+        assertThat(response.getFirstAddedDate()).isEqualTo(LocalDate.of(2026, 2, 9));
+        assertThat(response.getEndDate()).isEqualTo(LocalDate.of(2026, 2, 20));
+        assertThat(response.getTotalDays()).isEqualTo(15);
+        assertThat(response.getTotalCalories()).isEqualTo(4400 + addedCalories);
+        assertThat(response.getAverageDailyCalories()).isEqualTo((4400 + addedCalories) / 15);
+        assertThat(existing.getEndDate()).isEqualTo(LocalDate.of(2026, 2, 20));
+        assertThat(existing.getBalanceSums()).isNull();
+        // The pool is loaded once for all weeks, pruned to the requested target
+        verify(recipeNutritionIndexService).plannableRecipeIds(2000);
+
+        verify(eventPublisher, times(2)).publishEvent(new MenuPlanChangedEvent(
+            userId, 1L, MenuPlanChangedEvent.Action.EXTENDED, MenuPlan.MenuPlanStatus.ACTIVE));
+        verify(menuPlanRepository, never()).save(any());
+        verifyNoInteractions(mealRepository);
+        assertThat(meterRegistry.get(PlannerMetrics.CANDIDATES_SUMMARY).summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void extendMenuPlan_FullDayPlan_FillsEverySlot() {
+        // Arrange: one stored full-day week
+        MenuPlan existing = MenuPlan.builder()
+            .id(1L)
+            .userId(userId)
+            .startDate(startDate)
+            .endDate(startDate.plusDays(4))
+            .status(MenuPlan.MenuPlanStatus.ACTIVE)
+            .totalCalories(10000)
+            .averageDailyCalories(2000)
+            .balanceScore(80.0)
+            .build();
+        List<DailyMealPlanSummary> storedDays = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            storedDays.add(new DailyMealPlanSummary(1L, 100L + day, day + 1, startDate.plusDays(day),
+                1L + day, 6L + day, 13L + day, 1L, null, 3L, 5L, 2000, null));
+        }
+        List<Meal> meals = List.of(meal(1L, Meal.MealType.BREAKFAST, 350), meal(3L, Meal.MealType.DINNER, 550),
+            meal(5L, Meal.MealType.SNACK, 150));
+
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+            ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(menuPlanRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(1L))).thenReturn(storedDays);
+        when(recipeRepository.findByActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(allRecipes));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId))).thenReturn(availableIngredients);
+        when(mealRepository.findPlannableMeals(eq(userId), any())).thenReturn(meals);
+        when(mealRepository.getReferenceById(anyLong())).thenAnswer(inv -> meals.stream()
+            .filter(meal -> meal.getId().equals(inv.getArgument(0)))
+            .findFirst()
+            .orElseThrow());
+
+        // Act
+        menuPlannerService.extendMenuPlan(1L, MenuPlanExtensionRequest.builder().weeks(1).candidates(2).build());
+
+        // Assert
+        ArgumentCaptor<List<DailyMealPlan>> week = ArgumentCaptor.forClass(List.class);
+        verify(dailyMealPlanRepository).saveAll(week.capture());
+        assertThat(week.getValue()).hasSize(5).allSatisfy(day -> {
+            assertThat(day.getBreakfastMeal().getId()).isEqualTo(1L);
+            assertThat(day.getDinnerMeal().getId()).isEqualTo(3L);
+            assertThat(day.getSnackMeal().getId()).isEqualTo(5L);
+            int lunch = Stream.of(day.getSoupRecipe(), day.getMainCourseRecipe(), day.getSideDishRecipe())
+                .mapToInt(recipe -> recipe.getCaloriesPerServing().intValue()).sum();
+            assertThat(day.getTotalCalories()).isEqualTo(lunch + 350 + 550 + 150);
+        });
+    }
+
+    @Test
+    void extendMenuPlan_PlanChangedMeanwhile_ThrowsException() {
+        // Arrange: another extension moves the end date between the start and the save
+        MenuPlan existing = MenuPlan.builder()
+            .id(1L)
+            .userId(userId)
+            .startDate(startDate)
+            .endDate(startDate.plusDays(4))
+            .status(MenuPlan.MenuPlanStatus.ACTIVE)
+            .totalCalories(4400)
+            .averageDailyCalories(880)
+            .build();
+        MenuPlan extendedMeanwhile = MenuPlan.builder()
+            .id(1L)
+            .userId(userId)
+            .startDate(startDate)
+            .endDate(startDate.plusDays(11))
+            .status(MenuPlan.MenuPlanStatus.ACTIVE)
+            .build();
+
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+            ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(menuPlanRepository.findByIdForUpdate(1L))
+            .thenReturn(Optional.of(existing), Optional.of(extendedMeanwhile));
+        when(dailyMealPlanRepository.findSummariesByMenuPlanIdIn(List.of(1L))).thenReturn(List.of());
+        when(recipeRepository.findByActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(allRecipes));
+        when(ingredientRepository.findAvailableIngredientsForUserOrGlobal(eq(userId))).thenReturn(availableIngredients);
+
+        // Act & Assert
+        assertThatThrownBy(() -> menuPlannerService.extendMenuPlan(1L,
+                MenuPlanExtensionRequest.builder().weeks(1).candidates(2).build()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("changed while it was being extended");
+
+        verify(dailyMealPlanRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void extendMenuPlan_NotFound_ThrowsException() {
+        // Arrange
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+            ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(menuPlanRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> menuPlannerService.extendMenuPlan(1L,
+                MenuPlanExtensionRequest.builder().weeks(1).build()))
+            .isInstanceOf(MenuPlanNotFoundException.class);
+
+        verify(dailyMealPlanRepository, never()).saveAll(any());
+        verifyNoInteractions(recipeRepository, eventPublisher);
+    }
+
     @Test
     void snapToMonday_SaturdaySnapsToNextMonday() {
         LocalDate saturday = LocalDate.of(2026, 2, 7); // Saturday
@@ -499,4 +982,20 @@ class MenuPlannerServiceTest {
         assertThat(result).isEqualTo(monday);
         assertThat(result.getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
     }
+
+    private static List<List<Long>> recipeIdsByDay(MenuPlan plan) {
+        return plan.getDailyMealPlans().stream()
+            .sorted(Comparator.comparing(DailyMealPlan::getDayNumber))
+            .map(day -> List.of(day.getSoupRecipe().getId(), day.getMainCourseRecipe().getId(), day.getSideDishRecipe().getId()))
+            .toList();
+    }
+
+    private static Meal meal(Long id, Meal.MealType type, int calories) {
+        return Meal.builder()
+            .id(id)
+            .name(type + " " + id)
+            .mealType(type)
+            .nutritionalInfo(NutritionalInfo.builder().calories(new BigDecimal(calories)).build())
+            .build();
+    }
 }
@@ -0,0 +1,218 @@
+package com.greenmono.mealplanner.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.greenmono.mealplanner.dto.MenuPlanRequest;
+import com.greenmono.mealplanner.dto.PlanGenerationJobResponse;
+import com.greenmono.mealplanner.entity.PlanGenerationJob;
+import com.greenmono.mealplanner.entity.PlanGenerationJob.JobStatus;
+import com.greenmono.mealplanner.event.PlanGenerationJobChangedEvent;
+import com.greenmono.mealplanner.exception.JobQueueFullException;
+import com.greenmono.mealplanner.exception.PlanGenerationJobNotFoundException;
+import com.greenmono.mealplanner.repository.PlanGenerationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlanGenerationJobService Unit Tests")
+class PlanGenerationJobServiceTest {
+
+    @Mock
+    private PlanGenerationJobRepository jobRepository;
+
+    // Configured like Spring Boot's ObjectMapper: ISO dates
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PlanGenerationJobService jobService;
+
+    private MenuPlanRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = MenuPlanRequest.builder()
+            .userId(1L)
+            .startDate(LocalDate.of(2026, 2, 2))
+            .targetDailyCalories(2000)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should store the request as a queued job")
+    void shouldEnqueueJob() {
+        when(jobRepository.countByStatus(JobStatus.QUEUED)).thenReturn(0L);
+        when(jobRepository.save(any(PlanGenerationJob.class))).thenAnswer(inv -> {
+            PlanGenerationJob job = inv.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+
+        PlanGenerationJobResponse response = jobService.enqueue(request);
+
+        assertThat(response.getJobId()).isEqualTo(7L);
+        assertThat(response.getStatus()).isEqualTo(JobStatus.QUEUED);
+
+        ArgumentCaptor<PlanGenerationJob> captor = ArgumentCaptor.forClass(PlanGenerationJob.class);
+        verify(jobRepository).save(captor.capture());
+        assertThat(captor.getValue().getUserId()).isEqualTo(1L);
+        assertThat(captor.getValue().getRequestPayload()).contains("\"startDate\":\"2026-02-02\"");
+    }
+
+    @Test
+    @DisplayName("Should reject new jobs when the queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        when(jobRepository.countByStatus(JobStatus.QUEUED)).thenReturn(1000L);
+
+        assertThatThrownBy(() -> jobService.enqueue(request))
+            .isInstanceOf(JobQueueFullException.class)
+            .satisfies(e -> assertThat(((JobQueueFullException) e).getRetryAfterSeconds()).isEqualTo(5));
+
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should claim queued jobs, mark them running and decode the request")
+    void shouldClaimJobs() throws Exception {
+        PlanGenerationJob job = queuedJob(3L, objectMapper.writeValueAsString(request));
+        when(jobRepository.findQueuedForUpdate(any(Pageable.class))).thenReturn(List.of(job));
+
+        List<PlanGenerationJobService.ClaimedJob> claimed = jobService.claimJobs(4);
+
+        assertThat(claimed).singleElement().satisfies(c -> {
+            assertThat(c.jobId()).isEqualTo(3L);
+            assertThat(c.attempt()).isEqualTo(1);
+            assertThat(c.request().getStartDate()).isEqualTo(LocalDate.of(2026, 2, 2));
+        });
+        assertThat(job.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getStartedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should fail a claimed job whose payload cannot be read")
+    void shouldFailUnreadablePayload() {
+        PlanGenerationJob job = queuedJob(3L, "not json");
+        when(jobRepository.findQueuedForUpdate(any(Pageable.class))).thenReturn(List.of(job));
+
+        List<PlanGenerationJobService.ClaimedJob> claimed = jobService.claimJobs(4);
+
+        assertThat(claimed).isEmpty();
+        assertThat(job.getStatus()).isEqualTo(JobStatus.FAILED);
+        verify(eventPublisher).publishEvent(any(PlanGenerationJobChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should record the menu plan and notify when a job succeeds")
+    void shouldMarkSucceeded() {
+        when(jobRepository.finishRunning(eq(3L), eq(1), eq(JobStatus.SUCCEEDED), eq(99L), isNull(),
+            any(LocalDateTime.class))).thenReturn(1);
+        when(jobRepository.findById(3L)).thenReturn(Optional.of(queuedJob(3L, "{}")));
+
+        jobService.markSucceeded(3L, 1, 99L);
+
+        verify(eventPublisher).publishEvent(new PlanGenerationJobChangedEvent(1L, 3L, JobStatus.SUCCEEDED, 99L));
+    }
+
+    @Test
+    @DisplayName("Should drop the completion of an attempt the job is no longer running")
+    void shouldDropStaleCompletion() {
+        when(jobRepository.finishRunning(eq(3L), eq(1), eq(JobStatus.SUCCEEDED), eq(99L), isNull(),
+            any(LocalDateTime.class))).thenReturn(0);
+
+        jobService.markSucceeded(3L, 1, 99L);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should requeue transient failures until the attempts are used up")
+    void shouldRequeueTransientFailure() {
+        when(jobRepository.requeueRunning(eq(3L), eq(1), eq("Lock timeout"), any(LocalDateTime.class))).thenReturn(1);
+
+        jobService.markFailed(3L, 1, "Lock timeout", true);
+
+        verify(jobRepository, never()).finishRunning(any(), anyInt(), any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should fail transient failures of the last attempt and permanent ones right away")
+    void shouldFailExhaustedOrPermanentFailure() {
+        when(jobRepository.finishRunning(any(), anyInt(), eq(JobStatus.FAILED), isNull(), any(),
+            any(LocalDateTime.class))).thenReturn(1);
+        when(jobRepository.findById(3L)).thenReturn(Optional.of(queuedJob(3L, "{}")));
+
+        jobService.markFailed(3L, 3, "Lock timeout", true);
+        jobService.markFailed(3L, 1, "Not enough recipes", false);
+
+        verify(jobRepository, never()).requeueRunning(any(), anyInt(), any(), any());
+        verify(eventPublisher, times(2)).publishEvent(new PlanGenerationJobChangedEvent(1L, 3L, JobStatus.FAILED, null));
+    }
+
+    @Test
+    @DisplayName("Should requeue stale jobs and fail those out of attempts")
+    void shouldRecoverStaleJobs() {
+        PlanGenerationJob retryable = queuedJob(1L, "{}");
+        retryable.setStatus(JobStatus.RUNNING);
+        retryable.setAttempts(1);
+        PlanGenerationJob exhausted = queuedJob(2L, "{}");
+        exhausted.setStatus(JobStatus.RUNNING);
+        exhausted.setAttempts(3);
+        when(jobRepository.findStaleRunningForUpdate(any(LocalDateTime.class)))
+            .thenReturn(List.of(retryable, exhausted));
+
+        int recovered = jobService.recoverStaleJobs(LocalDateTime.now());
+
+        assertThat(recovered).isEqualTo(2);
+        assertThat(retryable.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(retryable.getStartedAt()).isNull();
+        assertThat(exhausted.getStatus()).isEqualTo(JobStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should throw when the job does not exist")
+    void shouldThrowWhenJobNotFound() {
+        when(jobRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> jobService.getJob(5L))
+            .isInstanceOf(PlanGenerationJobNotFoundException.class)
+            .hasMessageContaining("5");
+    }
+
+    private PlanGenerationJob queuedJob(Long id, String payload) {
+        return PlanGenerationJob.builder()
+            .id(id)
+            .userId(1L)
+            .requestPayload(payload)
+            .status(JobStatus.QUEUED)
+            .attempts(0)
+            .build();
+    }
+}
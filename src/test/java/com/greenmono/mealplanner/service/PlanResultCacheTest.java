@@ -0,0 +1,141 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.MenuPlanRequest;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.metrics.PlannerMetrics;
+import com.greenmono.mealplanner.planner.BestOfKPlanner;
+import com.greenmono.mealplanner.planner.CandidatePool;
+import com.greenmono.mealplanner.planner.PlanPicks;
+import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.projection.PantryStamp;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlanResultCache Unit Tests")
+class PlanResultCacheTest {
+
+    private static final PantryStamp PANTRY = new PantryStamp(3, LocalDateTime.of(2026, 2, 1, 10, 0));
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PlanResultCache cache;
+    private PlanPicks picks;
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new PlanResultCache(ingredientRepository, new PlannerMetrics(meterRegistry));
+        cache.start();
+
+        BestOfKPlanner planner = new BestOfKPlanner();
+        planner.start();
+        try {
+            CandidatePool pool = CandidatePool.of(List.of(recipe(1L)), List.of(recipe(2L)), List.of(recipe(3L)));
+            picks = PlanPicks.of(planner.best(pool, 5, 1, null).best(), null, 1);
+        } finally {
+            planner.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay a seeded plan whose inputs have not changed")
+    void shouldReplayUnchangedInputs() {
+        when(ingredientRepository.findPantryStamp(1L)).thenReturn(PANTRY);
+
+        assertThat(cache.get(request(42L, LocalDate.of(2026, 2, 2)), this::search)).isSameAs(picks);
+        // Only the start date differs, which does not shape the plan
+        assertThat(cache.get(request(42L, LocalDate.of(2026, 3, 2)), this::search)).isSameAs(picks);
+
+        assertThat(searches).hasValue(1);
+        assertThat(meterRegistry.get(PlannerMetrics.RESULT_CACHE_COUNTER).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PlannerMetrics.RESULT_CACHE_COUNTER).tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should search again for another seed or a changed pantry")
+    void shouldMissOnSeedOrPantryChange() {
+        when(ingredientRepository.findPantryStamp(1L))
+            .thenReturn(PANTRY, PANTRY, new PantryStamp(4, PANTRY.lastUpdated()), new PantryStamp(4, PANTRY.lastUpdated()));
+
+        cache.get(request(42L, LocalDate.of(2026, 2, 2)), this::search);
+        cache.get(request(43L, LocalDate.of(2026, 2, 2)), this::search);
+        cache.get(request(42L, LocalDate.of(2026, 2, 2)), this::search);
+        cache.get(request(42L, LocalDate.of(2026, 2, 2)), this::search);
+
+        assertThat(searches).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should search again for another calorie target, also for lunch-only plans")
+    void shouldMissOnCalorieTargetChange() {
+        when(ingredientRepository.findPantryStamp(1L)).thenReturn(PANTRY);
+        MenuPlanRequest lower = request(42L, LocalDate.of(2026, 2, 2));
+        lower.setTargetDailyCalories(500);
+
+        cache.get(request(42L, LocalDate.of(2026, 2, 2)), this::search);
+        cache.get(lower, this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should search again after a catalog change here or on another instance")
+    void shouldMissAfterCatalogChange() {
+        when(ingredientRepository.findPantryStamp(1L)).thenReturn(PANTRY);
+        MenuPlanRequest request = request(42L, LocalDate.of(2026, 2, 2));
+
+        cache.get(request, this::search);
+        cache.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(5L));
+        cache.get(request, this::search);
+        cache.onCacheInvalidation(new CacheInvalidationEvent(CacheInvalidationEvent.EntityType.USER_MENU_PLAN, 1L));
+        cache.get(request, this::search);
+        cache.onCacheInvalidation(new CacheInvalidationEvent(CacheInvalidationEvent.EntityType.RECIPE, null));
+        cache.get(request, this::search);
+
+        assertThat(searches).hasValue(3);
+    }
+
+    private PlanPicks search() {
+        searches.incrementAndGet();
+        return picks;
+    }
+
+    private static MenuPlanRequest request(Long seed, LocalDate startDate) {
+        return MenuPlanRequest.builder()
+            .userId(1L)
+            .startDate(startDate)
+            .targetDailyCalories(2000)
+            .seed(seed)
+            .build();
+    }
+
+    private static Recipe recipe(Long id) {
+        return Recipe.builder()
+            .id(id)
+            .name("Recipe " + id)
+            .calories(new BigDecimal("300"))
+            .protein(new BigDecimal("20"))
+            .carbohydrates(new BigDecimal("30"))
+            .servings(1)
+            .build();
+    }
+}
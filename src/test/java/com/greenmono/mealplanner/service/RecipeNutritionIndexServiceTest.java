@@ -0,0 +1,60 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.event.CacheInvalidationEvent;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.index.NutritionRangeIndex;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeNutritionIndexServiceTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @InjectMocks
+    private RecipeNutritionIndexService recipeNutritionIndexService;
+
+    @Test
+    void getIndex_ReusesIndexUntilCatalogChanges() {
+        when(recipeRepository.findActiveNutritionPoints()).thenReturn(List.of());
+
+        NutritionRangeIndex first = recipeNutritionIndexService.getIndex();
+        assertThat(recipeNutritionIndexService.getIndex()).isSameAs(first);
+
+        recipeNutritionIndexService.onCacheInvalidation(
+            new CacheInvalidationEvent(CacheInvalidationEvent.EntityType.RECIPE, null));
+
+        assertThat(recipeNutritionIndexService.getIndex()).isNotSameAs(first);
+        verify(recipeRepository, times(2)).findActiveNutritionPoints();
+    }
+
+    @Test
+    void getIndex_RebuildFails_StaysStale() {
+        when(recipeRepository.findActiveNutritionPoints())
+            .thenReturn(List.of())
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(List.of());
+
+        NutritionRangeIndex first = recipeNutritionIndexService.getIndex();
+        recipeNutritionIndexService.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(1L));
+
+        assertThatThrownBy(() -> recipeNutritionIndexService.getIndex()).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(recipeNutritionIndexService.getIndex()).isNotSameAs(first);
+        verify(recipeRepository, times(3)).findActiveNutritionPoints();
+    }
+}
@@ -0,0 +1,167 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.NutritionRecomputeResponse;
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.repository.NutritionalInfoRepository;
+import com.greenmono.mealplanner.repository.RecipeIngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import com.greenmono.mealplanner.repository.projection.IngredientNutritionRow;
+import com.greenmono.mealplanner.repository.projection.RecipeNutritionValues;
+import com.greenmono.mealplanner.repository.projection.RecipeQuantityLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeNutritionRecomputeService Unit Tests")
+class RecipeNutritionRecomputeServiceTest {
+
+    @Mock
+    private NutritionalInfoRepository nutritionalInfoRepository;
+
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RecipeNutritionRecomputeService recomputeService;
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 3, 1, 9, 30);
+    private final LocalDateTime read = LocalDateTime.of(2026, 2, 1, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        recomputeService.setClock(Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(inv ->
+            ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            int[] rows = new int[inv.<List<?>>getArgument(1).size()];
+            Arrays.fill(rows, 1);
+            return rows;
+        });
+
+        // 100 g serving: 200 kcal, 10 g protein, 30 g carbs, 5 g fat, no fiber recorded
+        when(nutritionalInfoRepository.findIngredientNutritionRows()).thenReturn(List.of(
+            new IngredientNutritionRow(1L, new BigDecimal("100.00"), Ingredient.Unit.GRAM,
+                new BigDecimal("200.00"), new BigDecimal("10.00"), new BigDecimal("30.00"), new BigDecimal("5.00"),
+                null, null, null, null, null, null, null, null, null, null, null, null)));
+    }
+
+    private void givenRecipes(int count, int stale) {
+        List<RecipeQuantityLine> lines = new ArrayList<>();
+        List<RecipeNutritionValues> stored = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            // 150 g of the ingredient: 300 kcal, 15 g protein, 45 g carbs, 7.5 g fat
+            lines.add(new RecipeQuantityLine(id, 1L, new BigDecimal("150.00"), Ingredient.Unit.GRAM));
+            BigDecimal calories = id <= stale ? new BigDecimal("250.00") : new BigDecimal("300.00");
+            stored.add(new RecipeNutritionValues(id, calories, new BigDecimal("15.00"), new BigDecimal("45.00"),
+                new BigDecimal("7.50"), new BigDecimal("0.00"), read));
+        }
+        when(recipeIngredientRepository.findAllQuantityLines()).thenReturn(lines);
+        when(recipeRepository.findAllNutritionValues()).thenReturn(stored);
+    }
+
+    @Test
+    @DisplayName("Should write back only recipes whose totals changed")
+    void shouldWriteOnlyChangedRecipes() {
+        givenRecipes(5, 2);
+
+        NutritionRecomputeResponse response = recomputeService.recomputeCatalog(false);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(RecipeNutritionRecomputeService.UPDATE_SQL), captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue().get(0)).containsExactly(new BigDecimal("300.00"), new BigDecimal("15.00"),
+            new BigDecimal("45.00"), new BigDecimal("7.50"), new BigDecimal("0.00"), Timestamp.valueOf(now),
+            1L, Timestamp.valueOf(read));
+
+        assertThat(response.getRecipesRecomputed()).isEqualTo(5);
+        assertThat(response.getRecipesChanged()).isEqualTo(2);
+        assertThat(response.getRecipesUpdated()).isEqualTo(2);
+        verify(eventPublisher).publishEvent(new RecipeCatalogChangedEvent(null));
+    }
+
+    @Test
+    @DisplayName("Should write in batches, each in its own transaction")
+    void shouldWriteInBatches() {
+        recomputeService.setBatchSize(3);
+        givenRecipes(8, 8);
+
+        NutritionRecomputeResponse response = recomputeService.recomputeCatalog(false);
+
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+        assertThat(response.getRecipesUpdated()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should not count recipes edited since they were read")
+    void shouldKeepConcurrentEdits() {
+        givenRecipes(3, 3);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0, 1});
+
+        NutritionRecomputeResponse response = recomputeService.recomputeCatalog(false);
+
+        assertThat(response.getRecipesChanged()).isEqualTo(3);
+        assertThat(response.getRecipesUpdated()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count changes without writing on a dry run")
+    void shouldNotWriteOnDryRun() {
+        givenRecipes(4, 1);
+
+        NutritionRecomputeResponse response = recomputeService.recomputeCatalog(true);
+
+        assertThat(response.getRecipesChanged()).isEqualTo(1);
+        assertThat(response.getRecipesUpdated()).isZero();
+        assertThat(response.getDryRun()).isTrue();
+        verifyNoInteractions(jdbcTemplate, transactionTemplate, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should not publish a catalog change when nothing changed")
+    void shouldNotPublishWithoutChanges() {
+        givenRecipes(4, 0);
+
+        NutritionRecomputeResponse response = recomputeService.recomputeCatalog(false);
+
+        assertThat(response.getRecipesChanged()).isZero();
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+}
@@ -2,6 +2,7 @@ package com.greenmono.mealplanner.service;
 
 import com.greenmono.mealplanner.dto.PageResponse;
 import com.greenmono.mealplanner.dto.RecipeIngredientRequest;
+import com.greenmono.mealplanner.dto.RecipeIngredientResponse;
 import com.greenmono.mealplanner.dto.RecipeRequest;
 import com.greenmono.mealplanner.dto.RecipeResponse;
 import com.greenmono.mealplanner.entity.Ingredient;
@@ -12,7 +13,11 @@ import com.greenmono.mealplanner.exception.IngredientNotFoundException;
 import com.greenmono.mealplanner.exception.RecipeNotFoundException;
 import com.greenmono.mealplanner.mapper.RecipeMapper;
 import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeIngredientRepository;
 import com.greenmono.mealplanner.repository.RecipeRepository;
+import com.greenmono.mealplanner.repository.projection.RecipeIngredientLine;
+import com.greenmono.mealplanner.repository.projection.RecipeInstructionLine;
+import com.greenmono.mealplanner.repository.projection.RecipeSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -51,9 +57,15 @@ class RecipeServiceTest {
     @Mock
     private IngredientRepository ingredientRepository;
 
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
     @Mock
     private RecipeMapper recipeMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -258,16 +270,25 @@ class RecipeServiceTest {
     @DisplayName("Should get all active recipes without category filter")
     void shouldGetAllActiveRecipesWithoutCategoryFilter() {
         // Arrange
-        List<Recipe> recipes = Arrays.asList(
-                Recipe.builder().id(1L).name("Mantı").category(Recipe.RecipeCategory.MAIN_COURSE).active(true).build(),
-                Recipe.builder().id(2L).name("Çorba").category(Recipe.RecipeCategory.SOUP).active(true).build()
+        List<RecipeSummary> recipes = Arrays.asList(
+                summary(1L, "Mantı", Recipe.RecipeCategory.MAIN_COURSE),
+                summary(2L, "Çorba", Recipe.RecipeCategory.SOUP)
         );
 
         Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Recipe> recipePage = new PageImpl<>(recipes, pageable, recipes.size());
-
-        when(recipeRepository.findByActiveTrue(pageable)).thenReturn(recipePage);
-        when(recipeMapper.toResponse(any(Recipe.class)))
+        Page<RecipeSummary> recipePage = new PageImpl<>(recipes, pageable, recipes.size());
+
+        RecipeIngredientLine line = new RecipeIngredientLine(1L, 10L, 1L, "Kıyma", new BigDecimal("250"),
+                Ingredient.Unit.GRAM, null, false);
+        RecipeIngredientResponse lineResponse = RecipeIngredientResponse.builder().id(10L).ingredientName("Kıyma").build();
+
+        when(recipeRepository.findActiveSummaries(pageable)).thenReturn(recipePage);
+        when(recipeIngredientRepository.findLinesByRecipeIdIn(List.of(1L, 2L))).thenReturn(List.of(line));
+        when(recipeRepository.findInstructionLines(List.of(1L, 2L))).thenReturn(List.of(
+                new RecipeInstructionLine(2L, 0, "Soğanı kavur"),
+                new RecipeInstructionLine(2L, 1, "Suyu ekle")));
+        when(recipeMapper.toIngredientResponse(line)).thenReturn(lineResponse);
+        when(recipeMapper.toSummaryResponse(any(RecipeSummary.class)))
                 .thenReturn(RecipeResponse.builder().id(1L).name("Mantı").build())
                 .thenReturn(RecipeResponse.builder().id(2L).name("Çorba").build());
 
@@ -279,26 +300,31 @@ class RecipeServiceTest {
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getTotalElements()).isEqualTo(2);
         assertThat(result.getTotalPages()).isEqualTo(1);
-
-        verify(recipeRepository).findByActiveTrue(pageable);
-        verify(recipeMapper, times(2)).toResponse(any(Recipe.class));
+        assertThat(result.getContent().get(0).getIngredients()).containsExactly(lineResponse);
+        assertThat(result.getContent().get(0).getInstructions()).isEmpty();
+        assertThat(result.getContent().get(1).getIngredients()).isEmpty();
+        assertThat(result.getContent().get(1).getInstructions()).containsExactly("Soğanı kavur", "Suyu ekle");
+
+        verify(recipeRepository).findActiveSummaries(pageable);
+        verify(recipeRepository, never()).findByActiveTrue(any());
+        verify(recipeMapper, times(2)).toSummaryResponse(any(RecipeSummary.class));
     }
 
     @Test
     @DisplayName("Should get recipes filtered by category")
     void shouldGetRecipesFilteredByCategory() {
         // Arrange
-        List<Recipe> soups = Arrays.asList(
-                Recipe.builder().id(2L).name("Mercimek Çorbası").category(Recipe.RecipeCategory.SOUP).active(true).build(),
-                Recipe.builder().id(3L).name("Ezogelin Çorbası").category(Recipe.RecipeCategory.SOUP).active(true).build()
+        List<RecipeSummary> soups = Arrays.asList(
+                summary(2L, "Mercimek Çorbası", Recipe.RecipeCategory.SOUP),
+                summary(3L, "Ezogelin Çorbası", Recipe.RecipeCategory.SOUP)
         );
 
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Recipe> recipePage = new PageImpl<>(soups, pageable, soups.size());
+        Page<RecipeSummary> recipePage = new PageImpl<>(soups, pageable, soups.size());
 
-        when(recipeRepository.findByCategoryAndActiveTrue(eq(Recipe.RecipeCategory.SOUP), eq(pageable)))
+        when(recipeRepository.findActiveSummariesByCategory(eq(Recipe.RecipeCategory.SOUP), eq(pageable)))
                 .thenReturn(recipePage);
-        when(recipeMapper.toResponse(any(Recipe.class)))
+        when(recipeMapper.toSummaryResponse(any(RecipeSummary.class)))
                 .thenReturn(RecipeResponse.builder().id(2L).name("Mercimek Çorbası").build())
                 .thenReturn(RecipeResponse.builder().id(3L).name("Ezogelin Çorbası").build());
 
@@ -310,8 +336,10 @@ class RecipeServiceTest {
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getTotalElements()).isEqualTo(2);
 
-        verify(recipeRepository).findByCategoryAndActiveTrue(Recipe.RecipeCategory.SOUP, pageable);
-        verify(recipeMapper, times(2)).toResponse(any(Recipe.class));
+        verify(recipeRepository).findActiveSummariesByCategory(Recipe.RecipeCategory.SOUP, pageable);
+        verify(recipeIngredientRepository).findLinesByRecipeIdIn(List.of(2L, 3L));
+        verify(recipeRepository).findInstructionLines(List.of(2L, 3L));
+        verify(recipeMapper, times(2)).toSummaryResponse(any(RecipeSummary.class));
     }
 
     @Test
@@ -512,4 +540,9 @@ class RecipeServiceTest {
 
         verify(recipeRepository).findByNameContainingIgnoreCaseAndActiveTrue("NonExistent", pageable);
     }
+
+    private RecipeSummary summary(Long id, String name, Recipe.RecipeCategory category) {
+        return new RecipeSummary(id, name, null, category, 30, 2, new BigDecimal("400"), new BigDecimal("20"),
+                new BigDecimal("50"), null, null, null, null, true, null, null);
+    }
 }
@@ -0,0 +1,66 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.index.IngredientRecipeIndex;
+import com.greenmono.mealplanner.repository.IngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeIngredientRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeSuggestionServiceTest {
+
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @InjectMocks
+    private RecipeSuggestionService recipeSuggestionService;
+
+    @Test
+    void getIndex_ReusesIndexUntilCatalogChanges() {
+        when(recipeIngredientRepository.findRequiredLinksForActiveRecipes()).thenReturn(List.of());
+
+        IngredientRecipeIndex first = recipeSuggestionService.getIndex();
+        assertThat(recipeSuggestionService.getIndex()).isSameAs(first);
+
+        recipeSuggestionService.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(1L));
+
+        assertThat(recipeSuggestionService.getIndex()).isNotSameAs(first);
+        verify(recipeIngredientRepository, times(2)).findRequiredLinksForActiveRecipes();
+    }
+
+    @Test
+    void getIndex_RebuildFails_StaysStale() {
+        when(recipeIngredientRepository.findRequiredLinksForActiveRecipes())
+            .thenReturn(List.of())
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(List.of());
+
+        IngredientRecipeIndex first = recipeSuggestionService.getIndex();
+        recipeSuggestionService.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(1L));
+
+        assertThatThrownBy(() -> recipeSuggestionService.getIndex()).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(recipeSuggestionService.getIndex()).isNotSameAs(first);
+        verify(recipeIngredientRepository, times(3)).findRequiredLinksForActiveRecipes();
+    }
+}
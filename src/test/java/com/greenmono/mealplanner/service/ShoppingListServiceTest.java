@@ -0,0 +1,130 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.dto.ShoppingListItemResponse;
+import com.greenmono.mealplanner.dto.ShoppingListResponse;
+import com.greenmono.mealplanner.entity.Ingredient;
+import com.greenmono.mealplanner.event.RecipeCatalogChangedEvent;
+import com.greenmono.mealplanner.exception.MenuPlanNotFoundException;
+import com.greenmono.mealplanner.repository.DailyMealPlanRepository;
+import com.greenmono.mealplanner.repository.MenuPlanRepository;
+import com.greenmono.mealplanner.repository.projection.PantryStamp;
+import com.greenmono.mealplanner.repository.projection.PlanStamp;
+import com.greenmono.mealplanner.repository.projection.ShoppingListLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShoppingListService Unit Tests")
+class ShoppingListServiceTest {
+
+    @Mock
+    private MenuPlanRepository menuPlanRepository;
+
+    @Mock
+    private DailyMealPlanRepository dailyMealPlanRepository;
+
+    @InjectMocks
+    private ShoppingListService shoppingListService;
+
+    private final Long planId = 3L;
+    private final Long userId = 7L;
+    private final LocalDateTime generated = LocalDateTime.of(2026, 3, 2, 9, 0);
+    private final PlanStamp plan = new PlanStamp(userId, generated, 5, generated);
+    private final PantryStamp pantry = new PantryStamp(4, generated);
+
+    @BeforeEach
+    void setUp() {
+        shoppingListService.start();
+        lenient().when(menuPlanRepository.findPlanStamp(planId)).thenReturn(Optional.of(plan));
+        lenient().when(dailyMealPlanRepository.findShoppingListPantryStamp(planId)).thenReturn(pantry);
+        lenient().when(dailyMealPlanRepository.findShoppingListLines(planId)).thenReturn(List.of(
+            // Flour used in grams and in cups, stocked as 1 kg
+            line(1L, "Flour", Ingredient.Unit.GRAM, "300", "1", Ingredient.Unit.KILOGRAM, true, null),
+            line(1L, "Flour", Ingredient.Unit.CUP, "2", "1", Ingredient.Unit.KILOGRAM, true, null),
+            // Eggs: 7 needed, 4 in stock
+            line(2L, "Egg", Ingredient.Unit.PIECE, "7", "4", Ingredient.Unit.PIECE, true, userId),
+            // Milk stocked but unavailable, so none counts
+            line(3L, "Milk", Ingredient.Unit.MILLILITER, "750", "2", Ingredient.Unit.LITER, false, userId),
+            // Another user's butter is not this user's pantry
+            line(4L, "Butter", Ingredient.Unit.GRAM, "50", "500", Ingredient.Unit.GRAM, true, 99L)));
+    }
+
+    private static ShoppingListLine line(Long id, String name, Ingredient.Unit unit, String quantity,
+                                         String stock, Ingredient.Unit stockUnit, boolean available, Long ownerId) {
+        return new ShoppingListLine(id, name, Ingredient.IngredientCategory.OTHER, unit, new BigDecimal(quantity),
+            new BigDecimal(stock), stockUnit, available, ownerId);
+    }
+
+    private ShoppingListItemResponse item(ShoppingListResponse list, String name) {
+        return list.getItems().stream().filter(item -> item.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should add up units per ingredient and subtract the usable pantry")
+    void shouldAggregateAndSubtractPantry() {
+        ShoppingListResponse list = shoppingListService.getShoppingList(planId);
+
+        assertThat(list.getItems()).extracting(ShoppingListItemResponse::getName)
+            .containsExactly("Flour", "Egg", "Milk", "Butter");
+
+        // 300 g + 2 cups (480 g) = 780 g of a 1 kg bag
+        ShoppingListItemResponse flour = item(list, "Flour");
+        assertThat(flour.getUnit()).isEqualTo(Ingredient.Unit.KILOGRAM);
+        assertThat(flour.getRequiredQuantity()).isEqualByComparingTo("0.78");
+        assertThat(flour.getToBuyQuantity()).isEqualByComparingTo("0");
+
+        assertThat(item(list, "Egg").getToBuyQuantity()).isEqualByComparingTo("3");
+        assertThat(item(list, "Milk").getPantryQuantity()).isEqualByComparingTo("0");
+        assertThat(item(list, "Milk").getToBuyQuantity()).isEqualByComparingTo("0.75");
+        assertThat(item(list, "Butter").getToBuyQuantity()).isEqualByComparingTo("50");
+        assertThat(list.getItemsToBuy()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should serve the cached list until the plan, pantry or catalog changes")
+    void shouldCacheUntilStampsChange() {
+        shoppingListService.getShoppingList(planId);
+        shoppingListService.getShoppingList(planId);
+        verify(dailyMealPlanRepository, times(1)).findShoppingListLines(planId);
+
+        // A dish swap touches a day
+        when(menuPlanRepository.findPlanStamp(planId))
+            .thenReturn(Optional.of(new PlanStamp(userId, generated, 5, generated.plusMinutes(5))));
+        shoppingListService.getShoppingList(planId);
+        verify(dailyMealPlanRepository, times(2)).findShoppingListLines(planId);
+
+        // Stock of one of the plan's ingredients changes
+        when(dailyMealPlanRepository.findShoppingListPantryStamp(planId)).thenReturn(new PantryStamp(5, generated.plusMinutes(6)));
+        shoppingListService.getShoppingList(planId);
+        verify(dailyMealPlanRepository, times(3)).findShoppingListLines(planId);
+
+        shoppingListService.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(1L));
+        shoppingListService.getShoppingList(planId);
+        verify(dailyMealPlanRepository, times(4)).findShoppingListLines(planId);
+    }
+
+    @Test
+    @DisplayName("Should throw when the plan does not exist")
+    void shouldThrowForMissingPlan() {
+        when(menuPlanRepository.findPlanStamp(42L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> shoppingListService.getShoppingList(42L))
+            .isInstanceOf(MenuPlanNotFoundException.class)
+            .hasMessageContaining("42");
+        verifyNoInteractions(dailyMealPlanRepository);
+    }
+}
@@ -0,0 +1,108 @@
+package com.greenmono.mealplanner.service;
+
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.event.IngredientChangedEvent;
+import com.greenmono.mealplanner.event.MenuPlanChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@DisplayName("UserEventStreamService Unit Tests")
+class UserEventStreamServiceTest {
+
+    private UserEventStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserEventStreamService();
+        service.setMaxConnectionsPerUser(2);
+    }
+
+    @Test
+    @DisplayName("Should register one stream per subscription")
+    void shouldRegisterSubscriptions() {
+        service.subscribe(1L);
+        service.subscribe(2L);
+
+        assertThat(service.connectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should close the oldest stream when the per-user limit is reached")
+    void shouldEvictOldestStream() {
+        SseEmitter first = service.subscribe(1L);
+        service.subscribe(1L);
+        service.subscribe(1L);
+
+        assertThat(service.connectionCount()).isEqualTo(2);
+        assertThatCode(() -> first.send("late")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should drop completed streams on heartbeat")
+    void shouldDropDeadStreamsOnHeartbeat() {
+        SseEmitter emitter = service.subscribe(1L);
+        service.subscribe(2L);
+        emitter.complete();
+
+        service.heartbeat();
+
+        assertThat(service.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should push menu plan and broadcast ingredient events without failing")
+    void shouldPushEvents() {
+        service.subscribe(1L);
+        service.subscribe(2L);
+
+        assertThatCode(() -> {
+            service.onMenuPlanChanged(new MenuPlanChangedEvent(
+                1L, 10L, MenuPlanChangedEvent.Action.ACTIVATED, MenuPlan.MenuPlanStatus.ACTIVE));
+            service.onMenuPlanChanged(new MenuPlanChangedEvent(
+                99L, 11L, MenuPlanChangedEvent.Action.GENERATED, MenuPlan.MenuPlanStatus.DRAFT));
+            service.onIngredientChanged(new IngredientChangedEvent(
+                null, List.of(5L), IngredientChangedEvent.Action.DELETED));
+        }).doesNotThrowAnyException();
+
+        assertThat(service.connectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep every live stream registered while others are dropped concurrently")
+    void shouldNotLoseStreamsRacingRemoval() throws Exception {
+        service.setMaxConnectionsPerUser(10_000);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            workers.add(threads.submit(() -> {
+                SseEmitter previous = service.subscribe(1L);
+                for (int i = 0; i < 500; i++) {
+                    SseEmitter next = service.subscribe(1L);
+                    previous.complete();
+                    service.heartbeat();
+                    previous = next;
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        threads.shutdown();
+
+        service.heartbeat();
+
+        // Each worker still holds exactly one open stream
+        assertThat(service.connectionCount()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,154 @@
+package com.greenmono.mealplanner.snapshot;
+
+import com.greenmono.mealplanner.dto.DailyMealPlanResponse;
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.entity.DailyMealPlan;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.mapper.MenuPlanMapper;
+import com.greenmono.mealplanner.mapper.MenuPlanMapperImpl;
+import com.greenmono.mealplanner.mapper.RecipeMapperImpl;
+import com.greenmono.mealplanner.repository.MenuPlanRepository;
+import com.greenmono.mealplanner.repository.RecipeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a snapshot of a stored plan rehydrates into what the plan endpoint returns.
+ *
+ * The rehydration benchmark is opt-in: {@code mvn test -Dtest=PlanSnapshotRehydrationTest -Dbenchmark=true}
+ */
+@DataJpaTest
+@Import({MenuPlanMapperImpl.class, RecipeMapperImpl.class})
+@ActiveProfiles("test")
+@DisplayName("PlanSnapshot rehydration Integration Tests")
+@Slf4j
+class PlanSnapshotRehydrationTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private MenuPlanRepository menuPlanRepository;
+
+    @Autowired
+    private MenuPlanMapper menuPlanMapper;
+
+    private Long planId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate start = LocalDate.of(2026, 10, 19);
+        Recipe side = recipeRepository.save(recipe("Steamed Rice", Recipe.RecipeCategory.SIDE_DISH));
+        MenuPlan plan = MenuPlan.builder()
+            .name("Week of " + start)
+            .userId(7L)
+            .startDate(start)
+            .endDate(start.plusDays(4))
+            .status(MenuPlan.MenuPlanStatus.ACTIVE)
+            .isBalanced(true)
+            .balanceScore(0.91)
+            .totalCalories(6000)
+            .averageDailyCalories(1200)
+            .build();
+        for (int day = 1; day <= 5; day++) {
+            plan.getDailyMealPlans().add(DailyMealPlan.builder()
+                .menuPlan(plan)
+                .dayNumber(day)
+                .mealDate(start.plusDays(day - 1))
+                .soupRecipe(recipeRepository.save(recipe("Soup " + day, Recipe.RecipeCategory.SOUP)))
+                .mainCourseRecipe(recipeRepository.save(recipe("Main " + day, Recipe.RecipeCategory.MAIN_COURSE)))
+                .sideDishRecipe(side)
+                .totalCalories(1200)
+                .build());
+        }
+        planId = menuPlanRepository.save(plan).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should decode a stored plan's snapshot into the mapped response")
+    void shouldRehydrateStoredPlan() {
+        MenuPlanResponse fetched = fetch();
+
+        MenuPlanResponse decoded = PlanSnapshot.decode(PlanSnapshot.encode(fetched));
+
+        assertThat(decoded).isEqualTo(fetched);
+        assertThat(decoded.getDailyMealPlans()).hasSize(5);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark plan rehydration: database fetch and mapping vs snapshot decode")
+    void benchmarkRehydration() {
+        byte[] snapshot = PlanSnapshot.encode(fetch());
+        log.info("Snapshot of a 5-day plan: {} bytes", snapshot.length);
+
+        for (int round = 0; round < 3; round++) {
+            measure("fetch + map", this::fetch);
+            measure("decode", () -> PlanSnapshot.decode(snapshot));
+        }
+    }
+
+    private MenuPlanResponse fetch() {
+        // What MenuPlanService.getMenuPlanById does, from a cold persistence context
+        entityManager.clear();
+        MenuPlanResponse response = menuPlanMapper.toResponse(menuPlanRepository.findById(planId).orElseThrow());
+        response.getDailyMealPlans().sort(Comparator.comparing(DailyMealPlanResponse::getDayNumber));
+        return response;
+    }
+
+    private void measure(String label, Supplier<MenuPlanResponse> rehydrate) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iterations = 2_000;
+
+        for (int i = 0; i < 500; i++) {
+            rehydrate.get();
+        }
+
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            rehydrate.get();
+        }
+        long nanos = (System.nanoTime() - start) / iterations;
+        long bytes = (threads.getCurrentThreadAllocatedBytes() - bytesBefore) / iterations;
+
+        log.info("{}: {} us/plan, {} KB allocated/plan", label, nanos / 1000.0, bytes / 1024);
+    }
+
+    private static Recipe recipe(String name, Recipe.RecipeCategory category) {
+        return Recipe.builder()
+            .name(name)
+            .description(name + " with seasonal vegetables")
+            .category(category)
+            .cookingTimeMinutes(30)
+            .servings(2)
+            .calories(new BigDecimal("400.00"))
+            .protein(new BigDecimal("25.50"))
+            .carbohydrates(new BigDecimal("45.00"))
+            .fat(new BigDecimal("12.25"))
+            .active(true)
+            .build();
+    }
+}
@@ -0,0 +1,217 @@
+package com.greenmono.mealplanner.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.greenmono.mealplanner.dto.DailyMealPlanResponse;
+import com.greenmono.mealplanner.dto.MealSlotResponse;
+import com.greenmono.mealplanner.dto.MenuPlanResponse;
+import com.greenmono.mealplanner.dto.RecipeResponse;
+import com.greenmono.mealplanner.entity.Meal;
+import com.greenmono.mealplanner.entity.MenuPlan;
+import com.greenmono.mealplanner.entity.Recipe;
+import com.greenmono.mealplanner.exception.InvalidPlanSnapshotException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PlanSnapshot Unit Tests")
+class PlanSnapshotTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 19);
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 10, 18, 21, 4, 7, 123_456_000);
+
+    @Test
+    @DisplayName("Should decode exactly the plan that was encoded")
+    void shouldRoundTripFullPlan() {
+        MenuPlanResponse plan = fullPlan();
+
+        MenuPlanResponse decoded = PlanSnapshot.decode(PlanSnapshot.encode(plan));
+
+        assertThat(decoded).isEqualTo(plan);
+        // A recipe served on several days is stored once and shared after decoding
+        assertThat(decoded.getDailyMealPlans().get(4).getSideDishRecipe())
+            .isSameAs(decoded.getDailyMealPlans().get(0).getSideDishRecipe());
+    }
+
+    @Test
+    @DisplayName("Should keep nulls apart from zeros, falses and empty strings")
+    void shouldRoundTripNulls() {
+        MenuPlanResponse plan = MenuPlanResponse.builder()
+            .dailyMealPlans(List.of(
+                DailyMealPlanResponse.builder().build(),
+                DailyMealPlanResponse.builder()
+                    .id(0L)
+                    .dayNumber(0)
+                    .totalCalories(-1)
+                    .notes("")
+                    .mainCourseRecipe(RecipeResponse.builder().active(false).calories(BigDecimal.ZERO.setScale(2)).build())
+                    .build()))
+            .isBalanced(false)
+            .balanceScore(0.0)
+            .build();
+
+        assertThat(PlanSnapshot.decode(PlanSnapshot.encode(plan))).isEqualTo(plan);
+    }
+
+    @Test
+    @DisplayName("Should be a fraction of the plan's JSON")
+    void shouldBeSmallerThanJson() throws Exception {
+        MenuPlanResponse plan = fullPlan();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        int json = objectMapper.writeValueAsBytes(plan).length;
+        int snapshot = PlanSnapshot.encode(plan).length;
+
+        assertThat(snapshot).isLessThan(json / 4);
+    }
+
+    @Test
+    @DisplayName("Should refuse nutrition values finer than hundredths")
+    void shouldRejectValuesBeyondFixedPoint() {
+        MenuPlanResponse plan = fullPlan();
+        plan.getDailyMealPlans().get(0).getSoupRecipe().setFat(new BigDecimal("1.005"));
+
+        assertThatThrownBy(() -> PlanSnapshot.encode(plan))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("1.005");
+    }
+
+    @Test
+    @DisplayName("Should reject foreign bytes, newer versions and every truncation")
+    void shouldRejectInvalidSnapshots() {
+        byte[] snapshot = PlanSnapshot.encode(fullPlan());
+
+        assertThatThrownBy(() -> PlanSnapshot.decode("{\"id\":1}".getBytes()))
+            .isInstanceOf(InvalidPlanSnapshotException.class)
+            .hasMessage("Not a plan snapshot");
+
+        byte[] newer = snapshot.clone();
+        newer[3] = PlanSnapshot.VERSION + 1;
+        assertThatThrownBy(() -> PlanSnapshot.decode(newer))
+            .isInstanceOf(InvalidPlanSnapshotException.class)
+            .hasMessageContaining("version");
+
+        for (int length = 0; length < snapshot.length; length++) {
+            byte[] truncated = Arrays.copyOf(snapshot, length);
+            assertThatThrownBy(() -> PlanSnapshot.decode(truncated))
+                .isInstanceOf(InvalidPlanSnapshotException.class);
+        }
+        byte[] padded = Arrays.copyOf(snapshot, snapshot.length + 1);
+        assertThatThrownBy(() -> PlanSnapshot.decode(padded))
+            .isInstanceOf(InvalidPlanSnapshotException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown enum names and dates out of range")
+    void shouldRejectOutOfRangeValues() {
+        byte[] unknownStatus = PlanSnapshot.encode(fullPlan());
+        int status = indexOf(unknownStatus, "ACTIVE".getBytes());
+        System.arraycopy("RETIRE".getBytes(), 0, unknownStatus, status, 6);
+        assertThatThrownBy(() -> PlanSnapshot.decode(unknownStatus))
+            .isInstanceOf(InvalidPlanSnapshotException.class)
+            .hasMessageContaining("unknown MenuPlanStatus RETIRE");
+
+        // Empty tables, start day 0 and one day whose date is 2^40 days after it
+        byte[] farDate = {'M', 'P', 'S', PlanSnapshot.VERSION, 0, 1, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1,
+            0, 0, (byte) 0x81, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x40, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+        assertThatThrownBy(() -> PlanSnapshot.decode(farDate))
+            .isInstanceOf(InvalidPlanSnapshotException.class)
+            .hasMessageContaining("date out of range");
+    }
+
+    @Test
+    @DisplayName("Should reject over-long varints that decode to negative counts and references")
+    void shouldRejectNegativeVarints() {
+        byte[] negative = {-1, -1, -1, -1, -1, -1, -1, -1, -1, 1};
+
+        // As the string table size
+        byte[] negativeCount = new byte[4 + negative.length];
+        System.arraycopy(new byte[]{'M', 'P', 'S', PlanSnapshot.VERSION}, 0, negativeCount, 0, 4);
+        System.arraycopy(negative, 0, negativeCount, 4, negative.length);
+        assertThatThrownBy(() -> PlanSnapshot.decode(negativeCount))
+            .isInstanceOf(InvalidPlanSnapshotException.class);
+
+        // As the plan name, a string reference: empty tables, no start day or creation time, plan ID null
+        byte[] header = {'M', 'P', 'S', PlanSnapshot.VERSION, 0, 0, 0, 0, 0, 0};
+        byte[] negativeReference = Arrays.copyOf(header, header.length + negative.length);
+        System.arraycopy(negative, 0, negativeReference, header.length, negative.length);
+        assertThatThrownBy(() -> PlanSnapshot.decode(negativeReference))
+            .isInstanceOf(InvalidPlanSnapshotException.class)
+            .hasMessageContaining("missing table entry");
+    }
+
+    private static int indexOf(byte[] data, byte[] part) {
+        for (int i = 0; i + part.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + part.length, part, 0, part.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Not found");
+    }
+
+    private static MenuPlanResponse fullPlan() {
+        RecipeResponse rice = recipe(11L, "Jollof Rice", Recipe.RecipeCategory.SIDE_DISH, "350.00");
+        List<DailyMealPlanResponse> days = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            days.add(DailyMealPlanResponse.builder()
+                .id(900L + day)
+                .dayNumber(day)
+                .mealDate(START.plusDays(day - 1))
+                .soupRecipe(recipe(20L + day, "Soupe à l'oignon " + day, Recipe.RecipeCategory.SOUP, "210.50"))
+                .mainCourseRecipe(recipe(30L + day, "Chicken Curry " + day, Recipe.RecipeCategory.MAIN_COURSE, "640.25"))
+                .sideDishRecipe(rice)
+                .breakfastMeal(MealSlotResponse.builder()
+                    .id(5L).name("Oatmeal").mealType(Meal.MealType.BREAKFAST).calories(new BigDecimal("310.00")).build())
+                .snackMeal(day % 2 == 0 ? null : MealSlotResponse.builder()
+                    .id(6L).name("Apple").mealType(Meal.MealType.SNACK).calories(new BigDecimal("95.00")).build())
+                .totalCalories(1200 + day)
+                .notes(day == 3 ? "Cook double, freeze half" : null)
+                .build());
+        }
+        return MenuPlanResponse.builder()
+            .id(4711L)
+            .name("Week of " + START)
+            .description("Generated 5-day plan")
+            .userId(7L)
+            .startDate(START)
+            .endDate(START.plusDays(4))
+            .dailyMealPlans(days)
+            .status(MenuPlan.MenuPlanStatus.ACTIVE)
+            .totalCalories(6015)
+            .averageDailyCalories(1203)
+            .isBalanced(true)
+            .balanceScore(0.8731)
+            .createdAt(CREATED)
+            .updatedAt(CREATED.plusMinutes(3))
+            .build();
+    }
+
+    private static RecipeResponse recipe(Long id, String name, Recipe.RecipeCategory category, String calories) {
+        return RecipeResponse.builder()
+            .id(id)
+            .name(name)
+            .description(name + ", family style")
+            .category(category)
+            .cookingTimeMinutes(35)
+            .servings(4)
+            .calories(new BigDecimal(calories))
+            .protein(new BigDecimal("28.40"))
+            .carbohydrates(new BigDecimal("41.00"))
+            .fat(new BigDecimal("12.75"))
+            .imageUrl("https://img.example.com/recipes/" + id + ".jpg")
+            .active(true)
+            .createdAt(CREATED.minusDays(400))
+            .updatedAt(CREATED.minusDays(2).plusNanos(7))
+            .build();
+    }
+}